@@ -0,0 +1,30 @@
+package com.example.yogaadmin;
+
+import android.app.Application;
+
+import com.example.yogaadmin.database.FirebaseSyncManager;
+import com.example.yogaadmin.database.YogaRepository;
+
+/**
+ * YogaAdminApplication starts the process-wide services of the app.
+ *
+ * Sync runs for the lifetime of the process rather than of an activity, so
+ * local changes are pushed to Firebase as soon as they are written, or as soon
+ * as the device is back online, whichever screen is open.
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class YogaAdminApplication extends Application {
+
+    /**
+     * Starts Firebase sync and connects it to local writes.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        FirebaseSyncManager syncManager = FirebaseSyncManager.getInstance(this);
+        syncManager.start();
+        YogaRepository.getInstance(this).setWriteListener(syncManager::requestSync);
+    }
+}
@@ -6,15 +6,18 @@ import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.Button;
 import android.widget.Toast;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.yogaadmin.R;
-import com.example.yogaadmin.database.CourseDAO;
-import com.example.yogaadmin.database.TeacherDAO;
+import com.example.yogaadmin.database.TeacherCache;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.Teacher;
 import com.example.yogaadmin.models.YogaCourse;
 import com.example.yogaadmin.utils.Constants;
+import com.example.yogaadmin.utils.ScheduleIndex;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.textfield.TextInputEditText;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,6 +30,7 @@ import java.util.List;
  * - Course information input (name, description, capacity, duration, price)
  * - Dropdown selections for day, time, type, difficulty, and teacher
  * - Input validation and error handling
+ * - Warning when the teacher already teaches another course at that time
  * - Database integration for course creation
  * 
  * The activity uses Material Design components and provides a user-friendly
@@ -43,12 +47,13 @@ public class AddCourseActivity extends AppCompatActivity {
     // UI Components - Action Button
     private Button btnConfirm;
 
-    // Data Access Objects
-    private CourseDAO courseDAO;
-    private TeacherDAO teacherDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request teachersRequest;
+    private YogaRepository.Request saveRequest;
     
-    // Data Collections
-    private List<Teacher> teacherList;
+    // Data Collections - teachers with lookup by name, null until loaded
+    private TeacherCache.Snapshot teachers;
 
     /**
      * Called when the activity is first created
@@ -63,15 +68,25 @@ public class AddCourseActivity extends AppCompatActivity {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
 
-        // Initialize database access objects
-        courseDAO = new CourseDAO(this);
-        teacherDAO = new TeacherDAO(this);
+        // Initialize database access
+        repository = YogaRepository.getInstance(this);
 
         // Set up UI components and dropdown options
         initializeViews();
         setupDropdowns();
     }
 
+    /**
+     * Called when the activity is being destroyed
+     * Cancels pending database work so no callbacks reach a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        YogaRepository.cancel(teachersRequest);
+        YogaRepository.cancel(saveRequest);
+    }
+
     /**
      * Initializes all UI components by finding them in the layout
      * Sets up the confirm button click listener
@@ -119,10 +134,14 @@ public class AddCourseActivity extends AppCompatActivity {
         ArrayAdapter<String> difficultyAdapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, Constants.DIFFICULTY_LEVELS);
         spinnerDifficulty.setAdapter(difficultyAdapter);
 
-        // Teacher dropdown - populated from database
-        teacherList = teacherDAO.getAllTeachers();
-        ArrayAdapter<Teacher> teacherAdapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, teacherList);
-        spinnerTeacher.setAdapter(teacherAdapter);
+        // Teacher dropdown - populated from database in the background
+        teachersRequest = repository.loadTeachers(loaded -> {
+            teachers = loaded;
+            // The adapter filters its list while typing, so it gets its own copy
+            ArrayAdapter<Teacher> teacherAdapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line,
+                    new ArrayList<>(teachers.getTeachers()));
+            spinnerTeacher.setAdapter(teacherAdapter);
+        });
     }
 
     /**
@@ -134,8 +153,9 @@ public class AddCourseActivity extends AppCompatActivity {
      * 3. Finds the selected teacher from the dropdown
      * 4. Converts string inputs to appropriate data types
      * 5. Creates a new YogaCourse object
-     * 6. Inserts the course into the database
-     * 7. Provides user feedback on success/failure
+     * 6. Checks that the teacher is not already teaching at that time
+     * 7. Inserts the course into the database
+     * 8. Provides user feedback on success/failure
      */
     private void addCourse() {
         // Extract text input values
@@ -153,13 +173,7 @@ public class AddCourseActivity extends AppCompatActivity {
 
         // Find the selected teacher from the dropdown
         String teacherName = spinnerTeacher.getText().toString();
-        Teacher selectedTeacher = null;
-        for (Teacher teacher : teacherList) {
-            if (teacher.getName().equals(teacherName)) {
-                selectedTeacher = teacher;
-                break;
-            }
-        }
+        Teacher selectedTeacher = teachers != null ? teachers.getByName(teacherName) : null;
 
         // Validate teacher selection
         if (selectedTeacher == null) {
@@ -179,16 +193,60 @@ public class AddCourseActivity extends AppCompatActivity {
         int duration = Integer.parseInt(durationStr);
         double price = Double.parseDouble(priceStr);
 
-        // Create new course object and insert into database
+        // Create new course object and check the teacher's schedule before saving
         YogaCourse course = new YogaCourse(name, description, difficulty, dayOfWeek, time, type, teacherId, duration, capacity, price);
-        long id = courseDAO.insertCourse(course);
-
-        // Provide user feedback based on database operation result
-        if (id != -1) {
-            Toast.makeText(this, "Course added successfully", Toast.LENGTH_SHORT).show();
-            finish(); // Close activity and return to previous screen
-        } else {
-            Toast.makeText(this, "Error adding course", Toast.LENGTH_SHORT).show();
+        btnConfirm.setEnabled(false); // Prevent double submission while saving
+        saveRequest = repository.findCourseConflicts(course, conflicts -> {
+            if (conflicts.isEmpty()) {
+                saveCourse(course);
+            } else {
+                confirmDoubleBooking(course, conflicts);
+            }
+        }).onError(error -> showSaveError());
+    }
+
+    /**
+     * Warns that the teacher already teaches overlapping courses and saves only if confirmed
+     *
+     * @param course The course to save
+     * @param conflicts The teacher's courses that overlap it
+     */
+    private void confirmDoubleBooking(YogaCourse course, List<ScheduleIndex.Slot> conflicts) {
+        StringBuilder message = new StringBuilder("This teacher already teaches at that time:");
+        for (ScheduleIndex.Slot conflict : conflicts) {
+            message.append("\n• ").append(conflict.label);
         }
+        new AlertDialog.Builder(this)
+                .setTitle("Teacher Double-Booked")
+                .setMessage(message)
+                .setPositiveButton("Save Anyway", (dialog, which) -> saveCourse(course))
+                .setNegativeButton("Cancel", (dialog, which) -> btnConfirm.setEnabled(true))
+                .setOnCancelListener(dialog -> btnConfirm.setEnabled(true))
+                .show();
+    }
+
+    /**
+     * Inserts the course into the database and closes the activity on success
+     *
+     * @param course The course to insert
+     */
+    private void saveCourse(YogaCourse course) {
+        saveRequest = repository.insertCourse(course, id -> {
+            // Provide user feedback based on database operation result
+            if (id != -1) {
+                Toast.makeText(this, "Course added successfully", Toast.LENGTH_SHORT).show();
+                finish(); // Close activity and return to previous screen
+            } else {
+                showSaveError();
+            }
+        }).onError(error -> showSaveError());
+    }
+
+    /**
+     * Re-enables the confirm button after a failed save so the user can try again
+     */
+    private void showSaveError() {
+        btnConfirm.setEnabled(true);
+        Toast.makeText(this, "Error adding course", Toast.LENGTH_SHORT).show();
     }
 }
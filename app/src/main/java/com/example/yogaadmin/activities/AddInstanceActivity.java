@@ -2,20 +2,27 @@ package com.example.yogaadmin.activities;
 
 import android.app.DatePickerDialog;
 import android.os.Bundle;
-import android.text.TextUtils;
 import android.util.Log;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.Toast;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.yogaadmin.R;
-import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.ClassInstance;
 import com.example.yogaadmin.utils.DateTimeUtils;
+import com.example.yogaadmin.utils.ScheduleIndex;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 /**
  * AddInstanceActivity - Activity for scheduling new class instances
@@ -29,6 +36,9 @@ import java.util.Locale;
  * - Date picker for selecting class dates
  * - Validation that selected date matches course schedule
  * - Prevention of duplicate class instances
+ * - Warning when the teacher already teaches another class at that time
+ * - Scheduling every occurrence between two dates at once, minus excluded dates
+ * - Warning before a weekly schedule double-books the teacher, with the option to skip those dates
  * - User-friendly error messages and feedback
  *
  * The activity receives course and teacher information from the calling activity
@@ -45,8 +55,15 @@ public class AddInstanceActivity extends AppCompatActivity {
     // UI Components - Action Buttons
     private Button btnSelectDate, btnSaveInstance;
 
-    // Data Access Objects
-    private InstanceDAO instanceDAO;
+    // UI Components - Weekly Schedule
+    private EditText etFromDate, etToDate;
+    private TextView tvExcludedDates;
+    private Button btnSelectFromDate, btnSelectToDate, btnExcludeDate, btnGenerateInstances;
+
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request saveRequest;
+    private YogaRepository.Request generateRequest;
 
     // Course Information (received from intent)
     private int courseId;
@@ -57,6 +74,12 @@ public class AddInstanceActivity extends AppCompatActivity {
     // Date Selection
     private Calendar selectedDate;
 
+    // Dates left out of the weekly schedule (yyyy-MM-dd), kept sorted for display
+    private final Set<String> excludedDates = new TreeSet<>();
+
+    // Number of double-booked dates listed in the warning before the rest are summarised
+    private static final int MAX_LISTED_CONFLICTS = 5;
+
     /**
      * Called when the activity is first created
      * Initializes the UI and validates received course data
@@ -67,7 +90,7 @@ public class AddInstanceActivity extends AppCompatActivity {
         setContentView(R.layout.activity_add_instance);
 
         // Initialize database access
-        instanceDAO = new InstanceDAO(this);
+        repository = YogaRepository.getInstance(this);
 
         // Validate and extract course data from intent
         if (!unpackIntentExtras()) {
@@ -82,6 +105,17 @@ public class AddInstanceActivity extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Called when the activity is being destroyed
+     * Cancels a pending save so no callback reaches a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        YogaRepository.cancel(saveRequest);
+        YogaRepository.cancel(generateRequest);
+    }
+
     /**
      * Extracts and validates course data from the intent extras
      *
@@ -121,6 +155,15 @@ public class AddInstanceActivity extends AppCompatActivity {
         // Action buttons
         btnSelectDate = findViewById(R.id.btnSelectDate);
         btnSaveInstance = findViewById(R.id.btnSaveInstance);
+
+        // Weekly schedule
+        etFromDate = findViewById(R.id.etFromDate);
+        etToDate = findViewById(R.id.etToDate);
+        tvExcludedDates = findViewById(R.id.tvExcludedDates);
+        btnSelectFromDate = findViewById(R.id.btnSelectFromDate);
+        btnSelectToDate = findViewById(R.id.btnSelectToDate);
+        btnExcludeDate = findViewById(R.id.btnExcludeDate);
+        btnGenerateInstances = findViewById(R.id.btnGenerateInstances);
     }
 
     /**
@@ -140,6 +183,46 @@ public class AddInstanceActivity extends AppCompatActivity {
         btnSelectDate.setOnClickListener(v -> showDatePicker());
         etDate.setOnClickListener(v -> showDatePicker()); // Also allow clicking the EditText
         btnSaveInstance.setOnClickListener(v -> validateAndSaveInstance());
+
+        // Weekly schedule
+        btnSelectFromDate.setOnClickListener(v -> pickDate(date -> etFromDate.setText(DateTimeUtils.formatDisplayDate(date))));
+        btnSelectToDate.setOnClickListener(v -> pickDate(date -> etToDate.setText(DateTimeUtils.formatDisplayDate(date))));
+        btnExcludeDate.setOnClickListener(v -> pickDate(date -> {
+            excludedDates.add(DateTimeUtils.formatStorageDate(date));
+            showExcludedDates();
+        }));
+        btnGenerateInstances.setOnClickListener(v -> generateWeeklyInstances());
+    }
+
+    /**
+     * Shows a date picker dialog starting at today's date
+     *
+     * @param onDatePicked Receives the picked date
+     */
+    private void pickDate(Consumer<Calendar> onDatePicked) {
+        Calendar calendar = Calendar.getInstance();
+        new DatePickerDialog(
+                this,
+                (view, year, month, dayOfMonth) -> {
+                    Calendar picked = Calendar.getInstance();
+                    picked.set(year, month, dayOfMonth);
+                    onDatePicked.accept(picked);
+                },
+                calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH)
+        ).show();
+    }
+
+    /**
+     * Lists the excluded dates below the date range
+     */
+    private void showExcludedDates() {
+        List<String> displayDates = new ArrayList<>();
+        for (String date : excludedDates) {
+            displayDates.add(DateTimeUtils.storageToDisplay(date));
+        }
+        tvExcludedDates.setText("Excluded: " + String.join(", ", displayDates));
     }
 
     /**
@@ -166,8 +249,7 @@ public class AddInstanceActivity extends AppCompatActivity {
                         etDate.setText(""); // Clear the invalid date
                     } else {
                         // Format and display the valid selected date
-                        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-                        etDate.setText(sdf.format(selectedDate.getTime()));
+                        etDate.setText(DateTimeUtils.formatDisplayDate(selectedDate));
                     }
                 },
                 calendar.get(Calendar.YEAR),
@@ -183,30 +265,166 @@ public class AddInstanceActivity extends AppCompatActivity {
      * This method:
      * 1. Validates that a date has been selected
      * 2. Creates a new ClassInstance object
-     * 3. Inserts the instance into the database
-     * 4. Provides user feedback on success/failure
-     * 5. Closes the activity on successful save
+     * 3. Checks that the teacher is not already teaching at that time
+     * 4. Inserts the instance into the database in the background
+     * 5. Provides user feedback on success/failure
+     * 6. Closes the activity on successful save
      */
     private void validateAndSaveInstance() {
-        String date = etDate.getText().toString().trim();
+        // Dates are shown as dd/MM/yyyy but stored as yyyy-MM-dd
+        String date = DateTimeUtils.displayToStorage(etDate.getText().toString().trim());
 
         // Validate that a date has been selected
-        if (TextUtils.isEmpty(date)) {
+        if (date == null) {
             showToast("Please select a valid date.");
             return;
         }
 
-        // Create and save the class instance
+        // Create the class instance and check the teacher's day before saving
         ClassInstance instance = new ClassInstance(courseId, teacherId, date);
-        long result = instanceDAO.insertInstance(instance);
-
-        // Handle the result of the database operation
-        if (result != -1) {
-            showToast("Class instance added successfully!");
-            finish(); // Close activity and return to previous screen
-        } else {
-            showToast("Error adding class instance. It may already exist.");
+        btnSaveInstance.setEnabled(false); // Prevent double submission while saving
+        saveRequest = repository.findInstanceConflicts(instance, conflicts -> {
+            if (conflicts.isEmpty()) {
+                saveInstance(instance);
+            } else {
+                confirmDoubleBooking(instance, conflicts);
+            }
+        }).onError(error -> {
+            btnSaveInstance.setEnabled(true);
+            showToast("Error adding class instance.");
+        });
+    }
+
+    /**
+     * Warns that the teacher already teaches overlapping classes that day and saves only if confirmed
+     *
+     * @param instance The instance to save
+     * @param conflicts The teacher's classes that overlap it
+     */
+    private void confirmDoubleBooking(ClassInstance instance, List<ScheduleIndex.Slot> conflicts) {
+        StringBuilder message = new StringBuilder("This teacher already teaches at that time:");
+        for (ScheduleIndex.Slot conflict : conflicts) {
+            message.append("\n• ").append(conflict.label);
         }
+        new AlertDialog.Builder(this)
+                .setTitle("Teacher Double-Booked")
+                .setMessage(message)
+                .setPositiveButton("Save Anyway", (dialog, which) -> saveInstance(instance))
+                .setNegativeButton("Cancel", (dialog, which) -> btnSaveInstance.setEnabled(true))
+                .setOnCancelListener(dialog -> btnSaveInstance.setEnabled(true))
+                .show();
+    }
+
+    /**
+     * Inserts the instance into the database and closes the activity on success
+     *
+     * @param instance The instance to insert
+     */
+    private void saveInstance(ClassInstance instance) {
+        saveRequest = repository.insertInstance(instance, result -> {
+            // Handle the result of the database operation
+            if (result != -1) {
+                showToast("Class instance added successfully!");
+                finish(); // Close activity and return to previous screen
+            } else {
+                btnSaveInstance.setEnabled(true);
+                showToast("Error adding class instance. It may already exist.");
+            }
+        }).onError(error -> {
+            btnSaveInstance.setEnabled(true);
+            showToast("Error adding class instance.");
+        });
+    }
+
+    /**
+     * Generates an instance for every scheduled day in the selected range
+     *
+     * This method:
+     * 1. Validates the date range
+     * 2. Lists every date in the range that falls on the course's day, minus excluded dates
+     * 3. Checks that the teacher is not already teaching at that time on any of the dates
+     * 4. Inserts all instances in one transaction in the background
+     * 5. Reports how many instances were created and closes the activity
+     */
+    private void generateWeeklyInstances() {
+        String fromDate = DateTimeUtils.displayToStorage(etFromDate.getText().toString().trim());
+        String toDate = DateTimeUtils.displayToStorage(etToDate.getText().toString().trim());
+        if (fromDate == null || toDate == null) {
+            showToast("Please select both a start and an end date.");
+            return;
+        }
+        if (fromDate.compareTo(toDate) > 0) {
+            showToast("The end date must be after the start date.");
+            return;
+        }
+
+        int courseDayOfWeek = DateTimeUtils.getDayOfWeekFromString(courseDay, Locale.getDefault());
+        List<String> dates = DateTimeUtils.weeklyStorageDates(fromDate, toDate, courseDayOfWeek, excludedDates);
+        if (dates.isEmpty()) {
+            showToast("No " + courseDay + " falls within the selected dates.");
+            return;
+        }
+
+        btnGenerateInstances.setEnabled(false); // Prevent double submission while saving
+        generateRequest = repository.findInstanceConflicts(courseId, teacherId, dates, conflicts -> {
+            if (conflicts.isEmpty()) {
+                saveInstances(dates);
+            } else {
+                confirmWeeklyDoubleBooking(dates, conflicts);
+            }
+        }).onError(error -> {
+            btnGenerateInstances.setEnabled(true);
+            showToast("Error adding class instances.");
+        });
+    }
+
+    /**
+     * Warns that the teacher already teaches at that time on some of the dates
+     * Saves every date, only the free dates, or nothing, as the user chooses
+     *
+     * @param dates The dates to schedule (yyyy-MM-dd)
+     * @param conflicts The teacher's overlapping classes on each conflicting date
+     */
+    private void confirmWeeklyDoubleBooking(List<String> dates, Map<String, List<ScheduleIndex.Slot>> conflicts) {
+        StringBuilder message = new StringBuilder("This teacher already teaches at that time on "
+                + conflicts.size() + " of the " + dates.size() + " dates:");
+        int listed = 0;
+        for (Map.Entry<String, List<ScheduleIndex.Slot>> entry : conflicts.entrySet()) {
+            if (listed++ == MAX_LISTED_CONFLICTS) {
+                message.append("\n• and ").append(conflicts.size() - MAX_LISTED_CONFLICTS).append(" more");
+                break;
+            }
+            message.append("\n• ").append(entry.getValue().get(0).label);
+        }
+        List<String> freeDates = new ArrayList<>(dates);
+        freeDates.removeAll(conflicts.keySet());
+        AlertDialog.Builder builder = new AlertDialog.Builder(this)
+                .setTitle("Teacher Double-Booked")
+                .setMessage(message)
+                .setPositiveButton("Save Anyway", (dialog, which) -> saveInstances(dates))
+                .setNegativeButton("Cancel", (dialog, which) -> btnGenerateInstances.setEnabled(true))
+                .setOnCancelListener(dialog -> btnGenerateInstances.setEnabled(true));
+        if (!freeDates.isEmpty()) {
+            builder.setNeutralButton("Skip These Dates", (dialog, which) -> saveInstances(freeDates));
+        }
+        builder.show();
+    }
+
+    /**
+     * Inserts one instance per date and closes the activity on success
+     *
+     * @param dates The dates to schedule (yyyy-MM-dd)
+     */
+    private void saveInstances(List<String> dates) {
+        generateRequest = repository.insertInstances(courseId, teacherId, dates, inserted -> {
+            int skipped = dates.size() - inserted;
+            showToast("Added " + inserted + " class instances"
+                    + (skipped > 0 ? " (" + skipped + " already scheduled)" : ""));
+            finish();
+        }).onError(error -> {
+            btnGenerateInstances.setEnabled(true);
+            showToast("Error adding class instances.");
+        });
     }
 
     /**
@@ -0,0 +1,206 @@
+package com.example.yogaadmin.activities;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.CalendarView;
+import android.widget.TextView;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.yogaadmin.R;
+import com.example.yogaadmin.adapters.DayScheduleAdapter;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.MonthSchedule;
+import com.example.yogaadmin.database.YogaRepository;
+import com.example.yogaadmin.models.ClassInstance;
+import com.google.android.material.appbar.MaterialToolbar;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * CalendarActivity - Activity for browsing scheduled classes by date
+ *
+ * This activity shows a month calendar and, below it, the classes scheduled on
+ * the selected day. The whole visible month is loaded with one date range query
+ * into an in-memory MonthSchedule, and the previous and next months are
+ * prefetched in the background, so tapping any day of those months shows its
+ * classes straight from memory.
+ *
+ * Features:
+ * - Month calendar with the classes of the selected day listed below
+ * - One indexed range query per month instead of one query per day
+ * - Background prefetch of the neighbouring months
+ * - Automatic refresh when instances, courses or teachers change
+ * - Navigation to the instances of a course by tapping one of its classes
+ */
+public class CalendarActivity extends AppCompatActivity {
+
+    // UI Components
+    private TextView tvEmptyDay;
+
+    // Adapters
+    private DayScheduleAdapter dayAdapter;
+
+    // Data Access - months are loaded in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request monthRequest;
+    private YogaRepository.Request previousMonthRequest;
+    private YogaRepository.Request nextMonthRequest;
+
+    // Calendar State - the selected day and the loaded month it belongs to
+    private LocalDate selectedDate;
+    private MonthSchedule schedule;
+
+    // Change Tracking - the month is reloaded after instances, courses or teachers changed
+    private DataChangeNotifier changeNotifier;
+    private final DataChangeNotifier.Listener changeListener = (tableName, rowId) -> {
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            refreshIfStale();
+        }
+    };
+
+    /**
+     * Called when the activity is first created
+     * Sets up the calendar and the day list, then loads the current month
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.fragment_calendar);
+
+        // Set up the toolbar
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+
+        // Initialize database access and the day list
+        repository = YogaRepository.getInstance(this);
+        tvEmptyDay = findViewById(R.id.tvEmptyDay);
+        RecyclerView recyclerView = findViewById(R.id.recyclerView);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        dayAdapter = new DayScheduleAdapter(this::openCourseInstances);
+        recyclerView.setAdapter(dayAdapter);
+
+        // Show the selected day's classes whenever the user picks a date
+        CalendarView calendarView = findViewById(R.id.calendarView);
+        calendarView.setOnDateChangeListener((view, year, month, dayOfMonth) ->
+                selectDate(LocalDate.of(year, month + 1, dayOfMonth))); // CalendarView months are 0-based
+
+        // Load today's month, then follow changes made elsewhere
+        changeNotifier = DataChangeNotifier.getInstance();
+        changeNotifier.addListener(changeListener);
+        selectedDate = LocalDate.now();
+        showMonth(YearMonth.from(selectedDate));
+    }
+
+    /**
+     * Called when the activity becomes visible to the user
+     * Reloads the month if its classes changed while another activity was shown
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refreshIfStale();
+    }
+
+    /**
+     * Called when the activity is being destroyed
+     * Cancels any month load or prefetch that is still pending
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        changeNotifier.removeListener(changeListener);
+        YogaRepository.cancel(monthRequest);
+        YogaRepository.cancel(previousMonthRequest);
+        YogaRepository.cancel(nextMonthRequest);
+    }
+
+    /**
+     * Selects a date; days of the loaded month are shown from memory
+     *
+     * @param date The date picked in the calendar
+     */
+    private void selectDate(LocalDate date) {
+        selectedDate = date;
+        YearMonth month = YearMonth.from(date);
+        if (schedule != null && schedule.getMonth().equals(month)) {
+            showSelectedDay();
+        } else {
+            showMonth(month);
+        }
+    }
+
+    /**
+     * Shows a month from memory if it is loaded and up to date, otherwise loads it in the background
+     *
+     * @param month The month to show
+     */
+    private void showMonth(YearMonth month) {
+        YogaRepository.cancel(monthRequest);
+        MonthSchedule cached = repository.getCachedMonth(month);
+        if (cached != null) {
+            onMonthLoaded(cached);
+        } else {
+            monthRequest = repository.loadMonth(month, this::onMonthLoaded);
+        }
+    }
+
+    /**
+     * Keeps the loaded month, shows the selected day and prefetches the neighbouring months
+     *
+     * @param loaded The month's classes indexed by day
+     */
+    private void onMonthLoaded(MonthSchedule loaded) {
+        schedule = loaded;
+        showSelectedDay();
+
+        YearMonth month = loaded.getMonth();
+        YogaRepository.cancel(previousMonthRequest);
+        YogaRepository.cancel(nextMonthRequest);
+        previousMonthRequest = prefetch(month.minusMonths(1));
+        nextMonthRequest = prefetch(month.plusMonths(1));
+    }
+
+    /**
+     * Loads a month into memory in the background unless it is already there
+     *
+     * @param month The month to prefetch
+     * @return The pending request, or null if the month is already loaded
+     */
+    private YogaRepository.Request prefetch(YearMonth month) {
+        return repository.getCachedMonth(month) != null ? null : repository.prefetchMonth(month);
+    }
+
+    /**
+     * Lists the classes of the selected day from the loaded month
+     */
+    private void showSelectedDay() {
+        List<ClassInstance> classes = schedule.getInstancesOn(selectedDate);
+        dayAdapter.submitList(classes);
+        tvEmptyDay.setVisibility(classes.isEmpty() ? View.VISIBLE : View.GONE);
+    }
+
+    /**
+     * Reloads the shown month if any of its tables changed since it was loaded
+     */
+    private void refreshIfStale() {
+        if (schedule != null && repository.getCachedMonth(schedule.getMonth()) == null) {
+            showMonth(schedule.getMonth());
+        }
+    }
+
+    /**
+     * Opens the instance list of the course a class belongs to
+     *
+     * @param instance The class that was tapped
+     */
+    private void openCourseInstances(ClassInstance instance) {
+        Intent intent = new Intent(this, ViewInstancesActivity.class);
+        intent.putExtra("course_id", instance.getCourseId());
+        intent.putExtra("course_name", instance.getCourseName());
+        startActivity(intent);
+    }
+}
@@ -6,7 +6,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import com.example.yogaadmin.R;
-import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.YogaCourse;
 
 /**
@@ -32,8 +32,9 @@ import com.example.yogaadmin.models.YogaCourse;
  */
 public class CourseDetailActivity extends AppCompatActivity {
 
-    // Data Access Objects
-    private CourseDAO courseDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request courseRequest;
 
     /**
      * Called when the activity is first created
@@ -52,22 +53,23 @@ public class CourseDetailActivity extends AppCompatActivity {
         }
 
         // Initialize database access
-        courseDAO = new CourseDAO(this);
+        repository = YogaRepository.getInstance(this);
 
         // Retrieve course ID from the intent
         int courseId = getIntent().getIntExtra("course_id", -1);
 
         // Validate course ID and load course data
         if (courseId != -1) {
-            YogaCourse course = courseDAO.getCourseById(courseId);
-            if (course != null) {
-                // Course found, populate the UI with course details
-                populateUI(course);
-            } else {
-                // Course not found in database
-                Toast.makeText(this, "Course not found", Toast.LENGTH_SHORT).show();
-                finish(); // Close activity and return to previous screen
-            }
+            courseRequest = repository.loadCourse(courseId, course -> {
+                if (course != null) {
+                    // Course found, populate the UI with course details
+                    populateUI(course);
+                } else {
+                    // Course not found in database
+                    Toast.makeText(this, "Course not found", Toast.LENGTH_SHORT).show();
+                    finish(); // Close activity and return to previous screen
+                }
+            });
         } else {
             // Invalid course ID provided
             Toast.makeText(this, "Invalid Course ID", Toast.LENGTH_SHORT).show();
@@ -75,6 +77,16 @@ public class CourseDetailActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Called when the activity is being destroyed
+     * Cancels the course load if it is still pending
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        YogaRepository.cancel(courseRequest);
+    }
+
     /**
      * Populates all UI elements with course information
      * Sets the toolbar title and fills all text views with course details
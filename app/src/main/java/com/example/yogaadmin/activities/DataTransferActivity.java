@@ -0,0 +1,222 @@
+package com.example.yogaadmin.activities;
+
+import android.net.Uri;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.RadioGroup;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AppCompatActivity;
+import com.example.yogaadmin.R;
+import com.example.yogaadmin.database.DataTransfer;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.YogaRepository;
+import com.google.android.material.appbar.MaterialToolbar;
+
+/**
+ * DataTransferActivity - Import and export of teachers, courses and class instances
+ *
+ * This activity exports one table at a time to a CSV or JSON file, or imports
+ * one from such a file. Files are chosen through the Storage Access Framework,
+ * so they can live on the device, an SD card or any installed cloud provider.
+ * The transfer streams rows in the background and reports progress as it goes,
+ * so large timetables prepared in a spreadsheet load in seconds.
+ *
+ * Features:
+ * - Table and file format selection
+ * - Export to a new document, import from an existing one
+ * - Progress while the transfer runs, and rows imported or skipped when it ends,
+ *   including the rows kept when an import stops part way
+ * - Transfers keep running when the screen is rotated or closed, and report
+ *   their outcome when it is shown again
+ */
+public class DataTransferActivity extends AppCompatActivity implements YogaRepository.TransferObserver {
+
+    // UI Components
+    private RadioGroup rgTable, rgFormat;
+    private Button btnExport, btnImport;
+    private ProgressBar progressTransfer;
+    private TextView tvTransferStatus;
+
+    // Data Access - transfers run in the background via the repository, which owns them
+    private YogaRepository repository;
+
+    // Document Pickers - the MIME type of a new document is fixed when its launcher is registered
+    private final ActivityResultLauncher<String> exportCsvLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(DataTransfer.Format.CSV.mimeType),
+            uri -> exportTo(uri, DataTransfer.Format.CSV));
+    private final ActivityResultLauncher<String> exportJsonLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(DataTransfer.Format.JSON.mimeType),
+            uri -> exportTo(uri, DataTransfer.Format.JSON));
+    private final ActivityResultLauncher<String[]> importLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::importFrom);
+
+    /**
+     * Called when the activity is first created
+     * Sets up the table and format choices and the transfer buttons
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_data_transfer);
+
+        // Set up the toolbar
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+
+        // Initialize UI components and database access
+        rgTable = findViewById(R.id.rgTable);
+        rgFormat = findViewById(R.id.rgFormat);
+        btnExport = findViewById(R.id.btnExport);
+        btnImport = findViewById(R.id.btnImport);
+        progressTransfer = findViewById(R.id.progressTransfer);
+        tvTransferStatus = findViewById(R.id.tvTransferStatus);
+        repository = YogaRepository.getInstance(this);
+
+        btnExport.setOnClickListener(v -> {
+            String fileName = getSelectedTable() + "." + getSelectedFormat().extension;
+            if (getSelectedFormat() == DataTransfer.Format.CSV) {
+                exportCsvLauncher.launch(fileName);
+            } else {
+                exportJsonLauncher.launch(fileName);
+            }
+        });
+        btnImport.setOnClickListener(v -> {
+            // CSV files are often labelled as plain text by file providers
+            importLauncher.launch(getSelectedFormat() == DataTransfer.Format.CSV
+                    ? new String[]{"text/*", "application/csv"}
+                    : new String[]{DataTransfer.Format.JSON.mimeType, "text/*"});
+        });
+
+        // Follow a transfer started before the activity was recreated
+        if (repository.isTransferRunning()) {
+            startTransfer();
+        }
+        repository.setTransferObserver(this);
+    }
+
+    /**
+     * Called when the activity is being destroyed
+     * Stops following the transfer, which keeps running and reports to the next instance of this screen
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        repository.removeTransferObserver(this);
+    }
+
+    /**
+     * Exports the selected table to a newly created document
+     *
+     * @param uri The created document, or null if the user cancelled
+     * @param format The format the document was created for
+     */
+    private void exportTo(Uri uri, DataTransfer.Format format) {
+        if (uri == null) {
+            return;
+        }
+        if (repository.exportTable(getSelectedTable(), format, uri)) {
+            startTransfer();
+        }
+    }
+
+    /**
+     * Imports a chosen document into the selected table
+     *
+     * @param uri The chosen document, or null if the user cancelled
+     */
+    private void importFrom(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        if (repository.importTable(getSelectedTable(), getSelectedFormat(), uri)) {
+            startTransfer();
+        }
+    }
+
+    /**
+     * Disables the buttons and shows the progress bar while a transfer runs
+     */
+    private void startTransfer() {
+        btnExport.setEnabled(false);
+        btnImport.setEnabled(false);
+        progressTransfer.setIndeterminate(true);
+        progressTransfer.setVisibility(View.VISIBLE);
+        tvTransferStatus.setText("");
+    }
+
+    /**
+     * Shows how many rows have been transferred so far
+     *
+     * @param rows Rows processed so far
+     * @param totalRows Rows to process in total, or -1 if not known
+     */
+    @Override
+    public void onTransferProgress(int rows, int totalRows) {
+        if (totalRows > 0) {
+            progressTransfer.setIndeterminate(false);
+            progressTransfer.setMax(totalRows);
+            progressTransfer.setProgress(rows);
+            tvTransferStatus.setText(getString(R.string.transfer_progress_total, rows, totalRows));
+        } else {
+            tvTransferStatus.setText(getString(R.string.transfer_progress, rows));
+        }
+    }
+
+    /**
+     * Restores the buttons once a transfer has ended and reports its outcome
+     * An import that stopped part way reports the rows it kept
+     *
+     * @param export true for an export, false for an import
+     * @param result The outcome of the transfer
+     */
+    @Override
+    public void onTransferFinished(boolean export, DataTransfer.Result result) {
+        btnExport.setEnabled(true);
+        btnImport.setEnabled(true);
+        progressTransfer.setVisibility(View.GONE);
+        if (result.isSuccessful()) {
+            showResult(export
+                    ? getString(R.string.export_result, result.rows)
+                    : getString(R.string.import_result, result.rows, result.skipped));
+        } else if (!export && result.isPartial()) {
+            showResult(getString(R.string.import_stopped, result.rows, result.skipped, result.error));
+        } else {
+            showResult(getString(R.string.transfer_failed, result.error));
+        }
+    }
+
+    /**
+     * Shows the outcome of a transfer below the buttons and as a toast
+     *
+     * @param message The message to show
+     */
+    private void showResult(String message) {
+        tvTransferStatus.setText(message);
+        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * @return The table selected for the next transfer
+     */
+    private String getSelectedTable() {
+        int checkedId = rgTable.getCheckedRadioButtonId();
+        if (checkedId == R.id.rbCourses) {
+            return DatabaseContract.CourseEntry.TABLE_NAME;
+        } else if (checkedId == R.id.rbInstances) {
+            return DatabaseContract.InstanceEntry.TABLE_NAME;
+        }
+        return DatabaseContract.TeacherEntry.TABLE_NAME;
+    }
+
+    /**
+     * @return The file format selected for the next transfer
+     */
+    private DataTransfer.Format getSelectedFormat() {
+        return rgFormat.getCheckedRadioButtonId() == R.id.rbJson ? DataTransfer.Format.JSON : DataTransfer.Format.CSV;
+    }
+}
@@ -2,20 +2,21 @@ package com.example.yogaadmin.activities;
 
 import android.app.DatePickerDialog;
 import android.os.Bundle;
-import android.text.TextUtils;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.Toast;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.adapters.TeacherSpinnerAdapter;
-import com.example.yogaadmin.database.InstanceDAO;
-import com.example.yogaadmin.database.TeacherDAO;
+import com.example.yogaadmin.database.TeacherCache;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.ClassInstance;
 import com.example.yogaadmin.models.Teacher;
 import com.example.yogaadmin.utils.DateTimeUtils;
+import com.example.yogaadmin.utils.ScheduleIndex;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.List;
@@ -34,6 +35,7 @@ import java.util.Locale;
  * - Change assigned teacher via dropdown
  * - Validation of date against course schedule
  * - Teacher selection from available teachers
+ * - Warning when the teacher already teaches another class at that time
  * - Update instance in database
  * 
  * The activity receives instance and course information from the calling activity
@@ -51,9 +53,10 @@ public class EditInstanceActivity extends AppCompatActivity {
     // UI Components - Action Buttons
     private Button btnSelectDate, btnSaveInstance;
     
-    // Data Access Objects
-    private InstanceDAO instanceDAO;
-    private TeacherDAO teacherDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request teachersRequest;
+    private YogaRepository.Request saveRequest;
     
     // Instance Information (received from intent)
     private int instanceId;
@@ -66,7 +69,7 @@ public class EditInstanceActivity extends AppCompatActivity {
     private Calendar selectedDate;
     
     // Teacher Selection
-    private List<Teacher> teacherList;
+    private TeacherCache.Snapshot teachers;
     private TeacherSpinnerAdapter teacherAdapter;
 
     /**
@@ -79,8 +82,7 @@ public class EditInstanceActivity extends AppCompatActivity {
         setContentView(R.layout.activity_edit_instance);
 
         // Initialize database access
-        instanceDAO = new InstanceDAO(this);
-        teacherDAO = new TeacherDAO(this);
+        repository = YogaRepository.getInstance(this);
 
         // Validate and extract instance data from intent
         if (!unpackIntentExtras()) {
@@ -95,6 +97,17 @@ public class EditInstanceActivity extends AppCompatActivity {
         setupClickListeners();
     }
 
+    /**
+     * Called when the activity is being destroyed
+     * Cancels pending database work so no callbacks reach a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        YogaRepository.cancel(teachersRequest);
+        YogaRepository.cancel(saveRequest);
+    }
+
     /**
      * Extracts and validates instance data from the intent extras
      * 
@@ -144,18 +157,18 @@ public class EditInstanceActivity extends AppCompatActivity {
         tvCourseName.setText(courseName);
         tvCourseDay.setText(courseDay);
 
-        // Set up teacher dropdown
-        teacherList = teacherDAO.getAllTeachers();
-        teacherAdapter = new TeacherSpinnerAdapter(this, teacherList);
-        spinnerTeacher.setAdapter(teacherAdapter);
+        // Set up teacher dropdown once the teachers have loaded
+        teachersRequest = repository.loadTeachers(loaded -> {
+            teachers = loaded;
+            teacherAdapter = new TeacherSpinnerAdapter(this, teachers.getTeachers());
+            spinnerTeacher.setAdapter(teacherAdapter);
 
-        // Set the initial selection to the current teacher
-        for (int i = 0; i < teacherList.size(); i++) {
-            if (teacherList.get(i).getId() == teacherId) {
-                spinnerTeacher.setSelection(i);
-                break;
+            // Set the initial selection to the current teacher
+            int position = teachers.indexOf(teacherId);
+            if (position >= 0) {
+                spinnerTeacher.setSelection(position);
             }
-        }
+        });
     }
 
     /**
@@ -192,8 +205,7 @@ public class EditInstanceActivity extends AppCompatActivity {
                         etDate.setText(""); // Clear the invalid date
                     } else {
                         // Format and display the valid selected date
-                        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
-                        etDate.setText(sdf.format(selectedDate.getTime()));
+                        etDate.setText(DateTimeUtils.formatDisplayDate(selectedDate));
                     }
                 },
                 calendar.get(Calendar.YEAR),
@@ -210,16 +222,18 @@ public class EditInstanceActivity extends AppCompatActivity {
      * 1. Validates that a date has been selected
      * 2. Validates that a teacher has been selected
      * 3. Creates an updated ClassInstance object
-     * 4. Updates the instance in the database
-     * 5. Provides user feedback on success/failure
-     * 6. Closes the activity on successful update
+     * 4. Checks that the teacher is not already teaching at that time
+     * 5. Updates the instance in the database
+     * 6. Provides user feedback on success/failure
+     * 7. Closes the activity on successful update
      */
     private void validateAndSaveInstance() {
-        String date = etDate.getText().toString().trim();
+        // Dates are shown as dd/MM/yyyy but stored as yyyy-MM-dd
+        String date = DateTimeUtils.displayToStorage(etDate.getText().toString().trim());
         Teacher selectedTeacher = (Teacher) spinnerTeacher.getSelectedItem();
 
         // Validate that a date has been selected
-        if (TextUtils.isEmpty(date)) {
+        if (date == null) {
             showToast("Please select a valid date.");
             return;
         }
@@ -230,18 +244,61 @@ public class EditInstanceActivity extends AppCompatActivity {
             return;
         }
 
-        // Create updated instance and save to database
+        // Create updated instance and check the teacher's day before saving
         int newTeacherId = selectedTeacher.getId();
         ClassInstance instance = new ClassInstance(instanceId, courseId, newTeacherId, date);
-        int result = instanceDAO.updateInstance(instance);
-
-        // Handle the result of the database operation
-        if (result > 0) {
-            showToast("Class instance updated successfully!");
-            finish(); // Close activity and return to previous screen
-        } else {
+        btnSaveInstance.setEnabled(false); // Prevent double submission while saving
+        saveRequest = repository.findInstanceConflicts(instance, conflicts -> {
+            if (conflicts.isEmpty()) {
+                saveInstance(instance);
+            } else {
+                confirmDoubleBooking(instance, conflicts);
+            }
+        }).onError(error -> {
+            btnSaveInstance.setEnabled(true);
             showToast("Error updating class instance.");
+        });
+    }
+
+    /**
+     * Warns that the teacher already teaches overlapping classes that day and saves only if confirmed
+     *
+     * @param instance The instance to save
+     * @param conflicts The teacher's classes that overlap it
+     */
+    private void confirmDoubleBooking(ClassInstance instance, List<ScheduleIndex.Slot> conflicts) {
+        StringBuilder message = new StringBuilder("This teacher already teaches at that time:");
+        for (ScheduleIndex.Slot conflict : conflicts) {
+            message.append("\n• ").append(conflict.label);
         }
+        new AlertDialog.Builder(this)
+                .setTitle("Teacher Double-Booked")
+                .setMessage(message)
+                .setPositiveButton("Save Anyway", (dialog, which) -> saveInstance(instance))
+                .setNegativeButton("Cancel", (dialog, which) -> btnSaveInstance.setEnabled(true))
+                .setOnCancelListener(dialog -> btnSaveInstance.setEnabled(true))
+                .show();
+    }
+
+    /**
+     * Updates the instance in the database and closes the activity on success
+     *
+     * @param instance The instance with updated values
+     */
+    private void saveInstance(ClassInstance instance) {
+        saveRequest = repository.updateInstance(instance, result -> {
+            // Handle the result of the database operation
+            if (result > 0) {
+                showToast("Class instance updated successfully!");
+                finish(); // Close activity and return to previous screen
+            } else {
+                btnSaveInstance.setEnabled(true);
+                showToast("Error updating class instance.");
+            }
+        }).onError(error -> {
+            btnSaveInstance.setEnabled(true);
+            showToast("Error updating class instance.");
+        });
     }
 
     /**
@@ -7,8 +7,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import com.example.yogaadmin.R;
-import com.example.yogaadmin.database.DatabaseHelper;
 import com.example.yogaadmin.database.FirebaseSyncManager;
+import com.example.yogaadmin.database.YogaRepository;
 
 /**
  * MainActivity - The main dashboard activity for the Yoga Admin application
@@ -18,23 +18,29 @@ import com.example.yogaadmin.database.FirebaseSyncManager;
  * - Instance management (schedule/manage class instances)
  * - Teacher management
  * - Search functionality
+ * - Calendar of scheduled classes
+ * - Studio statistics dashboard
+ * - CSV and JSON import and export
  * - Database operations (reset/sync)
  * 
  * The activity uses a card-based layout for easy navigation and provides
  * administrative functions for database management.
  */
-public class MainActivity extends AppCompatActivity {
+public class MainActivity extends AppCompatActivity implements FirebaseSyncManager.SyncListener {
 
     // UI Components - Navigation Cards
-    private CardView addCourseCard, viewCoursesCard, manageInstancesCard, searchCard, manageTeachersCard;
+    private CardView addCourseCard, viewCoursesCard, manageInstancesCard, searchCard, manageTeachersCard, calendarCard, statisticsCard, dataTransferCard;
     
     // UI Components - Database Management Buttons
     private Button btnResetDatabase, btnSyncFirebase;
     
     // Database and Sync Managers
-    private DatabaseHelper dbHelper;
+    private YogaRepository repository;
     private FirebaseSyncManager firebaseSyncManager;
 
+    // Whether the running sync was started from the sync button (only those report a result)
+    private boolean syncStartedByUser;
+
     /**
      * Called when the activity is first created
      * Initializes the database helpers and sets up the UI
@@ -45,12 +51,36 @@ public class MainActivity extends AppCompatActivity {
         setContentView(R.layout.activity_main);
 
         // Initialize database managers
-        dbHelper = new DatabaseHelper(this);
-        firebaseSyncManager = new FirebaseSyncManager(this);
+        repository = YogaRepository.getInstance(this);
+        firebaseSyncManager = FirebaseSyncManager.getInstance(this);
         
         // Set up UI components and event listeners
         initializeViews();
         setClickListeners();
+
+        // Receive progress of a sync that may already be running in the background
+        firebaseSyncManager.setSyncListener(this);
+        btnSyncFirebase.setEnabled(!firebaseSyncManager.isSyncing());
+    }
+
+    /**
+     * Called when the activity becomes visible
+     * Refreshes the number of changes waiting to be synced
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        firebaseSyncManager.refreshQueueDepth();
+    }
+
+    /**
+     * Called when the activity is destroyed
+     * Stops receiving sync progress; the sync itself keeps running in the background
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        firebaseSyncManager.setSyncListener(null);
     }
 
     /**
@@ -64,6 +94,9 @@ public class MainActivity extends AppCompatActivity {
         manageInstancesCard = findViewById(R.id.manageInstancesCard);
         searchCard = findViewById(R.id.searchCard);
         manageTeachersCard = findViewById(R.id.manageTeachersCard);
+        calendarCard = findViewById(R.id.calendarCard);
+        statisticsCard = findViewById(R.id.statisticsCard);
+        dataTransferCard = findViewById(R.id.dataTransferCard);
         
         // Database management buttons
         btnResetDatabase = findViewById(R.id.btnResetDatabase);
@@ -94,17 +127,24 @@ public class MainActivity extends AppCompatActivity {
         manageTeachersCard.setOnClickListener(v ->
                 startActivity(new Intent(MainActivity.this, ManageTeachersActivity.class)));
 
+        // Navigation to the class calendar
+        calendarCard.setOnClickListener(v ->
+                startActivity(new Intent(MainActivity.this, CalendarActivity.class)));
+
+        // Navigation to the statistics dashboard
+        statisticsCard.setOnClickListener(v ->
+                startActivity(new Intent(MainActivity.this, StatisticsActivity.class)));
+
+        // Navigation to import and export
+        dataTransferCard.setOnClickListener(v ->
+                startActivity(new Intent(MainActivity.this, DataTransferActivity.class)));
+
         // Database reset functionality with confirmation dialog
         btnResetDatabase.setOnClickListener(v -> {
             new android.app.AlertDialog.Builder(this)
                 .setTitle("Reset Database")
                 .setMessage("Are you sure you want to reset both the local and Firebase databases? This action cannot be undone.")
-                .setPositiveButton("Reset", (dialog, which) -> {
-                    // Reset both local SQLite and Firebase databases
-                    dbHelper.resetDatabase();
-                    firebaseSyncManager.resetFirebaseDatabase();
-                    showToast("Databases reset successfully!");
-                })
+                .setPositiveButton("Reset", (dialog, which) -> resetDatabases())
                 .setNegativeButton("Cancel", null)
                 .show();
         });
@@ -112,10 +152,84 @@ public class MainActivity extends AppCompatActivity {
         // Firebase synchronization functionality
         btnSyncFirebase.setOnClickListener(v -> {
             firebaseSyncManager.syncAllData();
-            showToast("Syncing data to Firebase!");
+            if (firebaseSyncManager.isSyncing()) {
+                syncStartedByUser = true;
+                btnSyncFirebase.setEnabled(false);
+                showToast("Syncing data to Firebase!");
+            }
+        });
+    }
+
+    /**
+     * Resets the local database and then Firebase
+     * Pulling is paused until both are empty, so remote rows cannot land in the wiped
+     * local database, and the local reset empties the sync queue before Firebase is
+     * cleared, so no queued push lands after it
+     */
+    private void resetDatabases() {
+        if (!firebaseSyncManager.isNetworkAvailable()) {
+            showToast("No connection, can't reset the databases");
+            return;
+        }
+        firebaseSyncManager.stopListening();
+        repository.resetDatabase(result -> firebaseSyncManager.resetFirebaseDatabase(success -> {
+            firebaseSyncManager.startListening();
+            showToast(success ? "Databases reset successfully!" : "Local database reset, but Firebase could not be reset");
+        })).onError(error -> {
+            firebaseSyncManager.startListening();
+            showToast("Error resetting the local database");
         });
     }
 
+    /**
+     * Shows sync progress on the sync button while a sync runs in the background
+     * 
+     * @param syncedRows Rows pushed so far
+     * @param totalRows Rows pending when the sync started
+     */
+    @Override
+    public void onSyncProgress(int syncedRows, int totalRows) {
+        btnSyncFirebase.setEnabled(false);
+        btnSyncFirebase.setText(getString(R.string.sync_progress, syncedRows, totalRows));
+    }
+
+    /**
+     * Restores the sync button and, for syncs started from the button, reports the outcome
+     * Automatic syncs after each edit finish silently
+     * 
+     * @param success Whether every pending change was pushed
+     * @param syncedRows Rows pushed by the sync
+     */
+    @Override
+    public void onSyncFinished(boolean success, int syncedRows) {
+        btnSyncFirebase.setEnabled(true);
+        if (syncStartedByUser) {
+            syncStartedByUser = false;
+            if (success) {
+                showToast(syncedRows == 0 ? "Firebase is already up to date" : "Synced " + syncedRows + " changes to Firebase");
+            } else {
+                showToast("Sync interrupted, it will retry automatically");
+            }
+        }
+    }
+
+    /**
+     * Shows how many changes are waiting to be synced on the sync button
+     * 
+     * @param pendingRows Rows in the outbound queue
+     */
+    @Override
+    public void onQueueDepthChanged(long pendingRows) {
+        if (firebaseSyncManager.isSyncing()) {
+            return; // Progress is shown instead
+        }
+        if (pendingRows == 0) {
+            btnSyncFirebase.setText(R.string.sync_with_firebase);
+        } else {
+            btnSyncFirebase.setText(getString(R.string.sync_pending, pendingRows));
+        }
+    }
+
     /**
      * Utility method to display toast messages to the user
      * Provides user feedback for various operations
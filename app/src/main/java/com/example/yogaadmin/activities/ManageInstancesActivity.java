@@ -3,14 +3,21 @@ package com.example.yogaadmin.activities;
 import android.content.Intent;
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.adapters.CourseRecyclerAdapter;
-import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.adapters.PageWindow;
+import com.example.yogaadmin.adapters.PagingScrollListener;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.Constants;
 import com.google.android.material.appbar.MaterialToolbar;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * ManageInstancesActivity - Activity for managing class instances across all courses
@@ -20,9 +27,9 @@ import java.util.List;
  * instance management screen for each specific course.
  * 
  * Features:
- * - Display all courses in a RecyclerView
+ * - Display all courses in a RecyclerView, loaded one page at a time as the user scrolls
  * - Navigation to instance management for each course
- * - Automatic refresh when returning to the activity
+ * - Changed courses are refreshed in place, keeping the scroll position
  * - Clean, organized course listing
  * 
  * The activity serves as a hub for accessing instance management functionality
@@ -34,12 +41,26 @@ public class ManageInstancesActivity extends AppCompatActivity {
     // UI Components - List Display
     private RecyclerView rvCourses;
     
-    // Data Access Objects
-    private CourseDAO courseDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request loadRequest;
     
-    // Adapters and Data
+    // Adapters and Paging
     private CourseRecyclerAdapter courseAdapter;
-    private List<YogaCourse> courseList;
+    private PagingScrollListener pagingScrollListener;
+
+    // Change Tracking - changed rows are refreshed in place, so the list keeps its position;
+    // the rows held are only re-queried as a whole after an unknown set of rows changed
+    private DataChangeNotifier changeNotifier;
+    private long loadedVersion;
+    private YogaRepository.Request refreshRequest;
+    private final Set<Integer> staleCourseIds = new HashSet<>();
+    private boolean staleRange;
+    private final DataChangeNotifier.Listener changeListener = (tableName, rowId) -> {
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            onDataChanged(tableName, rowId);
+        }
+    };
 
     /**
      * Called when the activity is first created
@@ -55,37 +76,152 @@ public class ManageInstancesActivity extends AppCompatActivity {
         setSupportActionBar(toolbar);
 
         // Initialize database access and RecyclerView
-        courseDAO = new CourseDAO(this);
+        repository = YogaRepository.getInstance(this);
         rvCourses = findViewById(R.id.rvCourses);
-        rvCourses.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvCourses.setLayoutManager(layoutManager);
+        courseAdapter = new CourseRecyclerAdapter(this, course -> {
+            // Handle course item click - navigate to instance management for this course
+            Intent intent = new Intent(ManageInstancesActivity.this, ViewInstancesActivity.class);
+            intent.putExtra("course_id", course.getId());
+            intent.putExtra("course_name", course.getName());
+            startActivity(intent);
+        });
+        rvCourses.setAdapter(courseAdapter);
+        pagingScrollListener = new PagingScrollListener(layoutManager, courseAdapter.getPageWindow(),
+                this::loadMoreCourses, this::loadPreviousCourses);
+        rvCourses.addOnScrollListener(pagingScrollListener);
 
-        // Load and display courses
+        // Load and display courses, then follow changes made elsewhere
+        changeNotifier = DataChangeNotifier.getInstance();
+        changeNotifier.addListener(changeListener);
         loadCourses();
     }
 
     /**
      * Called when the activity becomes visible to the user
-     * Refreshes the course list to show any changes made in other activities
+     * Refreshes the course list if courses changed while another activity was shown
      */
     @Override
     protected void onResume() {
         super.onResume();
-        loadCourses(); // Refresh the list when returning to this activity
+        refreshIfStale();
     }
 
     /**
-     * Loads all courses from the database and sets up the RecyclerView
-     * Creates a new adapter with click handling for navigation to instance management
+     * Called when the activity is being destroyed
+     * Cancels any pending course load so no callback reaches a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        changeNotifier.removeListener(changeListener);
+        YogaRepository.cancel(loadRequest);
+        YogaRepository.cancel(refreshRequest);
+    }
+
+    /**
+     * Reloads the courses held if the courses table changed while the change
+     * events were not being followed
+     */
+    private void refreshIfStale() {
+        if (changeNotifier.getVersion(DatabaseContract.CourseEntry.TABLE_NAME) != loadedVersion) {
+            loadedVersion = changeNotifier.getVersion(DatabaseContract.CourseEntry.TABLE_NAME);
+            staleRange = true;
+            refreshLoadedCourses();
+        }
+    }
+
+    /**
+     * Marks the course affected by a change as stale and refreshes it, or every
+     * course held if an unknown set of courses changed
+     *
+     * @param tableName The table that changed
+     * @param rowId The _id of the changed row, or DataChangeNotifier.ALL_ROWS
+     */
+    private void onDataChanged(String tableName, long rowId) {
+        if (!DatabaseContract.CourseEntry.TABLE_NAME.equals(tableName)) {
+            return;
+        }
+        // Each event stands for one step of the table's version
+        loadedVersion++;
+        if (rowId == DataChangeNotifier.ALL_ROWS) {
+            staleRange = true;
+        } else {
+            staleCourseIds.add((int) rowId);
+        }
+        refreshLoadedCourses();
+    }
+
+    /**
+     * Re-reads the stale courses in the background and updates them in place
+     * Only one refresh runs at a time; changes reported meanwhile are picked up when it finishes
+     */
+    private void refreshLoadedCourses() {
+        if (refreshRequest != null) {
+            return;
+        }
+        if (staleRange) {
+            staleRange = false;
+            staleCourseIds.clear();
+            PageWindow<YogaCourse> pageWindow = courseAdapter.getPageWindow();
+            int fromId = pageWindow.hasPrevious() ? courseAdapter.getFirstCourseId() : 0;
+            int toId = pageWindow.hasNext() ? courseAdapter.getLastCourseId() : Integer.MAX_VALUE;
+            refreshRequest = repository.loadCoursesInRange(fromId, toId, pageWindow.getCapacity(), courses -> {
+                courseAdapter.reloadCourses(courses);
+                onRefreshFinished();
+            }).onError(error -> refreshRequest = null);
+        } else if (!staleCourseIds.isEmpty()) {
+            int[] courseIds = staleCourseIds.stream().mapToInt(Integer::intValue).toArray();
+            staleCourseIds.clear();
+            refreshRequest = repository.loadCoursesById(courseIds, courses -> {
+                courseAdapter.updateCourses(courseIds, courses);
+                onRefreshFinished();
+            }).onError(error -> refreshRequest = null);
+        }
+    }
+
+    /**
+     * Starts the next refresh if more courses became stale while one was running
+     */
+    private void onRefreshFinished() {
+        refreshRequest = null;
+        refreshLoadedCourses();
+    }
+
+    /**
+     * Loads the first page of courses in the background and updates the RecyclerView
+     * Any load still in flight is cancelled so only the newest result is shown
      */
     private void loadCourses() {
-        courseList = courseDAO.getAllCourses();
-        courseAdapter = new CourseRecyclerAdapter(this, courseList, course -> {
-            // Handle course item click - navigate to instance management for this course
-            Intent intent = new Intent(ManageInstancesActivity.this, ViewInstancesActivity.class);
-            intent.putExtra("course_id", course.getId());
-            intent.putExtra("course_name", course.getName());
-            startActivity(intent);
+        YogaRepository.cancel(loadRequest);
+        loadedVersion = changeNotifier.getVersion(DatabaseContract.CourseEntry.TABLE_NAME);
+        pagingScrollListener.reset();
+        loadRequest = repository.loadCoursesPage(0, Constants.PAGE_SIZE, page -> {
+            courseAdapter.setCourses(page);
+            pagingScrollListener.onPageLoaded();
+        });
+    }
+
+    /**
+     * Loads the page of courses after the last one shown and appends it to the list
+     * Called by the scroll listener as the user nears the end of the loaded rows
+     */
+    private void loadMoreCourses() {
+        loadRequest = repository.loadCoursesPage(courseAdapter.getLastCourseId(), Constants.PAGE_SIZE, page -> {
+            courseAdapter.addCourses(page);
+            pagingScrollListener.onPageLoaded();
+        });
+    }
+
+    /**
+     * Loads the page of courses before the first one held and inserts it above the list
+     * Called by the scroll listener as the user scrolls back towards pages dropped from memory
+     */
+    private void loadPreviousCourses() {
+        loadRequest = repository.loadCoursesPageBefore(courseAdapter.getFirstCourseId(), Constants.PAGE_SIZE, page -> {
+            courseAdapter.addPreviousCourses(page);
+            pagingScrollListener.onPageLoaded();
         });
-        rvCourses.setAdapter(courseAdapter);
     }
 }
\ No newline at end of file
@@ -4,17 +4,22 @@ import android.os.Bundle;
 import android.text.TextUtils;
 import android.widget.Button;
 import android.widget.Toast;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.adapters.TeacherAdapter;
-import com.example.yogaadmin.database.TeacherDAO;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.TeacherCache;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.Teacher;
+import com.example.yogaadmin.utils.ScheduleIndex;
 import com.example.yogaadmin.utils.ValidationUtils;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.textfield.TextInputEditText;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,8 +33,9 @@ import java.util.List;
  * - Add new teachers with name, email, and phone number
  * - Input validation for email and phone number formats
  * - Display all teachers in a scrollable list
- * - Real-time list updates after adding teachers
+ * - Real-time list updates whenever the teachers table changes
  * - Form clearing after successful teacher addition
+ * - Audit of the whole schedule for teachers booked into overlapping classes
  * 
  * The activity uses Material Design components and provides a clean interface
  * for teacher management with proper validation and user feedback.
@@ -39,18 +45,30 @@ public class ManageTeachersActivity extends AppCompatActivity {
     // UI Components - Input Fields
     private TextInputEditText etTeacherName, etTeacherEmail, etTeacherPhone;
     
-    // UI Components - Action Button
-    private Button btnAddTeacher;
+    // UI Components - Action Buttons
+    private Button btnAddTeacher, btnCheckConflicts;
     
     // UI Components - RecyclerView
     private RecyclerView rvTeachers;
     
     // Adapters and Data
     private TeacherAdapter teacherAdapter;
-    private List<Teacher> teacherList = new ArrayList<>();
+    private TeacherCache.Snapshot teachers; // Null until loaded
     
-    // Data Access Objects
-    private TeacherDAO teacherDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request loadRequest;
+    private YogaRepository.Request saveRequest;
+    private YogaRepository.Request auditRequest;
+
+    // Change Tracking - the list is only re-queried after the teachers table changed
+    private DataChangeNotifier changeNotifier;
+    private long loadedVersion;
+    private final DataChangeNotifier.Listener changeListener = (tableName, rowId) -> {
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            refreshIfStale();
+        }
+    };
 
     /**
      * Called when the activity is first created
@@ -66,15 +84,41 @@ public class ManageTeachersActivity extends AppCompatActivity {
         setSupportActionBar(toolbar);
 
         // Initialize database access
-        teacherDAO = new TeacherDAO(this);
+        repository = YogaRepository.getInstance(this);
 
         // Set up UI components and data
         initializeViews();
         setupRecyclerView();
+        changeNotifier = DataChangeNotifier.getInstance();
+        changeNotifier.addListener(changeListener);
         loadTeachers();
 
-        // Set up the add teacher action
+        // Set up the add teacher and double booking audit actions
         btnAddTeacher.setOnClickListener(v -> addTeacher());
+        btnCheckConflicts.setOnClickListener(v -> checkConflicts());
+    }
+
+    /**
+     * Called when the activity becomes visible to the user
+     * Refreshes the teacher list if teachers changed while another activity was shown
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refreshIfStale();
+    }
+
+    /**
+     * Called when the activity is being destroyed
+     * Cancels pending database work so no callbacks reach a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        changeNotifier.removeListener(changeListener);
+        YogaRepository.cancel(loadRequest);
+        YogaRepository.cancel(saveRequest);
+        YogaRepository.cancel(auditRequest);
     }
 
     /**
@@ -87,8 +131,9 @@ public class ManageTeachersActivity extends AppCompatActivity {
         etTeacherEmail = findViewById(R.id.etTeacherEmail);
         etTeacherPhone = findViewById(R.id.etTeacherPhone);
         
-        // Action button for adding teachers
+        // Action buttons for adding teachers and auditing their schedules
         btnAddTeacher = findViewById(R.id.btnAddTeacher);
+        btnCheckConflicts = findViewById(R.id.btnCheckConflicts);
         
         // RecyclerView for displaying teachers
         rvTeachers = findViewById(R.id.rvTeachers);
@@ -100,17 +145,70 @@ public class ManageTeachersActivity extends AppCompatActivity {
      */
     private void setupRecyclerView() {
         rvTeachers.setLayoutManager(new LinearLayoutManager(this));
-        teacherAdapter = new TeacherAdapter(teacherList);
+        teacherAdapter = new TeacherAdapter();
         rvTeachers.setAdapter(teacherAdapter);
     }
 
     /**
-     * Loads all teachers from the database and updates the RecyclerView
+     * Reloads the teacher list if the teachers table changed since it was last loaded
+     */
+    private void refreshIfStale() {
+        if (changeNotifier.getVersion(DatabaseContract.TeacherEntry.TABLE_NAME) != loadedVersion) {
+            loadTeachers();
+        }
+    }
+
+    /**
+     * Loads all teachers in the background and updates the RecyclerView
      * Fetches teacher data and refreshes the adapter to display current data
      */
     private void loadTeachers() {
-        List<Teacher> teachers = teacherDAO.getAllTeachers();
-        teacherAdapter.updateData(teachers);
+        YogaRepository.cancel(loadRequest);
+        loadedVersion = changeNotifier.getVersion(DatabaseContract.TeacherEntry.TABLE_NAME);
+        loadRequest = repository.loadTeachers(loaded -> {
+            teachers = loaded;
+            teacherAdapter.updateData(loaded.getTeachers());
+        });
+    }
+
+    /**
+     * Audits the whole schedule in the background and lists every teacher
+     * booked into two overlapping courses or classes
+     */
+    private void checkConflicts() {
+        YogaRepository.cancel(auditRequest);
+        btnCheckConflicts.setEnabled(false);
+        auditRequest = repository.auditConflicts(conflicts -> {
+            btnCheckConflicts.setEnabled(true);
+            showConflicts(conflicts);
+        }).onError(error -> {
+            btnCheckConflicts.setEnabled(true);
+            Toast.makeText(this, "Error checking the schedule", Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    /**
+     * Shows the result of a double booking audit
+     *
+     * @param conflicts The overlapping pairs found, empty if every teacher is free
+     */
+    private void showConflicts(List<ScheduleIndex.Conflict> conflicts) {
+        if (conflicts.isEmpty()) {
+            Toast.makeText(this, "No double bookings found", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        for (ScheduleIndex.Conflict conflict : conflicts) {
+            Teacher teacher = teachers != null ? teachers.getById(conflict.first.teacherId) : null;
+            message.append(teacher != null ? teacher.getName() : "Unknown teacher").append(":\n")
+                    .append("  ").append(conflict.first.label).append("\n")
+                    .append("  ").append(conflict.second.label).append("\n\n");
+        }
+        new AlertDialog.Builder(this)
+                .setTitle(conflicts.size() + " Double Bookings")
+                .setMessage(message.toString().trim())
+                .setPositiveButton("OK", null)
+                .show();
     }
 
     /**
@@ -124,7 +222,7 @@ public class ManageTeachersActivity extends AppCompatActivity {
      * 5. Creates a new Teacher object
      * 6. Inserts the teacher into the database
      * 7. Provides user feedback and clears form on success
-     * 8. Refreshes the teacher list to show the new entry
+     * 8. The change listener then refreshes the teacher list to show the new entry
      */
     private void addTeacher() {
         // Extract and trim input values
@@ -152,19 +250,24 @@ public class ManageTeachersActivity extends AppCompatActivity {
         
         // Create new teacher object and insert into database
         Teacher teacher = new Teacher(0, name, email, phone);
-        long id = teacherDAO.insertTeacher(teacher);
-
-        // Handle the result of the database operation
-        if (id != -1) {
-            // Success: show feedback and clear form
-            Toast.makeText(this, "Teacher added successfully", Toast.LENGTH_SHORT).show();
-            etTeacherName.setText("");
-            etTeacherEmail.setText("");
-            etTeacherPhone.setText("");
-            loadTeachers(); // Refresh the list to show the new teacher
-        } else {
-            // Error: show error message
+        btnAddTeacher.setEnabled(false); // Prevent double submission while saving
+        saveRequest = repository.insertTeacher(teacher, id -> {
+            btnAddTeacher.setEnabled(true);
+
+            // Handle the result of the database operation
+            if (id != -1) {
+                // Success: show feedback and clear form
+                Toast.makeText(this, "Teacher added successfully", Toast.LENGTH_SHORT).show();
+                etTeacherName.setText("");
+                etTeacherEmail.setText("");
+                etTeacherPhone.setText("");
+            } else {
+                // Error: show error message
+                Toast.makeText(this, "Error adding teacher", Toast.LENGTH_SHORT).show();
+            }
+        }).onError(error -> {
+            btnAddTeacher.setEnabled(true);
             Toast.makeText(this, "Error adding teacher", Toast.LENGTH_SHORT).show();
-        }
+        });
     }
 }
\ No newline at end of file
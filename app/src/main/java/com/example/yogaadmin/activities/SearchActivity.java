@@ -3,6 +3,9 @@ package com.example.yogaadmin.activities;
 import android.app.DatePickerDialog;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextUtils;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
@@ -15,28 +18,29 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.adapters.CourseSearchAdapter;
-import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.YogaCourse;
 import com.example.yogaadmin.utils.Constants;
+import com.example.yogaadmin.utils.DateTimeUtils;
 import com.google.android.material.textfield.TextInputEditText;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * SearchActivity - Activity for searching and filtering yoga courses
  * 
  * This activity provides advanced search functionality for finding yoga courses
- * based on multiple criteria. Users can search by teacher name, filter by day
- * of the week, and filter by specific dates.
+ * based on multiple criteria. Users can search course names, descriptions, types
+ * and teacher names, filter by day of the week, and filter by specific dates.
  * 
  * Features:
- * - Text search by teacher name
+ * - Full-text search by course, description, type or teacher name
  * - Dropdown filter by day of the week
  * - Date picker for filtering by specific dates
- * - Real-time search results display
+ * - Search-as-you-type: typing, picking a day or picking a date starts a
+ *   debounced background query, and a newer change cancels any query in flight
+ * - Real-time search results display, updated through a diff
  * - Clear filters functionality
  * - Navigation to course details from search results
  * - Progress indicator during search
@@ -47,6 +51,9 @@ import java.util.Locale;
  */
 public class SearchActivity extends AppCompatActivity {
 
+    /** Delay after the last change before a search is started */
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
     // UI Components - Search Interface
     private SearchView searchView;
     private AutoCompleteTextView dayOfWeekSpinner;
@@ -60,12 +67,16 @@ public class SearchActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private TextView noResultsTextView;
 
-    // Data Access Objects
-    private CourseDAO courseDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request searchRequest;
+
+    // Debouncing - pending search is rescheduled on every change
+    private final Handler debounceHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::performSearch;
     
     // Adapters and Data
     private CourseSearchAdapter courseAdapter;
-    private List<YogaCourse> courseList = new ArrayList<>();
     
     // Date Selection
     private Calendar selectedDate;
@@ -80,7 +91,7 @@ public class SearchActivity extends AppCompatActivity {
         setContentView(R.layout.activity_search);
 
         // Initialize database access
-        courseDAO = new CourseDAO(this);
+        repository = YogaRepository.getInstance(this);
 
         // Initialize all UI components
         searchView = findViewById(R.id.searchView);
@@ -94,18 +105,29 @@ public class SearchActivity extends AppCompatActivity {
 
         // Set up all search functionality
         setupRecyclerView();
+        setupSearchView();
         setupDayOfWeekSpinner();
         setupDatePicker();
         setupActionButtons();
     }
 
+    /**
+     * Called when the activity is being destroyed
+     * Cancels pending and running searches so no callback reaches a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        cancelSearch();
+    }
+
     /**
      * Sets up the RecyclerView for displaying search results
      * Configures the layout manager and adapter with click handling
      */
     private void setupRecyclerView() {
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        courseAdapter = new CourseSearchAdapter(courseList, course -> {
+        courseAdapter = new CourseSearchAdapter(course -> {
             // Handle course item click - navigate to course details
             Intent intent = new Intent(SearchActivity.this, CourseDetailActivity.class);
             intent.putExtra(Constants.EXTRA_COURSE_ID, course.getId());
@@ -114,13 +136,35 @@ public class SearchActivity extends AppCompatActivity {
         recyclerView.setAdapter(courseAdapter);
     }
 
+    /**
+     * Sets up the search view for search-as-you-type
+     * Every change to the query schedules a debounced search; submitting searches immediately
+     */
+    private void setupSearchView() {
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                searchNow();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                scheduleSearch();
+                return true;
+            }
+        });
+    }
+
     /**
      * Sets up the day of week dropdown spinner
      * Populates the spinner with predefined day options from Constants
+     * and searches again when a day is picked
      */
     private void setupDayOfWeekSpinner() {
         ArrayAdapter<String> dayOfWeekAdapter = new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line, Constants.DAYS_OF_WEEK);
         dayOfWeekSpinner.setAdapter(dayOfWeekAdapter);
+        dayOfWeekSpinner.setOnItemClickListener((parent, view, position, id) -> scheduleSearch());
     }
 
     /**
@@ -145,8 +189,8 @@ public class SearchActivity extends AppCompatActivity {
                         // Handle date selection
                         selectedDate = Calendar.getInstance();
                         selectedDate.set(year1, monthOfYear, dayOfMonth);
-                        SimpleDateFormat sdf = new SimpleDateFormat(Constants.DATE_FORMAT, Locale.US);
-                        datePickerEditText.setText(sdf.format(selectedDate.getTime()));
+                        datePickerEditText.setText(DateTimeUtils.formatDisplayDate(selectedDate));
+                        scheduleSearch();
                     }, year, month, day);
             datePickerDialog.show();
         });
@@ -157,46 +201,91 @@ public class SearchActivity extends AppCompatActivity {
      * Configures click listeners for performing search and clearing filters
      */
     private void setupActionButtons() {
-        searchButton.setOnClickListener(v -> performSearch());
+        searchButton.setOnClickListener(v -> searchNow());
         clearButton.setOnClickListener(v -> clearFilters());
     }
 
+    /**
+     * Schedules a search after {@link #SEARCH_DEBOUNCE_MS}
+     * Any search that is pending or still running is cancelled first, so only
+     * the query for the latest input ever delivers results
+     */
+    private void scheduleSearch() {
+        cancelSearch();
+        debounceHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+    }
+
+    /**
+     * Starts a search immediately, replacing any pending or running search
+     */
+    private void searchNow() {
+        cancelSearch();
+        performSearch();
+    }
+
+    /**
+     * Drops the pending debounced search and cancels the query in flight, if any
+     */
+    private void cancelSearch() {
+        debounceHandler.removeCallbacks(searchRunnable);
+        YogaRepository.cancel(searchRequest);
+        searchRequest = null;
+    }
+
     /**
      * Performs the search operation based on current filter criteria
      * 
      * This method:
-     * 1. Shows progress indicator
-     * 2. Hides results and empty state views
-     * 3. Extracts search criteria from UI components
-     * 4. Executes database search with combined filters
-     * 5. Updates UI based on search results
-     * 6. Refreshes the RecyclerView adapter
+     * 1. Cancels any search that is still running
+     * 2. Extracts search criteria from UI components
+     * 3. Clears the results when no criteria are set
+     * 4. Shows progress indicator while keeping current results on screen
+     * 5. Executes database search with combined filters in the background
+     * 6. Diffs the new results into the RecyclerView when they arrive
      */
     private void performSearch() {
-        // Show progress indicator and hide other views
-        progressBar.setVisibility(View.VISIBLE);
-        noResultsTextView.setVisibility(View.GONE);
-        recyclerView.setVisibility(View.GONE);
-        courseList.clear();
+        YogaRepository.cancel(searchRequest);
 
         // Extract search criteria from UI components
-        String teacherName = searchView.getQuery().toString().trim();
+        String searchText = searchView.getQuery().toString().trim();
         String dayOfWeek = dayOfWeekSpinner.getText().toString();
-        String date = datePickerEditText.getText().toString();
+        String date = selectedDate != null ? DateTimeUtils.formatStorageDate(selectedDate) : "";
+
+        // Nothing to search for - show an empty screen rather than every course
+        if (TextUtils.isEmpty(searchText) && TextUtils.isEmpty(dayOfWeek) && TextUtils.isEmpty(date)) {
+            searchRequest = null;
+            showResults(Collections.emptyList(), false);
+            return;
+        }
+
+        // Show progress indicator on top of the current results
+        progressBar.setVisibility(View.VISIBLE);
+        noResultsTextView.setVisibility(View.GONE);
 
         // Perform search with combined filters
-        courseList.addAll(courseDAO.searchCourses(teacherName, dayOfWeek, date));
+        searchRequest = repository.searchCourses(searchText, dayOfWeek, date, results -> {
+            searchRequest = null;
+            showResults(results, true);
+        });
+    }
 
-        // Update UI based on search results
+    /**
+     * Submits search results to the adapter and updates the result views
+     * 
+     * @param results The courses to display
+     * @param showEmptyState Whether to show the "No results found" message for an empty list
+     */
+    private void showResults(List<YogaCourse> results, boolean showEmptyState) {
         progressBar.setVisibility(View.GONE);
-        if (courseList.isEmpty()) {
-            // Show empty state when no results found
-            noResultsTextView.setVisibility(View.VISIBLE);
+        courseAdapter.submitList(results);
+        if (results.isEmpty()) {
+            recyclerView.setVisibility(View.GONE);
+            noResultsTextView.setVisibility(showEmptyState ? View.VISIBLE : View.GONE);
         } else {
             // Show results when courses are found
             recyclerView.setVisibility(View.VISIBLE);
+            noResultsTextView.setVisibility(View.GONE);
         }
-        courseAdapter.notifyDataSetChanged();
     }
 
     /**
@@ -216,11 +305,11 @@ public class SearchActivity extends AppCompatActivity {
         dayOfWeekSpinner.setText("", false);
         datePickerEditText.setText("");
         selectedDate = null;
+
+        // Clearing the query schedules a search; drop it along with any running one
+        cancelSearch();
         
         // Clear results and update UI
-        courseList.clear();
-        courseAdapter.notifyDataSetChanged();
-        noResultsTextView.setVisibility(View.GONE);
-        recyclerView.setVisibility(View.GONE);
+        showResults(Collections.emptyList(), false);
     }
 }
@@ -0,0 +1,187 @@
+package com.example.yogaadmin.activities;
+
+import android.os.Bundle;
+import android.widget.TextView;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
+import com.example.yogaadmin.R;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.YogaRepository;
+import com.example.yogaadmin.models.StudioStatistics;
+import com.github.mikephil.charting.charts.BarChart;
+import com.github.mikephil.charting.components.XAxis;
+import com.github.mikephil.charting.data.BarData;
+import com.github.mikephil.charting.data.BarDataSet;
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
+import com.google.android.material.appbar.MaterialToolbar;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * StatisticsActivity - Dashboard with studio-wide statistics
+ *
+ * This activity shows the number of courses per day of the week, the number of
+ * class instances per teacher, the total capacity of all scheduled classes and
+ * their projected revenue. The figures are read from statistics tables that
+ * database triggers keep up to date on every write, so opening or refreshing
+ * the dashboard costs the same however many courses and instances exist.
+ *
+ * Features:
+ * - Course, instance, capacity and projected revenue totals
+ * - Bar chart of courses per day of week
+ * - Bar chart of instances per teacher
+ * - Automatic refresh when courses, instances or teachers change
+ */
+public class StatisticsActivity extends AppCompatActivity {
+
+    // UI Components
+    private TextView tvTotalCourses, tvTotalStudents, tvTotalInstances, tvProjectedRevenue;
+    private BarChart barChart, teacherChart;
+
+    // Data Access - statistics are loaded in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request loadRequest;
+
+    // Change Tracking - teacher names are shown, so teacher changes count as well
+    private static final String[] STATISTICS_TABLES = {
+            DatabaseContract.CourseEntry.TABLE_NAME,
+            DatabaseContract.InstanceEntry.TABLE_NAME,
+            DatabaseContract.TeacherEntry.TABLE_NAME};
+    private DataChangeNotifier changeNotifier;
+    private long loadedVersion = -1; // Nothing loaded yet
+    private final DataChangeNotifier.Listener changeListener = (tableName, rowId) -> {
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            refreshIfStale();
+        }
+    };
+
+    /**
+     * Called when the activity is first created
+     * Sets up the totals and charts; the statistics are loaded in onResume
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.fragment_statistics);
+
+        // Set up the toolbar
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+
+        // Initialize UI components and database access
+        tvTotalCourses = findViewById(R.id.tvTotalCourses);
+        tvTotalStudents = findViewById(R.id.tvTotalStudents);
+        tvTotalInstances = findViewById(R.id.tvTotalInstances);
+        tvProjectedRevenue = findViewById(R.id.tvProjectedRevenue);
+        barChart = findViewById(R.id.barChart);
+        teacherChart = findViewById(R.id.teacherChart);
+        setupChart(barChart);
+        setupChart(teacherChart);
+        repository = YogaRepository.getInstance(this);
+
+        // Follow changes made while the dashboard is shown
+        changeNotifier = DataChangeNotifier.getInstance();
+        changeNotifier.addListener(changeListener);
+    }
+
+    /**
+     * Called when the activity becomes visible to the user
+     * Reloads the statistics if they changed while another activity was shown
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refreshIfStale();
+    }
+
+    /**
+     * Called when the activity is being destroyed
+     * Cancels a statistics load that is still pending
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        changeNotifier.removeListener(changeListener);
+        YogaRepository.cancel(loadRequest);
+    }
+
+    /**
+     * Reloads the statistics if courses, instances or teachers changed since they were loaded
+     */
+    private void refreshIfStale() {
+        if (changeNotifier.getVersion(STATISTICS_TABLES) != loadedVersion) {
+            loadStatistics();
+        }
+    }
+
+    /**
+     * Loads the statistics in the background and shows them
+     * Any load still in flight is cancelled so only the newest result is shown
+     */
+    private void loadStatistics() {
+        YogaRepository.cancel(loadRequest);
+        loadedVersion = changeNotifier.getVersion(STATISTICS_TABLES);
+        loadRequest = repository.loadStatistics(this::showStatistics);
+    }
+
+    /**
+     * Shows the totals and fills both charts
+     *
+     * @param statistics The statistics to show
+     */
+    private void showStatistics(StudioStatistics statistics) {
+        tvTotalCourses.setText(getString(R.string.total_courses, statistics.getTotalCourses()));
+        tvTotalInstances.setText(getString(R.string.total_instances, statistics.getTotalInstances()));
+        tvTotalStudents.setText(getString(R.string.total_capacity, statistics.getTotalCapacity()));
+        tvProjectedRevenue.setText(String.format(Locale.getDefault(), getString(R.string.projected_revenue),
+                statistics.getProjectedRevenue()));
+
+        showCounts(barChart, statistics.getCoursesByDay(), getString(R.string.courses_per_day));
+        showCounts(teacherChart, statistics.getInstancesByTeacher(), getString(R.string.instances_per_teacher));
+    }
+
+    /**
+     * Applies the shared chart styling: labels under each bar and no description
+     *
+     * @param chart The chart to configure
+     */
+    private void setupChart(BarChart chart) {
+        chart.getDescription().setEnabled(false);
+        chart.getAxisRight().setEnabled(false);
+        chart.getAxisLeft().setAxisMinimum(0f);
+        chart.getAxisLeft().setGranularity(1f);
+        chart.setNoDataText(getString(R.string.no_statistics));
+        XAxis xAxis = chart.getXAxis();
+        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+        xAxis.setGranularity(1f);
+        xAxis.setDrawGridLines(false);
+    }
+
+    /**
+     * Shows one bar per label
+     *
+     * @param chart The chart to fill
+     * @param counts The count for each label, in display order
+     * @param label The legend label of the data set
+     */
+    private void showCounts(BarChart chart, Map<String, Integer> counts, String label) {
+        if (counts.isEmpty()) {
+            chart.clear(); // Shows the no data text
+            return;
+        }
+        List<BarEntry> entries = new ArrayList<>(counts.size());
+        List<String> labels = new ArrayList<>(counts.size());
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            entries.add(new BarEntry(labels.size(), count.getValue()));
+            labels.add(count.getKey());
+        }
+        chart.getXAxis().setValueFormatter(new IndexAxisValueFormatter(labels));
+        chart.getXAxis().setLabelCount(labels.size());
+        chart.setData(new BarData(new BarDataSet(entries, label)));
+        chart.invalidate();
+    }
+}
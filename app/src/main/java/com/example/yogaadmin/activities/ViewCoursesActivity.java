@@ -4,15 +4,22 @@ import android.content.Intent;
 import android.os.Bundle;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.adapters.CourseViewAdapter;
-import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.adapters.PageWindow;
+import com.example.yogaadmin.adapters.PagingScrollListener;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.Constants;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * ViewCoursesActivity - Activity for displaying and managing yoga courses
@@ -30,22 +37,41 @@ import java.util.List;
  * 
  * Features:
  * - RecyclerView with custom adapter for course display
+ * - Courses are loaded one page at a time as the user scrolls
  * - CRUD operations for courses
  * - Navigation to related activities
  * - Confirmation dialogs for destructive actions
- * - Automatic refresh on resume
+ * - Changed courses and teacher names are refreshed in place, keeping the scroll position
  */
 public class ViewCoursesActivity extends AppCompatActivity implements CourseViewAdapter.OnCourseActionsClickListener {
     
     // UI Components
     private RecyclerView rvCourses;
     
-    // Data Access Objects
-    private CourseDAO courseDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request loadRequest;
+    private YogaRepository.Request deleteRequest;
     
-    // Adapters and Data
+    // Adapters and Paging
     private CourseViewAdapter courseAdapter;
-    private List<YogaCourse> courseList;
+    private PagingScrollListener pagingScrollListener;
+
+    // Change Tracking - changed rows are refreshed in place, so the list keeps its position;
+    // the rows held are only re-queried as a whole after an unknown set of rows changed
+    private static final String[] COURSE_TABLES = {
+            DatabaseContract.CourseEntry.TABLE_NAME,
+            DatabaseContract.TeacherEntry.TABLE_NAME};
+    private DataChangeNotifier changeNotifier;
+    private long loadedVersion;
+    private YogaRepository.Request refreshRequest;
+    private final Set<Integer> staleCourseIds = new HashSet<>();
+    private boolean staleRange;
+    private final DataChangeNotifier.Listener changeListener = (tableName, rowId) -> {
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            onDataChanged(tableName, rowId);
+        }
+    };
 
     /**
      * Called when the activity is first created
@@ -61,9 +87,15 @@ public class ViewCoursesActivity extends AppCompatActivity implements CourseView
         setSupportActionBar(toolbar);
 
         // Initialize database access and RecyclerView
-        courseDAO = new CourseDAO(this);
+        repository = YogaRepository.getInstance(this);
         rvCourses = findViewById(R.id.rvCourses);
-        rvCourses.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvCourses.setLayoutManager(layoutManager);
+        courseAdapter = new CourseViewAdapter(this, this);
+        rvCourses.setAdapter(courseAdapter);
+        pagingScrollListener = new PagingScrollListener(layoutManager, courseAdapter.getPageWindow(),
+                this::loadMoreCourses, this::loadPreviousCourses);
+        rvCourses.addOnScrollListener(pagingScrollListener);
 
         // Set up FloatingActionButton for adding new courses
         FloatingActionButton fabAddCourse = findViewById(R.id.fabAddCourse);
@@ -71,28 +103,147 @@ public class ViewCoursesActivity extends AppCompatActivity implements CourseView
             startActivity(new Intent(ViewCoursesActivity.this, AddCourseActivity.class));
         });
 
-        // Load and display courses
+        // Load and display courses, then follow changes made elsewhere
+        changeNotifier = DataChangeNotifier.getInstance();
+        changeNotifier.addListener(changeListener);
         loadCourses();
     }
 
     /**
      * Called when the activity becomes visible to the user
-     * Refreshes the course list to show any changes made in other activities
+     * Refreshes the course list if courses changed while another activity was shown
      */
     @Override
     protected void onResume() {
         super.onResume();
-        loadCourses(); // Refresh the list when returning to this activity
+        refreshIfStale();
+    }
+
+    /**
+     * Called when the activity is being destroyed
+     * Cancels any database work that is still pending so no callbacks reach a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        changeNotifier.removeListener(changeListener);
+        YogaRepository.cancel(loadRequest);
+        YogaRepository.cancel(refreshRequest);
+        YogaRepository.cancel(deleteRequest);
+    }
+
+    /**
+     * Reloads the courses held if the courses or teachers tables changed while
+     * the change events were not being followed
+     */
+    private void refreshIfStale() {
+        if (changeNotifier.getVersion(COURSE_TABLES) != loadedVersion) {
+            loadedVersion = changeNotifier.getVersion(COURSE_TABLES);
+            staleRange = true;
+            refreshLoadedCourses();
+        }
     }
 
     /**
-     * Loads all courses from the database and updates the RecyclerView
-     * Creates a new adapter with the current course list and sets it to the RecyclerView
+     * Marks the courses affected by a change as stale and refreshes them
+     * A changed course is refreshed by its ID, a changed teacher through the courses
+     * held that show the teacher's name, and a change to an unknown set of rows
+     * through every course held
+     *
+     * @param tableName The table that changed
+     * @param rowId The _id of the changed row, or DataChangeNotifier.ALL_ROWS
+     */
+    private void onDataChanged(String tableName, long rowId) {
+        boolean courses = DatabaseContract.CourseEntry.TABLE_NAME.equals(tableName);
+        boolean teachers = DatabaseContract.TeacherEntry.TABLE_NAME.equals(tableName);
+        if (!courses && !teachers) {
+            return;
+        }
+        // Record the real version: events still in flight mark their own rows, and
+        // counting events would drift past it after refreshIfStale() had reloaded
+        loadedVersion = changeNotifier.getVersion(COURSE_TABLES);
+        if (rowId == DataChangeNotifier.ALL_ROWS) {
+            staleRange = true;
+        } else if (courses) {
+            staleCourseIds.add((int) rowId);
+        } else {
+            for (int courseId : courseAdapter.getCourseIdsForTeacher((int) rowId)) {
+                staleCourseIds.add(courseId);
+            }
+        }
+        refreshLoadedCourses();
+    }
+
+    /**
+     * Re-reads the stale courses in the background and updates them in place
+     * Only one refresh runs at a time; changes reported meanwhile are picked up when it finishes
+     */
+    private void refreshLoadedCourses() {
+        if (refreshRequest != null) {
+            return;
+        }
+        if (staleRange) {
+            staleRange = false;
+            staleCourseIds.clear();
+            PageWindow<YogaCourse> pageWindow = courseAdapter.getPageWindow();
+            int fromId = pageWindow.hasPrevious() ? courseAdapter.getFirstCourseId() : 0;
+            int toId = pageWindow.hasNext() ? courseAdapter.getLastCourseId() : Integer.MAX_VALUE;
+            refreshRequest = repository.loadCoursesInRange(fromId, toId, pageWindow.getCapacity(), courses -> {
+                courseAdapter.reloadCourses(courses);
+                onRefreshFinished();
+            }).onError(error -> refreshRequest = null);
+        } else if (!staleCourseIds.isEmpty()) {
+            int[] courseIds = staleCourseIds.stream().mapToInt(Integer::intValue).toArray();
+            staleCourseIds.clear();
+            refreshRequest = repository.loadCoursesById(courseIds, courses -> {
+                courseAdapter.updateCourses(courseIds, courses);
+                onRefreshFinished();
+            }).onError(error -> refreshRequest = null);
+        }
+    }
+
+    /**
+     * Starts the next refresh if more courses became stale while one was running
+     */
+    private void onRefreshFinished() {
+        refreshRequest = null;
+        refreshLoadedCourses();
+    }
+
+    /**
+     * Loads the first page of courses in the background and updates the RecyclerView
+     * Any load still in flight is cancelled so only the newest result is shown
      */
     private void loadCourses() {
-        courseList = courseDAO.getAllCourses();
-        courseAdapter = new CourseViewAdapter(this, courseList, this);
-        rvCourses.setAdapter(courseAdapter);
+        YogaRepository.cancel(loadRequest);
+        loadedVersion = changeNotifier.getVersion(COURSE_TABLES);
+        pagingScrollListener.reset();
+        loadRequest = repository.loadCoursesPage(0, Constants.PAGE_SIZE, page -> {
+            courseAdapter.setCourses(page);
+            pagingScrollListener.onPageLoaded();
+        });
+    }
+
+    /**
+     * Loads the page of courses after the last one shown and appends it to the list
+     * Called by the scroll listener as the user nears the end of the loaded rows
+     */
+    private void loadMoreCourses() {
+        loadRequest = repository.loadCoursesPage(courseAdapter.getLastCourseId(), Constants.PAGE_SIZE, page -> {
+            courseAdapter.addCourses(page);
+            pagingScrollListener.onPageLoaded();
+        });
+    }
+
+    /**
+     * Loads the page of courses before the first one held and inserts it above the list
+     * Called by the scroll listener as the user scrolls back towards pages dropped from memory
+     */
+    private void loadPreviousCourses() {
+        loadRequest = repository.loadCoursesPageBefore(courseAdapter.getFirstCourseId(), Constants.PAGE_SIZE, page -> {
+            courseAdapter.addPreviousCourses(page);
+            pagingScrollListener.onPageLoaded();
+        });
     }
 
     /**
@@ -167,11 +318,11 @@ public class ViewCoursesActivity extends AppCompatActivity implements CourseView
                 .setTitle("Delete Course")
                 .setMessage("Are you sure you want to delete this course? This will also delete all associated class instances.")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    // Delete the course from database (cascade delete will handle instances)
-                    courseDAO.deleteCourse(course.getId());
-                    // Refresh the course list to reflect changes
-                    loadCourses();
-                    showToast("Course deleted successfully");
+                    // Delete the course in the background (cascade delete will handle instances)
+                    // The change listener refreshes the list once the delete is committed
+                    deleteRequest = repository.deleteCourse(course.getId(), result -> {
+                        showToast("Course deleted successfully");
+                    }).onError(error -> showToast("Error deleting course"));
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
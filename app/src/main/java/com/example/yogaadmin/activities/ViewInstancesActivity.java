@@ -6,16 +6,19 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.adapters.InstanceAdapter;
-import com.example.yogaadmin.database.CourseDAO;
-import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.adapters.PagingScrollListener;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.YogaRepository;
 import com.example.yogaadmin.models.ClassInstance;
 import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.Constants;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
-import java.util.List;
 
 /**
  * ViewInstancesActivity - Activity for viewing and managing class instances
@@ -25,11 +28,11 @@ import java.util.List;
  * and allows users to manage the schedule for that course.
  * 
  * Features:
- * - Display all instances for a specific course
+ * - Display all instances for a specific course, most recent first, one page at a time
  * - Add new class instances via FloatingActionButton
  * - Edit existing class instances
  * - Delete class instances with confirmation
- * - Real-time list updates after operations
+ * - Real-time list updates whenever instances, teachers or this course change
  * - Navigation to related activities
  * 
  * The activity receives a course ID from the calling activity and loads all
@@ -46,13 +49,22 @@ public class ViewInstancesActivity extends AppCompatActivity {
     // UI Components - Action Button
     private FloatingActionButton btnAddInstance;
     
-    // Data Access Objects
-    private InstanceDAO instanceDAO;
-    private CourseDAO courseDAO;
+    // Data Access - queries run in the background via the repository
+    private YogaRepository repository;
+    private YogaRepository.Request courseRequest;
+    private YogaRepository.Request loadRequest;
+    private YogaRepository.Request deleteRequest;
     
-    // Adapters and Data
+    // Adapters and Paging
     private InstanceAdapter instanceAdapter;
-    private List<ClassInstance> instanceList;
+    private PagingScrollListener pagingScrollListener;
+
+    // Change Tracking - instances are shown with their teacher's name, so both tables count
+    private static final String[] INSTANCE_TABLES = {
+            DatabaseContract.InstanceEntry.TABLE_NAME, DatabaseContract.TeacherEntry.TABLE_NAME};
+    private DataChangeNotifier changeNotifier;
+    private long loadedVersion = -1; // Nothing loaded yet
+    private final DataChangeNotifier.Listener changeListener = this::onDataChanged;
     
     // Course Information
     private YogaCourse course;
@@ -68,8 +80,7 @@ public class ViewInstancesActivity extends AppCompatActivity {
         setContentView(R.layout.activity_view_instances);
 
         // Initialize database access
-        instanceDAO = new InstanceDAO(this);
-        courseDAO = new CourseDAO(this);
+        repository = YogaRepository.getInstance(this);
         
         // Extract course ID from intent
         courseId = getIntent().getIntExtra("course_id", -1);
@@ -81,22 +92,12 @@ public class ViewInstancesActivity extends AppCompatActivity {
             return;
         }
 
-        // Load course information
-        course = courseDAO.getCourseById(courseId);
-
-        // Validate course exists
-        if (course == null) {
-            showToast("Error: Course not found");
-            finish(); // Close activity if course not found
-            return;
-        }
-
         // Set up UI and functionality
         initializeViews();
         setupRecyclerView();
-        loadInstances();
 
-        // Set up FloatingActionButton for adding new instances
+        // Set up FloatingActionButton for adding new instances (enabled once the course has loaded)
+        btnAddInstance.setEnabled(false);
         btnAddInstance.setOnClickListener(v -> {
             Intent intent = new Intent(ViewInstancesActivity.this, AddInstanceActivity.class);
             intent.putExtra("course_id", course.getId());
@@ -105,45 +106,145 @@ public class ViewInstancesActivity extends AppCompatActivity {
             intent.putExtra("course_day", course.getDayOfWeek());
             startActivity(intent);
         });
+
+        // Load course information in the background, then follow changes made elsewhere
+        changeNotifier = DataChangeNotifier.getInstance();
+        changeNotifier.addListener(changeListener);
+        loadCourse();
     }
 
     /**
      * Called when the activity becomes visible to the user
-     * Refreshes the instance list to show any changes made in other activities
+     * Loads the instance list the first time, and afterwards only if it has changed
      */
     @Override
     protected void onResume() {
         super.onResume();
-        loadInstances(); // Refresh the list when returning to this activity
+        if (courseId != -1) {
+            refreshIfStale();
+        }
+    }
+
+    /**
+     * Called when the activity is being destroyed
+     * Cancels any database work that is still pending so no callbacks reach a dead activity
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (changeNotifier != null) {
+            changeNotifier.removeListener(changeListener);
+        }
+        YogaRepository.cancel(courseRequest);
+        YogaRepository.cancel(loadRequest);
+        YogaRepository.cancel(deleteRequest);
     }
 
     /**
      * Initializes all UI components by finding them in the layout
-     * Sets the course name in the toolbar title
      */
     private void initializeViews() {
         tvCourseName = findViewById(R.id.toolbar_title);
         rvInstances = findViewById(R.id.instancesRecyclerView);
         btnAddInstance = findViewById(R.id.addInstanceFab);
-        tvCourseName.setText(course.getName()); // Set course name in toolbar
     }
 
     /**
-     * Sets up the RecyclerView with layout manager
+     * Loads the course in the background and shows its name in the toolbar
+     * Closes the activity if the course no longer exists
+     */
+    private void loadCourse() {
+        YogaRepository.cancel(courseRequest);
+        courseRequest = repository.loadCourse(courseId, loadedCourse -> {
+            // Validate course exists
+            if (loadedCourse == null) {
+                showToast("Error: Course not found");
+                finish(); // Close activity if course not found
+                return;
+            }
+            course = loadedCourse;
+            tvCourseName.setText(course.getName()); // Set course name in toolbar
+            btnAddInstance.setEnabled(true);
+        });
+    }
+
+    /**
+     * Called on the main thread after any table has been written
+     * Reloads the course when this course changed and the list when it is out of date,
+     * but only while the activity is in front; onResume() catches up otherwise
+     *
+     * @param tableName The table that changed
+     * @param rowId The changed row, or DataChangeNotifier.ALL_ROWS
+     */
+    private void onDataChanged(String tableName, long rowId) {
+        if (!getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            return;
+        }
+        if (tableName.equals(DatabaseContract.CourseEntry.TABLE_NAME)
+                && (rowId == courseId || rowId == DataChangeNotifier.ALL_ROWS)) {
+            loadCourse();
+        }
+        refreshIfStale();
+    }
+
+    /**
+     * Reloads the instance list if instances or teachers changed since it was last loaded
+     */
+    private void refreshIfStale() {
+        if (changeNotifier.getVersion(INSTANCE_TABLES) != loadedVersion) {
+            loadInstances();
+        }
+    }
+
+    /**
+     * Sets up the RecyclerView with layout manager, adapter and paging
      * Configures the RecyclerView to display instances in a vertical list
+     * that loads the next page as the user scrolls
      */
     private void setupRecyclerView() {
-        rvInstances.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvInstances.setLayoutManager(layoutManager);
+        instanceAdapter = new InstanceAdapter(this, this::showInstanceOptions);
+        rvInstances.setAdapter(instanceAdapter);
+        pagingScrollListener = new PagingScrollListener(layoutManager, instanceAdapter.getPageWindow(),
+                this::loadMoreInstances, this::loadPreviousInstances);
+        rvInstances.addOnScrollListener(pagingScrollListener);
     }
 
     /**
-     * Loads all instances for the current course and updates the RecyclerView
-     * Creates a new adapter with the current instance list and click handling
+     * Loads the first page of instances for the current course in the background
+     * Any load still in flight is cancelled so only the newest result is shown
      */
     private void loadInstances() {
-        instanceList = instanceDAO.getInstancesForCourse(courseId);
-        instanceAdapter = new InstanceAdapter(this, instanceList, this::showInstanceOptions);
-        rvInstances.setAdapter(instanceAdapter);
+        YogaRepository.cancel(loadRequest);
+        pagingScrollListener.reset();
+        loadedVersion = changeNotifier.getVersion(INSTANCE_TABLES);
+        loadRequest = repository.loadInstancesPage(courseId, null, Constants.PAGE_SIZE, page -> {
+            instanceAdapter.setInstances(page);
+            pagingScrollListener.onPageLoaded();
+        });
+    }
+
+    /**
+     * Loads the page of instances after the last one shown and appends it to the list
+     * Called by the scroll listener as the user nears the end of the loaded rows
+     */
+    private void loadMoreInstances() {
+        loadRequest = repository.loadInstancesPage(courseId, instanceAdapter.getLastInstance(), Constants.PAGE_SIZE, page -> {
+            instanceAdapter.addInstances(page);
+            pagingScrollListener.onPageLoaded();
+        });
+    }
+
+    /**
+     * Loads the page of instances before the first one held and inserts it above the list
+     * Called by the scroll listener as the user scrolls back towards pages dropped from memory
+     */
+    private void loadPreviousInstances() {
+        loadRequest = repository.loadInstancesPageBefore(courseId, instanceAdapter.getFirstInstance(), Constants.PAGE_SIZE, page -> {
+            instanceAdapter.addPreviousInstances(page);
+            pagingScrollListener.onPageLoaded();
+        });
     }
 
     /**
@@ -153,6 +254,9 @@ public class ViewInstancesActivity extends AppCompatActivity {
      * @param instance The class instance to manage
      */
     private void showInstanceOptions(ClassInstance instance) {
+        if (course == null) {
+            return; // Course details are still loading
+        }
         new AlertDialog.Builder(this)
                 .setTitle("Instance Options")
                 .setItems(new String[]{"Edit Instance", "Delete Instance"}, (dialog, which) -> {
@@ -183,7 +287,7 @@ public class ViewInstancesActivity extends AppCompatActivity {
 
     /**
      * Shows a confirmation dialog and deletes the instance if confirmed
-     * Deletes the class instance from the database and refreshes the list
+     * Deletes the class instance from the database; the change listener refreshes the list
      * 
      * @param instance The class instance to delete
      */
@@ -192,11 +296,10 @@ public class ViewInstancesActivity extends AppCompatActivity {
                 .setTitle("Delete Instance")
                 .setMessage("Are you sure you want to delete this class instance?")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    // Delete the instance from database
-                    instanceDAO.deleteInstance(instance.getId());
-                    // Refresh the list to reflect changes
-                    loadInstances();
-                    showToast("Instance deleted successfully");
+                    // Delete the instance in the background
+                    deleteRequest = repository.deleteInstance(instance.getId(), result -> {
+                        showToast("Instance deleted successfully");
+                    }).onError(error -> showToast("Error deleting instance"));
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -6,10 +6,17 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.Constants;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * CourseRecyclerAdapter - Simple RecyclerView adapter for displaying courses in a list
@@ -24,17 +31,44 @@ import java.util.List;
  * - Simple, clean layout for course items
  * - Efficient view holder pattern implementation
  * - Callback interface for handling course selection
+ * - Page-aware: rows are loaded one page at a time as the user scrolls, and only
+ *   a window of pages around the visible rows is kept in memory
+ * - Incremental updates: reloaded lists are diffed on a background thread,
+ *   so only rows that actually changed are rebound, and single changed courses
+ *   are refreshed in place without reloading their pages
  * 
  * This adapter is typically used in scenarios like course selection for instance
  * management or other course-related operations.
  */
-public class CourseRecyclerAdapter extends RecyclerView.Adapter<CourseRecyclerAdapter.CourseViewHolder> {
+public class CourseRecyclerAdapter extends ListAdapter<YogaCourse, CourseRecyclerAdapter.CourseViewHolder> {
+
+    /**
+     * Identifies courses by ID and compares the fields shown in a course row
+     */
+    private static final DiffUtil.ItemCallback<YogaCourse> DIFF_CALLBACK = new DiffUtil.ItemCallback<YogaCourse>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull YogaCourse oldItem, @NonNull YogaCourse newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull YogaCourse oldItem, @NonNull YogaCourse newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+    };
+
+    /**
+     * Orders courses as the pages do, by ID
+     */
+    private static final Comparator<YogaCourse> BY_ID = Comparator.comparingInt(YogaCourse::getId);
 
     // Context for inflating layouts and accessing resources
     private final Context context;
     
-    // Data source containing all courses to display
-    private final List<YogaCourse> courses;
+    // The window of course pages held in memory, as last submitted; the displayed
+    // list catches up once the background diff has finished
+    private final PageWindow<YogaCourse> pageWindow = new PageWindow<>(Constants.PAGE_SIZE, Constants.MAX_LOADED_PAGES);
     
     // Callback interface for handling course item clicks
     private final OnCourseClickListener onCourseClickListener;
@@ -55,12 +89,11 @@ public class CourseRecyclerAdapter extends RecyclerView.Adapter<CourseRecyclerAd
      * Constructor for CourseRecyclerAdapter
      * 
      * @param context The context for inflating layouts
-     * @param courses The list of courses to display
      * @param onCourseClickListener The callback interface for handling course clicks
      */
-    public CourseRecyclerAdapter(Context context, List<YogaCourse> courses, OnCourseClickListener onCourseClickListener) {
+    public CourseRecyclerAdapter(Context context, OnCourseClickListener onCourseClickListener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.courses = courses;
         this.onCourseClickListener = onCourseClickListener;
     }
 
@@ -88,18 +121,100 @@ public class CourseRecyclerAdapter extends RecyclerView.Adapter<CourseRecyclerAd
      */
     @Override
     public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
-        YogaCourse course = courses.get(position);
+        YogaCourse course = getItem(position);
         holder.bind(course, onCourseClickListener);
     }
 
     /**
-     * Returns the total number of items in the data set
+     * Replaces the displayed courses with the first page of a fresh load
+     * Rows that did not change keep their views
      * 
-     * @return The number of courses in the list
+     * @param firstPage The first page of courses
      */
-    @Override
-    public int getItemCount() {
-        return courses.size();
+    public void setCourses(List<YogaCourse> firstPage) {
+        pageWindow.setFirstPage(firstPage);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Appends the next page of courses below the rows already shown
+     * The page furthest above is dropped once the window is full
+     * 
+     * @param page The next page of courses
+     */
+    public void addCourses(List<YogaCourse> page) {
+        pageWindow.append(page);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Inserts the previous page of courses above the rows already shown
+     * The page furthest below is dropped once the window is full
+     * 
+     * @param page The previous page of courses, in ID order
+     */
+    public void addPreviousCourses(List<YogaCourse> page) {
+        pageWindow.prepend(page);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Refreshes single courses in place after they were reported as changed
+     * Courses missing from the reloaded rows were deleted and are removed
+     * 
+     * @param courseIds The IDs of the changed courses
+     * @param courses The changed courses that still exist
+     */
+    public void updateCourses(int[] courseIds, List<YogaCourse> courses) {
+        Set<Integer> deletedIds = new HashSet<>();
+        for (int courseId : courseIds) {
+            deletedIds.add(courseId);
+        }
+        for (YogaCourse course : courses) {
+            deletedIds.remove(course.getId());
+            pageWindow.put(course, BY_ID);
+        }
+        pageWindow.removeIf(course -> deletedIds.contains(course.getId()));
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Replaces every course held with a fresh copy, keeping the list at the same position
+     * 
+     * @param courses The courses from the first ID held to the last, in ID order
+     */
+    public void reloadCourses(List<YogaCourse> courses) {
+        pageWindow.reload(courses);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Returns the pages held in memory, used by the scroll listener to decide which page to load
+     * 
+     * @return The window of course pages
+     */
+    public PageWindow<YogaCourse> getPageWindow() {
+        return pageWindow;
+    }
+
+    /**
+     * Returns the ID of the first course held, used as the key for the previous page
+     * 
+     * @return The first course ID, or 0 if nothing has been loaded
+     */
+    public int getFirstCourseId() {
+        YogaCourse first = pageWindow.getFirst();
+        return first == null ? 0 : first.getId();
+    }
+
+    /**
+     * Returns the ID of the last course held, used as the key for the next page
+     * 
+     * @return The last course ID, or 0 if nothing has been loaded
+     */
+    public int getLastCourseId() {
+        YogaCourse last = pageWindow.getLast();
+        return last == null ? 0 : last.getId();
     }
 
     /**
@@ -5,10 +5,12 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.models.YogaCourse;
-import java.util.List;
+import java.util.Objects;
 
 /**
  * CourseSearchAdapter - RecyclerView adapter for displaying search results
@@ -23,15 +25,33 @@ import java.util.List;
  * - Optimized layout for search result display
  * - Efficient view holder pattern implementation
  * - Callback interface for handling course selection
+ * - Incremental updates: new result lists are diffed on a background thread,
+ *   so only rows that actually changed are rebound while the user types
  * 
  * This adapter is specifically designed for displaying search results in a
  * user-friendly format that makes it easy to identify and select courses.
+ * Results are supplied with {@link #submitList(java.util.List)}.
  */
-public class CourseSearchAdapter extends RecyclerView.Adapter<CourseSearchAdapter.CourseViewHolder> {
+public class CourseSearchAdapter extends ListAdapter<YogaCourse, CourseSearchAdapter.CourseViewHolder> {
+
+    /**
+     * Identifies courses by ID and compares the fields shown in a search result row
+     */
+    private static final DiffUtil.ItemCallback<YogaCourse> DIFF_CALLBACK = new DiffUtil.ItemCallback<YogaCourse>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull YogaCourse oldItem, @NonNull YogaCourse newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull YogaCourse oldItem, @NonNull YogaCourse newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getTeacherName(), newItem.getTeacherName())
+                    && Objects.equals(oldItem.getDayOfWeek(), newItem.getDayOfWeek())
+                    && Objects.equals(oldItem.getTime(), newItem.getTime());
+        }
+    };
 
-    // Data source containing search results to display
-    private List<YogaCourse> courseList;
-    
     // Callback interface for handling course item clicks
     private OnItemClickListener listener;
 
@@ -50,11 +70,10 @@ public class CourseSearchAdapter extends RecyclerView.Adapter<CourseSearchAdapte
     /**
      * Constructor for CourseSearchAdapter
      * 
-     * @param courseList The list of courses (search results) to display
      * @param listener The callback interface for handling course clicks
      */
-    public CourseSearchAdapter(List<YogaCourse> courseList, OnItemClickListener listener) {
-        this.courseList = courseList;
+    public CourseSearchAdapter(OnItemClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
     }
 
@@ -82,7 +101,7 @@ public class CourseSearchAdapter extends RecyclerView.Adapter<CourseSearchAdapte
      */
     @Override
     public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
-        YogaCourse currentCourse = courseList.get(position);
+        YogaCourse currentCourse = getItem(position);
         
         // Display course information in a search-friendly format
         holder.courseNameTextView.setText(currentCourse.getName());
@@ -94,16 +113,6 @@ public class CourseSearchAdapter extends RecyclerView.Adapter<CourseSearchAdapte
         holder.itemView.setOnClickListener(v -> listener.onItemClick(currentCourse));
     }
 
-    /**
-     * Returns the total number of items in the data set
-     * 
-     * @return The number of courses in the search results
-     */
-    @Override
-    public int getItemCount() {
-        return courseList.size();
-    }
-
     /**
      * ViewHolder class for holding references to views in each course search result item
      * Implements the ViewHolder pattern for efficient view recycling
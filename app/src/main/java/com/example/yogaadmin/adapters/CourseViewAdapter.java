@@ -7,10 +7,17 @@ import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.Constants;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * CourseViewAdapter - RecyclerView adapter for displaying yoga courses with action buttons
@@ -20,22 +27,51 @@ import java.util.List;
  * and manages user interactions through a callback interface.
  * 
  * Features:
- * - Display course name and schedule information
+ * - Display course name, schedule and teacher
  * - Multiple action buttons for each course (View Details, Manage Instances, Edit, Delete)
  * - Callback interface for handling user actions
  * - Efficient view holder pattern implementation
  * - Clean separation of concerns between display and action handling
+ * - Page-aware: rows are loaded one page at a time as the user scrolls, and only
+ *   a window of pages around the visible rows is kept in memory
+ * - Incremental updates: reloaded lists are diffed on a background thread,
+ *   so only rows that actually changed are rebound, and single changed courses
+ *   are refreshed in place without reloading their pages
  * 
  * The adapter uses the ViewHolder pattern for optimal performance and provides
  * a callback interface to handle user interactions without tight coupling.
  */
-public class CourseViewAdapter extends RecyclerView.Adapter<CourseViewAdapter.CourseViewHolder> {
+public class CourseViewAdapter extends ListAdapter<YogaCourse, CourseViewAdapter.CourseViewHolder> {
+
+    /**
+     * Identifies courses by ID and compares the fields shown in a course row
+     */
+    private static final DiffUtil.ItemCallback<YogaCourse> DIFF_CALLBACK = new DiffUtil.ItemCallback<YogaCourse>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull YogaCourse oldItem, @NonNull YogaCourse newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull YogaCourse oldItem, @NonNull YogaCourse newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDayOfWeek(), newItem.getDayOfWeek())
+                    && Objects.equals(oldItem.getTime(), newItem.getTime())
+                    && Objects.equals(oldItem.getTeacherName(), newItem.getTeacherName());
+        }
+    };
+
+    /**
+     * Orders courses as the pages do, by ID
+     */
+    private static final Comparator<YogaCourse> BY_ID = Comparator.comparingInt(YogaCourse::getId);
 
     // Context for inflating layouts and accessing resources
     private final Context context;
     
-    // Data source containing all courses to display
-    private final List<YogaCourse> courses;
+    // The window of course pages held in memory, as last submitted; the displayed
+    // list catches up once the background diff has finished
+    private final PageWindow<YogaCourse> pageWindow = new PageWindow<>(Constants.PAGE_SIZE, Constants.MAX_LOADED_PAGES);
     
     // Callback interface for handling user actions on course items
     private final OnCourseActionsClickListener onCourseActionsClickListener;
@@ -74,12 +110,11 @@ public class CourseViewAdapter extends RecyclerView.Adapter<CourseViewAdapter.Co
      * Constructor for CourseViewAdapter
      * 
      * @param context The context for inflating layouts
-     * @param courses The list of courses to display
      * @param onCourseActionsClickListener The callback interface for handling user actions
      */
-    public CourseViewAdapter(Context context, List<YogaCourse> courses, OnCourseActionsClickListener onCourseActionsClickListener) {
+    public CourseViewAdapter(Context context, OnCourseActionsClickListener onCourseActionsClickListener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.courses = courses;
         this.onCourseActionsClickListener = onCourseActionsClickListener;
     }
 
@@ -107,18 +142,112 @@ public class CourseViewAdapter extends RecyclerView.Adapter<CourseViewAdapter.Co
      */
     @Override
     public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
-        YogaCourse course = courses.get(position);
+        YogaCourse course = getItem(position);
         holder.bind(course, onCourseActionsClickListener);
     }
 
     /**
-     * Returns the total number of items in the data set
+     * Replaces the displayed courses with the first page of a fresh load
+     * Rows that did not change keep their views
      * 
-     * @return The number of courses in the list
+     * @param firstPage The first page of courses
      */
-    @Override
-    public int getItemCount() {
-        return courses.size();
+    public void setCourses(List<YogaCourse> firstPage) {
+        pageWindow.setFirstPage(firstPage);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Appends the next page of courses below the rows already shown
+     * The page furthest above is dropped once the window is full
+     * 
+     * @param page The next page of courses
+     */
+    public void addCourses(List<YogaCourse> page) {
+        pageWindow.append(page);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Inserts the previous page of courses above the rows already shown
+     * The page furthest below is dropped once the window is full
+     * 
+     * @param page The previous page of courses, in ID order
+     */
+    public void addPreviousCourses(List<YogaCourse> page) {
+        pageWindow.prepend(page);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Refreshes single courses in place after they were reported as changed
+     * Courses missing from the reloaded rows were deleted and are removed
+     * 
+     * @param courseIds The IDs of the changed courses
+     * @param courses The changed courses that still exist
+     */
+    public void updateCourses(int[] courseIds, List<YogaCourse> courses) {
+        Set<Integer> deletedIds = new HashSet<>();
+        for (int courseId : courseIds) {
+            deletedIds.add(courseId);
+        }
+        for (YogaCourse course : courses) {
+            deletedIds.remove(course.getId());
+            pageWindow.put(course, BY_ID);
+        }
+        pageWindow.removeIf(course -> deletedIds.contains(course.getId()));
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Replaces every course held with a fresh copy, keeping the list at the same position
+     * 
+     * @param courses The courses from the first ID held to the last, in ID order
+     */
+    public void reloadCourses(List<YogaCourse> courses) {
+        pageWindow.reload(courses);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Returns the IDs of the courses held that are taught by a teacher, whose rows show the teacher's name
+     * 
+     * @param teacherId The teacher ID
+     * @return The IDs of the teacher's courses held in memory
+     */
+    public int[] getCourseIdsForTeacher(int teacherId) {
+        return pageWindow.find(course -> course.getTeacherId() == teacherId).stream()
+                .mapToInt(YogaCourse::getId)
+                .toArray();
+    }
+
+    /**
+     * Returns the pages held in memory, used by the scroll listener to decide which page to load
+     * 
+     * @return The window of course pages
+     */
+    public PageWindow<YogaCourse> getPageWindow() {
+        return pageWindow;
+    }
+
+    /**
+     * Returns the ID of the first course held, used as the key for the previous page
+     * 
+     * @return The first course ID, or 0 if nothing has been loaded
+     */
+    public int getFirstCourseId() {
+        YogaCourse first = pageWindow.getFirst();
+        return first == null ? 0 : first.getId();
+    }
+
+    /**
+     * Returns the ID of the last course held, used as the key for the next page
+     * 
+     * @return The last course ID, or 0 if nothing has been loaded
+     */
+    public int getLastCourseId() {
+        YogaCourse last = pageWindow.getLast();
+        return last == null ? 0 : last.getId();
     }
 
     /**
@@ -167,7 +296,7 @@ public class CourseViewAdapter extends RecyclerView.Adapter<CourseViewAdapter.Co
         public void bind(final YogaCourse course, final OnCourseActionsClickListener listener) {
             // Display course information
             tvCourseName.setText(course.getName());
-            tvCourseDetails.setText(course.getDayOfWeek() + ", " + course.getTime());
+            tvCourseDetails.setText(course.getDayOfWeek() + ", " + course.getTime() + " with " + course.getTeacherName());
             
             // Set up click listeners for action buttons
             btnViewDetails.setOnClickListener(v -> listener.onViewDetailsClick(course));
@@ -0,0 +1,116 @@
+package com.example.yogaadmin.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.yogaadmin.R;
+import com.example.yogaadmin.models.ClassInstance;
+import java.util.Objects;
+
+/**
+ * DayScheduleAdapter - RecyclerView adapter for the classes on one calendar day
+ *
+ * Shows each class instance of the selected day with its course name, start time
+ * and teacher. The instances come from an in-memory MonthSchedule, so switching
+ * days only submits a new list and never queries the database.
+ *
+ * Features:
+ * - Display course name, time and teacher for each class
+ * - Click handling to open the course's instances
+ * - Incremental updates: a new day is diffed on a background thread
+ */
+public class DayScheduleAdapter extends ListAdapter<ClassInstance, DayScheduleAdapter.ViewHolder> {
+
+    /**
+     * Identifies instances by ID and compares the fields shown in a row
+     */
+    private static final DiffUtil.ItemCallback<ClassInstance> DIFF_CALLBACK = new DiffUtil.ItemCallback<ClassInstance>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ClassInstance oldItem, @NonNull ClassInstance newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ClassInstance oldItem, @NonNull ClassInstance newItem) {
+            return Objects.equals(oldItem.getCourseName(), newItem.getCourseName())
+                    && Objects.equals(oldItem.getCourseTime(), newItem.getCourseTime())
+                    && Objects.equals(oldItem.getTeacherName(), newItem.getTeacherName());
+        }
+    };
+
+    // Callback interface for handling item clicks
+    private final InstanceAdapter.OnItemClickListener listener;
+
+    /**
+     * Constructor for DayScheduleAdapter
+     *
+     * @param listener The callback interface for handling item clicks
+     */
+    public DayScheduleAdapter(InstanceAdapter.OnItemClickListener listener) {
+        super(DIFF_CALLBACK);
+        this.listener = listener;
+    }
+
+    /**
+     * Creates a new ViewHolder for displaying a class
+     *
+     * @param parent The ViewGroup into which the new View will be added
+     * @param viewType The view type of the new View
+     * @return A new ViewHolder that holds a View of the given view type
+     */
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_instance, parent, false);
+        return new ViewHolder(view);
+    }
+
+    /**
+     * Binds a class to the ViewHolder at the specified position
+     *
+     * @param holder The ViewHolder to bind data to
+     * @param position The position of the item in the data set
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.bind(getItem(position), listener);
+    }
+
+    /**
+     * ViewHolder class for holding references to views in each class item
+     */
+    public static class ViewHolder extends RecyclerView.ViewHolder {
+
+        // UI Components for displaying class information
+        private final TextView text1; // Course and time display
+        private final TextView text2; // Teacher display
+
+        /**
+         * Constructor for ViewHolder
+         *
+         * @param itemView The view for this ViewHolder
+         */
+        public ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            text1 = itemView.findViewById(R.id.text1);
+            text2 = itemView.findViewById(R.id.text2);
+        }
+
+        /**
+         * Binds class data to the views and sets up the click listener
+         *
+         * @param instance The class instance to display
+         * @param listener The callback interface for handling item clicks
+         */
+        public void bind(final ClassInstance instance, final InstanceAdapter.OnItemClickListener listener) {
+            text1.setText(instance.getCourseTime() + "  " + instance.getCourseName());
+            text2.setText("Teacher: " + instance.getTeacherName());
+            itemView.setOnClickListener(v -> listener.onItemClick(instance));
+        }
+    }
+}
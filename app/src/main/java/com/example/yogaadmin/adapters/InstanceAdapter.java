@@ -6,10 +6,15 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.models.ClassInstance;
+import com.example.yogaadmin.utils.Constants;
+import com.example.yogaadmin.utils.DateTimeUtils;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * InstanceAdapter - RecyclerView adapter for displaying class instances
@@ -24,17 +29,38 @@ import java.util.List;
  * - Simple, clean layout for instance items
  * - Efficient view holder pattern implementation
  * - Callback interface for handling instance selection
+ * - Page-aware: rows are loaded one page at a time as the user scrolls, and only
+ *   a window of pages around the visible rows is kept in memory
+ * - Incremental updates: reloaded lists are diffed on a background thread,
+ *   so only rows that actually changed are rebound
  * 
  * This adapter is used in activities that need to display a list of class instances,
  * such as when viewing instances for a specific course.
  */
-public class InstanceAdapter extends RecyclerView.Adapter<InstanceAdapter.ViewHolder> {
+public class InstanceAdapter extends ListAdapter<ClassInstance, InstanceAdapter.ViewHolder> {
+
+    /**
+     * Identifies instances by ID and compares the fields shown in an instance row
+     */
+    private static final DiffUtil.ItemCallback<ClassInstance> DIFF_CALLBACK = new DiffUtil.ItemCallback<ClassInstance>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ClassInstance oldItem, @NonNull ClassInstance newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ClassInstance oldItem, @NonNull ClassInstance newItem) {
+            return Objects.equals(oldItem.getDate(), newItem.getDate())
+                    && Objects.equals(oldItem.getTeacherName(), newItem.getTeacherName());
+        }
+    };
     
     // Context for inflating layouts and accessing resources
     private Context context;
     
-    // Data source containing all class instances to display
-    private List<ClassInstance> instances;
+    // The window of class instance pages held in memory, as last submitted; the
+    // displayed list catches up once the background diff has finished
+    private final PageWindow<ClassInstance> pageWindow = new PageWindow<>(Constants.PAGE_SIZE, Constants.MAX_LOADED_PAGES);
     
     // Callback interface for handling instance item clicks
     private OnItemClickListener listener;
@@ -55,12 +81,11 @@ public class InstanceAdapter extends RecyclerView.Adapter<InstanceAdapter.ViewHo
      * Constructor for InstanceAdapter
      * 
      * @param context The context for inflating layouts
-     * @param instances The list of class instances to display
      * @param listener The callback interface for handling instance clicks
      */
-    public InstanceAdapter(Context context, List<ClassInstance> instances, OnItemClickListener listener) {
+    public InstanceAdapter(Context context, OnItemClickListener listener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.instances = instances;
         this.listener = listener;
     }
 
@@ -88,18 +113,68 @@ public class InstanceAdapter extends RecyclerView.Adapter<InstanceAdapter.ViewHo
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ClassInstance instance = instances.get(position);
+        ClassInstance instance = getItem(position);
         holder.bind(instance, listener);
     }
 
     /**
-     * Returns the total number of items in the data set
+     * Replaces the displayed instances with the first page of a fresh load
+     * Rows that did not change keep their views
      * 
-     * @return The number of instances in the list
+     * @param firstPage The first page of class instances
      */
-    @Override
-    public int getItemCount() {
-        return instances.size();
+    public void setInstances(List<ClassInstance> firstPage) {
+        pageWindow.setFirstPage(firstPage);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Appends the next page of instances below the rows already shown
+     * The page furthest above is dropped once the window is full
+     * 
+     * @param page The next page of class instances
+     */
+    public void addInstances(List<ClassInstance> page) {
+        pageWindow.append(page);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Inserts the previous page of instances above the rows already shown
+     * The page furthest below is dropped once the window is full
+     * 
+     * @param page The previous page of class instances, most recent first
+     */
+    public void addPreviousInstances(List<ClassInstance> page) {
+        pageWindow.prepend(page);
+        submitList(pageWindow.getItems());
+    }
+
+    /**
+     * Returns the pages held in memory, used by the scroll listener to decide which page to load
+     * 
+     * @return The window of class instance pages
+     */
+    public PageWindow<ClassInstance> getPageWindow() {
+        return pageWindow;
+    }
+
+    /**
+     * Returns the first instance held, used as the key for the previous page
+     * 
+     * @return The first class instance, or null if nothing has been loaded
+     */
+    public ClassInstance getFirstInstance() {
+        return pageWindow.getFirst();
+    }
+
+    /**
+     * Returns the last instance held, used as the key for the next page
+     * 
+     * @return The last class instance, or null if nothing has been loaded
+     */
+    public ClassInstance getLastInstance() {
+        return pageWindow.getLast();
     }
 
     /**
@@ -135,7 +210,7 @@ public class InstanceAdapter extends RecyclerView.Adapter<InstanceAdapter.ViewHo
          */
         public void bind(final ClassInstance instance, final OnItemClickListener listener) {
             // Display instance information
-            text1.setText("Date: " + instance.getDate());
+            text1.setText("Date: " + DateTimeUtils.storageToDisplay(instance.getDate()));
             text2.setText("Teacher: " + instance.getTeacherName());
             
             // Set up click listener for the entire item
@@ -0,0 +1,247 @@
+package com.example.yogaadmin.adapters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * PageWindow - The pages of a keyset-paged list that are currently held in memory
+ *
+ * A paged list only keeps a bounded window of consecutive pages. Appending a
+ * page below the window drops the page at its top once the window is full, and
+ * inserting a page above it drops the page at its bottom, so memory use stays
+ * the same however far the user scrolls. The window remembers whether rows
+ * exist beyond either end, so dropped pages can be loaded again when the user
+ * scrolls back to them.
+ *
+ * Features:
+ * - Bounded number of pages, evicting from the end furthest from the new page
+ * - Tracks whether more rows exist above and below the window
+ * - Flattened row list ready to submit to a ListAdapter
+ * - In-place updates of single rows, or of every row held, keeping the window's position
+ *
+ * @param <T> The row type
+ */
+public class PageWindow<T> {
+
+    // Number of rows requested per page
+    private final int pageSize;
+
+    // Maximum number of pages held at once
+    private final int maxPages;
+
+    // The pages held, top to bottom
+    private final Deque<List<T>> pages = new ArrayDeque<>();
+
+    // Whether rows exist above the first page or below the last page
+    private boolean hasPrevious;
+    private boolean hasNext;
+
+    /**
+     * Constructor for PageWindow
+     *
+     * @param pageSize Number of rows requested per page; a shorter page marks the end of the list
+     * @param maxPages Maximum number of pages held at once
+     */
+    public PageWindow(int pageSize, int maxPages) {
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Replaces the window with the first page of a fresh load
+     *
+     * @param page The first page of the list
+     */
+    public void setFirstPage(List<T> page) {
+        pages.clear();
+        pages.add(new ArrayList<>(page));
+        hasPrevious = false;
+        hasNext = page.size() >= pageSize;
+    }
+
+    /**
+     * Adds the page that follows the last page, dropping the first page if the window is full
+     *
+     * @param page The next page of the list
+     */
+    public void append(List<T> page) {
+        hasNext = page.size() >= pageSize;
+        if (page.isEmpty()) {
+            return;
+        }
+        pages.addLast(new ArrayList<>(page));
+        if (pages.size() > maxPages) {
+            pages.removeFirst();
+            hasPrevious = true;
+        }
+    }
+
+    /**
+     * Adds the page that precedes the first page, dropping the last page if the window is full
+     *
+     * @param page The previous page of the list, in list order
+     */
+    public void prepend(List<T> page) {
+        hasPrevious = page.size() >= pageSize;
+        if (page.isEmpty()) {
+            return;
+        }
+        pages.addFirst(new ArrayList<>(page));
+        if (pages.size() > maxPages) {
+            pages.removeLast();
+            hasNext = true;
+        }
+    }
+
+    /**
+     * Replaces every row held with a fresh copy of the same key range
+     * The rows are split into pages again; a copy that fills the whole window may
+     * have more rows below it, otherwise whether rows exist beyond either end is unchanged
+     *
+     * @param rows The rows from the first key held to the last, or up to {@link #getCapacity()} rows, in list order
+     */
+    public void reload(List<T> rows) {
+        pages.clear();
+        for (int start = 0; start < rows.size(); start += pageSize) {
+            pages.add(new ArrayList<>(rows.subList(start, Math.min(start + pageSize, rows.size()))));
+        }
+        if (rows.size() >= getCapacity()) {
+            hasNext = true;
+        }
+    }
+
+    /**
+     * @return The number of rows the window holds when every page is full
+     */
+    public int getCapacity() {
+        return pageSize * maxPages;
+    }
+
+    /**
+     * Inserts a row at its position in the list, or replaces the row with the same key
+     * A row that sorts beyond an end of the window with more rows behind it is not held
+     *
+     * @param row The new or changed row
+     * @param order The order of the list, comparing rows by key
+     * @return true if the window now holds the row
+     */
+    public boolean put(T row, Comparator<? super T> order) {
+        T first = getFirst();
+        if (first == null) {
+            if (hasPrevious || hasNext) {
+                return false;
+            }
+            pages.clear();
+            pages.add(new ArrayList<>(Collections.singletonList(row)));
+            return true;
+        }
+        if ((hasPrevious && order.compare(row, first) < 0) || (hasNext && order.compare(row, getLast()) > 0)) {
+            return false;
+        }
+        // The row belongs on the first page that ends at or after it, else at the end of the last page
+        List<T> target = null;
+        for (List<T> page : pages) {
+            if (page.isEmpty()) {
+                continue;
+            }
+            target = page;
+            if (order.compare(row, page.get(page.size() - 1)) <= 0) {
+                break;
+            }
+        }
+        int index = Collections.binarySearch(target, row, order);
+        if (index >= 0) {
+            target.set(index, row);
+        } else {
+            target.add(-index - 1, row);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the held rows that match a condition, such as the rows of deleted records
+     *
+     * @param match The condition
+     * @return true if any row was removed
+     */
+    public boolean removeIf(Predicate<? super T> match) {
+        boolean removed = false;
+        for (List<T> page : pages) {
+            removed |= page.removeIf(match);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the held rows that match a condition
+     *
+     * @param match The condition
+     * @return The matching rows, top to bottom
+     */
+    public List<T> find(Predicate<? super T> match) {
+        List<T> found = new ArrayList<>();
+        for (List<T> page : pages) {
+            for (T row : page) {
+                if (match.test(row)) {
+                    found.add(row);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return A new list of every row held, top to bottom
+     */
+    public List<T> getItems() {
+        List<T> items = new ArrayList<>(pages.size() * pageSize);
+        for (List<T> page : pages) {
+            items.addAll(page);
+        }
+        return items;
+    }
+
+    /**
+     * @return The first row held, used as the key of the previous page, or null if the window is empty
+     */
+    public T getFirst() {
+        for (List<T> page : pages) {
+            if (!page.isEmpty()) {
+                return page.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The last row held, used as the key of the next page, or null if the window is empty
+     */
+    public T getLast() {
+        T last = null;
+        for (List<T> page : pages) {
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @return true if rows exist above the window
+     */
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+
+    /**
+     * @return true if rows may exist below the window
+     */
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
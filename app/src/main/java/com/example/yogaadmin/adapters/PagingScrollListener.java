@@ -0,0 +1,107 @@
+package com.example.yogaadmin.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * PagingScrollListener - Scroll listener that asks for the next or previous page of a list
+ *
+ * This listener is attached to a RecyclerView whose adapter holds a
+ * {@link PageWindow} of pages. When the user scrolls close to the end of the
+ * rows held, it asks its owner to load the next page; when the user scrolls
+ * back close to the start of a window whose earlier pages were dropped, it
+ * asks for the previous page. It also tracks whether a page is currently
+ * loading, so each page is requested only once.
+ *
+ * Features:
+ * - Prefetches a page a few rows before either end of the window
+ * - Ignores scrolling while a page is loading or past either end of the list
+ * - Works with any adapter backed by a LinearLayoutManager
+ *
+ * Typical use: call {@link #reset()} before loading the first page, then
+ * {@link #onPageLoaded()} from every page callback.
+ */
+public class PagingScrollListener extends RecyclerView.OnScrollListener {
+
+    // Number of rows from either end of the window at which a page is requested
+    private static final int PREFETCH_DISTANCE = 10;
+
+    // Layout manager used to find the first and last visible rows
+    private final LinearLayoutManager layoutManager;
+
+    // The pages held by the adapter, telling whether rows exist beyond either end
+    private final PageWindow<?> pageWindow;
+
+    // Callback interfaces for loading the next and previous pages
+    private final OnLoadMoreListener onLoadNextListener;
+    private final OnLoadMoreListener onLoadPreviousListener;
+
+    // Paging state
+    private boolean loading;
+
+    /**
+     * Interface for loading another page of a list
+     */
+    public interface OnLoadMoreListener {
+        /**
+         * Called when the user has scrolled close to an end of the rows held.
+         * The owner should load the page and then call {@link #onPageLoaded()}.
+         */
+        void onLoadMore();
+    }
+
+    /**
+     * Constructor for PagingScrollListener
+     *
+     * @param layoutManager The layout manager of the RecyclerView being observed
+     * @param pageWindow The pages held by the RecyclerView's adapter
+     * @param onLoadNextListener The callback interface for loading the page after the window
+     * @param onLoadPreviousListener The callback interface for loading the page before the window
+     */
+    public PagingScrollListener(LinearLayoutManager layoutManager, PageWindow<?> pageWindow,
+                                OnLoadMoreListener onLoadNextListener, OnLoadMoreListener onLoadPreviousListener) {
+        this.layoutManager = layoutManager;
+        this.pageWindow = pageWindow;
+        this.onLoadNextListener = onLoadNextListener;
+        this.onLoadPreviousListener = onLoadPreviousListener;
+    }
+
+    /**
+     * Marks the start of a new first-page load
+     * Further pages are not requested until the first page has arrived
+     */
+    public void reset() {
+        loading = true;
+    }
+
+    /**
+     * Records that a page has arrived and been added to the window
+     */
+    public void onPageLoaded() {
+        loading = false;
+    }
+
+    /**
+     * Requests a page when the visible rows come close to either end of the window
+     *
+     * @param recyclerView The RecyclerView which scrolled
+     * @param dx The amount of horizontal scroll
+     * @param dy The amount of vertical scroll
+     */
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (loading) {
+            return;
+        }
+        if (dy > 0 && pageWindow.hasNext()
+                && layoutManager.findLastVisibleItemPosition() >= layoutManager.getItemCount() - PREFETCH_DISTANCE) {
+            loading = true;
+            onLoadNextListener.onLoadMore();
+        } else if (dy < 0 && pageWindow.hasPrevious()
+                && layoutManager.findFirstVisibleItemPosition() <= PREFETCH_DISTANCE) {
+            loading = true;
+            onLoadPreviousListener.onLoadMore();
+        }
+    }
+}
@@ -5,10 +5,13 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.yogaadmin.R;
 import com.example.yogaadmin.models.Teacher;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * TeacherAdapter - RecyclerView adapter for displaying teachers in a list
@@ -21,24 +24,38 @@ import java.util.List;
  * - Display teacher name, email, and phone information
  * - Simple list layout for teacher items
  * - Efficient view holder pattern implementation
- * - Data update functionality for dynamic content
+ * - Incremental updates: new lists are diffed on a background thread,
+ *   so only rows that actually changed are rebound
  * - Clean separation of concerns between data and display
  * 
  * This adapter is used in activities that need to display a list of teachers,
  * such as the teacher management screen.
  */
-public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherViewHolder> {
+public class TeacherAdapter extends ListAdapter<Teacher, TeacherAdapter.TeacherViewHolder> {
 
-    // Data source containing all teachers to display
-    private List<Teacher> teacherList;
+    /**
+     * Identifies teachers by ID and compares the fields shown in a teacher row
+     */
+    private static final DiffUtil.ItemCallback<Teacher> DIFF_CALLBACK = new DiffUtil.ItemCallback<Teacher>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Teacher oldItem, @NonNull Teacher newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Teacher oldItem, @NonNull Teacher newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getEmail(), newItem.getEmail())
+                    && Objects.equals(oldItem.getPhone(), newItem.getPhone());
+        }
+    };
 
     /**
      * Constructor for TeacherAdapter
-     * 
-     * @param teacherList The list of teachers to display
+     * Teachers are supplied with {@link #updateData(List)}
      */
-    public TeacherAdapter(List<Teacher> teacherList) {
-        this.teacherList = teacherList;
+    public TeacherAdapter() {
+        super(DIFF_CALLBACK);
     }
 
     /**
@@ -65,7 +82,7 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
      */
     @Override
     public void onBindViewHolder(@NonNull TeacherViewHolder holder, int position) {
-        Teacher currentTeacher = teacherList.get(position);
+        Teacher currentTeacher = getItem(position);
         
         // Display teacher information in the text views
         holder.tvTeacherName.setText(currentTeacher.getName());
@@ -74,25 +91,14 @@ public class TeacherAdapter extends RecyclerView.Adapter<TeacherAdapter.TeacherV
     }
 
     /**
-     * Returns the total number of items in the data set
-     * 
-     * @return The number of teachers in the list
-     */
-    @Override
-    public int getItemCount() {
-        return teacherList.size();
-    }
-
-    /**
-     * Updates the data source and refreshes the RecyclerView
-     * Clears the current list and adds all new teachers, then notifies the adapter
+     * Updates the displayed teachers
+     * The new list is diffed against the current one, so only added or changed
+     * teachers are bound. The list must not be modified afterwards.
      * 
      * @param newTeachers The new list of teachers to display
      */
     public void updateData(List<Teacher> newTeachers) {
-        this.teacherList.clear();
-        this.teacherList.addAll(newTeachers);
-        notifyDataSetChanged();
+        submitList(newTeachers);
     }
 
     /**
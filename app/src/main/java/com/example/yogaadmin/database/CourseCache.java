@@ -0,0 +1,130 @@
+package com.example.yogaadmin.database;
+
+import android.util.LruCache;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.yogaadmin.models.YogaCourse;
+
+/**
+ * CourseCache keeps the most recently viewed courses in memory so moving back
+ * and forth between course screens does not re-run the course/teacher JOIN.
+ *
+ * The cache is write-through: CourseDAO fills it on reads and removes entries
+ * when a course is inserted or deleted. Changes the DAO cannot attribute to a
+ * single course, such as pulled remote changes or teacher renames (the cached
+ * course carries its teacher's name), clear the whole cache.
+ *
+ * The CourseCache supports:
+ * - Bounded least-recently-used storage
+ * - Invalidation of one course or of all courses
+ * - Hit and miss counters for checking the cache in production logs
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class CourseCache {
+
+    /** Default number of courses kept in memory */
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    /** Process-wide cache instance */
+    private static volatile CourseCache instance;
+
+    /** Cached courses by ID; LruCache also counts hits and misses */
+    private final LruCache<Integer, YogaCourse> courses = new LruCache<>(DEFAULT_MAX_SIZE);
+
+    /** Incremented on every invalidation, so a read that raced a write is not cached */
+    private long generation;
+
+    /**
+     * Returns the process-wide course cache, creating it on first use.
+     *
+     * @return The shared CourseCache instance
+     */
+    public static CourseCache getInstance() {
+        if (instance == null) {
+            synchronized (CourseCache.class) {
+                if (instance == null) {
+                    instance = new CourseCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Discards the shared cache so the next getInstance() call starts empty.
+     * Only intended for tests that need an isolated database per test case.
+     */
+    @VisibleForTesting
+    public static synchronized void releaseInstance() {
+        instance = null;
+    }
+
+    /**
+     * Returns a cached course and counts the lookup as a hit or a miss.
+     * Cached courses are shared and must be treated as read-only.
+     *
+     * @param id The course ID
+     * @return The cached course, or null if it has to be loaded
+     */
+    public YogaCourse get(int id) {
+        return courses.get(id);
+    }
+
+    /**
+     * Returns the current invalidation generation. Callers read it before
+     * querying the database and pass it to {@link #put}.
+     *
+     * @return The current generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a course loaded from the database, unless the cache was invalidated
+     * after the load started, in which case the course may already be stale.
+     *
+     * @param course The course to cache
+     * @param loadGeneration The generation read before the course was loaded
+     */
+    public synchronized void put(YogaCourse course, long loadGeneration) {
+        if (loadGeneration == generation) {
+            courses.put(course.getId(), course);
+        }
+    }
+
+    /**
+     * Removes one course after it has been written.
+     *
+     * @param id The course ID
+     */
+    public synchronized void invalidate(int id) {
+        generation++;
+        courses.remove(id);
+    }
+
+    /**
+     * Removes every course, after writes that may affect any of them.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        courses.evictAll();
+    }
+
+    /**
+     * @return Number of lookups answered from memory
+     */
+    public int getHitCount() {
+        return courses.hitCount();
+    }
+
+    /**
+     * @return Number of lookups that had to query the database
+     */
+    public int getMissCount() {
+        return courses.missCount();
+    }
+}
@@ -4,11 +4,18 @@ import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.os.CancellationSignal;
 import android.text.TextUtils;
 
+import androidx.annotation.VisibleForTesting;
+
 import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.SearchUtils;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * CourseDAO (Data Access Object) provides methods to interact with the courses table.
@@ -17,16 +24,84 @@ import java.util.List;
  * 
  * The CourseDAO supports:
  * - Inserting new courses
- * - Retrieving courses with teacher information
- * - Searching courses by various criteria
+ * - Retrieving courses with teacher information, in full or one page at a time
+ * - Searching courses by free text (full-text index) and other criteria
  * - Deleting courses and their related instances
+ * - Serving repeated single-course reads from the shared CourseCache
+ * - Reporting every write to the DataChangeNotifier
  * 
  * @author YogaAdmin Team
  * @version 1.0
  */
 public class CourseDAO {
-    /** Database helper instance for database operations */
-    private DatabaseHelper dbHelper;
+    /**
+     * Relevance weight of each course_search column, in table order:
+     * name, description, type, teacher name.
+     */
+    private static final double[] SEARCH_COLUMN_WEIGHTS = {4.0, 1.0, 2.0, 3.0};
+
+    /** Alias of the matchinfo() column in full-text search results */
+    private static final String MATCH_INFO_COLUMN = "match_info";
+
+    /**
+     * Projection read by {@link #COURSE_MAPPER}: the course columns (alias c)
+     * and the joined teacher name (alias t).
+     */
+    private static final String COURSE_COLUMNS = "c." + DatabaseContract.CourseEntry._ID
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_NAME
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_TIME
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_DURATION
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY
+            + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_TYPE
+            + ", t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " AS teacher_name";
+
+    /**
+     * Maps a row of {@link #COURSE_COLUMNS} to a YogaCourse, including the joined
+     * teacher name. Column indexes are resolved once per cursor.
+     */
+    public static final RowMapper<YogaCourse> COURSE_MAPPER = new RowMapper<>(new String[]{
+            DatabaseContract.CourseEntry._ID,
+            DatabaseContract.CourseEntry.COLUMN_NAME_NAME,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION,
+            DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID,
+            "teacher_name",
+            DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK,
+            DatabaseContract.CourseEntry.COLUMN_NAME_TIME,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DURATION,
+            DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY,
+            DatabaseContract.CourseEntry.COLUMN_NAME_PRICE,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY,
+            DatabaseContract.CourseEntry.COLUMN_NAME_TYPE
+    }, (cursor, columns) -> {
+        YogaCourse course = new YogaCourse();
+        course.setId(cursor.getInt(columns[0]));
+        course.setName(cursor.getString(columns[1]));
+        course.setDescription(cursor.getString(columns[2]));
+        course.setTeacherId(cursor.getInt(columns[3]));
+        course.setTeacherName(cursor.getString(columns[4]));
+        course.setDayOfWeek(cursor.getString(columns[5]));
+        course.setTime(cursor.getString(columns[6]));
+        course.setDuration(cursor.getInt(columns[7]));
+        course.setMaxCapacity(cursor.getInt(columns[8]));
+        course.setPrice(cursor.getDouble(columns[9]));
+        course.setDifficulty(cursor.getString(columns[10]));
+        course.setType(cursor.getString(columns[11]));
+        return course;
+    });
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /** Shared cache of recently read courses */
+    private final CourseCache courseCache;
+
+    /** Notifier told about every write */
+    private final DataChangeNotifier changeNotifier;
 
     /**
      * Constructs a new CourseDAO with the given context.
@@ -34,7 +109,9 @@ public class CourseDAO {
      * @param context The application context
      */
     public CourseDAO(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
+        courseCache = CourseCache.getInstance();
+        changeNotifier = DataChangeNotifier.getInstance();
     }
 
     /**
@@ -58,37 +135,17 @@ public class CourseDAO {
         values.put(DatabaseContract.CourseEntry.COLUMN_NAME_PRICE, course.getPrice());
         values.put(DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY, course.getDifficulty());
         values.put(DatabaseContract.CourseEntry.COLUMN_NAME_TYPE, course.getType());
+        values.put(DatabaseContract.CourseEntry.COLUMN_NAME_UPDATED_AT, System.currentTimeMillis());
+        values.put(DatabaseContract.CourseEntry.COLUMN_NAME_SYNC_ID, DatabaseHelper.newSyncId());
         
         long result = db.insert(DatabaseContract.CourseEntry.TABLE_NAME, null, values);
-        db.close();
+        if (result != -1) {
+            courseCache.invalidate((int) result);
+            changeNotifier.notifyChanged(DatabaseContract.CourseEntry.TABLE_NAME, result);
+        }
         return result;
     }
 
-    /**
-     * Converts a database cursor to a YogaCourse object.
-     * This method handles the mapping of database columns to object properties,
-     * including the joined teacher name from the teachers table.
-     * 
-     * @param cursor The database cursor containing course data
-     * @return A YogaCourse object populated with cursor data
-     */
-    private YogaCourse cursorToCourse(Cursor cursor) {
-        YogaCourse course = new YogaCourse();
-        course.setId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry._ID)));
-        course.setName(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_NAME)));
-        course.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION)));
-        course.setTeacherId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID)));
-        course.setTeacherName(cursor.getString(cursor.getColumnIndexOrThrow("teacher_name")));
-        course.setDayOfWeek(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK)));
-        course.setTime(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_TIME)));
-        course.setDuration(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DURATION)));
-        course.setMaxCapacity(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY)));
-        course.setPrice(cursor.getDouble(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_PRICE)));
-        course.setDifficulty(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY)));
-        course.setType(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_TYPE)));
-        return course;
-    }
-
     /**
      * Retrieves all courses from the database with teacher information.
      * This method performs a JOIN with the teachers table to include teacher names.
@@ -99,111 +156,282 @@ public class CourseDAO {
         return searchCourses(null, null, null);
     }
 
+    /**
+     * Retrieves one page of courses with teacher information, ordered by ID.
+     * Uses keyset pagination: the next page starts after the last ID already
+     * shown, so each page is a short primary-key range scan instead of an OFFSET
+     * that re-reads every earlier row.
+     * 
+     * @param afterId ID of the last course on the previous page, or 0 for the first page
+     * @param limit Maximum number of courses to return
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return Up to limit courses with IDs greater than afterId
+     */
+    public List<YogaCourse> getCoursesPage(int afterId, int limit, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.rawQuery(buildPageQuery(false, limit), new String[]{String.valueOf(afterId)}, cancellationSignal);
+        List<YogaCourse> courseList = COURSE_MAPPER.mapAll(cursor);
+        cursor.close();
+        return courseList;
+    }
+
+    /**
+     * Retrieves the page of courses that precedes a course, ordered by ID.
+     * Used to reload a page that a list dropped from memory when the user
+     * scrolls back up to it.
+     * 
+     * @param beforeId ID of the first course on the following page
+     * @param limit Maximum number of courses to return
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return Up to limit courses with the highest IDs less than beforeId, in ID order
+     */
+    public List<YogaCourse> getCoursesPageBefore(int beforeId, int limit, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.rawQuery(buildPageQuery(true, limit), new String[]{String.valueOf(beforeId)}, cancellationSignal);
+        List<YogaCourse> courseList = COURSE_MAPPER.mapAll(cursor);
+        cursor.close();
+        // The query walks the key backwards from beforeId
+        Collections.reverse(courseList);
+        return courseList;
+    }
+
+    /**
+     * Retrieves every course whose ID lies in a range, ordered by ID.
+     * Used to reload the rows a list already holds after an unknown set of
+     * courses changed, without moving the list back to its first page.
+     *
+     * @param fromId Lowest course ID to return
+     * @param toId Highest course ID to return
+     * @param limit Maximum number of courses to return
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return Up to limit courses with IDs from fromId to toId
+     */
+    public List<YogaCourse> getCoursesInRange(int fromId, int toId, int limit, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        String selectQuery = "SELECT " + COURSE_COLUMNS + " FROM " + DatabaseContract.CourseEntry.TABLE_NAME + " c JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID +
+                " WHERE c." + DatabaseContract.CourseEntry._ID + " BETWEEN ? AND ?" +
+                " ORDER BY c." + DatabaseContract.CourseEntry._ID +
+                " LIMIT " + limit;
+        Cursor cursor = db.rawQuery(selectQuery, new String[]{String.valueOf(fromId), String.valueOf(toId)}, cancellationSignal);
+        List<YogaCourse> courseList = COURSE_MAPPER.mapAll(cursor);
+        cursor.close();
+        return courseList;
+    }
+
+    /**
+     * Retrieves the courses with the given IDs, ordered by ID.
+     * Used to refresh single rows of a list after they were reported as changed;
+     * an ID missing from the result belongs to a deleted course.
+     *
+     * @param ids The course IDs
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return The courses that still exist
+     */
+    public List<YogaCourse> getCoursesByIds(int[] ids, CancellationSignal cancellationSignal) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        String[] args = new String[ids.length];
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.length; i++) {
+            args[i] = String.valueOf(ids[i]);
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String selectQuery = "SELECT " + COURSE_COLUMNS + " FROM " + DatabaseContract.CourseEntry.TABLE_NAME + " c JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID +
+                " WHERE c." + DatabaseContract.CourseEntry._ID + " IN (" + placeholders + ")" +
+                " ORDER BY c." + DatabaseContract.CourseEntry._ID;
+        Cursor cursor = db.rawQuery(selectQuery, args, cancellationSignal);
+        List<YogaCourse> courseList = COURSE_MAPPER.mapAll(cursor);
+        cursor.close();
+        return courseList;
+    }
+
+    /**
+     * Builds the query behind {@link #getCoursesPage} and {@link #getCoursesPageBefore};
+     * its argument is the ID the page starts after, or ends before.
+     * 
+     * @param before true for the page before the ID, in descending ID order
+     * @param limit Maximum number of courses to return
+     * @return The SQL of the query
+     */
+    @VisibleForTesting
+    public static String buildPageQuery(boolean before, int limit) {
+        return "SELECT " + COURSE_COLUMNS +
+                " FROM " + DatabaseContract.CourseEntry.TABLE_NAME + " c" +
+                " JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID +
+                " WHERE c." + DatabaseContract.CourseEntry._ID + (before ? " < ?" : " > ?") +
+                " ORDER BY c." + DatabaseContract.CourseEntry._ID + (before ? " DESC" : "") +
+                " LIMIT " + limit;
+    }
+
     /**
      * Searches for courses based on specified criteria.
-     * This method supports filtering by teacher name, day of week, and date.
-     * It performs a complex query with JOINs to include teacher information
-     * and optional filtering by class instances on specific dates.
+     * This method supports full-text search, filtering by day of week, and date.
+     * It JOINs the teachers table to include teacher information; class instances
+     * are only consulted, through an EXISTS semi-join, when a date filter is given,
+     * so the cost grows with the number of courses rather than instance history.
      * 
-     * @param teacherName Optional teacher name filter (supports partial matching)
+     * @param searchText Optional free text matched against course name, description, type and teacher name
      * @param dayOfWeek Optional day of week filter (exact match)
      * @param date Optional date filter for class instances (exact match)
-     * @return List of courses matching the search criteria
+     * @return List of courses matching the search criteria, best matches first
      */
-    public List<YogaCourse> searchCourses(String teacherName, String dayOfWeek, String date) {
+    public List<YogaCourse> searchCourses(String searchText, String dayOfWeek, String date) {
+        return searchCourses(searchText, dayOfWeek, date, null);
+    }
+
+    /**
+     * Searches for courses based on specified criteria, allowing the query to be cancelled.
+     * Used by YogaRepository so that a search the user has abandoned stops running.
+     * 
+     * Free text is resolved through the course_search FTS4 index using prefix matching
+     * on every word, and results are ordered by relevance.
+     * 
+     * @param searchText Optional free text matched against course name, description, type and teacher name
+     * @param dayOfWeek Optional day of week filter (exact match)
+     * @param date Optional date filter for class instances (exact match)
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return List of courses matching the search criteria, best matches first
+     */
+    public List<YogaCourse> searchCourses(String searchText, String dayOfWeek, String date, CancellationSignal cancellationSignal) {
         List<YogaCourse> courseList = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
+        String matchQuery = SearchUtils.toMatchQuery(searchText);
+        boolean byDay = !TextUtils.isEmpty(dayOfWeek);
+        boolean byDate = !TextUtils.isEmpty(date);
+
+        List<String> selectionArgs = new ArrayList<>();
+        if (matchQuery != null) {
+            selectionArgs.add(matchQuery);
+        }
+        if (byDay) {
+            selectionArgs.add(dayOfWeek);
+        }
+        if (byDate) {
+            selectionArgs.add(date);
+        }
+
+        // Execute query and convert results
+        Cursor cursor = db.rawQuery(buildSearchQuery(matchQuery != null, byDay, byDate),
+                selectionArgs.toArray(new String[0]), cancellationSignal);
+
+        if (matchQuery == null) {
+            courseList = COURSE_MAPPER.mapAll(cursor);
+            cursor.close();
+            return courseList;
+        }
 
-        // Build base query with JOINs to include teacher information
-        String baseQuery = "SELECT c.*, t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " as teacher_name" +
-                           " FROM " + DatabaseContract.CourseEntry.TABLE_NAME + " c" +
-                           " JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID +
-                           " LEFT JOIN " + DatabaseContract.InstanceEntry.TABLE_NAME + " i ON c." + DatabaseContract.CourseEntry._ID + " = i." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID;
+        // Order full-text results by relevance
+        Map<Integer, Double> scores = new HashMap<>();
+        RowMapper.Binding<YogaCourse> mapper = COURSE_MAPPER.bind(cursor);
+        int matchInfoIndex = cursor.getColumnIndexOrThrow(MATCH_INFO_COLUMN);
+        while (cursor.moveToNext()) {
+            YogaCourse course = mapper.map();
+            scores.put(course.getId(), SearchUtils.rank(cursor.getBlob(matchInfoIndex), SEARCH_COLUMN_WEIGHTS));
+            courseList.add(course);
+        }
+        cursor.close();
+        Collections.sort(courseList, (a, b) -> Double.compare(scores.get(b.getId()), scores.get(a.getId())));
+        return courseList;
+    }
 
+    /**
+     * Builds the query behind {@link #searchCourses}. Its arguments are, in order,
+     * the full-text match query, the day of week and the date of those filters in use.
+     * 
+     * @param fullText true to match the course_search index and select its matchinfo()
+     * @param byDay true to filter on the day of week
+     * @param byDate true to keep only courses with an instance on a date
+     * @return The SQL of the query
+     */
+    @VisibleForTesting
+    public static String buildSearchQuery(boolean fullText, boolean byDay, boolean byDate) {
+        StringBuilder query = new StringBuilder("SELECT ").append(COURSE_COLUMNS);
         StringBuilder whereClause = new StringBuilder();
-        List<String> selectionArgs = new ArrayList<>();
 
-        // Add teacher name filter if provided
-        if (!TextUtils.isEmpty(teacherName)) {
-            whereClause.append("t.").append(DatabaseContract.TeacherEntry.COLUMN_NAME_NAME).append(" LIKE ?");
-            selectionArgs.add("%" + teacherName + "%");
+        if (fullText) {
+            // Drive the query from the full-text index so matchinfo() is available for ranking
+            String search = DatabaseContract.CourseSearchEntry.TABLE_NAME;
+            query.append(", matchinfo(").append(search).append(", '").append(SearchUtils.MATCHINFO_FORMAT).append("') AS ").append(MATCH_INFO_COLUMN)
+                    .append(" FROM ").append(search)
+                    .append(" JOIN ").append(DatabaseContract.CourseEntry.TABLE_NAME).append(" c ON c.").append(DatabaseContract.CourseEntry._ID).append(" = ").append(search).append(".docid");
+            whereClause.append(search).append(" MATCH ?");
+        } else {
+            query.append(" FROM ").append(DatabaseContract.CourseEntry.TABLE_NAME).append(" c");
         }
+        query.append(" JOIN ").append(DatabaseContract.TeacherEntry.TABLE_NAME).append(" t ON c.").append(DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID).append(" = t.").append(DatabaseContract.TeacherEntry._ID);
 
-        // Add day of week filter if provided
-        if (!TextUtils.isEmpty(dayOfWeek)) {
+        // Add day of week filter if requested
+        if (byDay) {
             if (whereClause.length() > 0) {
                 whereClause.append(" AND ");
             }
             whereClause.append("c.").append(DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK).append(" = ?");
-            selectionArgs.add(dayOfWeek);
         }
 
-        // Add date filter if provided
-        if (!TextUtils.isEmpty(date)) {
+        // Add date filter if requested; a semi-join keeps one row per course
+        // and only touches instances when a date is actually requested
+        if (byDate) {
             if (whereClause.length() > 0) {
                 whereClause.append(" AND ");
             }
-            whereClause.append("i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(" = ?");
-            selectionArgs.add(date);
+            whereClause.append("EXISTS (SELECT 1 FROM ").append(DatabaseContract.InstanceEntry.TABLE_NAME).append(" i")
+                    .append(" WHERE i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID).append(" = c.").append(DatabaseContract.CourseEntry._ID)
+                    .append(" AND i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(" = ?)");
         }
 
         // Build final query with WHERE clause if filters are applied
-        String finalQuery = baseQuery;
         if (whereClause.length() > 0) {
-            finalQuery += " WHERE " + whereClause.toString();
+            query.append(" WHERE ").append(whereClause);
         }
-        finalQuery += " GROUP BY c." + DatabaseContract.CourseEntry._ID;
-
-        // Execute query and convert results
-        Cursor cursor = db.rawQuery(finalQuery, selectionArgs.toArray(new String[0]));
-
-        if (cursor.moveToFirst()) {
-            do {
-                courseList.add(cursorToCourse(cursor));
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        db.close();
-        return courseList;
+        query.append(" ORDER BY c.").append(DatabaseContract.CourseEntry._ID);
+        return query.toString();
     }
 
     /**
      * Retrieves a specific course by its ID.
      * This method performs a JOIN with the teachers table to include teacher information.
+     * Recently read courses are answered from the course cache without a query;
+     * the returned course may be shared and must be treated as read-only.
      * 
      * @param id The unique identifier of the course
      * @return The YogaCourse object if found, null otherwise
      */
     public YogaCourse getCourseById(int id) {
+        YogaCourse cached = courseCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long cacheGeneration = courseCache.getGeneration();
+
         SQLiteDatabase db = dbHelper.getReadableDatabase();
-        String selectQuery = "SELECT c.*, t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " as teacher_name" + " FROM " + DatabaseContract.CourseEntry.TABLE_NAME + " c JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID + " WHERE c." + DatabaseContract.CourseEntry._ID + " = ?";
+        String selectQuery = "SELECT " + COURSE_COLUMNS + " FROM " + DatabaseContract.CourseEntry.TABLE_NAME + " c JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID + " WHERE c." + DatabaseContract.CourseEntry._ID + " = ?";
         Cursor cursor = db.rawQuery(selectQuery, new String[]{String.valueOf(id)});
 
         YogaCourse course = null;
         if (cursor.moveToFirst()) {
-            course = cursorToCourse(cursor);
+            course = COURSE_MAPPER.bind(cursor).map();
+            courseCache.put(course, cacheGeneration);
         }
         cursor.close();
-        db.close();
         return course;
     }
 
     /**
      * Deletes a course and all its related class instances.
-     * This method performs a cascading delete to maintain referential integrity.
+     * The instances are removed by the ON DELETE CASCADE foreign key, in the same
+     * statement as the course, so either both are deleted or neither is. The
+     * cascade finds them through the course_id index.
      * 
      * @param id The unique identifier of the course to delete
      */
     public void deleteCourse(int id) {
         SQLiteDatabase db = dbHelper.getWritableDatabase();
-        
-        // Delete related class instances first to maintain foreign key integrity
-        db.delete(DatabaseContract.InstanceEntry.TABLE_NAME, DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = ?",
-                new String[]{String.valueOf(id)});
-        
-        // Delete the course
         db.delete(DatabaseContract.CourseEntry.TABLE_NAME, DatabaseContract.CourseEntry._ID + " = ?",
                 new String[]{String.valueOf(id)});
-        db.close();
+        courseCache.invalidate(id);
+        changeNotifier.notifyChanged(DatabaseContract.CourseEntry.TABLE_NAME, id);
+        changeNotifier.notifyTablesChanged(DatabaseContract.InstanceEntry.TABLE_NAME);
     }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.example.yogaadmin.database;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataChangeNotifier tells screens when the data they show has changed.
+ *
+ * The DAOs report every insert, update and delete here, with the table and,
+ * where a single row was written, its _id. Each table has a version counter
+ * that is incremented synchronously by the write, so a screen can remember the
+ * version it loaded and re-query in onResume() only if the version has moved
+ * on. Registered listeners are also told about each change on the main thread,
+ * so a visible screen can refresh itself, for example after a sync pulled rows
+ * from another device. Caches kept off the main thread, such as the schedule
+ * indexes, register synchronous listeners instead, which are told on the
+ * writing thread before the write returns.
+ *
+ * The DataChangeNotifier supports:
+ * - Per-table version counters that screens compare before re-querying
+ * - Change events per table and, where known, per row
+ * - Delivery of events on the main thread
+ * - Synchronous delivery to background caches on the writing thread
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class DataChangeNotifier {
+
+    /** Row ID reported when several rows, or an unknown set of rows, changed */
+    public static final long ALL_ROWS = -1;
+
+    /** Process-wide notifier instance */
+    private static volatile DataChangeNotifier instance;
+
+    /** Version counter of each table, created on first use */
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /** Registered listeners */
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Listeners told on the writing thread */
+    private final CopyOnWriteArrayList<Listener> synchronousListeners = new CopyOnWriteArrayList<>();
+
+    /** Handler used to deliver events on the main thread */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Listener notified after data has changed.
+     */
+    public interface Listener {
+        /**
+         * Called after a write has been committed: on the main thread, or on
+         * the writing thread for a synchronous listener.
+         *
+         * @param tableName The table that changed
+         * @param rowId The _id of the changed row, or {@link #ALL_ROWS}
+         */
+        void onDataChanged(String tableName, long rowId);
+    }
+
+    /**
+     * Returns the process-wide notifier, creating it on first use.
+     *
+     * @return The shared DataChangeNotifier instance
+     */
+    public static DataChangeNotifier getInstance() {
+        if (instance == null) {
+            synchronized (DataChangeNotifier.class) {
+                if (instance == null) {
+                    instance = new DataChangeNotifier();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Discards the shared notifier with its listeners and versions.
+     * Only intended for tests that need isolated state per test case.
+     */
+    @VisibleForTesting
+    public static synchronized void releaseInstance() {
+        instance = null;
+    }
+
+    /**
+     * Returns the combined version of one or more tables.
+     * The value changes whenever any of the tables is written, so a screen that
+     * shows data from several tables can keep a single number.
+     *
+     * @param tableNames The tables the caller reads
+     * @return The sum of the tables' version counters
+     */
+    public long getVersion(String... tableNames) {
+        long version = 0;
+        for (String tableName : tableNames) {
+            version += counter(tableName).get();
+        }
+        return version;
+    }
+
+    /**
+     * Reports that a single row has been inserted, updated or deleted.
+     *
+     * @param tableName The table that changed
+     * @param rowId The _id of the changed row
+     */
+    public void notifyChanged(String tableName, long rowId) {
+        counter(tableName).incrementAndGet();
+        for (Listener listener : synchronousListeners) {
+            listener.onDataChanged(tableName, rowId);
+        }
+        if (!listeners.isEmpty()) {
+            mainHandler.post(() -> {
+                for (Listener listener : listeners) {
+                    listener.onDataChanged(tableName, rowId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reports that any number of rows in the given tables may have changed.
+     *
+     * @param tableNames The tables that changed
+     */
+    public void notifyTablesChanged(String... tableNames) {
+        for (String tableName : tableNames) {
+            notifyChanged(tableName, ALL_ROWS);
+        }
+    }
+
+    /**
+     * Registers a listener. Activities register in onCreate() and remove
+     * themselves in onDestroy().
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(Listener)}.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener that is called on the writing thread, after the
+     * write has been committed and before it returns. The listener must be
+     * quick and must not access the database, since it runs inside the
+     * caller's write.
+     *
+     * @param listener The listener to add
+     */
+    public void addSynchronousListener(Listener listener) {
+        synchronousListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addSynchronousListener(Listener)}.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeSynchronousListener(Listener listener) {
+        synchronousListeners.remove(listener);
+    }
+
+    /**
+     * Returns the version counter of a table, creating it if needed.
+     *
+     * @param tableName The table name
+     * @return The table's counter
+     */
+    private AtomicLong counter(String tableName) {
+        return versions.computeIfAbsent(tableName, name -> new AtomicLong());
+    }
+}
@@ -0,0 +1,664 @@
+package com.example.yogaadmin.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.provider.BaseColumns;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.JsonWriter;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.yogaadmin.utils.CsvReader;
+import com.example.yogaadmin.utils.CsvWriter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DataTransfer streams the synced tables to and from CSV and JSON files.
+ *
+ * Files hold one table each, with the same row format as Firebase: a sync_id
+ * column identifying the row, the table's other columns by name, and foreign
+ * keys given as the sync id of the referenced row rather than a local _id. A
+ * CSV file starts with a header naming its columns; a JSON file is an array
+ * with one object per row. Exported files can therefore be imported on any
+ * device, and a timetable prepared in a spreadsheet can reference the courses
+ * and teachers of an exported file.
+ *
+ * Both directions hold one row at a time in memory. Exports read the table in
+ * pages by _id; imports insert through precompiled statements and commit every
+ * {@link #IMPORT_CHUNK_SIZE} rows, so a cancelled or failed import keeps the
+ * chunks committed before it and reports how many rows they held. Imported
+ * rows go through the same triggers as any other insert, so they are logged
+ * for sync and counted in the statistics.
+ *
+ * A row without a sync id, such as a row typed into a spreadsheet, is given
+ * one derived from its contents instead of a random one. Importing the same
+ * file again, for example after an import stopped part way, therefore skips
+ * the rows already imported rather than adding them twice.
+ *
+ * The DataTransfer supports:
+ * - Exporting teachers, courses or class instances as CSV or JSON
+ * - Importing rows from CSV or JSON, skipping rows whose sync id already exists,
+ *   whose referenced rows are missing or that lack required columns
+ * - Importing the same file more than once without duplicating rows
+ * - Reporting progress after every page or chunk, and cancellation between them
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class DataTransfer {
+
+    /** Rows inserted per transaction during an import */
+    @VisibleForTesting
+    public static final int IMPORT_CHUNK_SIZE = 2000;
+
+    /** Rows read per query during an export */
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    /** Position of the sync_id column among the file columns */
+    private static final int SYNC_ID_INDEX = 0;
+
+    /** Referenced rows whose local _id is remembered during an import */
+    private static final int FOREIGN_KEY_CACHE_SIZE = 256;
+
+    /**
+     * File formats that can be exported and imported.
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json");
+
+        /** MIME type of files in this format */
+        public final String mimeType;
+
+        /** File name extension, without the dot */
+        public final String extension;
+
+        Format(String mimeType, String extension) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * Receives progress while a table is exported or imported.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after every page exported or chunk imported.
+         *
+         * @param rows Rows processed so far
+         * @param totalRows Rows to process in total, or -1 if not known (imports)
+         */
+        void onProgress(int rows, int totalRows);
+    }
+
+    /**
+     * Outcome of an export or import.
+     */
+    public static final class Result {
+        /** Rows written to the file, or inserted into the table */
+        public final int rows;
+
+        /** Rows of an import that were not inserted */
+        public final int skipped;
+
+        /** Why the transfer stopped, or null if it completed */
+        public final String error;
+
+        Result(int rows, int skipped, String error) {
+            this.rows = rows;
+            this.skipped = skipped;
+            this.error = error;
+        }
+
+        /**
+         * @param error Why the transfer failed
+         * @return A result for a transfer that failed before processing any rows
+         */
+        public static Result failed(String error) {
+            return new Result(0, 0, error);
+        }
+
+        /**
+         * @return true if the whole file was processed
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        /**
+         * @return true if the transfer stopped part way after processing some rows
+         */
+        public boolean isPartial() {
+            return error != null && rows + skipped > 0;
+        }
+    }
+
+    /**
+     * Reads the rows of an import file one at a time.
+     */
+    private interface RowSource {
+        /**
+         * Reads the next row into the given arrays, indexed like the table columns.
+         *
+         * @param values Receives the value of each column present in the row, null for empty values
+         * @param present Receives whether each column is present in the row
+         * @return false at the end of the file
+         * @throws IOException If the file cannot be read or is malformed
+         */
+        boolean next(String[] values, boolean[] present) throws IOException;
+    }
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /** Shared teacher cache, invalidated after teachers are imported */
+    private final TeacherCache teacherCache;
+
+    /** Shared course cache, invalidated after teachers or courses are imported */
+    private final CourseCache courseCache;
+
+    /** Notifier told which table an import changed */
+    private final DataChangeNotifier changeNotifier;
+
+    /**
+     * Constructs a new DataTransfer with the given context.
+     *
+     * @param context The application context
+     */
+    public DataTransfer(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+        teacherCache = TeacherCache.getInstance(context);
+        courseCache = CourseCache.getInstance();
+        changeNotifier = DataChangeNotifier.getInstance();
+    }
+
+    /**
+     * Writes every row of a table to a stream. The stream is flushed but not closed.
+     *
+     * @param tableName One of the synced tables
+     * @param format The file format
+     * @param out The stream to write to
+     * @param listener Receives progress after every page, or null
+     * @param signal Checked between pages; cancelling stops the export with OperationCanceledException
+     * @return The number of rows written
+     * @throws IOException If the stream cannot be written
+     */
+    public Result exportTable(String tableName, Format format, OutputStream out, ProgressListener listener,
+                              CancellationSignal signal) throws IOException {
+        checkTable(tableName);
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        List<String> columns = getFileColumns(db, tableName);
+        Map<String, String> foreignKeys = DatabaseHelper.SYNCED_FOREIGN_KEYS.get(tableName);
+
+        // Foreign keys are written as the sync id of the referenced row
+        StringBuilder select = new StringBuilder("SELECT t." + BaseColumns._ID);
+        for (String column : columns) {
+            String referencedTable = foreignKeys.get(column);
+            if (referencedTable != null) {
+                select.append(", (SELECT ").append(DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID)
+                        .append(" FROM ").append(referencedTable)
+                        .append(" WHERE ").append(BaseColumns._ID).append(" = t.").append(column).append(")");
+            } else {
+                select.append(", t.").append(column);
+            }
+        }
+        select.append(" FROM ").append(tableName).append(" t WHERE t.").append(BaseColumns._ID)
+                .append(" > ? ORDER BY t.").append(BaseColumns._ID).append(" LIMIT ").append(EXPORT_PAGE_SIZE);
+
+        int total = (int) DatabaseUtils.queryNumEntries(db, tableName);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvWriter csv = null;
+        JsonWriter json = null;
+        if (format == Format.CSV) {
+            csv = new CsvWriter(writer);
+            csv.writeRecord(columns.toArray(new String[0]));
+        } else {
+            json = new JsonWriter(writer);
+            json.setIndent("  ");
+            json.beginArray();
+        }
+
+        String[] record = new String[columns.size()];
+        long lastId = 0;
+        int rows = 0;
+        int pageRows;
+        do {
+            pageRows = 0;
+            try (Cursor cursor = db.rawQuery(select.toString(), new String[]{String.valueOf(lastId)}, signal)) {
+                while (cursor.moveToNext()) {
+                    lastId = cursor.getLong(0);
+                    if (csv != null) {
+                        for (int i = 0; i < record.length; i++) {
+                            record[i] = cursor.getString(i + 1);
+                        }
+                        csv.writeRecord(record);
+                    } else {
+                        writeJsonRow(json, cursor, columns);
+                    }
+                    pageRows++;
+                }
+            }
+            rows += pageRows;
+            if (listener != null) {
+                listener.onProgress(rows, total);
+            }
+        } while (pageRows == EXPORT_PAGE_SIZE);
+
+        if (json != null) {
+            json.endArray();
+            json.flush();
+        }
+        writer.flush();
+        return new Result(rows, 0, null);
+    }
+
+    /**
+     * Inserts the rows of a stream into a table. The stream is not closed.
+     *
+     * Columns the table does not have are ignored, a missing sync id is derived
+     * from the row's contents, and a missing updated_at is set to the time of
+     * the import so the rows are pushed as new changes. Rows are skipped if their
+     * sync id already exists locally, if a row they reference does not exist, or
+     * if a required column is empty.
+     *
+     * @param tableName One of the synced tables
+     * @param format The file format
+     * @param in The stream to read
+     * @param listener Receives progress after every committed chunk, or null
+     * @param signal Checked between chunks; cancelling stops the import like an error
+     * @return The number of rows inserted and skipped; if the import stopped part way,
+     *         the rows of the chunks committed before it together with the error
+     * @throws IOException If the stream cannot be read or does not start like a file of the format
+     */
+    public Result importTable(String tableName, Format format, InputStream in, ProgressListener listener,
+                              CancellationSignal signal) throws IOException {
+        checkTable(tableName);
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        List<String> columns = getFileColumns(db, tableName);
+        Map<String, String> foreignKeys = DatabaseHelper.SYNCED_FOREIGN_KEYS.get(tableName);
+        int updatedAtIndex = columns.indexOf(DatabaseContract.SyncColumns.COLUMN_NAME_UPDATED_AT);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource source = format == Format.CSV ? csvRows(reader, columns) : jsonRows(reader, columns);
+
+        // Lookups of referenced rows by sync id, one statement per foreign key column
+        SQLiteStatement[] lookups = new SQLiteStatement[columns.size()];
+        List<Map<String, Long>> lookupCaches = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String referencedTable = foreignKeys.get(columns.get(i));
+            if (referencedTable != null) {
+                lookups[i] = db.compileStatement("SELECT " + BaseColumns._ID + " FROM " + referencedTable
+                        + " WHERE " + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " = ?");
+            }
+            lookupCaches.add(referencedTable == null ? null : new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > FOREIGN_KEY_CACHE_SIZE;
+                }
+            });
+        }
+
+        // One insert statement per set of columns present, so absent columns keep their defaults
+        Map<Long, SQLiteStatement> inserts = new HashMap<>();
+        String[] values = new String[columns.size()];
+        boolean[] present = new boolean[columns.size()];
+        String importedAt = String.valueOf(System.currentTimeMillis());
+
+        int rows = 0;
+        int skipped = 0;
+        int committedRows = 0;
+        int committedSkipped = 0;
+        String error = null;
+        db.beginTransaction();
+        try {
+            while (source.next(values, present)) {
+                if (!present[SYNC_ID_INDEX] || values[SYNC_ID_INDEX] == null) {
+                    present[SYNC_ID_INDEX] = true;
+                    values[SYNC_ID_INDEX] = contentSyncId(tableName, values, present, updatedAtIndex);
+                }
+                if (updatedAtIndex >= 0 && (!present[updatedAtIndex] || values[updatedAtIndex] == null)) {
+                    present[updatedAtIndex] = true;
+                    values[updatedAtIndex] = importedAt;
+                }
+                if (resolveForeignKeys(values, present, lookups, lookupCaches)
+                        && insertRow(db, tableName, columns, inserts, values, present)) {
+                    rows++;
+                } else {
+                    skipped++;
+                }
+
+                if ((rows + skipped) % IMPORT_CHUNK_SIZE == 0) {
+                    db.setTransactionSuccessful();
+                    db.endTransaction();
+                    committedRows = rows;
+                    committedSkipped = skipped;
+                    if (listener != null) {
+                        listener.onProgress(rows + skipped, -1);
+                    }
+                    db.beginTransaction();
+                    if (signal != null) {
+                        signal.throwIfCanceled(); // The empty transaction is rolled back in finally
+                    }
+                }
+            }
+            db.setTransactionSuccessful();
+            committedRows = rows;
+            committedSkipped = skipped;
+        } catch (IOException e) {
+            error = describe(e); // The failing chunk is rolled back
+        } catch (OperationCanceledException e) {
+            error = "Import cancelled";
+        } finally {
+            db.endTransaction();
+            for (SQLiteStatement lookup : lookups) {
+                if (lookup != null) {
+                    lookup.close();
+                }
+            }
+            for (SQLiteStatement insert : inserts.values()) {
+                insert.close();
+            }
+            // Earlier chunks may be committed even if this one failed
+            if (tableName.equals(DatabaseContract.TeacherEntry.TABLE_NAME)) {
+                teacherCache.invalidate();
+            }
+            if (!tableName.equals(DatabaseContract.InstanceEntry.TABLE_NAME)) {
+                courseCache.invalidateAll();
+            }
+            changeNotifier.notifyTablesChanged(tableName);
+        }
+        if (error == null && listener != null) {
+            listener.onProgress(rows + skipped, rows + skipped);
+        }
+        return new Result(committedRows, committedSkipped, error);
+    }
+
+    /**
+     * Derives a sync id from the contents of a row that has none, so the same
+     * row always gets the same id. Foreign keys are still sync ids at this point,
+     * so the id is the same on every device.
+     *
+     * @param tableName The table the row is imported into
+     * @param values The row values
+     * @param present Which columns the row has
+     * @param updatedAtIndex Index of the updated_at column, which is left out, or -1
+     * @return A name-based UUID
+     */
+    private static String contentSyncId(String tableName, String[] values, boolean[] present, int updatedAtIndex) {
+        StringBuilder content = new StringBuilder(tableName);
+        for (int i = SYNC_ID_INDEX + 1; i < values.length; i++) {
+            if (i == updatedAtIndex) {
+                continue;
+            }
+            content.append('\u0000');
+            if (present[i] && values[i] != null) {
+                content.append(values[i]);
+            } else {
+                content.append('\u0001'); // Distinguishes a missing value from any text
+            }
+        }
+        return UUID.nameUUIDFromBytes(content.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * @param e The exception that stopped a transfer
+     * @return Its message, or its type if it has none
+     */
+    static String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Replaces the sync ids in foreign key columns with the local _id of the referenced rows.
+     *
+     * @param values The row values; foreign keys are rewritten in place
+     * @param present Which columns the row has
+     * @param lookups Lookup statement of each foreign key column, null for other columns
+     * @param lookupCaches Recently resolved sync ids of each column
+     * @return false if a referenced row does not exist
+     */
+    private static boolean resolveForeignKeys(String[] values, boolean[] present, SQLiteStatement[] lookups,
+                                              List<Map<String, Long>> lookupCaches) {
+        for (int i = 0; i < lookups.length; i++) {
+            if (lookups[i] == null || !present[i] || values[i] == null) {
+                continue;
+            }
+            Map<String, Long> cache = lookupCaches.get(i);
+            Long id = cache.get(values[i]);
+            if (id == null) {
+                lookups[i].bindString(1, values[i]);
+                try {
+                    id = lookups[i].simpleQueryForLong();
+                } catch (SQLiteDoneException e) {
+                    return false; // Not found
+                }
+                cache.put(values[i], id);
+            }
+            values[i] = String.valueOf(id);
+        }
+        return true;
+    }
+
+    /**
+     * Inserts one row unless its sync id already exists.
+     *
+     * @param db The database, inside a transaction
+     * @param tableName The table to insert into
+     * @param columns The file columns of the table
+     * @param inserts Insert statements compiled so far, keyed by the columns they set
+     * @param values The row values
+     * @param present Which columns the row has
+     * @return true if the row was inserted
+     */
+    private static boolean insertRow(SQLiteDatabase db, String tableName, List<String> columns,
+                                     Map<Long, SQLiteStatement> inserts, String[] values, boolean[] present) {
+        long mask = 0;
+        for (int i = 0; i < present.length; i++) {
+            if (present[i]) {
+                mask |= 1L << i;
+            }
+        }
+        if (mask == 0) {
+            return false;
+        }
+        SQLiteStatement insert = inserts.get(mask);
+        if (insert == null) {
+            StringBuilder names = new StringBuilder();
+            StringBuilder params = new StringBuilder();
+            for (int i = 0; i < present.length; i++) {
+                if (present[i]) {
+                    names.append(names.length() == 0 ? "" : ", ").append(columns.get(i));
+                    params.append(params.length() == 0 ? "?" : ", ?");
+                }
+            }
+            // OR IGNORE skips duplicate sync ids and rows missing a required column
+            insert = db.compileStatement("INSERT OR IGNORE INTO " + tableName + " (" + names + ") VALUES (" + params + ")");
+            inserts.put(mask, insert);
+        }
+        insert.clearBindings();
+        int param = 1;
+        for (int i = 0; i < present.length; i++) {
+            if (present[i]) {
+                if (values[i] == null) {
+                    insert.bindNull(param++);
+                } else {
+                    insert.bindString(param++, values[i]); // Column affinity stores numbers as numbers
+                }
+            }
+        }
+        try {
+            return insert.executeInsert() != -1;
+        } catch (SQLiteConstraintException e) {
+            return false; // A foreign key is empty or otherwise invalid
+        }
+    }
+
+    /**
+     * Reads rows from a CSV file whose first record names the columns.
+     *
+     * @param reader The file contents
+     * @param columns The file columns of the table
+     * @return A source of rows
+     * @throws IOException If the header cannot be read
+     */
+    private static RowSource csvRows(BufferedReader reader, List<String> columns) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> fields = new ArrayList<>();
+        if (!csv.readRecord(fields)) {
+            return (values, present) -> false; // Empty file
+        }
+        int[] columnIndexes = new int[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            columnIndexes[i] = columns.indexOf(fields.get(i).trim());
+        }
+        return (values, present) -> {
+            if (!csv.readRecord(fields)) {
+                return false;
+            }
+            Arrays.fill(present, false);
+            for (int i = 0; i < fields.size() && i < columnIndexes.length; i++) {
+                int column = columnIndexes[i];
+                if (column >= 0) {
+                    String value = fields.get(i);
+                    present[column] = true;
+                    values[column] = value.isEmpty() ? null : value;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Reads rows from a JSON file holding an array of objects.
+     *
+     * @param reader The file contents
+     * @param columns The file columns of the table
+     * @return A source of rows
+     * @throws IOException If the file does not start with an array
+     */
+    private static RowSource jsonRows(BufferedReader reader, List<String> columns) throws IOException {
+        JsonReader json = new JsonReader(reader);
+        try {
+            json.beginArray();
+        } catch (IllegalStateException e) {
+            throw new IOException("Expected a JSON array of rows", e);
+        }
+        return (values, present) -> {
+            try {
+                if (!json.hasNext()) {
+                    json.endArray();
+                    return false;
+                }
+                Arrays.fill(present, false);
+                json.beginObject();
+                while (json.hasNext()) {
+                    int column = columns.indexOf(json.nextName());
+                    JsonToken token = json.peek();
+                    if (column < 0 || token == JsonToken.BEGIN_ARRAY || token == JsonToken.BEGIN_OBJECT) {
+                        json.skipValue();
+                        continue;
+                    }
+                    present[column] = true;
+                    if (token == JsonToken.NULL) {
+                        json.nextNull();
+                        values[column] = null;
+                    } else if (token == JsonToken.BOOLEAN) {
+                        values[column] = json.nextBoolean() ? "1" : "0";
+                    } else {
+                        values[column] = json.nextString(); // Numbers keep their exact text
+                    }
+                }
+                json.endObject();
+                return true;
+            } catch (IllegalStateException e) {
+                throw new IOException("Expected a JSON object for each row", e);
+            }
+        };
+    }
+
+    /**
+     * Writes the current cursor row as a JSON object, keeping SQLite's value types.
+     *
+     * @param json The writer
+     * @param cursor The cursor; column 0 is the local _id, which is not written
+     * @param columns The file columns, matching cursor columns 1 onwards
+     * @throws IOException If the stream cannot be written
+     */
+    private static void writeJsonRow(JsonWriter json, Cursor cursor, List<String> columns) throws IOException {
+        json.beginObject();
+        for (int i = 0; i < columns.size(); i++) {
+            json.name(columns.get(i));
+            switch (cursor.getType(i + 1)) {
+                case Cursor.FIELD_TYPE_INTEGER:
+                    json.value(cursor.getLong(i + 1));
+                    break;
+                case Cursor.FIELD_TYPE_FLOAT:
+                    json.value(cursor.getDouble(i + 1));
+                    break;
+                case Cursor.FIELD_TYPE_NULL:
+                    json.nullValue();
+                    break;
+                default:
+                    json.value(cursor.getString(i + 1));
+                    break;
+            }
+        }
+        json.endObject();
+    }
+
+    /**
+     * Returns the columns written to and read from files: sync_id first, then
+     * the table's other columns in schema order, without the local _id.
+     *
+     * @param db The database to read the schema from
+     * @param tableName The table to describe
+     * @return List of column names
+     */
+    private static List<String> getFileColumns(SQLiteDatabase db, String tableName) {
+        List<String> columns = new ArrayList<>();
+        columns.add(DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID);
+        try (Cursor cursor = db.rawQuery("PRAGMA table_info(" + tableName + ")", null)) {
+            int nameIndex = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                String column = cursor.getString(nameIndex);
+                if (!column.equals(BaseColumns._ID) && !column.equals(DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID)) {
+                    columns.add(column);
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * @param tableName The table to transfer
+     * @throws IllegalArgumentException If the table is not one of the synced tables
+     */
+    private static void checkTable(String tableName) {
+        if (!Arrays.asList(DatabaseHelper.SYNCED_TABLES).contains(tableName)) {
+            throw new IllegalArgumentException("Cannot transfer table " + tableName);
+        }
+    }
+}
@@ -12,6 +12,11 @@ import android.provider.BaseColumns;
  * - class_instances: Stores individual class sessions
  * - teachers: Stores teacher information
  * 
+ * A full-text index (course_search) mirrors the searchable course and teacher text.
+ * Two bookkeeping tables (sync_log and sync_state) track local changes that
+ * still have to be pushed to Firebase. Four statistics tables hold running
+ * totals that triggers keep up to date as courses and instances change.
+ * 
  * @author YogaAdmin Team
  * @version 1.0
  */
@@ -22,12 +27,31 @@ public final class DatabaseContract {
      */
     private DatabaseContract() {}
 
+    /**
+     * Columns shared by every table that is synced with Firebase.
+     * Like BaseColumns, this is implemented by the table entries that carry them.
+     */
+    public interface SyncColumns {
+        /**
+         * Last modification time in milliseconds since the epoch, used as the row
+         * version for last-writer-wins conflict resolution during sync (0 if unknown)
+         */
+        String COLUMN_NAME_UPDATED_AT = "updated_at";
+
+        /**
+         * Globally unique row identifier, used as the Firebase key and in place of
+         * local _id values in synced foreign keys. Unlike _id it never collides
+         * between devices and is never reused after a reset.
+         */
+        String COLUMN_NAME_SYNC_ID = "sync_id";
+    }
+
     /**
      * Defines the schema for the courses table.
      * This table stores information about yoga courses including their schedule,
      * teacher assignments, pricing, and class details.
      */
-    public static class CourseEntry implements BaseColumns {
+    public static class CourseEntry implements BaseColumns, SyncColumns {
         /** Table name for courses */
         public static final String TABLE_NAME = "courses";
         
@@ -60,6 +84,15 @@ public final class DatabaseContract {
         
         /** Type/category of the yoga course (optional) */
         public static final String COLUMN_NAME_TYPE = "type";
+
+        /** Index supporting the teacher JOIN and per-teacher lookups */
+        public static final String INDEX_TEACHER_ID = "idx_courses_teacher_id";
+
+        /** Index supporting the day of week search filter */
+        public static final String INDEX_DAY_OF_WEEK = "idx_courses_day_of_week";
+
+        /** Unique index on the global sync id */
+        public static final String INDEX_SYNC_ID = "idx_courses_sync_id";
     }
 
     /**
@@ -67,7 +100,7 @@ public final class DatabaseContract {
      * This table stores individual class sessions that are instances of courses.
      * Each instance represents a specific class on a specific date.
      */
-    public static class InstanceEntry implements BaseColumns {
+    public static class InstanceEntry implements BaseColumns, SyncColumns {
         /** Table name for class instances */
         public static final String TABLE_NAME = "class_instances";
         
@@ -79,6 +112,18 @@ public final class DatabaseContract {
         
         /** Date of the class instance (required) */
         public static final String COLUMN_NAME_DATE = "date";
+
+        /** Index supporting per-course lookups ordered by date */
+        public static final String INDEX_COURSE_ID_DATE = "idx_class_instances_course_id_date";
+
+        /** Index supporting lookups and range scans by date */
+        public static final String INDEX_DATE = "idx_class_instances_date";
+
+        /** Index supporting per-teacher lookups */
+        public static final String INDEX_TEACHER_ID = "idx_class_instances_teacher_id";
+
+        /** Unique index on the global sync id */
+        public static final String INDEX_SYNC_ID = "idx_class_instances_sync_id";
     }
 
     /**
@@ -86,7 +131,7 @@ public final class DatabaseContract {
      * This table stores information about yoga teachers including their
      * contact details and personal information.
      */
-    public static class TeacherEntry implements BaseColumns {
+    public static class TeacherEntry implements BaseColumns, SyncColumns {
         /** Table name for teachers */
         public static final String TABLE_NAME = "teachers";
         
@@ -98,5 +143,159 @@ public final class DatabaseContract {
         
         /** Teacher's phone number (optional) */
         public static final String COLUMN_NAME_PHONE = "phone";
+
+        /** Unique index on the global sync id */
+        public static final String INDEX_SYNC_ID = "idx_teachers_sync_id";
+    }
+
+    /**
+     * Defines the schema for the course_search full-text index.
+     * This FTS4 virtual table holds one document per course, keyed by docid = courses._id,
+     * and is kept in sync with the courses and teachers tables by triggers.
+     */
+    public static class CourseSearchEntry {
+        /** Virtual table name for the course full-text index */
+        public static final String TABLE_NAME = "course_search";
+
+        /** Course name */
+        public static final String COLUMN_NAME_NAME = "name";
+
+        /** Course description */
+        public static final String COLUMN_NAME_DESCRIPTION = "description";
+
+        /** Course type/category */
+        public static final String COLUMN_NAME_TYPE = "type";
+
+        /** Name of the teacher assigned to the course */
+        public static final String COLUMN_NAME_TEACHER_NAME = "teacher_name";
+    }
+
+    /**
+     * Defines the schema for the sync_log table.
+     * Triggers on teachers, courses and class_instances record every inserted,
+     * updated or deleted row, keeping one entry per row, so a sync only has to push
+     * rows listed here. It doubles as the durable queue of writes waiting to be pushed.
+     */
+    public static class SyncLogEntry {
+        /** Table name for the change log */
+        public static final String TABLE_NAME = "sync_log";
+
+        /** Monotonic sequence number of the change (primary key) */
+        public static final String COLUMN_NAME_SEQ = "seq";
+
+        /** Name of the table the changed row belongs to */
+        public static final String COLUMN_NAME_TABLE_NAME = "table_name";
+
+        /** Local _id of the changed row */
+        public static final String COLUMN_NAME_ROW_ID = "row_id";
+
+        /** Global sync id of the changed row, i.e. its Firebase key */
+        public static final String COLUMN_NAME_SYNC_ID = "sync_id";
+
+        /** Unique index keeping one pending entry per row */
+        public static final String INDEX_TABLE_NAME_SYNC_ID = "idx_sync_log_table_name_sync_id";
+
+        /** Kind of change: OPERATION_INSERT, OPERATION_UPDATE or OPERATION_DELETE */
+        public static final String COLUMN_NAME_OPERATION = "operation";
+
+        /** Operation value for inserted rows */
+        public static final String OPERATION_INSERT = "I";
+
+        /** Operation value for updated rows */
+        public static final String OPERATION_UPDATE = "U";
+
+        /** Operation value for deleted rows */
+        public static final String OPERATION_DELETE = "D";
+    }
+
+    /**
+     * Defines the schema for the sync_state table.
+     * A small key/value table that persists the sync cursor between runs.
+     */
+    public static class SyncStateEntry {
+        /** Table name for sync state */
+        public static final String TABLE_NAME = "sync_state";
+
+        /** State key (primary key) */
+        public static final String COLUMN_NAME_KEY = "key";
+
+        /** State value */
+        public static final String COLUMN_NAME_VALUE = "value";
+
+        /** Key holding the highest sync_log sequence number pushed to Firebase */
+        public static final String KEY_LAST_PUSHED_SEQ = "last_pushed_seq";
+    }
+
+    /**
+     * Defines the schema for the stats_courses_by_day table.
+     * One row per day of week with the number of courses held on that day.
+     */
+    public static class DayStatsEntry {
+        /** Table name for per-day course counts */
+        public static final String TABLE_NAME = "stats_courses_by_day";
+
+        /** Day of week (primary key) */
+        public static final String COLUMN_NAME_DAY_OF_WEEK = "day_of_week";
+
+        /** Number of courses on this day */
+        public static final String COLUMN_NAME_COURSE_COUNT = "course_count";
+    }
+
+    /**
+     * Defines the schema for the stats_instances_by_teacher table.
+     * One row per teacher with the number of class instances they teach.
+     */
+    public static class TeacherStatsEntry {
+        /** Table name for per-teacher instance counts */
+        public static final String TABLE_NAME = "stats_instances_by_teacher";
+
+        /** Teacher ID (primary key) */
+        public static final String COLUMN_NAME_TEACHER_ID = "teacher_id";
+
+        /** Number of class instances taught */
+        public static final String COLUMN_NAME_INSTANCE_COUNT = "instance_count";
+    }
+
+    /**
+     * Defines the schema for the stats_by_course table.
+     * One row per course with its instance count and the capacity and price the
+     * totals were computed with, so instance triggers never have to read courses.
+     */
+    public static class CourseStatsEntry {
+        /** Table name for per-course statistics */
+        public static final String TABLE_NAME = "stats_by_course";
+
+        /** Course ID (primary key) */
+        public static final String COLUMN_NAME_COURSE_ID = "course_id";
+
+        /** Number of class instances of the course */
+        public static final String COLUMN_NAME_INSTANCE_COUNT = "instance_count";
+
+        /** Course capacity counted for each instance */
+        public static final String COLUMN_NAME_MAX_CAPACITY = "max_capacity";
+
+        /** Course price counted for each instance */
+        public static final String COLUMN_NAME_PRICE = "price";
+    }
+
+    /**
+     * Defines the schema for the stats_totals table.
+     * A single row (_id = 1) with studio-wide totals.
+     */
+    public static class TotalStatsEntry implements BaseColumns {
+        /** Table name for studio-wide totals */
+        public static final String TABLE_NAME = "stats_totals";
+
+        /** Number of courses */
+        public static final String COLUMN_NAME_COURSE_COUNT = "course_count";
+
+        /** Number of class instances */
+        public static final String COLUMN_NAME_INSTANCE_COUNT = "instance_count";
+
+        /** Seats offered across all instances: the sum of each instance's course capacity */
+        public static final String COLUMN_NAME_TOTAL_CAPACITY = "total_capacity";
+
+        /** Revenue if every instance is held: the sum of each instance's course price */
+        public static final String COLUMN_NAME_PROJECTED_REVENUE = "projected_revenue";
     }
 }
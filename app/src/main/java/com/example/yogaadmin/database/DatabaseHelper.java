@@ -3,13 +3,19 @@ package com.example.yogaadmin.database;
 import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.provider.BaseColumns;
+import androidx.annotation.VisibleForTesting;
 import com.example.yogaadmin.models.ClassInstance;
 
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * DatabaseHelper manages the SQLite database for the YogaAdmin application.
@@ -20,25 +26,129 @@ import java.util.List;
  * The database contains three tables:
  * - teachers: Stores teacher information
  * - courses: Stores course details with foreign key to teachers
- * - class_instances: Stores individual class sessions with foreign keys to courses and teachers
+ * - class_instances: Stores individual class sessions with foreign keys to courses and teachers;
+ *   deleting a course deletes its instances through ON DELETE CASCADE
+ * 
+ * plus a change log (sync_log) used to push only modified rows to Firebase,
+ * and trigger-maintained statistics tables read by the statistics screen.
+ * Foreign key constraints are enforced on every connection.
  * 
  * @author YogaAdmin Team
  * @version 1.0
  */
 public class DatabaseHelper extends SQLiteOpenHelper {
     /** Database name */
-    private static final String DATABASE_NAME = "YogaAdmin.db";
+    @VisibleForTesting
+    public static final String DATABASE_NAME = "YogaAdmin.db";
     
     /** Database version - increment to trigger onUpgrade */
-    private static final int DATABASE_VERSION = 3;
+    @VisibleForTesting
+    public static final int DATABASE_VERSION = 12;
+
+    /** Tables whose changes are recorded in sync_log and pushed to Firebase, in dependency order */
+    static final String[] SYNCED_TABLES = {
+            DatabaseContract.TeacherEntry.TABLE_NAME,
+            DatabaseContract.CourseEntry.TABLE_NAME,
+            DatabaseContract.InstanceEntry.TABLE_NAME
+    };
+
+    /**
+     * Foreign key columns of the synced tables, mapped to the table they reference.
+     * These columns hold local _id values in SQLite and the referenced row's sync_id
+     * in Firebase.
+     */
+    static final Map<String, Map<String, String>> SYNCED_FOREIGN_KEYS;
+
+    static {
+        Map<String, String> courseKeys = new HashMap<>();
+        courseKeys.put(DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID, DatabaseContract.TeacherEntry.TABLE_NAME);
+        Map<String, String> instanceKeys = new HashMap<>();
+        instanceKeys.put(DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID, DatabaseContract.CourseEntry.TABLE_NAME);
+        instanceKeys.put(DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID, DatabaseContract.TeacherEntry.TABLE_NAME);
+
+        Map<String, Map<String, String>> foreignKeys = new HashMap<>();
+        foreignKeys.put(DatabaseContract.TeacherEntry.TABLE_NAME, Collections.emptyMap());
+        foreignKeys.put(DatabaseContract.CourseEntry.TABLE_NAME, Collections.unmodifiableMap(courseKeys));
+        foreignKeys.put(DatabaseContract.InstanceEntry.TABLE_NAME, Collections.unmodifiableMap(instanceKeys));
+        SYNCED_FOREIGN_KEYS = Collections.unmodifiableMap(foreignKeys);
+    }
+
+    /** SQL expression generating a sync id, in the same format as {@link #newSyncId()} */
+    private static final String SQL_NEW_SYNC_ID = "lower(hex(randomblob(16)))";
+
+    /** Maps a plain class_instances row, without teacher name, to a ClassInstance */
+    private static final RowMapper<ClassInstance> INSTANCE_ROW_MAPPER = new RowMapper<>(new String[]{
+            DatabaseContract.InstanceEntry._ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_DATE
+    }, (cursor, columns) -> {
+        ClassInstance instance = new ClassInstance();
+        instance.setId(cursor.getInt(columns[0]));
+        instance.setCourseId(cursor.getInt(columns[1]));
+        instance.setTeacherId(cursor.getInt(columns[2]));
+        instance.setDate(cursor.getString(columns[3]));
+        return instance;
+    });
+
+    /** Process-wide helper shared by all DAOs and the sync manager */
+    private static volatile DatabaseHelper instance;
+
+    /**
+     * Returns the process-wide DatabaseHelper, creating it on first use.
+     * The helper is bound to the application context and its connection is kept
+     * open for the lifetime of the process, so callers must not close the
+     * SQLiteDatabase objects they obtain from it.
+     * 
+     * @param context Any context; only its application context is retained
+     * @return The shared DatabaseHelper instance
+     */
+    public static DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DatabaseHelper.class) {
+                if (instance == null) {
+                    instance = new DatabaseHelper(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Closes and discards the shared helper so the next getInstance() call opens a fresh one.
+     * Only intended for tests that need an isolated database per test case.
+     */
+    @VisibleForTesting
+    public static synchronized void releaseInstance() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
 
     /**
      * Constructs a new DatabaseHelper with the given context.
+     * Write-ahead logging is enabled so readers do not block behind writers
+     * on the shared connection pool.
      * 
      * @param context The application context
      */
-    public DatabaseHelper(Context context) {
+    private DatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * Configures each connection before it is used.
+     * SQLite ignores FOREIGN KEY clauses unless enforcement is switched on per
+     * connection; it must happen here, outside any transaction.
+     * 
+     * @param db The database being configured
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        db.setForeignKeyConstraintsEnabled(true);
     }
 
     /**
@@ -65,41 +175,138 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                 + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE + " REAL NOT NULL,"
                 + DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY + " TEXT,"
                 + DatabaseContract.CourseEntry.COLUMN_NAME_TYPE + " TEXT,"
+                + DatabaseContract.CourseEntry.COLUMN_NAME_UPDATED_AT + " INTEGER NOT NULL DEFAULT 0,"
+                + DatabaseContract.CourseEntry.COLUMN_NAME_SYNC_ID + " TEXT,"
                 + "FOREIGN KEY(" + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + ") REFERENCES "
                 + DatabaseContract.TeacherEntry.TABLE_NAME + "(" + DatabaseContract.TeacherEntry._ID + "))";
 
-        // Create class_instances table with foreign key constraints
-        String createInstancesTable = "CREATE TABLE " + DatabaseContract.InstanceEntry.TABLE_NAME + "("
-                + DatabaseContract.InstanceEntry._ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
-                + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " INTEGER NOT NULL,"
-                + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + " INTEGER NOT NULL,"
-                + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + " TEXT NOT NULL,"
-                + "FOREIGN KEY(" + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + ") REFERENCES "
-                + DatabaseContract.CourseEntry.TABLE_NAME + "(" + DatabaseContract.CourseEntry._ID + "),"
-                + "FOREIGN KEY(" + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + ") REFERENCES "
-                + DatabaseContract.TeacherEntry.TABLE_NAME + "(" + DatabaseContract.TeacherEntry._ID + "))";
-
         // Create teachers table
         String createTeachersTable = "CREATE TABLE " + DatabaseContract.TeacherEntry.TABLE_NAME + "("
                 + DatabaseContract.TeacherEntry._ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                 + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " TEXT NOT NULL,"
                 + DatabaseContract.TeacherEntry.COLUMN_NAME_EMAIL + " TEXT,"
-                + DatabaseContract.TeacherEntry.COLUMN_NAME_PHONE + " TEXT)";
+                + DatabaseContract.TeacherEntry.COLUMN_NAME_PHONE + " TEXT,"
+                + DatabaseContract.TeacherEntry.COLUMN_NAME_UPDATED_AT + " INTEGER NOT NULL DEFAULT 0,"
+                + DatabaseContract.TeacherEntry.COLUMN_NAME_SYNC_ID + " TEXT)";
 
         // Execute table creation in order to respect foreign key constraints
         db.execSQL(createTeachersTable);
         db.execSQL(createCoursesTable);
-        db.execSQL(createInstancesTable);
+        db.execSQL(createInstancesTable(DatabaseContract.InstanceEntry.TABLE_NAME));
+
+        createIndexes(db);
+        createSearchIndex(db);
+        createSyncLog(db);
+        createSyncIds(db);
+        createStatsTables(db);
     }
 
     /**
-     * Handles database upgrades when the database version is incremented.
-     * This method adds new columns to existing tables without losing data.
+     * Builds the CREATE TABLE statement for class_instances.
+     * Instances belong to their course: deleting the course deletes them in the
+     * same statement, using the course_id index to find them.
+     * 
+     * @param tableName Name to create the table under, so a migration can build a copy
+     * @return The CREATE TABLE statement
+     */
+    private static String createInstancesTable(String tableName) {
+        return "CREATE TABLE " + tableName + "("
+                + DatabaseContract.InstanceEntry._ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " INTEGER NOT NULL,"
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + " INTEGER NOT NULL,"
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + " TEXT NOT NULL,"
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_UPDATED_AT + " INTEGER NOT NULL DEFAULT 0,"
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_SYNC_ID + " TEXT,"
+                + "FOREIGN KEY(" + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + ") REFERENCES "
+                + DatabaseContract.CourseEntry.TABLE_NAME + "(" + DatabaseContract.CourseEntry._ID + ") ON DELETE CASCADE,"
+                + "FOREIGN KEY(" + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + ") REFERENCES "
+                + DatabaseContract.TeacherEntry.TABLE_NAME + "(" + DatabaseContract.TeacherEntry._ID + "))";
+    }
+
+    /**
+     * Generates a new sync id: 32 lowercase hex digits from a random UUID.
+     * DAOs assign one to every row they insert.
+     * 
+     * @return A new globally unique sync id
+     */
+    static String newSyncId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Creates the secondary indexes used by the DAO queries.
+     * Without them lookups by course, teacher, date and day of week scan whole tables.
+     * 
+     * @param db The database to create indexes in
+     */
+    private void createIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + DatabaseContract.InstanceEntry.INDEX_COURSE_ID_DATE
+                + " ON " + DatabaseContract.InstanceEntry.TABLE_NAME + "("
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + ", " + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + DatabaseContract.InstanceEntry.INDEX_DATE
+                + " ON " + DatabaseContract.InstanceEntry.TABLE_NAME + "(" + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + DatabaseContract.InstanceEntry.INDEX_TEACHER_ID
+                + " ON " + DatabaseContract.InstanceEntry.TABLE_NAME + "(" + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + DatabaseContract.CourseEntry.INDEX_TEACHER_ID
+                + " ON " + DatabaseContract.CourseEntry.TABLE_NAME + "(" + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + DatabaseContract.CourseEntry.INDEX_DAY_OF_WEEK
+                + " ON " + DatabaseContract.CourseEntry.TABLE_NAME + "(" + DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK + ")");
+    }
+
+    /**
+     * Creates the course_search FTS4 index, the triggers that keep it in sync with
+     * courses and teachers, and fills it from any existing rows.
+     * FTS4 is used because the SQLite build shipped with Android does not include FTS5;
+     * prefix indexes keep prefix queries ("vin*") as cheap as whole-token lookups.
      * 
-     * Version history:
-     * - Version 1: Initial database with basic columns
-     * - Version 2: Added price column to courses table
-     * - Version 3: Added difficulty and type columns to courses table
+     * @param db The database to create the index in
+     */
+    private void createSearchIndex(SQLiteDatabase db) {
+        String search = DatabaseContract.CourseSearchEntry.TABLE_NAME;
+        String courses = DatabaseContract.CourseEntry.TABLE_NAME;
+        String teachers = DatabaseContract.TeacherEntry.TABLE_NAME;
+        String columns = DatabaseContract.CourseSearchEntry.COLUMN_NAME_NAME + ", "
+                + DatabaseContract.CourseSearchEntry.COLUMN_NAME_DESCRIPTION + ", "
+                + DatabaseContract.CourseSearchEntry.COLUMN_NAME_TYPE + ", "
+                + DatabaseContract.CourseSearchEntry.COLUMN_NAME_TEACHER_NAME;
+        String insertNewCourse = "INSERT INTO " + search + "(docid, " + columns + ") VALUES (NEW." + DatabaseContract.CourseEntry._ID
+                + ", NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_NAME
+                + ", NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION
+                + ", NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_TYPE
+                + ", (SELECT " + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " FROM " + teachers
+                + " WHERE " + DatabaseContract.TeacherEntry._ID + " = NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + "));";
+        String deleteOldCourse = "DELETE FROM " + search + " WHERE docid = OLD." + DatabaseContract.CourseEntry._ID + ";";
+
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + search + " USING fts4(" + columns + ", prefix=\"2,3\")");
+
+        // Keep the index in step with course and teacher writes
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + courses + "_search_insert AFTER INSERT ON " + courses
+                + " BEGIN " + insertNewCourse + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + courses + "_search_update AFTER UPDATE ON " + courses
+                + " BEGIN " + deleteOldCourse + " " + insertNewCourse + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + courses + "_search_delete AFTER DELETE ON " + courses
+                + " BEGIN " + deleteOldCourse + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + teachers + "_search_rename AFTER UPDATE OF "
+                + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " ON " + teachers
+                + " BEGIN UPDATE " + search + " SET " + DatabaseContract.CourseSearchEntry.COLUMN_NAME_TEACHER_NAME + " = NEW." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME
+                + " WHERE docid IN (SELECT " + DatabaseContract.CourseEntry._ID + " FROM " + courses
+                + " WHERE " + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + " = NEW." + DatabaseContract.TeacherEntry._ID + "); END");
+
+        // Index courses that existed before the table was created
+        db.execSQL("INSERT INTO " + search + "(docid, " + columns + ")"
+                + " SELECT c." + DatabaseContract.CourseEntry._ID
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_NAME
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_TYPE
+                + ", t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME
+                + " FROM " + courses + " c LEFT JOIN " + teachers + " t ON c." + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID
+                + " = t." + DatabaseContract.TeacherEntry._ID);
+    }
+
+    /**
+     * Handles database upgrades when the database version is incremented.
+     * Each version's step is kept in {@link DatabaseMigrations}, which upgrades
+     * existing tables without losing data.
      * 
      * @param db The database to upgrade
      * @param oldVersion The previous database version
@@ -107,34 +314,279 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // Add price column to courses table for version 2
-        if (oldVersion < 2) {
-            db.execSQL("ALTER TABLE " + DatabaseContract.CourseEntry.TABLE_NAME + " ADD COLUMN " + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE + " REAL NOT NULL DEFAULT 0");
+        DatabaseMigrations.migrate(db, oldVersion, newVersion);
+    }
+
+    /**
+     * Creates the statistics tables, the triggers that keep them up to date and
+     * fills them from any existing rows.
+     * 
+     * Every insert, update and delete on courses and class_instances adjusts the
+     * affected counters by a constant amount, so reading the statistics never
+     * scans the schedule. Instance triggers take capacity and price from
+     * stats_by_course rather than courses, so they stay correct when a course is
+     * deleted before its instances; the stats_by_course row is removed once both
+     * the course and its last instance are gone.
+     * 
+     * @param db The database to create the statistics tables in
+     */
+    private void createStatsTables(SQLiteDatabase db) {
+        String courses = DatabaseContract.CourseEntry.TABLE_NAME;
+        String instances = DatabaseContract.InstanceEntry.TABLE_NAME;
+        String byDay = DatabaseContract.DayStatsEntry.TABLE_NAME;
+        String dayCount = DatabaseContract.DayStatsEntry.COLUMN_NAME_COURSE_COUNT;
+        String day = DatabaseContract.DayStatsEntry.COLUMN_NAME_DAY_OF_WEEK;
+        String byTeacher = DatabaseContract.TeacherStatsEntry.TABLE_NAME;
+        String teacherCount = DatabaseContract.TeacherStatsEntry.COLUMN_NAME_INSTANCE_COUNT;
+        String teacherId = DatabaseContract.TeacherStatsEntry.COLUMN_NAME_TEACHER_ID;
+        String byCourse = DatabaseContract.CourseStatsEntry.TABLE_NAME;
+        String courseCount = DatabaseContract.CourseStatsEntry.COLUMN_NAME_INSTANCE_COUNT;
+        String courseId = DatabaseContract.CourseStatsEntry.COLUMN_NAME_COURSE_ID;
+        String capacity = DatabaseContract.CourseStatsEntry.COLUMN_NAME_MAX_CAPACITY;
+        String price = DatabaseContract.CourseStatsEntry.COLUMN_NAME_PRICE;
+        String totals = DatabaseContract.TotalStatsEntry.TABLE_NAME;
+        String totalCourses = DatabaseContract.TotalStatsEntry.COLUMN_NAME_COURSE_COUNT;
+        String totalInstances = DatabaseContract.TotalStatsEntry.COLUMN_NAME_INSTANCE_COUNT;
+        String totalCapacity = DatabaseContract.TotalStatsEntry.COLUMN_NAME_TOTAL_CAPACITY;
+        String totalRevenue = DatabaseContract.TotalStatsEntry.COLUMN_NAME_PROJECTED_REVENUE;
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + byDay + "(" + day + " TEXT PRIMARY KEY, "
+                + dayCount + " INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + byTeacher + "(" + teacherId + " INTEGER PRIMARY KEY, "
+                + teacherCount + " INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + byCourse + "(" + courseId + " INTEGER PRIMARY KEY, "
+                + courseCount + " INTEGER NOT NULL DEFAULT 0, "
+                + capacity + " INTEGER NOT NULL DEFAULT 0, "
+                + price + " REAL NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + totals + "(" + BaseColumns._ID + " INTEGER PRIMARY KEY CHECK (" + BaseColumns._ID + " = 1), "
+                + totalCourses + " INTEGER NOT NULL DEFAULT 0, "
+                + totalInstances + " INTEGER NOT NULL DEFAULT 0, "
+                + totalCapacity + " INTEGER NOT NULL DEFAULT 0, "
+                + totalRevenue + " REAL NOT NULL DEFAULT 0)");
+
+        // Trigger bodies, as SQL statements for a NEW or OLD row
+        String courseDay = DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK;
+        String addCourse = "INSERT OR IGNORE INTO " + byDay + "(" + day + ") VALUES (NEW." + courseDay + ");"
+                + " UPDATE " + byDay + " SET " + dayCount + " = " + dayCount + " + 1 WHERE " + day + " = NEW." + courseDay + ";"
+                + " INSERT OR IGNORE INTO " + byCourse + "(" + courseId + ") VALUES (NEW." + BaseColumns._ID + ");";
+        String removeCourseDay = "UPDATE " + byDay + " SET " + dayCount + " = " + dayCount + " - 1 WHERE " + day + " = OLD." + courseDay + ";";
+        // Re-price the instances already counted for the course, then record the new capacity and price
+        String courseStats = " FROM " + byCourse + " WHERE " + courseId + " = NEW." + BaseColumns._ID + ")";
+        String applyCoursePrice = "UPDATE " + totals + " SET "
+                + totalCapacity + " = " + totalCapacity + " + (SELECT (NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY + " - " + capacity + ") * " + courseCount + courseStats + ", "
+                + totalRevenue + " = " + totalRevenue + " + (SELECT (NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE + " - " + price + ") * " + courseCount + courseStats + ";"
+                + " UPDATE " + byCourse + " SET " + capacity + " = NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY
+                + ", " + price + " = NEW." + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE
+                + " WHERE " + courseId + " = NEW." + BaseColumns._ID + ";";
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + courses + "_stats_insert AFTER INSERT ON " + courses + " BEGIN "
+                + addCourse + " " + applyCoursePrice
+                + " UPDATE " + totals + " SET " + totalCourses + " = " + totalCourses + " + 1; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + courses + "_stats_update AFTER UPDATE OF "
+                + courseDay + ", " + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY + ", " + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE
+                + " ON " + courses + " BEGIN " + removeCourseDay + " " + addCourse + " " + applyCoursePrice + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + courses + "_stats_delete AFTER DELETE ON " + courses + " BEGIN "
+                + removeCourseDay
+                + " UPDATE " + totals + " SET " + totalCourses + " = " + totalCourses + " - 1;"
+                + " DELETE FROM " + byCourse + " WHERE " + courseId + " = OLD." + BaseColumns._ID + " AND " + courseCount + " = 0; END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + instances + "_stats_insert AFTER INSERT ON " + instances
+                + " BEGIN " + countInstance(1, "NEW") + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + instances + "_stats_update AFTER UPDATE OF "
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + ", " + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID
+                + " ON " + instances + " BEGIN " + countInstance(-1, "OLD") + " " + countInstance(1, "NEW") + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + instances + "_stats_delete AFTER DELETE ON " + instances
+                + " BEGIN " + countInstance(-1, "OLD") + " END");
+
+        // Fill the tables from rows that existed before they were created
+        db.execSQL("DELETE FROM " + byDay);
+        db.execSQL("DELETE FROM " + byTeacher);
+        db.execSQL("DELETE FROM " + byCourse);
+        db.execSQL("DELETE FROM " + totals);
+        db.execSQL("INSERT INTO " + byDay + "(" + day + ", " + dayCount + ")"
+                + " SELECT " + courseDay + ", COUNT(*) FROM " + courses + " GROUP BY " + courseDay);
+        db.execSQL("INSERT INTO " + byTeacher + "(" + teacherId + ", " + teacherCount + ")"
+                + " SELECT " + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + ", COUNT(*) FROM " + instances
+                + " GROUP BY " + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID);
+        db.execSQL("INSERT INTO " + byCourse + "(" + courseId + ", " + courseCount + ", " + capacity + ", " + price + ")"
+                + " SELECT c." + BaseColumns._ID + ", (SELECT COUNT(*) FROM " + instances + " i WHERE i." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = c." + BaseColumns._ID + ")"
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE
+                + " FROM " + courses + " c");
+        db.execSQL("INSERT INTO " + totals + "(" + BaseColumns._ID + ", " + totalCourses + ", " + totalInstances + ", " + totalCapacity + ", " + totalRevenue + ")"
+                + " SELECT 1, (SELECT COUNT(*) FROM " + courses + "), IFNULL(SUM(" + courseCount + "), 0)"
+                + ", IFNULL(SUM(" + courseCount + " * " + capacity + "), 0), IFNULL(SUM(" + courseCount + " * " + price + "), 0)"
+                + " FROM " + byCourse);
+    }
+
+    /**
+     * Builds the trigger statements that add or remove one class instance from the statistics.
+     * 
+     * @param delta 1 to count the instance, -1 to remove it
+     * @param row Row alias of the instance, NEW or OLD
+     * @return The SQL statements, each terminated by a semicolon
+     */
+    private static String countInstance(int delta, String row) {
+        String byTeacher = DatabaseContract.TeacherStatsEntry.TABLE_NAME;
+        String teacherCount = DatabaseContract.TeacherStatsEntry.COLUMN_NAME_INSTANCE_COUNT;
+        String byCourse = DatabaseContract.CourseStatsEntry.TABLE_NAME;
+        String courseCount = DatabaseContract.CourseStatsEntry.COLUMN_NAME_INSTANCE_COUNT;
+        String courseId = DatabaseContract.CourseStatsEntry.COLUMN_NAME_COURSE_ID;
+        String totals = DatabaseContract.TotalStatsEntry.TABLE_NAME;
+        String totalInstances = DatabaseContract.TotalStatsEntry.COLUMN_NAME_INSTANCE_COUNT;
+        String totalCapacity = DatabaseContract.TotalStatsEntry.COLUMN_NAME_TOTAL_CAPACITY;
+        String totalRevenue = DatabaseContract.TotalStatsEntry.COLUMN_NAME_PROJECTED_REVENUE;
+        String instanceCourse = row + "." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID;
+        String instanceTeacher = row + "." + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID;
+        String sign = delta > 0 ? " + " : " - ";
+        String courseStats = " FROM " + byCourse + " WHERE " + courseId + " = " + instanceCourse + ")";
+
+        return "INSERT OR IGNORE INTO " + byTeacher + "(" + DatabaseContract.TeacherStatsEntry.COLUMN_NAME_TEACHER_ID + ") VALUES (" + instanceTeacher + ");"
+                + " UPDATE " + byTeacher + " SET " + teacherCount + " = " + teacherCount + sign + "1"
+                + " WHERE " + DatabaseContract.TeacherStatsEntry.COLUMN_NAME_TEACHER_ID + " = " + instanceTeacher + ";"
+                + " INSERT OR IGNORE INTO " + byCourse + "(" + courseId + ") VALUES (" + instanceCourse + ");"
+                + " UPDATE " + byCourse + " SET " + courseCount + " = " + courseCount + sign + "1 WHERE " + courseId + " = " + instanceCourse + ";"
+                + " UPDATE " + totals + " SET " + totalInstances + " = " + totalInstances + sign + "1, "
+                + totalCapacity + " = " + totalCapacity + sign + "(SELECT " + DatabaseContract.CourseStatsEntry.COLUMN_NAME_MAX_CAPACITY + courseStats + ", "
+                + totalRevenue + " = " + totalRevenue + sign + "(SELECT " + DatabaseContract.CourseStatsEntry.COLUMN_NAME_PRICE + courseStats + ";"
+                + " DELETE FROM " + byCourse + " WHERE " + courseId + " = " + instanceCourse + " AND " + courseCount + " = 0"
+                + " AND NOT EXISTS (SELECT 1 FROM " + DatabaseContract.CourseEntry.TABLE_NAME
+                + " WHERE " + BaseColumns._ID + " = " + instanceCourse + ");";
+    }
+
+    /**
+     * Creates the sync_log and sync_state tables and the triggers that record
+     * every insert, update and delete on the synced tables.
+     * sync_log holds at most one entry per row: a unique index on (table, sync id)
+     * lets each new change replace the row's previous entry.
+     * 
+     * @param db The database to create the change log in
+     */
+    private void createSyncLog(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + DatabaseContract.SyncLogEntry.TABLE_NAME + "("
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME + " TEXT NOT NULL,"
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_ROW_ID + " INTEGER NOT NULL,"
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_OPERATION + " TEXT NOT NULL,"
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + " TEXT)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + DatabaseContract.SyncStateEntry.TABLE_NAME + "("
+                + DatabaseContract.SyncStateEntry.COLUMN_NAME_KEY + " TEXT PRIMARY KEY,"
+                + DatabaseContract.SyncStateEntry.COLUMN_NAME_VALUE + " INTEGER NOT NULL)");
+        createSyncLogIndex(db);
+
+        createSyncTriggers(db);
+    }
+
+    /**
+     * Creates the unique index that coalesces sync_log to one entry per row.
+     * 
+     * @param db The database to create the index in
+     */
+    private void createSyncLogIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS " + DatabaseContract.SyncLogEntry.INDEX_TABLE_NAME_SYNC_ID
+                + " ON " + DatabaseContract.SyncLogEntry.TABLE_NAME + "("
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME + ", " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + ")");
+    }
+
+    /**
+     * Creates the change-tracking triggers on every synced table.
+     * 
+     * @param db The database to create the triggers in
+     */
+    private void createSyncTriggers(SQLiteDatabase db) {
+        for (String table : SYNCED_TABLES) {
+            createSyncTrigger(db, table, "insert", "AFTER INSERT", "NEW", DatabaseContract.SyncLogEntry.OPERATION_INSERT);
+            createSyncTrigger(db, table, "update", "AFTER UPDATE", "NEW", DatabaseContract.SyncLogEntry.OPERATION_UPDATE);
+            createSyncTrigger(db, table, "delete", "AFTER DELETE", "OLD", DatabaseContract.SyncLogEntry.OPERATION_DELETE);
         }
-        
-        // Add difficulty and type columns to courses table for version 3
-        if (oldVersion < 3) {
-            db.execSQL("ALTER TABLE " + DatabaseContract.CourseEntry.TABLE_NAME + " ADD COLUMN " + DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY + " TEXT");
-            db.execSQL("ALTER TABLE " + DatabaseContract.CourseEntry.TABLE_NAME + " ADD COLUMN " + DatabaseContract.CourseEntry.COLUMN_NAME_TYPE + " TEXT");
+    }
+
+    /**
+     * Creates the unique sync_id indexes and the triggers that assign a sync id to
+     * rows inserted without one (DAOs always set it; raw SQL inserts may not).
+     * 
+     * @param db The database to create the indexes in
+     */
+    private void createSyncIds(SQLiteDatabase db) {
+        String[] indexes = {
+                DatabaseContract.TeacherEntry.INDEX_SYNC_ID,
+                DatabaseContract.CourseEntry.INDEX_SYNC_ID,
+                DatabaseContract.InstanceEntry.INDEX_SYNC_ID
+        };
+        for (int i = 0; i < SYNCED_TABLES.length; i++) {
+            String table = SYNCED_TABLES[i];
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS " + indexes[i] + " ON " + table
+                    + "(" + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + ")");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_sync_id_insert AFTER INSERT ON " + table
+                    + " WHEN NEW." + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " IS NULL"
+                    + " BEGIN UPDATE " + table + " SET " + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " = " + SQL_NEW_SYNC_ID
+                    + " WHERE " + BaseColumns._ID + " = NEW." + BaseColumns._ID + "; END");
         }
     }
 
+    /**
+     * Creates one change-tracking trigger, named {table}_sync_{suffix}.
+     * The trigger replaces any pending entry for the same row, so repeated edits
+     * leave a single entry with the newest sequence number. Rows without a sync id
+     * yet are skipped; the trigger that assigns one logs them as an update.
+     * 
+     * @param db The database to create the trigger in
+     * @param table The synced table to watch
+     * @param suffix Trigger name suffix
+     * @param event Trigger timing and event, e.g. "AFTER INSERT"
+     * @param row Row alias holding the _id and sync_id, NEW or OLD
+     * @param operation Operation value written to sync_log
+     */
+    private void createSyncTrigger(SQLiteDatabase db, String table, String suffix, String event, String row, String operation) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_sync_" + suffix + " " + event + " ON " + table
+                + " WHEN " + row + "." + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " IS NOT NULL"
+                + " BEGIN INSERT OR REPLACE INTO " + DatabaseContract.SyncLogEntry.TABLE_NAME + " ("
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME + ", "
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_ROW_ID + ", "
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_OPERATION + ", "
+                + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + ")"
+                + " VALUES ('" + table + "', " + row + "." + BaseColumns._ID + ", '" + operation + "', "
+                + row + "." + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + "); END");
+    }
+
     /**
      * Resets the entire database by dropping all tables and recreating them.
      * This method is useful for testing or when a complete database reset is needed.
      * Tables are dropped in reverse order to avoid foreign key constraint violations.
+     * 
+     * The drops and the recreation run in one transaction, so a crash or another
+     * thread never sees a half-dropped schema. The change log keeps its sequence
+     * number: a sync run that read the old log may still mark its batches as
+     * pushed, and must not cover entries written after the reset.
      */
     public void resetDatabase() {
         SQLiteDatabase db = this.getWritableDatabase();
-        
-        // Drop tables in reverse order of creation to avoid foreign key constraints
-        db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.InstanceEntry.TABLE_NAME);
-        db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.CourseEntry.TABLE_NAME);
-        db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.TeacherEntry.TABLE_NAME);
-        
-        // Recreate the tables
-        onCreate(db);
-        db.close();
+        String syncLog = DatabaseContract.SyncLogEntry.TABLE_NAME;
+        db.beginTransaction();
+        try {
+            long lastSeq = DatabaseUtils.longForQuery(db,
+                    "SELECT IFNULL(MAX(seq), 0) FROM sqlite_sequence WHERE name = ?", new String[]{syncLog});
+
+            // Drop tables in reverse order of creation to avoid foreign key constraints
+            db.execSQL("DROP TABLE IF EXISTS " + syncLog);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.SyncStateEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.CourseSearchEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.DayStatsEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.TeacherStatsEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.CourseStatsEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.TotalStatsEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.InstanceEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.CourseEntry.TABLE_NAME);
+            db.execSQL("DROP TABLE IF EXISTS " + DatabaseContract.TeacherEntry.TABLE_NAME);
+
+            // Recreate the tables
+            onCreate(db);
+            if (lastSeq > 0) {
+                db.execSQL("INSERT INTO sqlite_sequence (name, seq) VALUES (?, ?)", new Object[]{syncLog, lastSeq});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
     }
 
     /**
@@ -145,7 +597,6 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return List of ClassInstance objects for the specified date
      */
     public List<ClassInstance> getInstancesForDate(String date) {
-        List<ClassInstance> instanceList = new ArrayList<>();
         SQLiteDatabase db = this.getReadableDatabase();
         
         // Query for instances on the specified date
@@ -163,19 +614,8 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         );
 
         // Convert cursor data to ClassInstance objects
-        if (cursor.moveToFirst()) {
-            do {
-                ClassInstance instance = new ClassInstance();
-                instance.setId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry._ID)));
-                instance.setCourseId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID)));
-                instance.setTeacherId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID)));
-                instance.setDate(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE)));
-                instanceList.add(instance);
-            } while (cursor.moveToNext());
-        }
-        
+        List<ClassInstance> instanceList = INSTANCE_ROW_MAPPER.mapAll(cursor);
         cursor.close();
-        db.close();
         return instanceList;
     }
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+package com.example.yogaadmin.database;
+
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * DatabaseMigrations upgrades an existing database one version at a time.
+ *
+ * Each step brings the schema from the previous version to its own and uses
+ * the SQL of that version, written out in full, rather than the helpers that
+ * create the current schema. A step therefore does the same thing however old
+ * the database is and however the schema changes later: the version 7 change
+ * log, for example, is created without the sync_id column that version 9
+ * adds. The statements of a released step must never be edited; a schema
+ * change is always a new step.
+ *
+ * Version history:
+ * - Version 1: Initial database with basic columns
+ * - Version 2: Added price column to courses table
+ * - Version 3: Added difficulty and type columns to courses table
+ * - Version 4: Added secondary indexes on class_instances and courses
+ * - Version 5: Added course_search full-text index and its triggers
+ * - Version 6: Rewrote class instance dates from dd/MM/yyyy to sortable yyyy-MM-dd
+ * - Version 7: Added sync_log change tracking and sync_state for delta sync
+ * - Version 8: Added updated_at row versions to synced tables for two-way sync
+ * - Version 9: Added sync_id global row identifiers used as Firebase keys
+ * - Version 10: Coalesced sync_log to one entry per row, making it a durable outbound queue
+ * - Version 11: Added trigger-maintained statistics tables
+ * - Version 12: Rebuilt class_instances with ON DELETE CASCADE on course_id
+ *
+ * The DatabaseMigrations supports:
+ * - Upgrading a database from any earlier version to any later one
+ * - Steps that never depend on the current schema
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public final class DatabaseMigrations {
+
+    /** Tables tracked by the change log, as of version 7 */
+    private static final String[] SYNCED_TABLES_V7 = {"teachers", "courses", "class_instances"};
+
+    /** Secondary indexes, as of version 4 */
+    private static final String[] INDEXES_V4 = {
+            "CREATE INDEX IF NOT EXISTS idx_class_instances_course_id_date ON class_instances(course_id, date)",
+            "CREATE INDEX IF NOT EXISTS idx_class_instances_date ON class_instances(date)",
+            "CREATE INDEX IF NOT EXISTS idx_class_instances_teacher_id ON class_instances(teacher_id)",
+            "CREATE INDEX IF NOT EXISTS idx_courses_teacher_id ON courses(teacher_id)",
+            "CREATE INDEX IF NOT EXISTS idx_courses_day_of_week ON courses(day_of_week)"
+    };
+
+    /** Full-text course index and its triggers, filled from the existing rows, as of version 5 */
+    private static final String[] SEARCH_INDEX_V5 = {
+            "CREATE VIRTUAL TABLE IF NOT EXISTS course_search USING fts4(name, description, type, teacher_name, prefix=\"2,3\")",
+            "CREATE TRIGGER IF NOT EXISTS courses_search_insert AFTER INSERT ON courses BEGIN"
+                    + " INSERT INTO course_search(docid, name, description, type, teacher_name) VALUES (NEW._id, NEW.name,"
+                    + " NEW.description, NEW.type, (SELECT name FROM teachers WHERE _id = NEW.teacher_id)); END",
+            "CREATE TRIGGER IF NOT EXISTS courses_search_update AFTER UPDATE ON courses BEGIN"
+                    + " DELETE FROM course_search WHERE docid = OLD._id;"
+                    + " INSERT INTO course_search(docid, name, description, type, teacher_name) VALUES (NEW._id, NEW.name,"
+                    + " NEW.description, NEW.type, (SELECT name FROM teachers WHERE _id = NEW.teacher_id)); END",
+            "CREATE TRIGGER IF NOT EXISTS courses_search_delete AFTER DELETE ON courses BEGIN"
+                    + " DELETE FROM course_search WHERE docid = OLD._id; END",
+            "CREATE TRIGGER IF NOT EXISTS teachers_search_rename AFTER UPDATE OF name ON teachers BEGIN"
+                    + " UPDATE course_search SET teacher_name = NEW.name"
+                    + " WHERE docid IN (SELECT _id FROM courses WHERE teacher_id = NEW._id); END",
+            "INSERT INTO course_search(docid, name, description, type, teacher_name)"
+                    + " SELECT c._id, c.name, c.description, c.type, t.name FROM courses c LEFT JOIN teachers t ON c.teacher_id = t._id"
+    };
+
+    /** Statistics tables and triggers, refilled from the existing rows, as of version 11 */
+    private static final String[] STATS_TABLES_V11 = {
+            "CREATE TABLE IF NOT EXISTS stats_courses_by_day(day_of_week TEXT PRIMARY KEY, course_count INTEGER NOT NULL DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS stats_instances_by_teacher(teacher_id INTEGER PRIMARY KEY, instance_count INTEGER NOT NULL DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS stats_by_course(course_id INTEGER PRIMARY KEY, instance_count INTEGER NOT NULL DEFAULT 0,"
+                    + " max_capacity INTEGER NOT NULL DEFAULT 0, price REAL NOT NULL DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS stats_totals(_id INTEGER PRIMARY KEY CHECK (_id = 1), course_count INTEGER NOT NULL DEFAULT 0,"
+                    + " instance_count INTEGER NOT NULL DEFAULT 0, total_capacity INTEGER NOT NULL DEFAULT 0,"
+                    + " projected_revenue REAL NOT NULL DEFAULT 0)",
+            "CREATE TRIGGER IF NOT EXISTS courses_stats_insert AFTER INSERT ON courses BEGIN"
+                    + " INSERT OR IGNORE INTO stats_courses_by_day(day_of_week) VALUES (NEW.day_of_week);"
+                    + " UPDATE stats_courses_by_day SET course_count = course_count + 1 WHERE day_of_week = NEW.day_of_week;"
+                    + " INSERT OR IGNORE INTO stats_by_course(course_id) VALUES (NEW._id);"
+                    + " UPDATE stats_totals SET"
+                    + " total_capacity = total_capacity + (SELECT (NEW.max_capacity - max_capacity) * instance_count FROM stats_by_course WHERE course_id = NEW._id),"
+                    + " projected_revenue = projected_revenue + (SELECT (NEW.price - price) * instance_count FROM stats_by_course WHERE course_id = NEW._id);"
+                    + " UPDATE stats_by_course SET max_capacity = NEW.max_capacity, price = NEW.price WHERE course_id = NEW._id;"
+                    + " UPDATE stats_totals SET course_count = course_count + 1; END",
+            "CREATE TRIGGER IF NOT EXISTS courses_stats_update AFTER UPDATE OF day_of_week, max_capacity, price ON courses BEGIN"
+                    + " UPDATE stats_courses_by_day SET course_count = course_count - 1 WHERE day_of_week = OLD.day_of_week;"
+                    + " INSERT OR IGNORE INTO stats_courses_by_day(day_of_week) VALUES (NEW.day_of_week);"
+                    + " UPDATE stats_courses_by_day SET course_count = course_count + 1 WHERE day_of_week = NEW.day_of_week;"
+                    + " INSERT OR IGNORE INTO stats_by_course(course_id) VALUES (NEW._id);"
+                    + " UPDATE stats_totals SET"
+                    + " total_capacity = total_capacity + (SELECT (NEW.max_capacity - max_capacity) * instance_count FROM stats_by_course WHERE course_id = NEW._id),"
+                    + " projected_revenue = projected_revenue + (SELECT (NEW.price - price) * instance_count FROM stats_by_course WHERE course_id = NEW._id);"
+                    + " UPDATE stats_by_course SET max_capacity = NEW.max_capacity, price = NEW.price WHERE course_id = NEW._id; END",
+            "CREATE TRIGGER IF NOT EXISTS courses_stats_delete AFTER DELETE ON courses BEGIN"
+                    + " UPDATE stats_courses_by_day SET course_count = course_count - 1 WHERE day_of_week = OLD.day_of_week;"
+                    + " UPDATE stats_totals SET course_count = course_count - 1;"
+                    + " DELETE FROM stats_by_course WHERE course_id = OLD._id AND instance_count = 0; END",
+            "CREATE TRIGGER IF NOT EXISTS class_instances_stats_insert AFTER INSERT ON class_instances BEGIN "
+                    + countInstanceV11(" + ", "NEW") + " END",
+            "CREATE TRIGGER IF NOT EXISTS class_instances_stats_update AFTER UPDATE OF course_id, teacher_id ON class_instances BEGIN "
+                    + countInstanceV11(" - ", "OLD") + " " + countInstanceV11(" + ", "NEW") + " END",
+            "CREATE TRIGGER IF NOT EXISTS class_instances_stats_delete AFTER DELETE ON class_instances BEGIN "
+                    + countInstanceV11(" - ", "OLD") + " END",
+            "DELETE FROM stats_courses_by_day",
+            "DELETE FROM stats_instances_by_teacher",
+            "DELETE FROM stats_by_course",
+            "DELETE FROM stats_totals",
+            "INSERT INTO stats_courses_by_day(day_of_week, course_count) SELECT day_of_week, COUNT(*) FROM courses GROUP BY day_of_week",
+            "INSERT INTO stats_instances_by_teacher(teacher_id, instance_count) SELECT teacher_id, COUNT(*) FROM class_instances GROUP BY teacher_id",
+            "INSERT INTO stats_by_course(course_id, instance_count, max_capacity, price)"
+                    + " SELECT c._id, (SELECT COUNT(*) FROM class_instances i WHERE i.course_id = c._id), c.max_capacity, c.price FROM courses c",
+            "INSERT INTO stats_totals(_id, course_count, instance_count, total_capacity, projected_revenue)"
+                    + " SELECT 1, (SELECT COUNT(*) FROM courses), IFNULL(SUM(instance_count), 0),"
+                    + " IFNULL(SUM(instance_count * max_capacity), 0), IFNULL(SUM(instance_count * price), 0) FROM stats_by_course"
+    };
+
+    private DatabaseMigrations() {
+    }
+
+    /**
+     * Upgrades a database by running every step after its version, in order.
+     * Called by {@link DatabaseHelper#onUpgrade} inside the upgrade transaction.
+     *
+     * @param db The database to upgrade
+     * @param oldVersion The version of the database
+     * @param newVersion The version to upgrade it to
+     */
+    public static void migrate(SQLiteDatabase db, int oldVersion, int newVersion) {
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+            migrateTo(db, version);
+        }
+    }
+
+    /**
+     * Runs the step that upgrades a database from the previous version to the given one.
+     *
+     * @param db The database to upgrade
+     * @param version The version the step produces
+     */
+    private static void migrateTo(SQLiteDatabase db, int version) {
+        switch (version) {
+            case 2:
+                db.execSQL("ALTER TABLE courses ADD COLUMN price REAL NOT NULL DEFAULT 0");
+                break;
+            case 3:
+                db.execSQL("ALTER TABLE courses ADD COLUMN difficulty TEXT");
+                db.execSQL("ALTER TABLE courses ADD COLUMN type TEXT");
+                break;
+            case 4:
+                execAll(db, INDEXES_V4);
+                break;
+            case 5:
+                execAll(db, SEARCH_INDEX_V5);
+                break;
+            case 6:
+                db.execSQL("UPDATE class_instances SET date = substr(date, 7, 4) || '-' || substr(date, 4, 2) || '-' || substr(date, 1, 2)"
+                        + " WHERE date GLOB '[0-9][0-9]/[0-9][0-9]/[0-9][0-9][0-9][0-9]'");
+                break;
+            case 7:
+                migrateToVersion7(db);
+                break;
+            case 8:
+                // Existing rows start at 0 so any remote edit wins
+                for (String table : SYNCED_TABLES_V7) {
+                    db.execSQL("ALTER TABLE " + table + " ADD COLUMN updated_at INTEGER NOT NULL DEFAULT 0");
+                }
+                break;
+            case 9:
+                migrateToVersion9(db);
+                break;
+            case 10:
+                migrateToVersion10(db);
+                break;
+            case 11:
+                execAll(db, STATS_TABLES_V11);
+                break;
+            case 12:
+                migrateToVersion12(db);
+                break;
+            default:
+                throw new IllegalArgumentException("No migration to database version " + version);
+        }
+    }
+
+    /**
+     * Adds the change log and logs every existing row as an insert, so the next
+     * sync pushes it once. Rows are identified by _id; sync ids come in version 9.
+     *
+     * @param db The database to upgrade
+     */
+    private static void migrateToVersion7(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE sync_log(seq INTEGER PRIMARY KEY AUTOINCREMENT, table_name TEXT NOT NULL,"
+                + " row_id INTEGER NOT NULL, operation TEXT NOT NULL)");
+        db.execSQL("CREATE TABLE sync_state(key TEXT PRIMARY KEY, value INTEGER NOT NULL)");
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("CREATE TRIGGER " + table + "_sync_insert AFTER INSERT ON " + table
+                    + " BEGIN INSERT INTO sync_log (table_name, row_id, operation) VALUES ('" + table + "', NEW._id, 'I'); END");
+            db.execSQL("CREATE TRIGGER " + table + "_sync_update AFTER UPDATE ON " + table
+                    + " BEGIN INSERT INTO sync_log (table_name, row_id, operation) VALUES ('" + table + "', NEW._id, 'U'); END");
+            db.execSQL("CREATE TRIGGER " + table + "_sync_delete AFTER DELETE ON " + table
+                    + " BEGIN INSERT INTO sync_log (table_name, row_id, operation) VALUES ('" + table + "', OLD._id, 'D'); END");
+        }
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("INSERT INTO sync_log (table_name, row_id, operation)"
+                    + " SELECT '" + table + "', _id, 'I' FROM " + table + " ORDER BY _id");
+        }
+    }
+
+    /**
+     * Moves the database from _id keys to sync_id keys.
+     * Rows may already exist in Firebase under their old _id key, so pending log
+     * entries are pointed at the old keys and a removal of each old key is logged.
+     * Every row then gets a new sync id, which logs it for the next push under its
+     * new key.
+     *
+     * @param db The database to upgrade
+     */
+    private static void migrateToVersion9(SQLiteDatabase db) {
+        dropSyncTriggers(db);
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("ALTER TABLE " + table + " ADD COLUMN sync_id TEXT");
+        }
+        db.execSQL("ALTER TABLE sync_log ADD COLUMN sync_id TEXT");
+        db.execSQL("UPDATE sync_log SET sync_id = CAST(row_id AS TEXT)");
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("INSERT INTO sync_log (table_name, row_id, operation, sync_id)"
+                    + " SELECT '" + table + "', _id, 'D', CAST(_id AS TEXT) FROM " + table + " ORDER BY _id");
+        }
+
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("CREATE TRIGGER " + table + "_sync_insert AFTER INSERT ON " + table + " BEGIN"
+                    + " INSERT INTO sync_log (table_name, row_id, operation, sync_id) VALUES ('" + table + "', NEW._id, 'I', NEW.sync_id); END");
+            db.execSQL("CREATE TRIGGER " + table + "_sync_update AFTER UPDATE ON " + table + " BEGIN"
+                    + " INSERT INTO sync_log (table_name, row_id, operation, sync_id) VALUES ('" + table + "', NEW._id, 'U', NEW.sync_id); END");
+            db.execSQL("CREATE TRIGGER " + table + "_sync_delete AFTER DELETE ON " + table + " BEGIN"
+                    + " INSERT INTO sync_log (table_name, row_id, operation, sync_id) VALUES ('" + table + "', OLD._id, 'D', OLD.sync_id); END");
+        }
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("UPDATE " + table + " SET sync_id = lower(hex(randomblob(16)))");
+        }
+        createSyncIdsV9(db);
+    }
+
+    /**
+     * Reduces the change log to the latest entry per row, adds the unique index
+     * that keeps it that way and replaces the triggers with ones that overwrite
+     * a row's previous entry.
+     *
+     * @param db The database to upgrade
+     */
+    private static void migrateToVersion10(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM sync_log WHERE sync_id IS NULL"
+                + " OR seq NOT IN (SELECT MAX(seq) FROM sync_log GROUP BY table_name, sync_id)");
+        db.execSQL("CREATE UNIQUE INDEX idx_sync_log_table_name_sync_id ON sync_log(table_name, sync_id)");
+        dropSyncTriggers(db);
+        for (String table : SYNCED_TABLES_V7) {
+            createSyncTriggersV10(db, table);
+        }
+    }
+
+    /**
+     * Rebuilds class_instances with ON DELETE CASCADE on course_id, since SQLite
+     * cannot change a foreign key in place. Instances whose course or teacher no
+     * longer exists are deleted first, as they would violate the enforced
+     * constraints; their deletion is logged and counted like any other. Rows keep
+     * their _id and sync id, and the indexes and triggers dropped with the old
+     * table are recreated on the new one.
+     *
+     * @param db The database to upgrade
+     */
+    private static void migrateToVersion12(SQLiteDatabase db) {
+        String columns = "_id, course_id, teacher_id, date, updated_at, sync_id";
+        db.execSQL("DELETE FROM class_instances WHERE course_id NOT IN (SELECT _id FROM courses)"
+                + " OR teacher_id NOT IN (SELECT _id FROM teachers)");
+
+        // Keep the AUTOINCREMENT high-water mark so IDs of deleted instances are not reused
+        long lastId = DatabaseUtils.longForQuery(db,
+                "SELECT IFNULL(MAX(seq), 0) FROM sqlite_sequence WHERE name = 'class_instances'", null);
+
+        db.execSQL("CREATE TABLE class_instances_rebuild(_id INTEGER PRIMARY KEY AUTOINCREMENT, course_id INTEGER NOT NULL,"
+                + " teacher_id INTEGER NOT NULL, date TEXT NOT NULL, updated_at INTEGER NOT NULL DEFAULT 0, sync_id TEXT,"
+                + " FOREIGN KEY(course_id) REFERENCES courses(_id) ON DELETE CASCADE,"
+                + " FOREIGN KEY(teacher_id) REFERENCES teachers(_id))");
+        db.execSQL("INSERT INTO class_instances_rebuild (" + columns + ") SELECT " + columns + " FROM class_instances");
+        db.execSQL("DROP TABLE class_instances");
+        db.execSQL("ALTER TABLE class_instances_rebuild RENAME TO class_instances");
+        db.execSQL("UPDATE sqlite_sequence SET seq = MAX(seq, " + lastId + ") WHERE name = 'class_instances'");
+
+        // Recreate what was attached to the old table; every statement skips objects that still exist
+        execAll(db, INDEXES_V4);
+        createSyncTriggersV10(db, "class_instances");
+        createSyncIdsV9(db);
+        execAll(db, STATS_TABLES_V11);
+    }
+
+    /**
+     * Drops the change-tracking triggers of every synced table.
+     *
+     * @param db The database to upgrade
+     */
+    private static void dropSyncTriggers(SQLiteDatabase db) {
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_sync_insert");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_sync_update");
+            db.execSQL("DROP TRIGGER IF EXISTS " + table + "_sync_delete");
+        }
+    }
+
+    /**
+     * Creates the unique sync_id indexes and the triggers that assign a sync id
+     * to rows inserted without one, as of version 9.
+     *
+     * @param db The database to upgrade
+     */
+    private static void createSyncIdsV9(SQLiteDatabase db) {
+        for (String table : SYNCED_TABLES_V7) {
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_" + table + "_sync_id ON " + table + "(sync_id)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_sync_id_insert AFTER INSERT ON " + table
+                    + " WHEN NEW.sync_id IS NULL BEGIN UPDATE " + table + " SET sync_id = lower(hex(randomblob(16)))"
+                    + " WHERE _id = NEW._id; END");
+        }
+    }
+
+    /**
+     * Creates the change-tracking triggers of one table that keep a single log
+     * entry per row, as of version 10.
+     *
+     * @param db The database to upgrade
+     * @param table The synced table to watch
+     */
+    private static void createSyncTriggersV10(SQLiteDatabase db, String table) {
+        String[][] triggers = {{"insert", "AFTER INSERT", "NEW", "I"}, {"update", "AFTER UPDATE", "NEW", "U"},
+                {"delete", "AFTER DELETE", "OLD", "D"}};
+        for (String[] trigger : triggers) {
+            String row = trigger[2];
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS " + table + "_sync_" + trigger[0] + " " + trigger[1] + " ON " + table
+                    + " WHEN " + row + ".sync_id IS NOT NULL BEGIN INSERT OR REPLACE INTO sync_log (table_name, row_id, operation, sync_id)"
+                    + " VALUES ('" + table + "', " + row + "._id, '" + trigger[3] + "', " + row + ".sync_id); END");
+        }
+    }
+
+    /**
+     * Builds the version 11 trigger statements that add or remove one class instance from the statistics.
+     *
+     * @param sign " + " to count the instance, " - " to remove it
+     * @param row Row alias of the instance, NEW or OLD
+     * @return The SQL statements, each terminated by a semicolon
+     */
+    private static String countInstanceV11(String sign, String row) {
+        String course = row + ".course_id";
+        String teacher = row + ".teacher_id";
+        return "INSERT OR IGNORE INTO stats_instances_by_teacher(teacher_id) VALUES (" + teacher + ");"
+                + " UPDATE stats_instances_by_teacher SET instance_count = instance_count" + sign + "1 WHERE teacher_id = " + teacher + ";"
+                + " INSERT OR IGNORE INTO stats_by_course(course_id) VALUES (" + course + ");"
+                + " UPDATE stats_by_course SET instance_count = instance_count" + sign + "1 WHERE course_id = " + course + ";"
+                + " UPDATE stats_totals SET instance_count = instance_count" + sign + "1,"
+                + " total_capacity = total_capacity" + sign + "(SELECT max_capacity FROM stats_by_course WHERE course_id = " + course + "),"
+                + " projected_revenue = projected_revenue" + sign + "(SELECT price FROM stats_by_course WHERE course_id = " + course + ");"
+                + " DELETE FROM stats_by_course WHERE course_id = " + course + " AND instance_count = 0"
+                + " AND NOT EXISTS (SELECT 1 FROM courses WHERE _id = " + course + ");";
+    }
+
+    /**
+     * Runs a list of statements.
+     *
+     * @param db The database to upgrade
+     * @param statements The statements, in order
+     */
+    private static void execAll(SQLiteDatabase db, String[] statements) {
+        for (String statement : statements) {
+            db.execSQL(statement);
+        }
+    }
+}
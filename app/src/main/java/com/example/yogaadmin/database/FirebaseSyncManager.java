@@ -1,27 +1,58 @@
 package com.example.yogaadmin.database;
 
 import android.content.Context;
-import android.database.Cursor;
-import android.database.sqlite.SQLiteDatabase;
 import android.net.ConnectivityManager;
+import android.net.Network;
 import android.net.NetworkInfo;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.widget.Toast;
 
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
+import androidx.annotation.VisibleForTesting;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * FirebaseSyncManager handles synchronization between the local SQLite database
- * and Firebase Realtime Database. This class provides methods to sync all local
- * data to Firebase and reset the Firebase database.
+ * and Firebase Realtime Database. This class provides methods to push local
+ * changes to Firebase, pull changes made on other devices, and reset the
+ * Firebase database.
+ * 
+ * Sync is incremental: triggers record every insert, update and delete in the
+ * sync_log table, and each sync pushes only the rows changed since the last
+ * successful sync. Deleted rows are pushed as removals (tombstones). Changes are
+ * streamed from the log in chunks and sent as bounded multi-path updates with a
+ * cap on batches in flight, all on a background worker. The sync cursor advances
+ * as each batch is acknowledged, so a failed or interrupted sync resumes where
+ * it stopped.
+ * 
+ * Because sync_log is persisted and coalesced to one entry per row, it is a
+ * durable outbound queue: edits made offline survive restarts and are pushed
+ * automatically after every local write, when connectivity returns, and on
+ * retry with exponential backoff after a failure.
+ * 
+ * Pulling listens for child changes under each synced table and applies them
+ * on the same background worker, in batched transactions. Conflicts are
+ * resolved by last-writer-wins on each row's updated_at version (see
+ * {@link RemoteChangeApplier}).
  * 
  * The FirebaseSyncManager supports:
  * - Network connectivity checking
- * - Synchronizing all database tables to Firebase
+ * - Pushing inserted, updated and deleted rows since the last sync
+ * - Configurable batch size and outstanding-batch limit (backpressure)
+ * - Background execution with progress reported on the main thread
+ * - Automatic draining of the outbound queue with exponential backoff
+ * - Pulling remote changes with last-writer-wins conflict resolution
  * - Resetting the Firebase database
  * - Automatic data type conversion for Firebase storage
  * 
@@ -33,25 +64,151 @@ public class FirebaseSyncManager {
     /** Tag for logging purposes */
     private static final String TAG = "FirebaseSyncManager";
     
-    /** Database helper instance for local database operations */
-    private final DatabaseHelper dbHelper;
+    /** Delay before the first retry of a failed sync */
+    public static final long RETRY_BASE_DELAY_MS = 2_000;
+
+    /** Upper bound on the delay between retries */
+    public static final long RETRY_MAX_DELAY_MS = 5 * 60_000;
+
+    /** Maximum number of pulled changes applied in one local transaction */
+    private static final int PULL_BATCH_SIZE = 200;
+
+    /** Change log and sync cursor */
+    private final SyncLogDAO syncLogDAO;
+
+    /** Writes pulled remote changes into SQLite */
+    private final RemoteChangeApplier remoteChangeApplier;
     
-    /** Firebase database reference for remote operations */
-    private final DatabaseReference firebaseDatabase;
+    /** Remote database that changes are pushed to */
+    private final SyncRemote remote;
     
     /** Application context for network and UI operations */
     private final Context context;
 
+    /** Default number of changed rows written per multi-path update */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** Default number of batches that may await acknowledgement at once */
+    public static final int DEFAULT_MAX_OUTSTANDING_BATCHES = 2;
+
+    /** Rows per multi-path update */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Batches allowed in flight before submission pauses */
+    private int maxOutstandingBatches = DEFAULT_MAX_OUTSTANDING_BATCHES;
+
+    /** Set while a sync run is waiting for remote acknowledgements */
+    private final AtomicBoolean syncInProgress = new AtomicBoolean(false);
+
+    /** Dedicated worker that reads the change log and commits the sync cursor */
+    private final Executor syncExecutor;
+
+    /** Handler used to deliver progress on the main thread */
+    private final Handler mainHandler;
+
+    /** Receiver of progress updates, typically the visible activity */
+    private volatile SyncListener syncListener;
+
+    /** Remote changes received but not yet applied locally */
+    private final Queue<RemoteChangeApplier.RemoteChange> pulledChanges = new ConcurrentLinkedQueue<>();
+
+    /** Pulled changes whose parent rows have not arrived yet; only touched on the sync worker */
+    private final List<RemoteChangeApplier.RemoteChange> unresolvedChanges = new ArrayList<>();
+
+    /** Set while a task that applies pulled changes is queued on the sync worker */
+    private final AtomicBoolean applyScheduled = new AtomicBoolean(false);
+
+    /** Whether remote child listeners are registered */
+    private boolean listening;
+
+    /** Set when a sync is requested while another run is in progress */
+    private final AtomicBoolean syncRequested = new AtomicBoolean(false);
+
+    /** Number of consecutive failed runs, used for exponential backoff */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /** Retries a failed sync once its backoff delay has passed */
+    private final Runnable retrySync = this::requestSync;
+
+    /** Process-wide sync manager instance */
+    private static volatile FirebaseSyncManager instance;
+
     /**
-     * Constructs a new FirebaseSyncManager with the given context.
-     * Initializes the Firebase database reference with the specific project URL.
+     * Listener for sync progress. All methods are called on the main thread.
+     */
+    public interface SyncListener {
+        /**
+         * Called after each batch has been acknowledged and committed.
+         * 
+         * @param syncedRows Rows pushed so far in this run
+         * @param totalRows Rows pending when the run started
+         */
+        void onSyncProgress(int syncedRows, int totalRows);
+
+        /**
+         * Called once when a sync run ends.
+         * 
+         * @param success true if every pending change was pushed
+         * @param syncedRows Rows pushed by this run
+         */
+        void onSyncFinished(boolean success, int syncedRows);
+
+        /**
+         * Called when the number of rows waiting to be pushed is known, after
+         * each run and on request.
+         * 
+         * @param pendingRows Rows in the outbound queue
+         */
+        void onQueueDepthChanged(long pendingRows);
+    }
+
+    /**
+     * Listener for the outcome of a Firebase reset. Called on the main thread.
+     */
+    public interface ResetListener {
+        /**
+         * Called once the reset has completed or failed.
+         * 
+         * @param success true if the Firebase database was cleared
+         */
+        void onResetFinished(boolean success);
+    }
+
+    /**
+     * Returns the process-wide sync manager, creating it on first use.
+     * A single instance ensures that only one sync runs at a time, even across
+     * activity recreation.
+     * 
+     * @param context Any context; only its application context is retained
+     * @return The shared FirebaseSyncManager instance
+     */
+    public static FirebaseSyncManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FirebaseSyncManager.class) {
+                if (instance == null) {
+                    instance = new FirebaseSyncManager(context.getApplicationContext(), new FirebaseSyncRemote(),
+                            Executors.newSingleThreadExecutor());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs a new FirebaseSyncManager that pushes to the given remote.
      * 
      * @param context The application context
+     * @param remote The remote database to push changes to
+     * @param syncExecutor Single-threaded executor that runs sync work
      */
-    public FirebaseSyncManager(Context context) {
+    @VisibleForTesting
+    public FirebaseSyncManager(Context context, SyncRemote remote, Executor syncExecutor) {
         this.context = context;
-        dbHelper = new DatabaseHelper(context);
-        firebaseDatabase = FirebaseDatabase.getInstance("https://yogaadmin-d50ee-default-rtdb.asia-southeast1.firebasedatabase.app/").getReference();
+        this.remote = remote;
+        this.syncExecutor = syncExecutor;
+        mainHandler = new Handler(Looper.getMainLooper());
+        syncLogDAO = new SyncLogDAO(context);
+        remoteChangeApplier = new RemoteChangeApplier(context);
     }
 
     /**
@@ -60,7 +217,7 @@ public class FirebaseSyncManager {
      * 
      * @return true if network is available and connected, false otherwise
      */
-    private boolean isNetworkAvailable() {
+    public boolean isNetworkAvailable() {
         ConnectivityManager connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
         if (connectivityManager != null) {
             NetworkInfo activeNetworkInfo = connectivityManager.getActiveNetworkInfo();
@@ -70,84 +227,455 @@ public class FirebaseSyncManager {
     }
 
     /**
-     * Synchronizes all local database tables to Firebase.
-     * This method checks network connectivity and syncs teachers, courses, and instances.
-     * If no network is available, it shows a toast message to the user.
+     * Sets how many changed rows are written per multi-path update.
+     * 
+     * @param batchSize Maximum rows per batch (at least 1)
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Sets how many batches may be awaiting acknowledgement at once.
+     * Further batches are only submitted as earlier ones complete.
+     * 
+     * @param maxOutstandingBatches Maximum batches in flight (at least 1)
+     */
+    public void setMaxOutstandingBatches(int maxOutstandingBatches) {
+        this.maxOutstandingBatches = Math.max(1, maxOutstandingBatches);
+    }
+
+    /**
+     * Registers the listener that receives sync progress on the main thread.
+     * Activities should clear it (pass null) when they are destroyed.
+     * 
+     * @param listener The progress listener, or null to stop receiving updates
+     */
+    public void setSyncListener(SyncListener listener) {
+        this.syncListener = listener;
+    }
+
+    /**
+     * @return true if a sync run is currently in progress
+     */
+    public boolean isSyncing() {
+        return syncInProgress.get();
+    }
+
+    /**
+     * Starts automatic sync for the lifetime of the process: pulls remote changes,
+     * drains the outbound queue now, and drains it again whenever the device
+     * regains connectivity. Called once from the Application.
+     */
+    public void start() {
+        ConnectivityManager connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager != null) {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    // Back online: skip any remaining backoff and drain the queue
+                    mainHandler.post(() -> {
+                        mainHandler.removeCallbacks(retrySync);
+                        consecutiveFailures.set(0);
+                        requestSync();
+                    });
+                }
+            });
+        }
+        startListening();
+        requestSync();
+    }
+
+    /**
+     * Reports the current outbound queue depth to the sync listener.
+     */
+    public void refreshQueueDepth() {
+        syncExecutor.execute(this::notifyQueueDepth);
+    }
+
+    /**
+     * Pushes pending changes at the user's request.
+     * Unlike {@link #requestSync()}, this tells the user when the device is offline;
+     * the changes stay queued and are pushed once connectivity returns.
      */
     public void syncAllData() {
         if (!isNetworkAvailable()) {
-            Toast.makeText(context, "No connection, can't sync database", Toast.LENGTH_SHORT).show();
+            Toast.makeText(context, "No connection, changes will sync when back online", Toast.LENGTH_SHORT).show();
             return;
         }
-        
-        // Sync all tables in order
-        syncTable(DatabaseContract.TeacherEntry.TABLE_NAME);
-        syncTable(DatabaseContract.CourseEntry.TABLE_NAME);
-        syncTable(DatabaseContract.InstanceEntry.TABLE_NAME);
+        requestSync();
     }
 
     /**
-     * Resets the entire Firebase database by removing all data.
-     * This method checks network connectivity before performing the operation.
-     * If no network is available, it shows a toast message to the user.
+     * Starts pushing every local change made since the last successful sync to Firebase.
+     * This method checks network connectivity and then returns immediately; the sync
+     * itself runs on a dedicated background worker. It is safe to call from any
+     * thread, and is called after every local write.
+     * 
+     * The change log is streamed in chunks of {@link #setBatchSize(int) batchSize} rows,
+     * and each chunk is written as a single multi-path update with one aggregated
+     * completion callback. At most {@link #setMaxOutstandingBatches(int) maxOutstandingBatches}
+     * chunks are read and in flight at any time, so memory use is bounded regardless
+     * of how many rows changed. The sync cursor is committed after each contiguous
+     * acknowledged batch, so a sync interrupted by a failure or by the process being
+     * killed resumes where it stopped.
+     * 
+     * If no network is available nothing happens; the queue is drained when the
+     * network callback registered by {@link #start()} fires. A failed run is retried
+     * with exponential backoff, including a run that fails because the change log
+     * cannot be read. A request made while a run is in progress starts
+     * another run once it finishes, so changes written meanwhile are not left behind.
      */
-    public void resetFirebaseDatabase() {
+    public void requestSync() {
         if (!isNetworkAvailable()) {
-            Toast.makeText(context, "No connection, can't reset Firebase", Toast.LENGTH_SHORT).show();
+            Log.d(TAG, "Offline; pending changes stay queued");
             return;
         }
-        
-        firebaseDatabase.removeValue()
-                .addOnSuccessListener(aVoid -> Log.d(TAG, "Firebase database reset successfully."))
-                .addOnFailureListener(e -> Log.e(TAG, "Failed to reset Firebase database.", e));
+        if (!syncInProgress.compareAndSet(false, true)) {
+            syncRequested.set(true);
+            return;
+        }
+        syncRequested.set(false);
+        mainHandler.removeCallbacks(retrySync);
+        syncExecutor.execute(() -> {
+            int totalRows;
+            try {
+                totalRows = syncLogDAO.getPendingRowCount();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Failed to read the change log", e);
+                finishSync(false, 0);
+                return;
+            }
+            if (totalRows == 0) {
+                Log.d(TAG, "Nothing to sync");
+                finishSync(true, 0);
+                return;
+            }
+            notifyProgress(0, totalRows);
+            new SyncRun(totalRows).submitBatches();
+        });
     }
 
     /**
-     * Synchronizes a specific table from the local database to Firebase.
-     * This method reads all data from the specified table and uploads it to Firebase
-     * with proper data type conversion.
-     * 
-     * @param tableName The name of the table to synchronize
-     */
-    private void syncTable(String tableName) {
-        SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Cursor cursor = db.rawQuery("SELECT * FROM " + tableName, null);
-        DatabaseReference tableRef = firebaseDatabase.child(tableName);
-
-        // Process each row in the table
-        if (cursor.moveToFirst()) {
-            do {
-                String id = cursor.getString(cursor.getColumnIndexOrThrow("_id"));
-                Map<String, Object> rowData = new HashMap<>();
-                
-                // Convert each column to appropriate Firebase data type
-                for (int i = 0; i < cursor.getColumnCount(); i++) {
-                    String columnName = cursor.getColumnName(i);
-                    if (columnName.equals("_id")) continue; // Skip the local ID
-
-                    // Convert data based on SQLite column type
-                    switch (cursor.getType(i)) {
-                        case Cursor.FIELD_TYPE_INTEGER:
-                            rowData.put(columnName, cursor.getLong(i));
-                            break;
-                        case Cursor.FIELD_TYPE_FLOAT:
-                            rowData.put(columnName, cursor.getDouble(i));
-                            break;
-                        case Cursor.FIELD_TYPE_STRING:
-                            rowData.put(columnName, cursor.getString(i));
-                            break;
-                        case Cursor.FIELD_TYPE_NULL:
-                            rowData.put(columnName, null);
-                            break;
+     * One sync run: reads chunks of the change log and submits them while respecting
+     * the outstanding-batch limit, and finishes once every submitted batch has been
+     * acknowledged. All state is confined to the sync worker; remote callbacks are
+     * handed back to it before touching the run.
+     */
+    private final class SyncRun {
+        private final int totalRows;
+        private final int batchRows = batchSize;
+        private final int maxOutstanding = maxOutstandingBatches;
+
+        // Streaming position: seq of the last change read from the log
+        private long readSeq;
+        private boolean exhausted;
+
+        // Batch bookkeeping: last seq of each submitted batch that is not yet committed
+        private final Map<Integer, Long> acknowledged = new HashMap<>();
+        private final List<Long> batchSeqs = new ArrayList<>();
+        private final List<Integer> batchRowCounts = new ArrayList<>();
+        private int nextToCommit;
+        private int outstanding;
+        private int syncedRows;
+        private boolean failed;
+        private boolean finished;
+
+        SyncRun(int totalRows) {
+            this.totalRows = totalRows;
+        }
+
+        /**
+         * Reads and submits batches until the outstanding limit is reached or the log
+         * is exhausted. After a failure, including a database error while reading the
+         * log, no further batches are started; the run ends once the batches already
+         * in flight have completed.
+         */
+        void submitBatches() {
+            try {
+                readBatches();
+            } catch (RuntimeException e) {
+                failed = true;
+                Log.e(TAG, "Failed to read the change log", e);
+            }
+            if (!finished && outstanding == 0 && (failed || exhausted)) {
+                finished = true;
+                finishSync(!failed, syncedRows);
+            }
+        }
+
+        /**
+         * Reads batches from the change log and submits them until the outstanding
+         * limit is reached, the log is exhausted or the run has failed.
+         */
+        private void readBatches() {
+            while (!failed && !exhausted && outstanding < maxOutstanding) {
+                List<SyncLogDAO.Change> changes = syncLogDAO.getPendingChanges(readSeq, batchRows);
+                if (changes.isEmpty()) {
+                    exhausted = true;
+                    break;
+                }
+                Map<String, Object> updates = new HashMap<>();
+                for (SyncLogDAO.Change change : changes) {
+                    updates.put(change.tableName + "/" + change.syncId, change.values);
+                }
+                readSeq = changes.get(changes.size() - 1).seq;
+
+                int index = batchSeqs.size();
+                batchSeqs.add(readSeq);
+                batchRowCounts.add(changes.size());
+                outstanding++;
+                remote.updateChildren(updates, error -> syncExecutor.execute(() -> onBatchComplete(index, error)));
+            }
+        }
+
+        /**
+         * Aggregated callback for one batch. Successful batches are committed in
+         * submission order, so the cursor never skips over a batch still in flight.
+         * If the cursor cannot be committed the run fails; the batch is pushed again
+         * by the retry, which is harmless since pushes are idempotent.
+         * 
+         * @param index Position of the batch in this run
+         * @param error The failure, or null if the batch was written
+         */
+        void onBatchComplete(int index, Exception error) {
+            outstanding--;
+            if (error != null) {
+                failed = true;
+                Log.e(TAG, "Failed to sync batch " + (index + 1), error);
+            } else {
+                acknowledged.put(index, batchSeqs.get(index));
+                try {
+                    while (acknowledged.containsKey(nextToCommit)) {
+                        syncLogDAO.markPushed(acknowledged.get(nextToCommit));
+                        acknowledged.remove(nextToCommit);
+                        syncedRows += batchRowCounts.get(nextToCommit);
+                        nextToCommit++;
                     }
+                    notifyProgress(syncedRows, Math.max(totalRows, syncedRows));
+                } catch (RuntimeException e) {
+                    failed = true;
+                    Log.e(TAG, "Failed to commit sync batch " + (nextToCommit + 1), e);
+                }
+            }
+            submitBatches();
+        }
+    }
+
+    /**
+     * Posts a progress update to the listener on the main thread.
+     * 
+     * @param syncedRows Rows pushed and committed so far
+     * @param totalRows Rows pending when the run started
+     */
+    private void notifyProgress(int syncedRows, int totalRows) {
+        mainHandler.post(() -> {
+            SyncListener listener = syncListener;
+            if (listener != null) {
+                listener.onSyncProgress(syncedRows, totalRows);
+            }
+        });
+    }
+
+    /**
+     * Ends a sync run and reports the outcome on the main thread.
+     * 
+     * @param success Whether every pending change was pushed
+     * @param syncedRows Rows pushed and committed by this run
+     */
+    private void finishSync(boolean success, int syncedRows) {
+        if (success) {
+            Log.d(TAG, "Synced " + syncedRows + " changed rows to Firebase");
+            consecutiveFailures.set(0);
+        } else {
+            long delay = getRetryDelayMs(consecutiveFailures.incrementAndGet());
+            Log.w(TAG, "Sync incomplete after " + syncedRows + " rows; retrying in " + delay + " ms");
+            mainHandler.postDelayed(retrySync, delay);
+        }
+        syncInProgress.set(false);
+        mainHandler.post(() -> {
+            SyncListener listener = syncListener;
+            if (listener != null) {
+                listener.onSyncFinished(success, syncedRows);
+            }
+        });
+        notifyQueueDepth();
+        if (success && syncRequested.getAndSet(false)) {
+            requestSync();
+        }
+    }
+
+    /**
+     * Returns the backoff delay before retrying after a number of consecutive failures:
+     * RETRY_BASE_DELAY_MS doubled for each further failure, capped at RETRY_MAX_DELAY_MS.
+     * 
+     * @param failures Number of consecutive failed runs (at least 1)
+     * @return Delay in milliseconds
+     */
+    @VisibleForTesting
+    public static long getRetryDelayMs(int failures) {
+        int doublings = Math.min(Math.max(failures - 1, 0), 20);
+        return Math.min(RETRY_BASE_DELAY_MS << doublings, RETRY_MAX_DELAY_MS);
+    }
+
+    /**
+     * Reads the outbound queue depth and posts it to the listener on the main thread.
+     * Must run on the sync worker.
+     */
+    private void notifyQueueDepth() {
+        long pendingRows;
+        try {
+            pendingRows = syncLogDAO.getPendingCount();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to read the queue depth", e);
+            return;
+        }
+        mainHandler.post(() -> {
+            SyncListener listener = syncListener;
+            if (listener != null) {
+                listener.onQueueDepthChanged(pendingRows);
+            }
+        });
+    }
+
+    /**
+     * Starts pulling changes made on other devices into the local database.
+     * Listeners are registered for every synced table; the initial callbacks
+     * deliver the current remote rows, so a fresh install downloads existing data.
+     * Calling this while already listening has no effect.
+     */
+    public void startListening() {
+        if (listening) {
+            return;
+        }
+        listening = true;
+        for (String table : DatabaseHelper.SYNCED_TABLES) {
+            remote.addChildListener(table, new SyncRemote.ChildListener() {
+                @Override
+                public void onChildChanged(String key, Map<String, Object> value) {
+                    enqueuePulledChange(new RemoteChangeApplier.RemoteChange(table, key, value));
+                }
+
+                @Override
+                public void onChildRemoved(String key) {
+                    enqueuePulledChange(new RemoteChangeApplier.RemoteChange(table, key, null));
                 }
-                
-                // Upload row data to Firebase with success/failure logging
-                tableRef.child(id).setValue(rowData)
-                        .addOnSuccessListener(aVoid -> Log.d(TAG, "Successfully synced row " + id + " to " + tableName))
-                        .addOnFailureListener(e -> Log.e(TAG, "Failed to sync row " + id + " to " + tableName, e));
-            } while (cursor.moveToNext());
+            });
+        }
+    }
+
+    /**
+     * Stops pulling remote changes. Changes already received are still applied.
+     */
+    public void stopListening() {
+        if (listening) {
+            listening = false;
+            remote.removeChildListeners();
+        }
+    }
+
+    /**
+     * Queues a pulled change and makes sure an apply task is scheduled.
+     * Remote events arrive one at a time; queuing them lets a burst of events be
+     * applied in a few transactions instead of one transaction per row.
+     * 
+     * @param change The remote change to apply
+     */
+    private void enqueuePulledChange(RemoteChangeApplier.RemoteChange change) {
+        pulledChanges.add(change);
+        if (applyScheduled.compareAndSet(false, true)) {
+            syncExecutor.execute(this::applyPulledChanges);
+        }
+    }
+
+    /**
+     * Applies every queued remote change, PULL_BATCH_SIZE changes per transaction.
+     * Changes still waiting for their parent row are retried first; any that remain
+     * unresolved are kept for the next round. Log entries the changes left behind
+     * are pushed afterwards.
+     * Runs on the sync worker, so it never interleaves with reading the change log.
+     */
+    private void applyPulledChanges() {
+        applyScheduled.set(false);
+        int applied = 0;
+        List<RemoteChangeApplier.RemoteChange> batch = new ArrayList<>(unresolvedChanges);
+        List<RemoteChangeApplier.RemoteChange> stillUnresolved = new ArrayList<>();
+        unresolvedChanges.clear();
+        RemoteChangeApplier.RemoteChange change;
+        while ((change = pulledChanges.poll()) != null) {
+            batch.add(change);
+            if (batch.size() >= PULL_BATCH_SIZE) {
+                applied += applyPulledBatch(batch, stillUnresolved);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            applied += applyPulledBatch(batch, stillUnresolved);
+        }
+        // A later batch may have delivered the parents; one more pass picks those up
+        if (!stillUnresolved.isEmpty() && applied > 0) {
+            List<RemoteChangeApplier.RemoteChange> retry = new ArrayList<>(stillUnresolved);
+            stillUnresolved.clear();
+            applied += applyPulledBatch(retry, stillUnresolved);
         }
-        cursor.close();
+        unresolvedChanges.addAll(stillUnresolved);
+        if (applied > 0) {
+            Log.d(TAG, "Applied " + applied + " remote changes");
+        }
+        // Cascade removals and teachers restored after a refused removal are queued for push
+        try {
+            if (syncLogDAO.getPendingCount() > 0) {
+                requestSync();
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to read the queue depth", e);
+        }
+    }
+
+    /**
+     * Applies one batch of pulled changes. If the batch cannot be applied at all,
+     * for example because the database is unavailable, its changes are kept with
+     * the unresolved ones and retried with the next pulled change.
+     * 
+     * @param batch The changes to apply
+     * @param stillUnresolved Receives changes that could not be applied yet
+     * @return Number of local rows changed
+     */
+    private int applyPulledBatch(List<RemoteChangeApplier.RemoteChange> batch,
+                                 List<RemoteChangeApplier.RemoteChange> stillUnresolved) {
+        int unresolvedBefore = stillUnresolved.size();
+        try {
+            return remoteChangeApplier.applyChanges(batch, stillUnresolved);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to apply " + batch.size() + " remote changes", e);
+            stillUnresolved.subList(unresolvedBefore, stillUnresolved.size()).clear();
+            stillUnresolved.addAll(batch);
+            return 0;
+        }
+    }
+
+    /**
+     * Resets the entire Firebase database by removing all data.
+     * This method checks network connectivity before performing the operation.
+     * If no network is available, it shows a toast message to the user.
+     * Writes already submitted by a sync run are applied by Firebase before the removal.
+     * 
+     * @param listener Receives the outcome on the main thread
+     */
+    public void resetFirebaseDatabase(ResetListener listener) {
+        if (!isNetworkAvailable()) {
+            Toast.makeText(context, "No connection, can't reset Firebase", Toast.LENGTH_SHORT).show();
+            listener.onResetFinished(false);
+            return;
+        }
+        
+        remote.removeAll(error -> {
+            if (error == null) {
+                Log.d(TAG, "Firebase database reset successfully.");
+            } else {
+                Log.e(TAG, "Failed to reset Firebase database.", error);
+            }
+            mainHandler.post(() -> listener.onResetFinished(error == null));
+        });
     }
-}
\ No newline at end of file
+}
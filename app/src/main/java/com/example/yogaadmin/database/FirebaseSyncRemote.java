@@ -0,0 +1,111 @@
+package com.example.yogaadmin.database;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * FirebaseSyncRemote is the SyncRemote backed by Firebase Realtime Database.
+ * Completion callbacks and child events are delivered by Firebase on the main thread.
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class FirebaseSyncRemote implements SyncRemote {
+
+    /** Firebase Realtime Database URL for this project */
+    private static final String DATABASE_URL = "https://yogaadmin-d50ee-default-rtdb.asia-southeast1.firebasedatabase.app/";
+
+    /** Tag for logging purposes */
+    private static final String TAG = "FirebaseSyncRemote";
+
+    /** Firebase database reference for remote operations */
+    private final DatabaseReference firebaseDatabase;
+
+    /** Registered child listeners, keyed by the path they watch */
+    private final Map<String, ChildEventListener> childListeners = new HashMap<>();
+
+    /**
+     * Constructs a new FirebaseSyncRemote for the project database.
+     */
+    public FirebaseSyncRemote() {
+        firebaseDatabase = FirebaseDatabase.getInstance(DATABASE_URL).getReference();
+    }
+
+    @Override
+    public void updateChildren(Map<String, Object> updates, CompletionListener listener) {
+        firebaseDatabase.updateChildren(updates, (error, ref) ->
+                listener.onComplete(error != null ? error.toException() : null));
+    }
+
+    @Override
+    public void removeAll(CompletionListener listener) {
+        firebaseDatabase.removeValue((error, ref) ->
+                listener.onComplete(error != null ? error.toException() : null));
+    }
+
+    @Override
+    public void addChildListener(String path, ChildListener listener) {
+        ChildEventListener eventListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                deliverChange(snapshot, listener);
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                deliverChange(snapshot, listener);
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                listener.onChildRemoved(snapshot.getKey());
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+                // Child order is not used
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Listener for " + path + " cancelled", error.toException());
+            }
+        };
+        firebaseDatabase.child(path).addChildEventListener(eventListener);
+        childListeners.put(path, eventListener);
+    }
+
+    @Override
+    public void removeChildListeners() {
+        for (Map.Entry<String, ChildEventListener> entry : childListeners.entrySet()) {
+            firebaseDatabase.child(entry.getKey()).removeEventListener(entry.getValue());
+        }
+        childListeners.clear();
+    }
+
+    /**
+     * Passes a changed child on to the listener if it holds a row (a map of fields).
+     *
+     * @param snapshot The changed child
+     * @param listener The listener to notify
+     */
+    @SuppressWarnings("unchecked")
+    private void deliverChange(DataSnapshot snapshot, ChildListener listener) {
+        Object value = snapshot.getValue();
+        if (value instanceof Map) {
+            listener.onChildChanged(snapshot.getKey(), (Map<String, Object>) value);
+        } else {
+            Log.w(TAG, "Ignoring malformed row at " + snapshot.getRef());
+        }
+    }
+}
@@ -4,9 +4,14 @@ import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
+import androidx.annotation.VisibleForTesting;
 import com.example.yogaadmin.models.ClassInstance;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * InstanceDAO (Data Access Object) provides methods to interact with the class_instances table.
@@ -14,17 +19,71 @@ import java.util.List;
  * CRUD operations and queries with joins to related tables.
  * 
  * The InstanceDAO supports:
- * - Inserting new class instances
- * - Retrieving instances for specific courses
+ * - Inserting new class instances, one at a time or a whole schedule in one transaction
+ * - Retrieving instances for specific courses, in full or one page at a time
+ * - Date range and upcoming-class queries over ISO (yyyy-MM-dd) dates
  * - Updating instance details
  * - Deleting instances
+ * - Reporting every write to the DataChangeNotifier
  * 
  * @author YogaAdmin Team
  * @version 1.0
  */
 public class InstanceDAO {
-    /** Database helper instance for database operations */
-    private DatabaseHelper dbHelper;
+    /** Page kinds for {@link #buildCourseInstancesQuery}: the first page, the page after an instance, the page before one */
+    public static final int PAGE_FIRST = 0;
+    public static final int PAGE_AFTER = 1;
+    public static final int PAGE_BEFORE = 2;
+
+    /**
+     * Maps an instance row with the joined teacher name (alias teacher_name)
+     * to a ClassInstance. Column indexes are resolved once per cursor.
+     */
+    public static final RowMapper<ClassInstance> INSTANCE_MAPPER = new RowMapper<>(new String[]{
+            DatabaseContract.InstanceEntry._ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_DATE,
+            "teacher_name"
+    }, (cursor, columns) -> {
+        ClassInstance instance = new ClassInstance();
+        instance.setId(cursor.getInt(columns[0]));
+        instance.setCourseId(cursor.getInt(columns[1]));
+        instance.setTeacherId(cursor.getInt(columns[2]));
+        instance.setDate(cursor.getString(columns[3]));
+        instance.setTeacherName(cursor.getString(columns[4]));
+        return instance;
+    });
+
+    /**
+     * Maps an instance row with the joined teacher name and the course name and
+     * time (aliases course_name, course_time), as returned by the date queries.
+     */
+    public static final RowMapper<ClassInstance> DATED_INSTANCE_MAPPER = new RowMapper<>(new String[]{
+            DatabaseContract.InstanceEntry._ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID,
+            DatabaseContract.InstanceEntry.COLUMN_NAME_DATE,
+            "teacher_name",
+            "course_name",
+            "course_time"
+    }, (cursor, columns) -> {
+        ClassInstance instance = new ClassInstance();
+        instance.setId(cursor.getInt(columns[0]));
+        instance.setCourseId(cursor.getInt(columns[1]));
+        instance.setTeacherId(cursor.getInt(columns[2]));
+        instance.setDate(cursor.getString(columns[3]));
+        instance.setTeacherName(cursor.getString(columns[4]));
+        instance.setCourseName(cursor.getString(columns[5]));
+        instance.setCourseTime(cursor.getString(columns[6]));
+        return instance;
+    });
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /** Notifier told about every write */
+    private final DataChangeNotifier changeNotifier;
 
     /**
      * Constructs a new InstanceDAO with the given context.
@@ -32,7 +91,8 @@ public class InstanceDAO {
      * @param context The application context
      */
     public InstanceDAO(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
+        changeNotifier = DataChangeNotifier.getInstance();
     }
 
     /**
@@ -49,12 +109,88 @@ public class InstanceDAO {
         values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID, instance.getCourseId());
         values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID, instance.getTeacherId());
         values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE, instance.getDate());
+        values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_UPDATED_AT, System.currentTimeMillis());
+        values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_SYNC_ID, DatabaseHelper.newSyncId());
         
         long result = db.insert(DatabaseContract.InstanceEntry.TABLE_NAME, null, values);
-        db.close();
+        if (result != -1) {
+            changeNotifier.notifyChanged(DatabaseContract.InstanceEntry.TABLE_NAME, result);
+        }
         return result;
     }
 
+    /**
+     * Inserts one class instance per date for a course, in a single transaction.
+     * The insert statement is compiled once and rebound for every row, so thousands
+     * of instances are written with one commit instead of one per row.
+     * Dates that already have an instance of the course are skipped, so the same
+     * schedule can be generated again without creating duplicates.
+     * 
+     * @param courseId The course the instances belong to
+     * @param teacherId The teacher assigned to every instance
+     * @param dates The dates to schedule (yyyy-MM-dd)
+     * @return The number of instances inserted
+     */
+    public int insertInstances(int courseId, int teacherId, List<String> dates) {
+        if (dates.isEmpty()) {
+            return 0;
+        }
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int inserted = 0;
+        db.beginTransaction();
+        try {
+            Set<String> existingDates = getScheduledDates(db, courseId);
+            SQLiteStatement statement = db.compileStatement("INSERT INTO " + DatabaseContract.InstanceEntry.TABLE_NAME + " ("
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + ", "
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + ", "
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + ", "
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_UPDATED_AT + ", "
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_SYNC_ID + ") VALUES (?, ?, ?, ?, ?)");
+            try {
+                long updatedAt = System.currentTimeMillis();
+                for (String date : dates) {
+                    if (!existingDates.add(date)) {
+                        continue; // Already scheduled
+                    }
+                    statement.bindLong(1, courseId);
+                    statement.bindLong(2, teacherId);
+                    statement.bindString(3, date);
+                    statement.bindLong(4, updatedAt);
+                    statement.bindString(5, DatabaseHelper.newSyncId());
+                    statement.executeInsert();
+                    inserted++;
+                }
+            } finally {
+                statement.close();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (inserted > 0) {
+            changeNotifier.notifyTablesChanged(DatabaseContract.InstanceEntry.TABLE_NAME);
+        }
+        return inserted;
+    }
+
+    /**
+     * Returns the dates on which a course already has an instance.
+     * 
+     * @param db The database to read from
+     * @param courseId The unique identifier of the course
+     * @return Set of scheduled dates (yyyy-MM-dd)
+     */
+    private Set<String> getScheduledDates(SQLiteDatabase db, int courseId) {
+        Set<String> dates = new HashSet<>();
+        Cursor cursor = db.query(DatabaseContract.InstanceEntry.TABLE_NAME, new String[]{DatabaseContract.InstanceEntry.COLUMN_NAME_DATE},
+                DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = ?", new String[]{String.valueOf(courseId)}, null, null, null);
+        while (cursor.moveToNext()) {
+            dates.add(cursor.getString(0));
+        }
+        cursor.close();
+        return dates;
+    }
+
     /**
      * Retrieves all class instances for a specific course.
      * This method performs a JOIN with the teachers table to include teacher information
@@ -64,32 +200,179 @@ public class InstanceDAO {
      * @return List of ClassInstance objects for the specified course
      */
     public List<ClassInstance> getInstancesForCourse(int courseId) {
-        List<ClassInstance> instanceList = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.rawQuery(buildCourseInstancesQuery(PAGE_FIRST, 0), new String[]{String.valueOf(courseId)});
 
-        // Build query with JOIN to include teacher information
-        String query = "SELECT i.*, t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " as teacher_name" +
-                " FROM " + DatabaseContract.InstanceEntry.TABLE_NAME + " i" +
-                " JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON i." + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID +
-                " WHERE i." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = ?" +
-                " ORDER BY i." + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + " DESC";
+        // Convert cursor data to ClassInstance objects
+        List<ClassInstance> instanceList = INSTANCE_MAPPER.mapAll(cursor);
+        cursor.close();
+        return instanceList;
+    }
 
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(courseId)});
+    /**
+     * Retrieves one page of class instances for a specific course, most recent first.
+     * Uses keyset pagination on (date, _id): the next page starts strictly after the
+     * last row of the previous one, so every page is a bounded range scan of the
+     * (course_id, date) index no matter how deep into the history the user scrolls.
+     * 
+     * @param courseId The unique identifier of the course
+     * @param after The last instance of the previous page, or null for the first page
+     * @param limit Maximum number of instances to return
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return Up to limit ClassInstance objects ordered by date then ID, descending
+     */
+    public List<ClassInstance> getInstancesForCoursePage(int courseId, ClassInstance after, int limit, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        String[] selectionArgs = after == null
+                ? new String[]{String.valueOf(courseId)}
+                : new String[]{String.valueOf(courseId), after.getDate(), after.getDate(), String.valueOf(after.getId())};
 
-        // Convert cursor data to ClassInstance objects
-        if (cursor.moveToFirst()) {
-            do {
-                ClassInstance instance = new ClassInstance();
-                instance.setId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry._ID)));
-                instance.setCourseId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID)));
-                instance.setTeacherId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID)));
-                instance.setDate(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE)));
-                instance.setTeacherName(cursor.getString(cursor.getColumnIndexOrThrow("teacher_name")));
-                instanceList.add(instance);
-            } while (cursor.moveToNext());
+        Cursor cursor = db.rawQuery(buildCourseInstancesQuery(after != null ? PAGE_AFTER : PAGE_FIRST, limit), selectionArgs, cancellationSignal);
+        List<ClassInstance> instanceList = INSTANCE_MAPPER.mapAll(cursor);
+        cursor.close();
+        return instanceList;
+    }
+
+    /**
+     * Retrieves the page of class instances for a course that precedes an instance,
+     * most recent first. Used to reload a page that a list dropped from memory when
+     * the user scrolls back up to it; like the following pages, it is a bounded
+     * range scan of the (course_id, date) index.
+     * 
+     * @param courseId The unique identifier of the course
+     * @param before The first instance of the following page
+     * @param limit Maximum number of instances to return
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return Up to limit ClassInstance objects ordered by date then ID, descending
+     */
+    public List<ClassInstance> getInstancesForCoursePageBefore(int courseId, ClassInstance before, int limit, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        String[] selectionArgs = {String.valueOf(courseId), before.getDate(), before.getDate(), String.valueOf(before.getId())};
+
+        Cursor cursor = db.rawQuery(buildCourseInstancesQuery(PAGE_BEFORE, limit), selectionArgs, cancellationSignal);
+        List<ClassInstance> instanceList = INSTANCE_MAPPER.mapAll(cursor);
+        cursor.close();
+        // The query walks the key backwards from the following page
+        Collections.reverse(instanceList);
+        return instanceList;
+    }
+
+    /**
+     * Builds the query behind {@link #getInstancesForCourse}, {@link #getInstancesForCoursePage}
+     * and {@link #getInstancesForCoursePageBefore}. Its arguments are the course ID and,
+     * unless the page is the first, the date, date and ID of the instance the page
+     * continues after or ends before.
+     * 
+     * @param page {@link #PAGE_FIRST}, {@link #PAGE_AFTER} or {@link #PAGE_BEFORE}
+     * @param limit Maximum number of instances, or 0 for all of them
+     * @return The SQL of the query
+     */
+    @VisibleForTesting
+    public static String buildCourseInstancesQuery(int page, int limit) {
+        StringBuilder query = new StringBuilder("SELECT i.*, t.").append(DatabaseContract.TeacherEntry.COLUMN_NAME_NAME).append(" as teacher_name")
+                .append(" FROM ").append(DatabaseContract.InstanceEntry.TABLE_NAME).append(" i")
+                .append(" JOIN ").append(DatabaseContract.TeacherEntry.TABLE_NAME).append(" t ON i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID).append(" = t.").append(DatabaseContract.TeacherEntry._ID)
+                .append(" WHERE i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID).append(" = ?");
+
+        // Continue after the last row of the previous page, or end before the first row of the next
+        if (page == PAGE_AFTER) {
+            query.append(" AND i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(" <= ?")
+                    .append(" AND (i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(" < ?")
+                    .append(" OR i.").append(DatabaseContract.InstanceEntry._ID).append(" < ?)");
+        } else if (page == PAGE_BEFORE) {
+            query.append(" AND i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(" >= ?")
+                    .append(" AND (i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(" > ?")
+                    .append(" OR i.").append(DatabaseContract.InstanceEntry._ID).append(" > ?)");
+        }
+        String direction = page == PAGE_BEFORE ? "" : " DESC";
+        query.append(" ORDER BY i.").append(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE).append(direction)
+                .append(", i.").append(DatabaseContract.InstanceEntry._ID).append(direction);
+        if (limit > 0) {
+            query.append(" LIMIT ").append(limit);
         }
+        return query.toString();
+    }
+
+    /**
+     * Retrieves all class instances whose date falls within a range, in date order.
+     * Dates are stored as yyyy-MM-dd, so the range is answered by the date index.
+     * A whole calendar month is loaded with a single call.
+     * 
+     * @param fromDate First date of the range, inclusive (yyyy-MM-dd)
+     * @param toDate Last date of the range, inclusive (yyyy-MM-dd)
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return List of ClassInstance objects, with course name and time, ordered by date then ID
+     */
+    public List<ClassInstance> getInstancesBetween(String fromDate, String toDate, CancellationSignal cancellationSignal) {
+        return queryInstancesByDate(buildInstancesBetweenQuery(), new String[]{fromDate, toDate}, cancellationSignal);
+    }
+
+    /**
+     * Retrieves the next class instances on or after a date, soonest first.
+     * 
+     * @param fromDate First date to include, usually today (yyyy-MM-dd)
+     * @param limit Maximum number of instances to return
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return Up to limit ClassInstance objects ordered by date then ID
+     */
+    public List<ClassInstance> getUpcomingInstances(String fromDate, int limit, CancellationSignal cancellationSignal) {
+        return queryInstancesByDate(buildUpcomingInstancesQuery(limit), new String[]{fromDate}, cancellationSignal);
+    }
+
+    /**
+     * Builds the query behind {@link #getInstancesBetween}; its arguments are the first and last date.
+     * 
+     * @return The SQL of the query
+     */
+    @VisibleForTesting
+    public static String buildInstancesBetweenQuery() {
+        return buildDatedInstancesQuery(" BETWEEN ? AND ?", "");
+    }
+
+    /**
+     * Builds the query behind {@link #getUpcomingInstances}; its argument is the first date.
+     * 
+     * @param limit Maximum number of instances to return
+     * @return The SQL of the query
+     */
+    @VisibleForTesting
+    public static String buildUpcomingInstancesQuery(int limit) {
+        return buildDatedInstancesQuery(" >= ?", " LIMIT " + limit);
+    }
+
+    /**
+     * Builds an instance query constrained on the date column, ordered by date then ID.
+     * Courses are joined by primary key so each instance carries its course name and time.
+     * 
+     * @param dateCondition Condition appended to the date column, e.g. " >= ?"
+     * @param limitClause Optional LIMIT clause, or an empty string
+     * @return The SQL of the query
+     */
+    private static String buildDatedInstancesQuery(String dateCondition, String limitClause) {
+        return "SELECT i.*, t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " as teacher_name" +
+                ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_NAME + " as course_name" +
+                ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_TIME + " as course_time" +
+                " FROM " + DatabaseContract.InstanceEntry.TABLE_NAME + " i" +
+                " JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON i." + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + " = t." + DatabaseContract.TeacherEntry._ID +
+                " JOIN " + DatabaseContract.CourseEntry.TABLE_NAME + " c ON i." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = c." + DatabaseContract.CourseEntry._ID +
+                " WHERE i." + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + dateCondition +
+                " ORDER BY i." + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + ", i." + DatabaseContract.InstanceEntry._ID +
+                limitClause;
+    }
+
+    /**
+     * Runs a dated instance query and maps its rows, including course name and time.
+     * 
+     * @param query The SQL built by {@link #buildDatedInstancesQuery}
+     * @param selectionArgs Arguments for the date condition
+     * @param cancellationSignal Optional signal used to cancel the query, may be null
+     * @return List of matching ClassInstance objects
+     */
+    private List<ClassInstance> queryInstancesByDate(String query, String[] selectionArgs, CancellationSignal cancellationSignal) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.rawQuery(query, selectionArgs, cancellationSignal);
+        List<ClassInstance> instanceList = DATED_INSTANCE_MAPPER.mapAll(cursor);
         cursor.close();
-        db.close();
         return instanceList;
     }
 
@@ -102,7 +385,7 @@ public class InstanceDAO {
         SQLiteDatabase db = dbHelper.getWritableDatabase();
         db.delete(DatabaseContract.InstanceEntry.TABLE_NAME, DatabaseContract.InstanceEntry._ID + " = ?",
                 new String[]{String.valueOf(id)});
-        db.close();
+        changeNotifier.notifyChanged(DatabaseContract.InstanceEntry.TABLE_NAME, id);
     }
 
     /**
@@ -119,11 +402,14 @@ public class InstanceDAO {
         // Update date and teacher assignment
         values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_DATE, instance.getDate());
         values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID, instance.getTeacherId());
+        values.put(DatabaseContract.InstanceEntry.COLUMN_NAME_UPDATED_AT, System.currentTimeMillis());
 
         int result = db.update(DatabaseContract.InstanceEntry.TABLE_NAME, values,
                 DatabaseContract.InstanceEntry._ID + " = ?",
                 new String[]{String.valueOf(instance.getId())});
-        db.close();
+        if (result > 0) {
+            changeNotifier.notifyChanged(DatabaseContract.InstanceEntry.TABLE_NAME, instance.getId());
+        }
         return result;
     }
 }
@@ -0,0 +1,141 @@
+package com.example.yogaadmin.database;
+
+import com.example.yogaadmin.models.ClassInstance;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MonthSchedule is an immutable, in-memory index of the class instances of one
+ * calendar month, built from a single date range query.
+ *
+ * The instances are kept in one list sorted by date, together with the offset
+ * at which each day of the month starts in that list. Looking up a day is two
+ * array reads and returns a view of the list, so the calendar can show any day
+ * of a loaded month without touching SQLite or allocating a copy.
+ *
+ * The MonthSchedule supports:
+ * - Building the index from instances in date order
+ * - Constant-time lookup of the instances on a day
+ * - Recording the data version it was loaded at, so a cached month can be checked for staleness
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public final class MonthSchedule {
+
+    /** The month this schedule covers */
+    private final YearMonth month;
+
+    /** All instances of the month, sorted by date */
+    private final List<ClassInstance> instances;
+
+    /**
+     * Start offset of each day in {@link #instances}: day d occupies
+     * [dayStarts[d - 1], dayStarts[d]). The array has lengthOfMonth + 1 entries.
+     */
+    private final int[] dayStarts;
+
+    /** DataChangeNotifier version of the schedule tables when the month was loaded */
+    private final long dataVersion;
+
+    /**
+     * Builds the index of a month.
+     *
+     * @param month The month covered
+     * @param instances The month's instances sorted by date (yyyy-MM-dd), as returned by
+     *                  {@link InstanceDAO#getInstancesBetween}
+     * @param dataVersion Version of the schedule tables read before the query ran
+     */
+    public MonthSchedule(YearMonth month, List<ClassInstance> instances, long dataVersion) {
+        this.month = month;
+        this.instances = Collections.unmodifiableList(new ArrayList<>(instances));
+        this.dataVersion = dataVersion;
+
+        int days = month.lengthOfMonth();
+        dayStarts = new int[days + 1];
+        int position = 0;
+        for (int day = 1; day <= days; day++) {
+            dayStarts[day - 1] = position;
+            // A malformed date reads as day 0 and is shown on the day it sorts into
+            while (position < instances.size() && dayOf(instances.get(position)) <= day) {
+                position++;
+            }
+        }
+        dayStarts[days] = position;
+    }
+
+    /**
+     * Returns the first and last date of a month in storage format, for the range query.
+     *
+     * @param month The month
+     * @return The first and last date (yyyy-MM-dd)
+     */
+    public static String[] dateRange(YearMonth month) {
+        return new String[]{month.atDay(1).toString(), month.atEndOfMonth().toString()};
+    }
+
+    /**
+     * @return The month this schedule covers
+     */
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    /**
+     * @return Version of the schedule tables when the month was loaded
+     */
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * @return Number of instances in the month
+     */
+    public int size() {
+        return instances.size();
+    }
+
+    /**
+     * Returns the instances on a day of this month, in date then ID order.
+     * The returned list is a read-only view; the instances must be treated as read-only.
+     *
+     * @param dayOfMonth The day, from 1 to the length of the month
+     * @return The day's instances, empty if there are none or the day is out of range
+     */
+    public List<ClassInstance> getInstancesOn(int dayOfMonth) {
+        if (dayOfMonth < 1 || dayOfMonth >= dayStarts.length) {
+            return Collections.emptyList();
+        }
+        return instances.subList(dayStarts[dayOfMonth - 1], dayStarts[dayOfMonth]);
+    }
+
+    /**
+     * Returns the instances on a date, or an empty list if the date is in another month.
+     *
+     * @param date The date
+     * @return The date's instances
+     */
+    public List<ClassInstance> getInstancesOn(LocalDate date) {
+        if (!YearMonth.from(date).equals(month)) {
+            return Collections.emptyList();
+        }
+        return getInstancesOn(date.getDayOfMonth());
+    }
+
+    /**
+     * Reads the day of month from an instance's yyyy-MM-dd date without parsing the whole date.
+     *
+     * @param instance The instance
+     * @return The day of month, or 0 if the date is malformed
+     */
+    private static int dayOf(ClassInstance instance) {
+        String date = instance.getDate();
+        if (date == null || date.length() != 10) {
+            return 0;
+        }
+        return (date.charAt(8) - '0') * 10 + (date.charAt(9) - '0');
+    }
+}
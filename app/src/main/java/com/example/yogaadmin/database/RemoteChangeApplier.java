@@ -0,0 +1,360 @@
+package com.example.yogaadmin.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RemoteChangeApplier writes changes pulled from Firebase into the local database.
+ * Changes are applied in batches, one transaction per batch.
+ *
+ * Conflicts are resolved deterministically by last-writer-wins on the updated_at
+ * row version: a remote row only replaces the local row if its version is strictly
+ * newer, so re-delivered or echoed rows are ignored. A remote removal always
+ * deletes the local row.
+ *
+ * Rows are matched by sync id, the Firebase key. Foreign keys arrive as the sync
+ * id of the referenced row and are translated back to local _id values. Nodes
+ * still keyed by the numeric _id used before sync ids (database version 9) are
+ * ignored: the upgrade logs their removal, and pulling them in would create
+ * duplicate rows whose foreign keys are local _id values. Within a
+ * batch, parents (teachers, then courses) are applied before the rows that reference
+ * them; a row whose parent has not arrived yet is handed back to the caller to retry.
+ * Removals are applied after that, children first. Removing a course also removes
+ * its class instances through the foreign key cascade; removing a teacher who still
+ * has courses or classes locally is refused by the foreign key, and the teacher is
+ * queued to be pushed again so the remote copy is restored for the rows that use it.
+ *
+ * Applying a change fires the sync_log triggers like any other write. The log
+ * entries of the rows a change wrote are removed again in the same transaction,
+ * so pulled changes are never pushed back to Firebase. Entries for rows removed
+ * by the cascade are kept, so their remote copies are removed as well.
+ *
+ * The RemoteChangeApplier supports:
+ * - Inserting, updating and deleting rows of the synced tables by sync id
+ * - Translating foreign keys from sync ids to local _id values
+ * - Ignoring nodes left under legacy _id keys
+ * - Last-writer-wins conflict resolution by row version
+ * - Ignoring fields that are not columns of the local table
+ * - Skipping malformed remote rows without failing the rest of the batch
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class RemoteChangeApplier {
+
+    /** Tag for logging purposes */
+    private static final String TAG = "RemoteChangeApplier";
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /** Shared teacher cache, invalidated when pulled changes touch the teachers table */
+    private final TeacherCache teacherCache;
+
+    /** Shared course cache, invalidated when pulled changes touch courses or teacher names */
+    private final CourseCache courseCache;
+
+    /** Notifier told which tables the pulled changes touched */
+    private final DataChangeNotifier changeNotifier;
+
+    /** Length of a sync id; legacy _id keys are shorter */
+    private static final int SYNC_ID_LENGTH = 32;
+
+    /** Result of applying a single change */
+    private enum Outcome { APPLIED, SKIPPED, UNRESOLVED }
+
+    /** Writable columns of each synced table, read once from the schema */
+    private final Map<String, Set<String>> tableColumns = new HashMap<>();
+
+    /**
+     * A change received from the remote database for a single row.
+     */
+    public static final class RemoteChange {
+        /** Table the row belongs to */
+        public final String tableName;
+
+        /** Remote key of the row (its sync id) */
+        public final String key;
+
+        /** Remote field values, or null if the row was removed remotely */
+        public final Map<String, Object> values;
+
+        public RemoteChange(String tableName, String key, Map<String, Object> values) {
+            this.tableName = tableName;
+            this.key = key;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Constructs a new RemoteChangeApplier with the given context.
+     *
+     * @param context The application context
+     */
+    public RemoteChangeApplier(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+        teacherCache = TeacherCache.getInstance(context);
+        courseCache = CourseCache.getInstance();
+        changeNotifier = DataChangeNotifier.getInstance();
+    }
+
+    /**
+     * Applies a batch of remote changes in a single transaction.
+     *
+     * @param changes The changes to apply, in the order they were received
+     * @param unresolved Receives changes that reference rows not present locally yet
+     * @return Number of local rows inserted, updated or deleted
+     */
+    public int applyChanges(List<RemoteChange> changes, List<RemoteChange> unresolved) {
+        // Parents first, so rows in the same batch can reference each other; removals last, children first
+        List<RemoteChange> ordered = new ArrayList<>(changes);
+        List<String> tableOrder = Arrays.asList(DatabaseHelper.SYNCED_TABLES);
+        Collections.sort(ordered, (a, b) -> Integer.compare(applyOrder(tableOrder, a), applyOrder(tableOrder, b)));
+
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int applied = 0;
+        Set<String> changedTables = new LinkedHashSet<>();
+        List<RemoteChange> appliedChanges = new ArrayList<>();
+        db.beginTransaction();
+        try {
+            long logSeqBefore = DatabaseUtils.longForQuery(db, "SELECT IFNULL(MAX("
+                    + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + "), 0) FROM "
+                    + DatabaseContract.SyncLogEntry.TABLE_NAME, null);
+
+            for (RemoteChange change : ordered) {
+                Outcome outcome;
+                try {
+                    outcome = applyChange(db, change);
+                } catch (RuntimeException e) {
+                    // Only the failed statement is rolled back, so the rest of the batch still applies
+                    Log.w(TAG, "Could not apply remote row " + change.tableName + "/" + change.key + ", skipping it", e);
+                    outcome = Outcome.SKIPPED;
+                }
+                switch (outcome) {
+                    case APPLIED:
+                        applied++;
+                        appliedChanges.add(change);
+                        changedTables.add(change.tableName);
+                        if (change.values == null && DatabaseContract.CourseEntry.TABLE_NAME.equals(change.tableName)) {
+                            changedTables.add(DatabaseContract.InstanceEntry.TABLE_NAME); // Removed by the cascade
+                        }
+                        break;
+                    case UNRESOLVED:
+                        unresolved.add(change);
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            // Drop the log entries of the pulled rows so they are not pushed back; cascade removals stay queued
+            String pulledEntry = DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + " > ? AND "
+                    + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME + " = ? AND "
+                    + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + " = ?";
+            for (RemoteChange change : appliedChanges) {
+                db.delete(DatabaseContract.SyncLogEntry.TABLE_NAME, pulledEntry,
+                        new String[]{String.valueOf(logSeqBefore), change.tableName, change.key});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        boolean teachersChanged = changedTables.contains(DatabaseContract.TeacherEntry.TABLE_NAME);
+        if (teachersChanged) {
+            teacherCache.invalidate();
+        }
+        if (teachersChanged || changedTables.contains(DatabaseContract.CourseEntry.TABLE_NAME)) {
+            courseCache.invalidateAll(); // Cached courses carry their teacher's name
+        }
+        changeNotifier.notifyTablesChanged(changedTables.toArray(new String[0]));
+        return applied;
+    }
+
+    /**
+     * Returns the position of a change in the apply order: inserts and updates by
+     * table in dependency order, then removals in reverse dependency order.
+     *
+     * @param tableOrder The synced tables in dependency order
+     * @param change The change
+     * @return The sort key of the change
+     */
+    private static int applyOrder(List<String> tableOrder, RemoteChange change) {
+        int index = tableOrder.indexOf(change.tableName);
+        return change.values != null ? index : 2 * tableOrder.size() - index;
+    }
+
+    /**
+     * Applies one remote change to the local database.
+     *
+     * @param db The database, inside a transaction
+     * @param change The change to apply
+     * @return Whether the change was applied, skipped, or is waiting for a parent row
+     */
+    private Outcome applyChange(SQLiteDatabase db, RemoteChange change) {
+        if (!Arrays.asList(DatabaseHelper.SYNCED_TABLES).contains(change.tableName) || isLegacyKey(change.key)) {
+            return Outcome.SKIPPED;
+        }
+        String[] keyArgs = {change.key};
+        String bySyncId = DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " = ?";
+
+        if (change.values == null) {
+            try {
+                return db.delete(change.tableName, bySyncId, keyArgs) > 0 ? Outcome.APPLIED : Outcome.SKIPPED;
+            } catch (SQLiteConstraintException e) {
+                // Rows here still use it, so push it again instead of leaving them pointing at a removed node
+                Log.w(TAG, "Could not delete remote row " + change.tableName + "/" + change.key + ", still referenced", e);
+                String updatedAt = DatabaseContract.SyncColumns.COLUMN_NAME_UPDATED_AT;
+                db.execSQL("UPDATE " + change.tableName + " SET " + updatedAt + " = " + updatedAt + " WHERE " + bySyncId, keyArgs);
+                return Outcome.SKIPPED;
+            }
+        }
+
+        ContentValues values = toContentValues(db, change.tableName, change.values);
+        if (!resolveForeignKeys(db, change.tableName, values)) {
+            return Outcome.UNRESOLVED;
+        }
+        Long remoteVersion = values.getAsLong(DatabaseContract.SyncColumns.COLUMN_NAME_UPDATED_AT);
+
+        Cursor cursor = db.query(change.tableName, new String[]{DatabaseContract.SyncColumns.COLUMN_NAME_UPDATED_AT},
+                bySyncId, keyArgs, null, null, null);
+        boolean exists = cursor.moveToFirst();
+        long localVersion = exists ? cursor.getLong(0) : 0;
+        cursor.close();
+
+        if (!exists) {
+            values.put(DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID, change.key);
+            if (db.insert(change.tableName, null, values) == -1) {
+                Log.w(TAG, "Could not insert remote row " + change.tableName + "/" + change.key);
+                return Outcome.SKIPPED;
+            }
+            return Outcome.APPLIED;
+        }
+        if (remoteVersion != null && remoteVersion > localVersion) {
+            return db.update(change.tableName, values, bySyncId, keyArgs) > 0 ? Outcome.APPLIED : Outcome.SKIPPED;
+        }
+        return Outcome.SKIPPED; // Local row is as new or newer
+    }
+
+    /**
+     * Returns whether a remote key is a row _id written before sync ids were introduced.
+     * Sync ids are always {@value #SYNC_ID_LENGTH} characters long, so a shorter
+     * all-digit key cannot be one.
+     *
+     * @param key The remote key
+     * @return true if the key is a legacy _id key
+     */
+    private static boolean isLegacyKey(String key) {
+        if (key.isEmpty() || key.length() >= SYNC_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (!Character.isDigit(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces foreign key values, which arrive as sync ids, with local _id values.
+     *
+     * @param db The database to look up referenced rows in
+     * @param tableName The table the row belongs to
+     * @param values The row values; foreign keys are rewritten in place
+     * @return false if a referenced row does not exist locally
+     */
+    private boolean resolveForeignKeys(SQLiteDatabase db, String tableName, ContentValues values) {
+        for (Map.Entry<String, String> foreignKey : DatabaseHelper.SYNCED_FOREIGN_KEYS.get(tableName).entrySet()) {
+            String column = foreignKey.getKey();
+            String referencedSyncId = values.getAsString(column);
+            if (referencedSyncId == null) {
+                continue;
+            }
+            Cursor cursor = db.query(foreignKey.getValue(), new String[]{BaseColumns._ID},
+                    DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " = ?", new String[]{referencedSyncId}, null, null, null);
+            boolean found = cursor.moveToFirst();
+            if (found) {
+                values.put(column, cursor.getLong(0));
+            }
+            cursor.close();
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts remote field values to ContentValues, keeping only columns of the table.
+     * Firebase delivers whole numbers as Long and fractions as Double.
+     *
+     * @param db The database, used to read the table schema
+     * @param tableName The table the row belongs to
+     * @param remoteValues The remote field values
+     * @return ContentValues for the local row, without _id and sync id
+     */
+    private ContentValues toContentValues(SQLiteDatabase db, String tableName, Map<String, Object> remoteValues) {
+        Set<String> columns = getColumns(db, tableName);
+        ContentValues values = new ContentValues();
+        for (Map.Entry<String, Object> field : remoteValues.entrySet()) {
+            String column = field.getKey();
+            Object value = field.getValue();
+            if (!columns.contains(column)) {
+                continue;
+            }
+            if (value == null) {
+                values.putNull(column);
+            } else if (value instanceof Long || value instanceof Integer) {
+                values.put(column, ((Number) value).longValue());
+            } else if (value instanceof Number) {
+                values.put(column, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                values.put(column, (Boolean) value ? 1 : 0);
+            } else {
+                values.put(column, value.toString());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the columns of a table other than _id and sync id, caching the result.
+     *
+     * @param db The database to read the schema from
+     * @param tableName The table to describe
+     * @return Set of column names
+     */
+    private Set<String> getColumns(SQLiteDatabase db, String tableName) {
+        Set<String> columns = tableColumns.get(tableName);
+        if (columns == null) {
+            columns = new HashSet<>();
+            Cursor cursor = db.rawQuery("PRAGMA table_info(" + tableName + ")", null);
+            int nameIndex = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                String column = cursor.getString(nameIndex);
+                if (!column.equals(BaseColumns._ID) && !column.equals(DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID)) {
+                    columns.add(column);
+                }
+            }
+            cursor.close();
+            tableColumns.put(tableName, columns);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.yogaadmin.database;
+
+import android.database.Cursor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RowMapper turns cursor rows into model objects without looking up column
+ * indexes by name for every row.
+ *
+ * A mapper lists the columns it reads once, as names. When it is bound to a
+ * cursor the names are resolved to indexes a single time, and every row is
+ * then read by index. Mappers hold no per-cursor state, so one static instance
+ * can be shared by all queries and threads; the resolved indexes live in the
+ * {@link Binding} returned by {@link #bind(Cursor)}.
+ *
+ * The RowMapper supports:
+ * - Resolving column indexes once per cursor
+ * - Mapping all remaining rows of a cursor into a list
+ * - Mapping single rows for callers that read extra columns per row
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ *
+ * @param <T> The model type produced for each row
+ */
+public final class RowMapper<T> {
+
+    /**
+     * Reads one row. The indexes are in the order the column names were given
+     * to the mapper, so columns[0] is the index of the first name.
+     *
+     * @param <T> The model type produced for each row
+     */
+    public interface RowReader<T> {
+        /**
+         * @param cursor The cursor, positioned on the row to read
+         * @param columns Resolved column indexes, in the mapper's column order
+         * @return The model for this row
+         */
+        T read(Cursor cursor, int[] columns);
+    }
+
+    /** Names of the columns read by the reader, in index order */
+    private final String[] columnNames;
+
+    /** Reads a row once the indexes are known */
+    private final RowReader<T> reader;
+
+    /**
+     * Constructs a mapper for the given columns.
+     *
+     * @param columnNames Names of the columns the reader uses
+     * @param reader Reads a row using the indexes of those columns
+     */
+    public RowMapper(String[] columnNames, RowReader<T> reader) {
+        this.columnNames = columnNames.clone();
+        this.reader = reader;
+    }
+
+    /**
+     * Resolves this mapper's column indexes for a cursor.
+     *
+     * @param cursor The cursor that will be read
+     * @return A binding that maps rows of this cursor
+     * @throws IllegalArgumentException if the cursor lacks one of the columns
+     */
+    public Binding<T> bind(Cursor cursor) {
+        int[] columns = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columns[i] = cursor.getColumnIndexOrThrow(columnNames[i]);
+        }
+        return new Binding<>(cursor, columns, reader);
+    }
+
+    /**
+     * Maps every row after the cursor's current position. The cursor is not closed.
+     *
+     * @param cursor A cursor positioned before the first row to map
+     * @return The mapped rows in cursor order
+     */
+    public List<T> mapAll(Cursor cursor) {
+        List<T> rows = new ArrayList<>(Math.max(cursor.getCount() - cursor.getPosition() - 1, 0));
+        Binding<T> binding = bind(cursor);
+        while (cursor.moveToNext()) {
+            rows.add(binding.map());
+        }
+        return rows;
+    }
+
+    /**
+     * A mapper bound to one cursor, with its column indexes resolved.
+     * Like the cursor itself, a binding is used by one thread at a time.
+     *
+     * @param <T> The model type produced for each row
+     */
+    public static final class Binding<T> {
+        /** Cursor the indexes were resolved for */
+        private final Cursor cursor;
+
+        /** Resolved column indexes */
+        private final int[] columns;
+
+        /** Reads a row using the resolved indexes */
+        private final RowReader<T> reader;
+
+        Binding(Cursor cursor, int[] columns, RowReader<T> reader) {
+            this.cursor = cursor;
+            this.columns = columns;
+            this.reader = reader;
+        }
+
+        /**
+         * @return The model for the cursor's current row
+         */
+        public T map() {
+            return reader.read(cursor, columns);
+        }
+    }
+}
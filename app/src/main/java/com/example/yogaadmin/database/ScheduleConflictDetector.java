@@ -0,0 +1,338 @@
+package com.example.yogaadmin.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import com.example.yogaadmin.models.ClassInstance;
+import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.ScheduleIndex;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ScheduleConflictDetector finds teachers booked for two classes at once.
+ *
+ * Two interval indexes are built from the database: one of weekly course slots
+ * (each course's teacher, day of week, start time and duration) and one of
+ * dated class instances (each instance's teacher and date, with its course's
+ * start time and duration). The detector follows the change events of the
+ * courses and class_instances tables, and before each check it re-reads only
+ * the rows that changed: a changed instance is replaced in the instance index,
+ * and a changed course in the course index together with its instances, whose
+ * slots take the course's time. The indexes are rebuilt only after an unknown
+ * set of rows changed, such as a bulk insert, an import or a sync. Checking a
+ * form on save is then a single O(log n) lookup rather than a query over the
+ * whole schedule.
+ *
+ * The ScheduleConflictDetector supports:
+ * - Checking whether a new course overlaps the teacher's other courses
+ * - Checking whether a class instance overlaps the teacher's other classes that day
+ * - Checking a batch of dates before scheduling a course on each of them
+ * - Auditing the whole schedule for existing double bookings
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class ScheduleConflictDetector {
+
+    /** Number of changed rows above which rebuilding the indexes is cheaper than re-reading each row */
+    private static final int MAX_PENDING_CHANGES = 256;
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /** Weekly course slots, keyed by teacher */
+    private ScheduleIndex courseIndex;
+
+    /** Dated instance slots, keyed by teacher */
+    private ScheduleIndex instanceIndex;
+
+    /** Course of each indexed instance */
+    private final Map<Integer, Integer> courseIdByInstance = new HashMap<>();
+
+    /** Indexed instances of each course */
+    private final Map<Integer, Set<Integer>> instanceIdsByCourse = new HashMap<>();
+
+    // Changes reported since the indexes were last brought up to date; guarded by
+    // pendingLock rather than the detector, so a write never waits for a check
+    private final Object pendingLock = new Object();
+    private final Set<Integer> pendingCourseIds = new LinkedHashSet<>();
+    private final Set<Integer> pendingInstanceIds = new LinkedHashSet<>();
+    private boolean rebuildCourses = true;
+    private boolean rebuildInstances = true;
+
+    /**
+     * Constructs a new ScheduleConflictDetector with the given context.
+     * The detector follows changes from now on; the indexes are built on the first check.
+     *
+     * @param context The application context
+     */
+    public ScheduleConflictDetector(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+        DataChangeNotifier.getInstance().addSynchronousListener(this::onDataChanged);
+    }
+
+    /**
+     * Finds the courses of the same teacher whose weekly slot overlaps a course.
+     * The week wraps around, so a late Sunday class can overlap an early Monday one.
+     *
+     * @param course The course being saved; its ID is ignored so an edited course does not conflict with itself
+     * @return The overlapping course slots, empty if the teacher is free
+     */
+    public synchronized List<ScheduleIndex.Slot> findCourseConflicts(YogaCourse course) {
+        ensureIndexed();
+        long start = ScheduleIndex.weeklyStart(course.getDayOfWeek(), course.getTime());
+        return courseIndex.findOverlaps(course.getTeacherId(), start, course.getDuration(), course.getId());
+    }
+
+    /**
+     * Finds the classes of the same teacher that overlap a class instance on its date.
+     *
+     * @param instance The instance being saved; its ID is ignored so an edited instance does not conflict with itself
+     * @param course The instance's course, for its start time and duration
+     * @return The overlapping instance slots, empty if the teacher is free
+     */
+    public synchronized List<ScheduleIndex.Slot> findInstanceConflicts(ClassInstance instance, YogaCourse course) {
+        if (course == null) {
+            return Collections.emptyList();
+        }
+        ensureIndexed();
+        long start = ScheduleIndex.datedStart(instance.getDate(), course.getTime());
+        return instanceIndex.findOverlaps(instance.getTeacherId(), start, course.getDuration(), instance.getId());
+    }
+
+    /**
+     * Finds, for each of a batch of dates, the teacher's other classes that a new
+     * instance of the course would overlap. Instances of the course itself are
+     * not reported, since dates it is already scheduled on are skipped by the insert.
+     *
+     * @param course The course to be scheduled
+     * @param teacherId The teacher assigned to every instance
+     * @param dates The dates to schedule (yyyy-MM-dd)
+     * @return The overlapping instance slots of each conflicting date, in the order of the dates
+     */
+    public synchronized Map<String, List<ScheduleIndex.Slot>> findInstanceConflicts(YogaCourse course, int teacherId,
+                                                                                   List<String> dates) {
+        Map<String, List<ScheduleIndex.Slot>> conflicts = new LinkedHashMap<>();
+        if (course == null) {
+            return conflicts;
+        }
+        ensureIndexed();
+        Set<Integer> scheduled = instanceIdsByCourse.getOrDefault(course.getId(), Collections.emptySet());
+        for (String date : dates) {
+            long start = ScheduleIndex.datedStart(date, course.getTime());
+            List<ScheduleIndex.Slot> overlaps = new ArrayList<>();
+            for (ScheduleIndex.Slot slot : instanceIndex.findOverlaps(teacherId, start, course.getDuration(), -1)) {
+                if (!scheduled.contains(slot.id)) {
+                    overlaps.add(slot);
+                }
+            }
+            if (!overlaps.isEmpty()) {
+                conflicts.put(date, overlaps);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Lists every double booking in the schedule: overlapping weekly courses
+     * first, then overlapping class instances.
+     *
+     * @return All conflicts found
+     */
+    public synchronized List<ScheduleIndex.Conflict> findAllConflicts() {
+        ensureIndexed();
+        List<ScheduleIndex.Conflict> conflicts = new ArrayList<>(courseIndex.findAllConflicts());
+        conflicts.addAll(instanceIndex.findAllConflicts());
+        return conflicts;
+    }
+
+    /**
+     * Records a committed change for the next check. Called on the writing thread,
+     * so it only notes the row; the database is read when the indexes are next used.
+     *
+     * @param tableName The table that changed
+     * @param rowId The _id of the changed row, or DataChangeNotifier.ALL_ROWS
+     */
+    private void onDataChanged(String tableName, long rowId) {
+        boolean courses = DatabaseContract.CourseEntry.TABLE_NAME.equals(tableName);
+        if (!courses && !DatabaseContract.InstanceEntry.TABLE_NAME.equals(tableName)) {
+            return;
+        }
+        synchronized (pendingLock) {
+            if (rowId == DataChangeNotifier.ALL_ROWS) {
+                // Instance slots take their course's time, so they are rebuilt with the courses
+                rebuildCourses |= courses;
+                rebuildInstances = true;
+            } else if (courses) {
+                pendingCourseIds.add((int) rowId);
+            } else {
+                pendingInstanceIds.add((int) rowId);
+            }
+            if (pendingCourseIds.size() + pendingInstanceIds.size() > MAX_PENDING_CHANGES) {
+                rebuildCourses = true;
+                rebuildInstances = true;
+            }
+        }
+    }
+
+    /**
+     * Brings both indexes up to date with the changes reported since the last check.
+     * A row changed during the update is reported again afterwards, so it is
+     * re-read by the next check rather than left out of date.
+     */
+    private void ensureIndexed() {
+        boolean courses;
+        boolean instances;
+        Set<Integer> courseIds;
+        Set<Integer> instanceIds;
+        synchronized (pendingLock) {
+            courses = rebuildCourses;
+            instances = rebuildInstances;
+            courseIds = new LinkedHashSet<>(pendingCourseIds);
+            instanceIds = new LinkedHashSet<>(pendingInstanceIds);
+            rebuildCourses = false;
+            rebuildInstances = false;
+            pendingCourseIds.clear();
+            pendingInstanceIds.clear();
+        }
+        try {
+            applyChanges(courses, instances, courseIds, instanceIds);
+        } catch (RuntimeException e) {
+            // The changes taken are lost with the failed update, so start over next time
+            synchronized (pendingLock) {
+                rebuildCourses = true;
+                rebuildInstances = true;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds or updates the indexes.
+     *
+     * @param courses Whether to rebuild the course index
+     * @param instances Whether to rebuild the instance index
+     * @param courseIds Changed courses to re-read, unless the course index is rebuilt
+     * @param instanceIds Changed instances to re-read, unless the instance index is rebuilt
+     */
+    private void applyChanges(boolean courses, boolean instances, Set<Integer> courseIds, Set<Integer> instanceIds) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        if (courses) {
+            courseIndex = new ScheduleIndex(ScheduleIndex.MINUTES_PER_WEEK);
+            loadCourseSlots(db, null, null);
+        } else {
+            for (int courseId : courseIds) {
+                courseIndex.remove(courseId);
+                loadCourseSlots(db, DatabaseContract.CourseEntry._ID + " = ?",
+                        new String[]{String.valueOf(courseId)});
+            }
+        }
+        if (instances) {
+            instanceIndex = new ScheduleIndex();
+            courseIdByInstance.clear();
+            instanceIdsByCourse.clear();
+            loadInstanceSlots(db, null, null);
+            return;
+        }
+        for (int courseId : courseIds) {
+            // A course's time and duration are shared by all its instances
+            Set<Integer> scheduled = instanceIdsByCourse.get(courseId);
+            if (scheduled != null) {
+                for (int instanceId : new ArrayList<>(scheduled)) {
+                    removeInstanceSlot(instanceId);
+                }
+            }
+            loadInstanceSlots(db, "i." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = ?",
+                    new String[]{String.valueOf(courseId)});
+        }
+        for (int instanceId : instanceIds) {
+            removeInstanceSlot(instanceId);
+            loadInstanceSlots(db, "i." + DatabaseContract.InstanceEntry._ID + " = ?",
+                    new String[]{String.valueOf(instanceId)});
+        }
+    }
+
+    /**
+     * Reads course slots into the course index.
+     *
+     * @param db The database to read
+     * @param selection WHERE clause over the courses table, or null for every course
+     * @param selectionArgs Arguments of the WHERE clause
+     */
+    private void loadCourseSlots(SQLiteDatabase db, String selection, String[] selectionArgs) {
+        Cursor cursor = db.query(DatabaseContract.CourseEntry.TABLE_NAME, new String[]{
+                DatabaseContract.CourseEntry._ID,
+                DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID,
+                DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK,
+                DatabaseContract.CourseEntry.COLUMN_NAME_TIME,
+                DatabaseContract.CourseEntry.COLUMN_NAME_DURATION,
+                DatabaseContract.CourseEntry.COLUMN_NAME_NAME
+        }, selection, selectionArgs, null, null, null);
+        while (cursor.moveToNext()) {
+            String day = cursor.getString(2);
+            String time = cursor.getString(3);
+            courseIndex.add(new ScheduleIndex.Slot(cursor.getInt(0), cursor.getInt(1),
+                    ScheduleIndex.weeklyStart(day, time), cursor.getInt(4),
+                    cursor.getString(5) + ", " + day + " " + time));
+        }
+        cursor.close();
+    }
+
+    /**
+     * Reads instance slots, joined with their course, into the instance index.
+     *
+     * @param db The database to read
+     * @param selection WHERE clause over the instances as "i", or null for every instance
+     * @param selectionArgs Arguments of the WHERE clause
+     */
+    private void loadInstanceSlots(SQLiteDatabase db, String selection, String[] selectionArgs) {
+        Cursor cursor = db.rawQuery("SELECT i." + DatabaseContract.InstanceEntry._ID
+                + ", i." + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID
+                + ", i." + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_TIME
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_DURATION
+                + ", c." + DatabaseContract.CourseEntry.COLUMN_NAME_NAME
+                + ", i." + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID
+                + " FROM " + DatabaseContract.InstanceEntry.TABLE_NAME + " i"
+                + " JOIN " + DatabaseContract.CourseEntry.TABLE_NAME + " c ON i."
+                + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + " = c." + DatabaseContract.CourseEntry._ID
+                + (selection != null ? " WHERE " + selection : ""), selectionArgs);
+        while (cursor.moveToNext()) {
+            int instanceId = cursor.getInt(0);
+            int courseId = cursor.getInt(6);
+            String date = cursor.getString(2);
+            String time = cursor.getString(3);
+            instanceIndex.add(new ScheduleIndex.Slot(instanceId, cursor.getInt(1),
+                    ScheduleIndex.datedStart(date, time), cursor.getInt(4),
+                    cursor.getString(5) + ", " + date + " " + time));
+            courseIdByInstance.put(instanceId, courseId);
+            instanceIdsByCourse.computeIfAbsent(courseId, id -> new HashSet<>()).add(instanceId);
+        }
+        cursor.close();
+    }
+
+    /**
+     * Removes an instance slot and its course link, if the instance is indexed.
+     *
+     * @param instanceId The instance ID
+     */
+    private void removeInstanceSlot(int instanceId) {
+        instanceIndex.remove(instanceId);
+        Integer courseId = courseIdByInstance.remove(instanceId);
+        if (courseId != null) {
+            Set<Integer> scheduled = instanceIdsByCourse.get(courseId);
+            scheduled.remove(instanceId);
+            if (scheduled.isEmpty()) {
+                instanceIdsByCourse.remove(courseId);
+            }
+        }
+    }
+}
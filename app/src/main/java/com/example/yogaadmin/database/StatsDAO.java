@@ -0,0 +1,92 @@
+package com.example.yogaadmin.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import com.example.yogaadmin.models.StudioStatistics;
+import com.example.yogaadmin.utils.Constants;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StatsDAO (Data Access Object) reads the statistics tables that triggers on
+ * courses and class_instances keep up to date (see DatabaseHelper). Every read
+ * touches one totals row, at most seven day rows and one row per teacher, so the
+ * cost does not grow with the number of courses or scheduled instances.
+ *
+ * The StatsDAO supports:
+ * - Reading course, instance, capacity and revenue totals
+ * - Reading the number of courses per day of week, in week order
+ * - Reading the number of instances per teacher, busiest teacher first
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class StatsDAO {
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /**
+     * Constructs a new StatsDAO with the given context.
+     *
+     * @param context The application context
+     */
+    public StatsDAO(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * Reads the dashboard statistics from the statistics tables.
+     *
+     * @return The current statistics; every day of the week is present, with 0 for days without courses
+     */
+    public StudioStatistics getStatistics() {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        StudioStatistics statistics = new StudioStatistics();
+
+        // Totals live in a single row
+        Cursor cursor = db.query(DatabaseContract.TotalStatsEntry.TABLE_NAME, new String[]{
+                DatabaseContract.TotalStatsEntry.COLUMN_NAME_COURSE_COUNT,
+                DatabaseContract.TotalStatsEntry.COLUMN_NAME_INSTANCE_COUNT,
+                DatabaseContract.TotalStatsEntry.COLUMN_NAME_TOTAL_CAPACITY,
+                DatabaseContract.TotalStatsEntry.COLUMN_NAME_PROJECTED_REVENUE
+        }, null, null, null, null, null);
+        if (cursor.moveToFirst()) {
+            statistics.setTotalCourses(cursor.getInt(0));
+            statistics.setTotalInstances(cursor.getInt(1));
+            statistics.setTotalCapacity(cursor.getLong(2));
+            statistics.setProjectedRevenue(cursor.getDouble(3));
+        }
+        cursor.close();
+
+        // Courses per day, reordered from Monday to Sunday
+        Map<String, Integer> dayCounts = new HashMap<>();
+        cursor = db.query(DatabaseContract.DayStatsEntry.TABLE_NAME, new String[]{
+                DatabaseContract.DayStatsEntry.COLUMN_NAME_DAY_OF_WEEK,
+                DatabaseContract.DayStatsEntry.COLUMN_NAME_COURSE_COUNT
+        }, null, null, null, null, null);
+        while (cursor.moveToNext()) {
+            dayCounts.put(cursor.getString(0), cursor.getInt(1));
+        }
+        cursor.close();
+        for (String day : Constants.DAYS_OF_WEEK) {
+            Integer count = dayCounts.get(day);
+            statistics.putCoursesOnDay(day, count != null ? count : 0);
+        }
+
+        // Instances per teacher, joined for the name
+        cursor = db.rawQuery("SELECT t." + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME
+                + ", s." + DatabaseContract.TeacherStatsEntry.COLUMN_NAME_INSTANCE_COUNT
+                + " FROM " + DatabaseContract.TeacherStatsEntry.TABLE_NAME + " s"
+                + " JOIN " + DatabaseContract.TeacherEntry.TABLE_NAME + " t ON t." + DatabaseContract.TeacherEntry._ID
+                + " = s." + DatabaseContract.TeacherStatsEntry.COLUMN_NAME_TEACHER_ID
+                + " WHERE s." + DatabaseContract.TeacherStatsEntry.COLUMN_NAME_INSTANCE_COUNT + " > 0"
+                + " ORDER BY s." + DatabaseContract.TeacherStatsEntry.COLUMN_NAME_INSTANCE_COUNT + " DESC, t."
+                + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " ASC", null);
+        while (cursor.moveToNext()) {
+            statistics.addInstancesForTeacher(cursor.getString(0), cursor.getInt(1));
+        }
+        cursor.close();
+        return statistics;
+    }
+}
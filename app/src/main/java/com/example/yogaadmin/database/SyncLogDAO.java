@@ -0,0 +1,262 @@
+package com.example.yogaadmin.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SyncLogDAO (Data Access Object) reads the local change log and the sync cursor.
+ * The sync_log table is filled by triggers on every synced table, so this class
+ * never has to diff whole tables to find out what changed.
+ *
+ * The SyncLogDAO supports:
+ * - Streaming rows changed since the last successful push in chunks, one entry per row
+ * - Loading the current values of a changed row, or reporting it as deleted
+ * - Advancing the persisted sync cursor and pruning pushed log entries
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class SyncLogDAO {
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /**
+     * A pending change for a single row.
+     * Several log entries for the same row are merged into one change that
+     * carries the row's latest state.
+     */
+    public static final class Change {
+        /** Table the row belongs to */
+        public final String tableName;
+
+        /** Local _id of the row */
+        public final long rowId;
+
+        /** Global sync id of the row, used as its Firebase key */
+        public final String syncId;
+
+        /** Highest log sequence number covered by this change */
+        public final long seq;
+
+        /** Current column values, or null if the row has been deleted (a tombstone) */
+        public final Map<String, Object> values;
+
+        Change(String tableName, long rowId, String syncId, long seq, Map<String, Object> values) {
+            this.tableName = tableName;
+            this.rowId = rowId;
+            this.syncId = syncId;
+            this.seq = seq;
+            this.values = values;
+        }
+
+        /**
+         * @return true if the row no longer exists locally and must be removed remotely
+         */
+        public boolean isDelete() {
+            return values == null;
+        }
+    }
+
+    /**
+     * Constructs a new SyncLogDAO with the given context.
+     *
+     * @param context The application context
+     */
+    public SyncLogDAO(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * Returns the next chunk of rows changed since the last successful push, in change order.
+     * Rows are identified by sync id. Rows that were changed several times appear once,
+     * with their current values and ordered by their latest change; rows that no longer
+     * exist under that sync id are returned as tombstones.
+     *
+     * Callers stream the log by passing the seq of the last change of the previous
+     * chunk as afterSeq, so only one chunk of row values is held in memory at a time.
+     *
+     * @param afterSeq Only rows whose latest change is after this sequence number are returned
+     * @param limit Maximum number of rows to return
+     * @return List of pending changes, oldest first
+     */
+    public List<Change> getPendingChanges(long afterSeq, int limit) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        List<Change> changes = new ArrayList<>();
+        Map<String, String> syncIdCache = new HashMap<>();
+        Cursor cursor = db.rawQuery("SELECT " + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME
+                + ", " + DatabaseContract.SyncLogEntry.COLUMN_NAME_ROW_ID
+                + ", MAX(" + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + ") AS " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ
+                + ", " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID
+                + " FROM " + DatabaseContract.SyncLogEntry.TABLE_NAME
+                + " WHERE " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + " IS NOT NULL"
+                + " GROUP BY " + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME + ", " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID
+                + " HAVING MAX(" + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + ") > ?"
+                + " ORDER BY " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ
+                + " LIMIT ?",
+                new String[]{String.valueOf(Math.max(afterSeq, getLastPushedSeq())), String.valueOf(limit)});
+
+        while (cursor.moveToNext()) {
+            String tableName = cursor.getString(0);
+            if (!Arrays.asList(DatabaseHelper.SYNCED_TABLES).contains(tableName)) {
+                continue; // Only tables created by our own triggers are read back
+            }
+            String syncId = cursor.getString(3);
+            changes.add(new Change(tableName, cursor.getLong(1), syncId, cursor.getLong(2),
+                    loadRowValues(db, tableName, syncId, syncIdCache)));
+        }
+        cursor.close();
+        return changes;
+    }
+
+    /**
+     * Returns the number of distinct rows waiting to be pushed.
+     * Used to report sync progress.
+     *
+     * @return Number of pending rows
+     */
+    public int getPendingRowCount() {
+        Cursor cursor = dbHelper.getReadableDatabase().rawQuery("SELECT COUNT(*) FROM (SELECT 1 FROM "
+                + DatabaseContract.SyncLogEntry.TABLE_NAME
+                + " WHERE " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + " > ?"
+                + " AND " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + " IS NOT NULL"
+                + " GROUP BY " + DatabaseContract.SyncLogEntry.COLUMN_NAME_TABLE_NAME + ", " + DatabaseContract.SyncLogEntry.COLUMN_NAME_SYNC_ID + ")",
+                new String[]{String.valueOf(getLastPushedSeq())});
+        int count = cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        cursor.close();
+        return count;
+    }
+
+    /**
+     * Returns the number of log entries not yet pushed.
+     *
+     * @return Number of pending log entries
+     */
+    public long getPendingCount() {
+        return DatabaseUtils.queryNumEntries(dbHelper.getReadableDatabase(), DatabaseContract.SyncLogEntry.TABLE_NAME,
+                DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + " > ?", new String[]{String.valueOf(getLastPushedSeq())});
+    }
+
+    /**
+     * Returns the sync cursor: the highest log sequence number already pushed.
+     *
+     * @return The last pushed sequence number, or 0 if nothing has been pushed
+     */
+    public long getLastPushedSeq() {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = db.query(DatabaseContract.SyncStateEntry.TABLE_NAME,
+                new String[]{DatabaseContract.SyncStateEntry.COLUMN_NAME_VALUE},
+                DatabaseContract.SyncStateEntry.COLUMN_NAME_KEY + " = ?",
+                new String[]{DatabaseContract.SyncStateEntry.KEY_LAST_PUSHED_SEQ}, null, null, null);
+        long seq = cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        cursor.close();
+        return seq;
+    }
+
+    /**
+     * Records that every change up to and including seq has been pushed.
+     * The cursor is persisted and the pushed log entries are deleted in one transaction.
+     *
+     * @param seq The highest sequence number that was pushed successfully
+     */
+    public void markPushed(long seq) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(DatabaseContract.SyncStateEntry.COLUMN_NAME_KEY, DatabaseContract.SyncStateEntry.KEY_LAST_PUSHED_SEQ);
+            values.put(DatabaseContract.SyncStateEntry.COLUMN_NAME_VALUE, seq);
+            db.insertWithOnConflict(DatabaseContract.SyncStateEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            db.delete(DatabaseContract.SyncLogEntry.TABLE_NAME, DatabaseContract.SyncLogEntry.COLUMN_NAME_SEQ + " <= ?",
+                    new String[]{String.valueOf(seq)});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Loads the current values of a row, converted to types Firebase can store.
+     * The local _id and the sync id are not included; the sync id is the Firebase key.
+     * Foreign keys are replaced by the sync id of the row they reference, so they
+     * mean the same thing on every device.
+     *
+     * @param db The database to read from
+     * @param tableName The table the row belongs to
+     * @param syncId The sync id of the row
+     * @param syncIdCache Sync ids already looked up, keyed by "table/_id"
+     * @return Map of column name to value, or null if the row no longer exists
+     */
+    private Map<String, Object> loadRowValues(SQLiteDatabase db, String tableName, String syncId, Map<String, String> syncIdCache) {
+        Cursor cursor = db.rawQuery("SELECT * FROM " + tableName + " WHERE " + DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID + " = ?",
+                new String[]{syncId});
+        Map<String, String> foreignKeys = DatabaseHelper.SYNCED_FOREIGN_KEYS.get(tableName);
+        Map<String, Object> rowData = null;
+        if (cursor.moveToFirst()) {
+            rowData = new HashMap<>();
+            // Convert each column to appropriate Firebase data type
+            for (int i = 0; i < cursor.getColumnCount(); i++) {
+                String columnName = cursor.getColumnName(i);
+                if (columnName.equals(BaseColumns._ID) || columnName.equals(DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID)) {
+                    continue; // Skip the local ID and the key
+                }
+                String referencedTable = foreignKeys.get(columnName);
+                if (referencedTable != null) {
+                    rowData.put(columnName, cursor.isNull(i) ? null
+                            : lookupSyncId(db, referencedTable, cursor.getLong(i), syncIdCache));
+                    continue;
+                }
+
+                // Convert data based on SQLite column type
+                switch (cursor.getType(i)) {
+                    case Cursor.FIELD_TYPE_INTEGER:
+                        rowData.put(columnName, cursor.getLong(i));
+                        break;
+                    case Cursor.FIELD_TYPE_FLOAT:
+                        rowData.put(columnName, cursor.getDouble(i));
+                        break;
+                    case Cursor.FIELD_TYPE_STRING:
+                        rowData.put(columnName, cursor.getString(i));
+                        break;
+                    case Cursor.FIELD_TYPE_NULL:
+                        rowData.put(columnName, null);
+                        break;
+                }
+            }
+        }
+        cursor.close();
+        return rowData;
+    }
+
+    /**
+     * Returns the sync id of a row in a synced table.
+     *
+     * @param db The database to read from
+     * @param tableName The table the row belongs to
+     * @param rowId The local _id of the row
+     * @param syncIdCache Sync ids already looked up, keyed by "table/_id"
+     * @return The sync id, or null if the row does not exist
+     */
+    private String lookupSyncId(SQLiteDatabase db, String tableName, long rowId, Map<String, String> syncIdCache) {
+        String cacheKey = tableName + "/" + rowId;
+        if (syncIdCache.containsKey(cacheKey)) {
+            return syncIdCache.get(cacheKey);
+        }
+        Cursor cursor = db.query(tableName, new String[]{DatabaseContract.SyncColumns.COLUMN_NAME_SYNC_ID},
+                BaseColumns._ID + " = ?", new String[]{String.valueOf(rowId)}, null, null, null);
+        String syncId = cursor.moveToFirst() ? cursor.getString(0) : null;
+        cursor.close();
+        syncIdCache.put(cacheKey, syncId);
+        return syncId;
+    }
+}
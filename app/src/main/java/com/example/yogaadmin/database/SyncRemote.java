@@ -0,0 +1,77 @@
+package com.example.yogaadmin.database;
+
+import java.util.Map;
+
+/**
+ * SyncRemote abstracts the remote database that local changes are pushed to
+ * and remote changes are pulled from.
+ * FirebaseSyncManager talks to this interface rather than to Firebase directly,
+ * so sync logic can be exercised against a local fake in tests.
+ *
+ * Paths use Firebase's slash-separated form, e.g. "courses/12".
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public interface SyncRemote {
+
+    /**
+     * Callback invoked once a remote write has completed.
+     */
+    interface CompletionListener {
+        /**
+         * Called when the write has finished.
+         * @param error The failure, or null if the write succeeded
+         */
+        void onComplete(Exception error);
+    }
+
+    /**
+     * Listener for changes to the direct children of a remote path.
+     * Existing children are reported as changed when the listener is added.
+     */
+    interface ChildListener {
+        /**
+         * Called when a child is added or its value changes.
+         * @param key The child key, e.g. "12"
+         * @param value The child's fields
+         */
+        void onChildChanged(String key, Map<String, Object> value);
+
+        /**
+         * Called when a child is removed.
+         * @param key The child key
+         */
+        void onChildRemoved(String key);
+    }
+
+    /**
+     * Writes several paths in one atomic multi-path update.
+     * Each value replaces whatever was stored at its path; a null value removes
+     * the path, which is how deletes are propagated.
+     *
+     * @param updates Map of path (relative to the database root) to value
+     * @param listener Callback invoked once the whole update has completed
+     */
+    void updateChildren(Map<String, Object> updates, CompletionListener listener);
+
+    /**
+     * Removes every value in the remote database.
+     *
+     * @param listener Callback invoked when the removal has completed
+     */
+    void removeAll(CompletionListener listener);
+
+    /**
+     * Starts listening for changes to the children of a path.
+     *
+     * @param path The path to watch, e.g. "courses"
+     * @param listener Listener notified of child changes
+     */
+    void addChildListener(String path, ChildListener listener);
+
+    /**
+     * Stops every listener added with addChildListener.
+     */
+    void removeChildListeners();
+}
@@ -0,0 +1,171 @@
+package com.example.yogaadmin.database;
+
+import android.content.Context;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.yogaadmin.models.Teacher;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TeacherCache keeps the teachers table in memory for the whole process.
+ * The table is small and read by several forms, so it is loaded once and then
+ * served from memory until a write to the teachers table invalidates it.
+ *
+ * Readers get an immutable {@link Snapshot}; an invalidation never changes a
+ * snapshot that is already in use, it only makes the next read reload.
+ *
+ * The TeacherCache supports:
+ * - Loading all teachers once, sorted by name
+ * - Looking up a teacher by ID or by name without scanning the list
+ * - Invalidation after local inserts, pulled remote changes and database resets
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class TeacherCache {
+
+    /** Process-wide cache instance */
+    private static volatile TeacherCache instance;
+
+    /** Application context, used to create the DAO on first load */
+    private final Context context;
+
+    /** DAO used to load the table, created lazily because TeacherDAO itself uses the cache */
+    private TeacherDAO teacherDAO;
+
+    /** Current snapshot, or null if it has to be reloaded */
+    private volatile Snapshot snapshot;
+
+    /**
+     * An immutable view of the teachers table with constant-time lookups.
+     * The Teacher objects are shared and must be treated as read-only.
+     */
+    public static final class Snapshot {
+        /** All teachers sorted by name */
+        private final List<Teacher> teachers;
+
+        /** Teachers by ID */
+        private final Map<Integer, Teacher> byId = new HashMap<>();
+
+        /** Teachers by name; the first teacher in name order wins for duplicate names */
+        private final Map<String, Teacher> byName = new HashMap<>();
+
+        /** Position of each teacher in the sorted list, by ID */
+        private final Map<Integer, Integer> positions = new HashMap<>();
+
+        Snapshot(List<Teacher> teachers) {
+            this.teachers = Collections.unmodifiableList(teachers);
+            for (int i = 0; i < teachers.size(); i++) {
+                Teacher teacher = teachers.get(i);
+                byId.put(teacher.getId(), teacher);
+                positions.put(teacher.getId(), i);
+                if (!byName.containsKey(teacher.getName())) {
+                    byName.put(teacher.getName(), teacher);
+                }
+            }
+        }
+
+        /**
+         * @return All teachers sorted by name
+         */
+        public List<Teacher> getTeachers() {
+            return teachers;
+        }
+
+        /**
+         * @param id The teacher ID
+         * @return The teacher, or null if there is none with this ID
+         */
+        public Teacher getById(int id) {
+            return byId.get(id);
+        }
+
+        /**
+         * @param name The exact teacher name
+         * @return The teacher, or null if there is none with this name
+         */
+        public Teacher getByName(String name) {
+            return byName.get(name);
+        }
+
+        /**
+         * @param id The teacher ID
+         * @return Position of the teacher in {@link #getTeachers()}, or -1 if not found
+         */
+        public int indexOf(int id) {
+            Integer position = positions.get(id);
+            return position != null ? position : -1;
+        }
+    }
+
+    /**
+     * Returns the process-wide teacher cache, creating it on first use.
+     *
+     * @param context Any context; only its application context is retained
+     * @return The shared TeacherCache instance
+     */
+    public static TeacherCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TeacherCache.class) {
+                if (instance == null) {
+                    instance = new TeacherCache(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Discards the shared cache so the next getInstance() call starts empty.
+     * Only intended for tests that need an isolated database per test case.
+     */
+    @VisibleForTesting
+    public static synchronized void releaseInstance() {
+        instance = null;
+    }
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param context The application context
+     */
+    private TeacherCache(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Returns the cached teachers, loading them from the database if needed.
+     * May query SQLite, so it must not be called on the main thread.
+     *
+     * @return The current snapshot of the teachers table
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            if (teacherDAO == null) {
+                teacherDAO = new TeacherDAO(context);
+            }
+            snapshot = new Snapshot(teacherDAO.getAllTeachers());
+            return snapshot;
+        }
+    }
+
+    /**
+     * Drops the cached teachers; the next read reloads them from the database.
+     * Called after every write to the teachers table. Waits for a load in
+     * progress, so a load can never publish rows read before the write.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+}
@@ -5,7 +5,6 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import com.example.yogaadmin.models.Teacher;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,13 +16,38 @@ import java.util.List;
  * - Inserting new teachers
  * - Retrieving all teachers with sorting
  * - Basic teacher management operations
+ * - Invalidating the shared TeacherCache after every write
+ * - Reporting every write to the DataChangeNotifier
  * 
  * @author YogaAdmin Team
  * @version 1.0
  */
 public class TeacherDAO {
-    /** Database helper instance for database operations */
-    private DatabaseHelper dbHelper;
+    /**
+     * Maps a teachers row to a Teacher. Column indexes are resolved once per cursor.
+     */
+    public static final RowMapper<Teacher> TEACHER_MAPPER = new RowMapper<>(new String[]{
+            DatabaseContract.TeacherEntry._ID,
+            DatabaseContract.TeacherEntry.COLUMN_NAME_NAME,
+            DatabaseContract.TeacherEntry.COLUMN_NAME_EMAIL,
+            DatabaseContract.TeacherEntry.COLUMN_NAME_PHONE
+    }, (cursor, columns) -> {
+        Teacher teacher = new Teacher();
+        teacher.setId(cursor.getInt(columns[0]));
+        teacher.setName(cursor.getString(columns[1]));
+        teacher.setEmail(cursor.getString(columns[2]));
+        teacher.setPhone(cursor.getString(columns[3]));
+        return teacher;
+    });
+
+    /** Shared database helper; the connection stays open for the process lifetime */
+    private final DatabaseHelper dbHelper;
+
+    /** Shared teacher cache, invalidated after writes */
+    private final TeacherCache teacherCache;
+
+    /** Notifier told about every write */
+    private final DataChangeNotifier changeNotifier;
 
     /**
      * Constructs a new TeacherDAO with the given context.
@@ -31,7 +55,9 @@ public class TeacherDAO {
      * @param context The application context
      */
     public TeacherDAO(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
+        teacherCache = TeacherCache.getInstance(context);
+        changeNotifier = DataChangeNotifier.getInstance();
     }
 
     /**
@@ -48,38 +74,34 @@ public class TeacherDAO {
         values.put(DatabaseContract.TeacherEntry.COLUMN_NAME_NAME, teacher.getName());
         values.put(DatabaseContract.TeacherEntry.COLUMN_NAME_EMAIL, teacher.getEmail());
         values.put(DatabaseContract.TeacherEntry.COLUMN_NAME_PHONE, teacher.getPhone());
+        values.put(DatabaseContract.TeacherEntry.COLUMN_NAME_UPDATED_AT, System.currentTimeMillis());
+        values.put(DatabaseContract.TeacherEntry.COLUMN_NAME_SYNC_ID, DatabaseHelper.newSyncId());
         
         long result = db.insert(DatabaseContract.TeacherEntry.TABLE_NAME, null, values);
-        db.close();
+        teacherCache.invalidate();
+        if (result != -1) {
+            changeNotifier.notifyChanged(DatabaseContract.TeacherEntry.TABLE_NAME, result);
+        }
         return result;
     }
 
     /**
      * Retrieves all teachers from the database.
      * Results are sorted alphabetically by teacher name in ascending order.
+     * Screens should read teachers through {@link TeacherCache} instead, which
+     * calls this method only when its copy is out of date.
      * 
      * @return List of all teachers sorted by name
      */
     public List<Teacher> getAllTeachers() {
-        List<Teacher> teacherList = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
         
         // Query all teachers with sorting by name
         Cursor cursor = db.query(DatabaseContract.TeacherEntry.TABLE_NAME, null, null, null, null, null, DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + " ASC");
 
         // Convert cursor data to Teacher objects
-        if (cursor.moveToFirst()) {
-            do {
-                Teacher teacher = new Teacher();
-                teacher.setId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.TeacherEntry._ID)));
-                teacher.setName(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TeacherEntry.COLUMN_NAME_NAME)));
-                teacher.setEmail(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TeacherEntry.COLUMN_NAME_EMAIL)));
-                teacher.setPhone(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.TeacherEntry.COLUMN_NAME_PHONE)));
-                teacherList.add(teacher);
-            } while (cursor.moveToNext());
-        }
+        List<Teacher> teacherList = TEACHER_MAPPER.mapAll(cursor);
         cursor.close();
-        db.close();
         return teacherList;
     }
 }
@@ -0,0 +1,876 @@
+package com.example.yogaadmin.database;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.OperationCanceledException;
+import android.provider.DocumentsContract;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.yogaadmin.models.ClassInstance;
+import com.example.yogaadmin.models.StudioStatistics;
+import com.example.yogaadmin.models.Teacher;
+import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.ScheduleIndex;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * YogaRepository runs all DAO calls on a small background thread pool and
+ * delivers the results back on the main thread. Activities use it instead of
+ * calling CourseDAO, InstanceDAO and TeacherDAO directly so that SQLite work
+ * never blocks the UI thread.
+ *
+ * Every call returns a {@link Request} handle. Cancelling the handle guarantees
+ * that neither the callback nor the error callback is invoked, which lets
+ * activities drop pending work in onDestroy(). Reads also stop their query if
+ * it is still running; writes always run to completion, so a save the user
+ * confirmed is never lost because the activity went away.
+ *
+ * Imports and exports are tracked by the repository itself rather than by a
+ * Request: they report to a {@link TransferObserver} that screens attach and
+ * detach, so a transfer outlives the screen that started it.
+ *
+ * Writes to synced tables notify the registered {@link WriteListener}, which the
+ * application uses to push the change to Firebase as soon as it is queued.
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class YogaRepository {
+
+    /** Tag for logging purposes */
+    private static final String TAG = "YogaRepository";
+
+    /** Number of worker threads; SQLite serialises writers so a small pool is enough */
+    private static final int THREAD_COUNT = 2;
+
+    /** Number of calendar months kept in memory: the visible month, its neighbours and a few recent ones */
+    private static final int MONTH_CACHE_SIZE = 6;
+
+    /** Tables whose rows are shown in a MonthSchedule */
+    private static final String[] SCHEDULE_TABLES = {
+            DatabaseContract.InstanceEntry.TABLE_NAME,
+            DatabaseContract.CourseEntry.TABLE_NAME,
+            DatabaseContract.TeacherEntry.TABLE_NAME};
+
+    /** Process-wide repository instance */
+    private static volatile YogaRepository instance;
+
+    /** Bounded pool that runs all database work */
+    private final ExecutorService executor;
+
+    /** Handler used to deliver results on the main thread */
+    private final Handler mainHandler;
+
+    /** Data Access Objects wrapped by the repository */
+    private final CourseDAO courseDAO;
+    private final InstanceDAO instanceDAO;
+    private final TeacherDAO teacherDAO;
+    private final StatsDAO statsDAO;
+
+    /** Teacher double-booking checks over cached interval indexes */
+    private final ScheduleConflictDetector conflictDetector;
+
+    /** Shared in-memory copy of the teachers table */
+    private final TeacherCache teacherCache;
+
+    /** Shared cache of recently read courses */
+    private final CourseCache courseCache;
+
+    /** Shared database helper, used for whole-database operations */
+    private final DatabaseHelper dbHelper;
+
+    /** CSV and JSON import and export of the synced tables */
+    private final DataTransfer dataTransfer;
+
+    /** Opens the files chosen through the Storage Access Framework */
+    private final ContentResolver contentResolver;
+
+    /** Recently loaded calendar months; entries older than the schedule tables are ignored */
+    private final LruCache<YearMonth, MonthSchedule> monthSchedules = new LruCache<>(MONTH_CACHE_SIZE);
+
+    /** Listener notified after local writes, or null */
+    private volatile WriteListener writeListener;
+
+    /** Observer of transfers, normally the visible transfer screen, or null; main thread only */
+    private TransferObserver transferObserver;
+
+    /** Whether an export or import is running, and its latest progress; main thread only */
+    private boolean transferRunning;
+    private int transferRows;
+    private int transferTotalRows;
+
+    /** Outcome of a transfer that ended while no observer was attached, or null; main thread only */
+    private DataTransfer.Result undeliveredTransferResult;
+    private boolean undeliveredTransferIsExport;
+
+    /**
+     * Callback invoked on the main thread with the result of a repository call.
+     *
+     * @param <T> The result type
+     */
+    public interface Callback<T> {
+        /**
+         * Called on the main thread when the background work has finished.
+         * @param result The result of the call (may be null)
+         */
+        void onResult(T result);
+    }
+
+    /**
+     * Callback invoked on the main thread when a repository call has failed.
+     */
+    public interface ErrorCallback {
+        /**
+         * Called on the main thread instead of the result callback.
+         * @param error The exception thrown by the background work
+         */
+        void onError(RuntimeException error);
+    }
+
+    /**
+     * Observer of the running export or import, called on the main thread.
+     */
+    public interface TransferObserver {
+        /**
+         * Called after every page exported or chunk imported.
+         *
+         * @param rows Rows processed so far
+         * @param totalRows Rows to process in total, or -1 if not known (imports)
+         */
+        void onTransferProgress(int rows, int totalRows);
+
+        /**
+         * Called once the transfer has ended.
+         *
+         * @param export true for an export, false for an import
+         * @param result The outcome, including the rows processed before an error
+         */
+        void onTransferFinished(boolean export, DataTransfer.Result result);
+    }
+
+    /**
+     * Listener notified after a write to a synced table has completed.
+     */
+    public interface WriteListener {
+        /**
+         * Called on a worker thread after a local write has been committed.
+         */
+        void onLocalWrite();
+    }
+
+    /**
+     * A unit of background work. The cancellation signal should be passed on to
+     * SQLite queries so that an abandoned query stops as early as possible.
+     *
+     * @param <T> The result type
+     */
+    interface Query<T> {
+        T run(CancellationSignal signal);
+    }
+
+    /**
+     * Handle to a pending repository call.
+     */
+    public static final class Request {
+        private final CancellationSignal signal = new CancellationSignal();
+        private final boolean write;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+        private ErrorCallback errorCallback;
+
+        private Request(boolean write) {
+            this.write = write;
+        }
+
+        /**
+         * Cancels the call. The callbacks will not be invoked after this returns.
+         * A read stops its query if it is still running; a write still completes.
+         * Must be called on the main thread.
+         */
+        public void cancel() {
+            cancelled = true;
+            if (write) {
+                return;
+            }
+            signal.cancel();
+            Future<?> pending = future;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+
+        /**
+         * @return true if cancel() has been called on this request
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Sets the callback invoked if the call fails. Without one, failures are only logged.
+         * Must be called on the main thread, normally straight after the call was made.
+         *
+         * @param callback The callback to invoke with the failure
+         * @return This request
+         */
+        public Request onError(ErrorCallback callback) {
+            errorCallback = callback;
+            return this;
+        }
+    }
+
+    /**
+     * Returns the process-wide repository, creating it on first use.
+     *
+     * @param context Any context; only its application context is retained
+     * @return The shared YogaRepository instance
+     */
+    public static YogaRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (YogaRepository.class) {
+                if (instance == null) {
+                    instance = new YogaRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs the repository and its worker pool.
+     *
+     * @param context The application context
+     */
+    private YogaRepository(Context context) {
+        this(context, Executors.newFixedThreadPool(THREAD_COUNT));
+    }
+
+    /**
+     * Constructs a repository that runs its work on the given executor.
+     *
+     * @param context The application context
+     * @param executor Runs all database work
+     */
+    @VisibleForTesting
+    public YogaRepository(Context context, ExecutorService executor) {
+        this.executor = executor;
+        mainHandler = new Handler(Looper.getMainLooper());
+        courseDAO = new CourseDAO(context);
+        instanceDAO = new InstanceDAO(context);
+        teacherDAO = new TeacherDAO(context);
+        statsDAO = new StatsDAO(context);
+        conflictDetector = new ScheduleConflictDetector(context);
+        teacherCache = TeacherCache.getInstance(context);
+        courseCache = CourseCache.getInstance();
+        dbHelper = DatabaseHelper.getInstance(context);
+        dataTransfer = new DataTransfer(context);
+        contentResolver = context.getContentResolver();
+    }
+
+    /**
+     * Registers the listener notified after local writes.
+     *
+     * @param listener The listener, or null to remove it
+     */
+    public void setWriteListener(WriteListener listener) {
+        writeListener = listener;
+    }
+
+    /**
+     * Cancels a request if it is not null. Convenience for activity cleanup code.
+     *
+     * @param request The request to cancel, may be null
+     */
+    public static void cancel(Request request) {
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    /**
+     * Submits a query to the worker pool and posts its result to the main thread.
+     *
+     * @param query The background work to run
+     * @param callback The callback to invoke with the result
+     * @return A handle that can be used to cancel the call
+     */
+    private <T> Request execute(Query<T> query, Callback<T> callback) {
+        return submit(new Request(false), query, callback);
+    }
+
+    /**
+     * Submits a write and notifies the write listener once it has completed.
+     * Cancelling the returned request only suppresses the callbacks.
+     *
+     * @param query The background write to run
+     * @param callback The callback to invoke with the result
+     * @return A handle that can be used to cancel the callbacks
+     */
+    private <T> Request executeWrite(Query<T> query, Callback<T> callback) {
+        return submit(new Request(true), signal -> {
+            T result = query.run(signal);
+            WriteListener listener = writeListener;
+            if (listener != null) {
+                listener.onLocalWrite();
+            }
+            return result;
+        }, callback);
+    }
+
+    /**
+     * Runs a query on the worker pool and posts its result or failure to the main thread.
+     *
+     * @param request The handle of the call
+     * @param query The background work to run
+     * @param callback The callback to invoke with the result
+     * @return The request
+     */
+    private <T> Request submit(Request request, Query<T> query, Callback<T> callback) {
+        request.future = executor.submit(() -> {
+            if (request.signal.isCanceled()) {
+                return;
+            }
+            final T result;
+            try {
+                result = query.run(request.signal);
+            } catch (OperationCanceledException e) {
+                return; // The caller no longer wants this result
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Database call failed", e);
+                mainHandler.post(() -> {
+                    if (!request.isCancelled() && request.errorCallback != null) {
+                        request.errorCallback.onError(e);
+                    }
+                });
+                return;
+            }
+            mainHandler.post(() -> {
+                if (!request.isCancelled()) {
+                    callback.onResult(result);
+                }
+            });
+        });
+        return request;
+    }
+
+    // ==================== COURSES ====================
+
+    /**
+     * Loads one page of courses ordered by ID.
+     *
+     * @param afterId ID of the last course already loaded, or 0 for the first page
+     * @param pageSize Maximum number of courses to load
+     * @param callback Receives the page; fewer than pageSize courses means there are no more
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadCoursesPage(int afterId, int pageSize, Callback<List<YogaCourse>> callback) {
+        return execute(signal -> courseDAO.getCoursesPage(afterId, pageSize, signal), callback);
+    }
+
+    /**
+     * Loads the page of courses before a course, to reload a page a list has dropped from memory.
+     *
+     * @param beforeId ID of the first course already loaded
+     * @param pageSize Maximum number of courses to load
+     * @param callback Receives the page in ID order; fewer than pageSize courses means there are no more
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadCoursesPageBefore(int beforeId, int pageSize, Callback<List<YogaCourse>> callback) {
+        return execute(signal -> courseDAO.getCoursesPageBefore(beforeId, pageSize, signal), callback);
+    }
+
+    /**
+     * Reloads the courses a list holds, from its first to its last course ID.
+     *
+     * @param fromId ID of the first course held
+     * @param toId ID of the last course held, or Integer.MAX_VALUE to include later courses
+     * @param limit Maximum number of courses to load
+     * @param callback Receives the courses in ID order
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadCoursesInRange(int fromId, int toId, int limit, Callback<List<YogaCourse>> callback) {
+        return execute(signal -> courseDAO.getCoursesInRange(fromId, toId, limit, signal), callback);
+    }
+
+    /**
+     * Loads the courses with the given IDs, to refresh single rows of a list.
+     *
+     * @param courseIds The course IDs
+     * @param callback Receives the courses that still exist, in ID order
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadCoursesById(int[] courseIds, Callback<List<YogaCourse>> callback) {
+        return execute(signal -> courseDAO.getCoursesByIds(courseIds, signal), callback);
+    }
+
+    /**
+     * Loads a single course by ID.
+     *
+     * @param courseId The course ID
+     * @param callback Receives the course, or null if it does not exist
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadCourse(int courseId, Callback<YogaCourse> callback) {
+        return execute(signal -> courseDAO.getCourseById(courseId), callback);
+    }
+
+    /**
+     * Searches courses by free text, day of week and date.
+     *
+     * @param searchText Optional text matched against course name, description, type and teacher name
+     * @param dayOfWeek Optional day of week filter
+     * @param date Optional instance date filter
+     * @param callback Receives the matching courses
+     * @return A handle that can be used to cancel the call
+     */
+    public Request searchCourses(String searchText, String dayOfWeek, String date, Callback<List<YogaCourse>> callback) {
+        return execute(signal -> courseDAO.searchCourses(searchText, dayOfWeek, date, signal), callback);
+    }
+
+    /**
+     * Inserts a new course.
+     *
+     * @param course The course to insert
+     * @param callback Receives the new row ID, or -1 on failure
+     * @return A handle that can be used to cancel the call
+     */
+    public Request insertCourse(YogaCourse course, Callback<Long> callback) {
+        return executeWrite(signal -> courseDAO.insertCourse(course), callback);
+    }
+
+    /**
+     * Deletes a course and its class instances.
+     *
+     * @param courseId The course ID
+     * @param callback Invoked once the course has been deleted
+     * @return A handle that can be used to cancel the call
+     */
+    public Request deleteCourse(int courseId, Callback<Void> callback) {
+        return executeWrite(signal -> {
+            courseDAO.deleteCourse(courseId);
+            return null;
+        }, callback);
+    }
+
+    // ==================== INSTANCES ====================
+
+    /**
+     * Loads one page of class instances for a course, most recent first.
+     *
+     * @param courseId The course ID
+     * @param after The last instance already loaded, or null for the first page
+     * @param pageSize Maximum number of instances to load
+     * @param callback Receives the page; fewer than pageSize instances means there are no more
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadInstancesPage(int courseId, ClassInstance after, int pageSize, Callback<List<ClassInstance>> callback) {
+        return execute(signal -> instanceDAO.getInstancesForCoursePage(courseId, after, pageSize, signal), callback);
+    }
+
+    /**
+     * Loads the page of class instances before an instance, to reload a page a list has dropped from memory.
+     *
+     * @param courseId The course ID
+     * @param before The first instance already loaded
+     * @param pageSize Maximum number of instances to load
+     * @param callback Receives the page, most recent first; fewer than pageSize instances means there are no more
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadInstancesPageBefore(int courseId, ClassInstance before, int pageSize, Callback<List<ClassInstance>> callback) {
+        return execute(signal -> instanceDAO.getInstancesForCoursePageBefore(courseId, before, pageSize, signal), callback);
+    }
+
+    /**
+     * Inserts a new class instance.
+     *
+     * @param classInstance The instance to insert
+     * @param callback Receives the new row ID, or -1 on failure
+     * @return A handle that can be used to cancel the call
+     */
+    public Request insertInstance(ClassInstance classInstance, Callback<Long> callback) {
+        return executeWrite(signal -> instanceDAO.insertInstance(classInstance), callback);
+    }
+
+    /**
+     * Inserts one class instance per date for a course, in a single transaction.
+     * Dates that already have an instance of the course are skipped.
+     *
+     * @param courseId The course ID
+     * @param teacherId The teacher assigned to every instance
+     * @param dates The dates to schedule (yyyy-MM-dd)
+     * @param callback Receives the number of instances inserted
+     * @return A handle that can be used to cancel the call
+     */
+    public Request insertInstances(int courseId, int teacherId, List<String> dates, Callback<Integer> callback) {
+        return executeWrite(signal -> instanceDAO.insertInstances(courseId, teacherId, dates), callback);
+    }
+
+    /**
+     * Updates an existing class instance.
+     *
+     * @param classInstance The instance with updated values
+     * @param callback Receives the number of rows updated
+     * @return A handle that can be used to cancel the call
+     */
+    public Request updateInstance(ClassInstance classInstance, Callback<Integer> callback) {
+        return executeWrite(signal -> instanceDAO.updateInstance(classInstance), callback);
+    }
+
+    /**
+     * Deletes a class instance.
+     *
+     * @param instanceId The instance ID
+     * @param callback Invoked once the instance has been deleted
+     * @return A handle that can be used to cancel the call
+     */
+    public Request deleteInstance(int instanceId, Callback<Void> callback) {
+        return executeWrite(signal -> {
+            instanceDAO.deleteInstance(instanceId);
+            return null;
+        }, callback);
+    }
+
+    /**
+     * Loads the class instances of a calendar month with one range query, or
+     * returns the month from memory if none of its tables changed since it was loaded.
+     *
+     * @param month The month to load
+     * @param callback Receives the month's instances indexed by day
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadMonth(YearMonth month, Callback<MonthSchedule> callback) {
+        return execute(signal -> getMonthSchedule(month, signal), callback);
+    }
+
+    /**
+     * Loads a calendar month into memory in the background, so that a later
+     * {@link #getCachedMonth} or {@link #loadMonth} does not have to query SQLite.
+     *
+     * @param month The month to load
+     * @return A handle that can be used to cancel the call
+     */
+    public Request prefetchMonth(YearMonth month) {
+        return execute(signal -> getMonthSchedule(month, signal), result -> { });
+    }
+
+    /**
+     * Returns a calendar month from memory without querying the database.
+     * Safe to call on the main thread.
+     *
+     * @param month The month
+     * @return The month's schedule, or null if it is not loaded or out of date
+     */
+    public MonthSchedule getCachedMonth(YearMonth month) {
+        MonthSchedule schedule = monthSchedules.get(month);
+        if (schedule == null || schedule.getDataVersion() != DataChangeNotifier.getInstance().getVersion(SCHEDULE_TABLES)) {
+            return null;
+        }
+        return schedule;
+    }
+
+    /**
+     * Returns a month from memory or loads it with a single date range query.
+     *
+     * @param month The month
+     * @param signal Cancellation signal passed on to the query
+     * @return The month's schedule
+     */
+    private MonthSchedule getMonthSchedule(YearMonth month, CancellationSignal signal) {
+        MonthSchedule cached = getCachedMonth(month);
+        if (cached != null) {
+            return cached;
+        }
+        // Read the version first, so a write during the query makes the result stale rather than lost
+        long version = DataChangeNotifier.getInstance().getVersion(SCHEDULE_TABLES);
+        String[] range = MonthSchedule.dateRange(month);
+        MonthSchedule schedule = new MonthSchedule(month, instanceDAO.getInstancesBetween(range[0], range[1], signal), version);
+        monthSchedules.put(month, schedule);
+        return schedule;
+    }
+
+    // ==================== TEACHERS ====================
+
+    /**
+     * Loads all teachers sorted by name, from the teacher cache when it is up to date.
+     *
+     * @param callback Receives the teachers, with lookups by ID and name
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadTeachers(Callback<TeacherCache.Snapshot> callback) {
+        return execute(signal -> teacherCache.get(), callback);
+    }
+
+    /**
+     * Inserts a new teacher.
+     *
+     * @param teacher The teacher to insert
+     * @param callback Receives the new row ID, or -1 on failure
+     * @return A handle that can be used to cancel the call
+     */
+    public Request insertTeacher(Teacher teacher, Callback<Long> callback) {
+        return executeWrite(signal -> teacherDAO.insertTeacher(teacher), callback);
+    }
+
+    // ==================== CONFLICTS ====================
+
+    /**
+     * Finds the teacher's other courses whose weekly slot overlaps a course.
+     *
+     * @param course The course about to be saved
+     * @param callback Receives the overlapping courses, empty if the teacher is free
+     * @return A handle that can be used to cancel the call
+     */
+    public Request findCourseConflicts(YogaCourse course, Callback<List<ScheduleIndex.Slot>> callback) {
+        return execute(signal -> conflictDetector.findCourseConflicts(course), callback);
+    }
+
+    /**
+     * Finds the teacher's other classes that overlap a class instance on its date.
+     *
+     * @param classInstance The instance about to be saved
+     * @param callback Receives the overlapping classes, empty if the teacher is free
+     * @return A handle that can be used to cancel the call
+     */
+    public Request findInstanceConflicts(ClassInstance classInstance, Callback<List<ScheduleIndex.Slot>> callback) {
+        return execute(signal -> conflictDetector.findInstanceConflicts(classInstance,
+                courseDAO.getCourseById(classInstance.getCourseId())), callback);
+    }
+
+    /**
+     * Finds, for each date a course is about to be scheduled on, the teacher's
+     * other classes that the new instance would overlap.
+     *
+     * @param courseId The course ID
+     * @param teacherId The teacher assigned to every instance
+     * @param dates The dates to schedule (yyyy-MM-dd)
+     * @param callback Receives the overlapping classes of each conflicting date, empty if the teacher is free on all of them
+     * @return A handle that can be used to cancel the call
+     */
+    public Request findInstanceConflicts(int courseId, int teacherId, List<String> dates,
+                                         Callback<Map<String, List<ScheduleIndex.Slot>>> callback) {
+        return execute(signal -> conflictDetector.findInstanceConflicts(courseDAO.getCourseById(courseId),
+                teacherId, dates), callback);
+    }
+
+    /**
+     * Lists every teacher double booking in the schedule.
+     *
+     * @param callback Receives the conflicting pairs of courses and of class instances
+     * @return A handle that can be used to cancel the call
+     */
+    public Request auditConflicts(Callback<List<ScheduleIndex.Conflict>> callback) {
+        return execute(signal -> conflictDetector.findAllConflicts(), callback);
+    }
+
+    // ==================== STATISTICS ====================
+
+    /**
+     * Loads the dashboard statistics from the trigger-maintained statistics tables.
+     *
+     * @param callback Receives the current statistics
+     * @return A handle that can be used to cancel the call
+     */
+    public Request loadStatistics(Callback<StudioStatistics> callback) {
+        return execute(signal -> statsDAO.getStatistics(), callback);
+    }
+
+    // ==================== IMPORT / EXPORT ====================
+
+    /**
+     * Starts exporting every row of a table to a file chosen by the user.
+     * The export belongs to the repository rather than to the screen that
+     * started it, so it carries on if that screen is recreated or closed; its
+     * progress and outcome go to the {@link TransferObserver}. If the export
+     * fails, the incomplete document is deleted.
+     * Must be called on the main thread.
+     *
+     * @param tableName One of the synced tables
+     * @param format The file format
+     * @param uri The document to write, replacing its contents
+     * @return false if another transfer is still running, in which case nothing is started
+     */
+    public boolean exportTable(String tableName, DataTransfer.Format format, Uri uri) {
+        return startTransfer(true, signal -> {
+            DataTransfer.Result result = null;
+            try {
+                try (OutputStream out = contentResolver.openOutputStream(uri, "wt")) {
+                    if (out == null) {
+                        throw new FileNotFoundException("Cannot open " + uri);
+                    }
+                    result = dataTransfer.exportTable(tableName, format, out, transferProgress(), signal);
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Export of " + tableName + " failed", e);
+                result = DataTransfer.Result.failed(DataTransfer.describe(e) + (deleteDocument(uri)
+                        ? " (the incomplete file was deleted)" : " (the file is incomplete)"));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Starts importing the rows of a file chosen by the user into a table.
+     * Like an export, the import carries on if the screen that started it goes
+     * away. Rows are committed in chunks, so an import that fails part way keeps
+     * the rows of the chunks before the failing one, and its result says how
+     * many they were; importing the file again skips them.
+     * Must be called on the main thread.
+     *
+     * @param tableName One of the synced tables
+     * @param format The file format
+     * @param uri The document to read
+     * @return false if another transfer is still running, in which case nothing is started
+     */
+    public boolean importTable(String tableName, DataTransfer.Format format, Uri uri) {
+        return startTransfer(false, signal -> {
+            try (InputStream in = contentResolver.openInputStream(uri)) {
+                if (in == null) {
+                    throw new FileNotFoundException("Cannot open " + uri);
+                }
+                return dataTransfer.importTable(tableName, format, in, transferProgress(), signal);
+            } catch (IOException e) {
+                Log.e(TAG, "Import into " + tableName + " failed", e);
+                return DataTransfer.Result.failed(DataTransfer.describe(e));
+            }
+        });
+    }
+
+    /**
+     * @return true if an export or import is running. Must be called on the main thread.
+     */
+    public boolean isTransferRunning() {
+        return transferRunning;
+    }
+
+    /**
+     * Attaches the observer of transfers, normally the visible transfer screen.
+     * It is told straight away about the progress of a running transfer, and
+     * about the outcome of a transfer that ended while no observer was attached.
+     * Must be called on the main thread.
+     *
+     * @param observer The observer
+     */
+    public void setTransferObserver(TransferObserver observer) {
+        transferObserver = observer;
+        if (transferRunning) {
+            observer.onTransferProgress(transferRows, transferTotalRows);
+        } else if (undeliveredTransferResult != null) {
+            DataTransfer.Result result = undeliveredTransferResult;
+            undeliveredTransferResult = null;
+            observer.onTransferFinished(undeliveredTransferIsExport, result);
+        }
+    }
+
+    /**
+     * Detaches an observer attached with {@link #setTransferObserver}. Transfers keep running.
+     * Must be called on the main thread.
+     *
+     * @param observer The observer to detach; nothing happens if another observer has replaced it
+     */
+    public void removeTransferObserver(TransferObserver observer) {
+        if (transferObserver == observer) {
+            transferObserver = null;
+        }
+    }
+
+    /**
+     * Runs a transfer on the worker pool unless one is already running.
+     * Nothing cancels the call, so the transfer always runs to its end.
+     *
+     * @param export true for an export, false for an import
+     * @param transfer The background transfer
+     * @return false if another transfer is still running
+     */
+    private boolean startTransfer(boolean export, Query<DataTransfer.Result> transfer) {
+        if (transferRunning) {
+            return false;
+        }
+        transferRunning = true;
+        transferRows = 0;
+        transferTotalRows = -1;
+        undeliveredTransferResult = null;
+        Callback<DataTransfer.Result> callback = result -> finishTransfer(export, result);
+        Request request = export ? execute(transfer, callback) : executeWrite(transfer, callback);
+        request.onError(error -> finishTransfer(export, DataTransfer.Result.failed(DataTransfer.describe(error))));
+        return true;
+    }
+
+    /**
+     * Records the outcome of the transfer and passes it to the observer, or keeps it for the next one.
+     *
+     * @param export true for an export, false for an import
+     * @param result The outcome
+     */
+    private void finishTransfer(boolean export, DataTransfer.Result result) {
+        transferRunning = false;
+        if (transferObserver != null) {
+            transferObserver.onTransferFinished(export, result);
+        } else {
+            undeliveredTransferResult = result;
+            undeliveredTransferIsExport = export;
+        }
+    }
+
+    /**
+     * @return A progress listener, callable from a worker thread, that records the
+     *         progress of the running transfer and passes it to the observer on the main thread
+     */
+    private DataTransfer.ProgressListener transferProgress() {
+        return (rows, totalRows) -> mainHandler.post(() -> {
+            transferRows = rows;
+            transferTotalRows = totalRows;
+            if (transferObserver != null) {
+                transferObserver.onTransferProgress(rows, totalRows);
+            }
+        });
+    }
+
+    /**
+     * Deletes a document the app created, such as an export that did not complete.
+     *
+     * @param uri The document
+     * @return true if the document was deleted
+     */
+    private boolean deleteDocument(Uri uri) {
+        try {
+            return DocumentsContract.deleteDocument(contentResolver, uri);
+        } catch (FileNotFoundException | RuntimeException e) {
+            Log.w(TAG, "Cannot delete " + uri, e); // Not every provider supports deletion
+            return false;
+        }
+    }
+
+    // ==================== DATABASE ====================
+
+    /**
+     * Drops and recreates all local tables.
+     *
+     * @param callback Invoked once the reset has completed
+     * @return A handle that can be used to cancel the call
+     */
+    public Request resetDatabase(Callback<Void> callback) {
+        return executeWrite(signal -> {
+            dbHelper.resetDatabase();
+            teacherCache.invalidate();
+            courseCache.invalidateAll();
+            DataChangeNotifier.getInstance().notifyTablesChanged(DatabaseHelper.SYNCED_TABLES);
+            return null;
+        }, callback);
+    }
+}
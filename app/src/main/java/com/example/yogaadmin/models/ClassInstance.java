@@ -31,6 +31,12 @@ public class ClassInstance {
     /** Teacher's name for display purposes (populated from database JOIN) */
     private String teacherName;
 
+    /** Course name for display purposes (populated by date queries that JOIN courses) */
+    private String courseName;
+
+    /** Course start time for display purposes (populated by date queries that JOIN courses) */
+    private String courseTime;
+
     /**
      * Default constructor for creating an empty ClassInstance object.
      * Used by database operations and object instantiation.
@@ -157,4 +163,42 @@ public class ClassInstance {
     public void setTeacherName(String teacherName) { 
         this.teacherName = teacherName; 
     }
+
+    /**
+     * Gets the name of the course for display purposes.
+     * Only populated by queries that JOIN the courses table, such as date range queries.
+     * 
+     * @return The course name, or null if it was not loaded
+     */
+    public String getCourseName() {
+        return courseName;
+    }
+
+    /**
+     * Sets the name of the course for display purposes.
+     * 
+     * @param courseName The course name to set
+     */
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    /**
+     * Gets the start time of the course for display purposes.
+     * Only populated by queries that JOIN the courses table, such as date range queries.
+     * 
+     * @return The course start time, or null if it was not loaded
+     */
+    public String getCourseTime() {
+        return courseTime;
+    }
+
+    /**
+     * Sets the start time of the course for display purposes.
+     * 
+     * @param courseTime The course start time to set
+     */
+    public void setCourseTime(String courseTime) {
+        this.courseTime = courseTime;
+    }
 }
\ No newline at end of file
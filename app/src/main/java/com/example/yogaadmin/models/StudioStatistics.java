@@ -0,0 +1,150 @@
+package com.example.yogaadmin.models;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * StudioStatistics model class holds the figures shown on the statistics dashboard.
+ * All values are read from the trigger-maintained statistics tables, so building
+ * this object never scans the courses or class instances.
+ *
+ * The StudioStatistics model contains:
+ * - The number of courses and scheduled class instances
+ * - The total capacity of all instances and their projected revenue
+ * - The number of courses on each day of the week
+ * - The number of instances taught by each teacher
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class StudioStatistics {
+    /** Number of courses */
+    private int totalCourses;
+
+    /** Number of scheduled class instances */
+    private int totalInstances;
+
+    /** Sum of the course capacity over all instances */
+    private long totalCapacity;
+
+    /** Sum of the course price over all instances */
+    private double projectedRevenue;
+
+    /** Number of courses per day of week, in week order */
+    private final Map<String, Integer> coursesByDay = new LinkedHashMap<>();
+
+    /** Number of instances per teacher name, busiest teacher first */
+    private final Map<String, Integer> instancesByTeacher = new LinkedHashMap<>();
+
+    /**
+     * Gets the number of courses.
+     *
+     * @return The number of courses
+     */
+    public int getTotalCourses() {
+        return totalCourses;
+    }
+
+    /**
+     * Sets the number of courses.
+     *
+     * @param totalCourses The number of courses
+     */
+    public void setTotalCourses(int totalCourses) {
+        this.totalCourses = totalCourses;
+    }
+
+    /**
+     * Gets the number of scheduled class instances.
+     *
+     * @return The number of instances
+     */
+    public int getTotalInstances() {
+        return totalInstances;
+    }
+
+    /**
+     * Sets the number of scheduled class instances.
+     *
+     * @param totalInstances The number of instances
+     */
+    public void setTotalInstances(int totalInstances) {
+        this.totalInstances = totalInstances;
+    }
+
+    /**
+     * Gets the total number of places over all scheduled instances.
+     *
+     * @return The total capacity
+     */
+    public long getTotalCapacity() {
+        return totalCapacity;
+    }
+
+    /**
+     * Sets the total number of places over all scheduled instances.
+     *
+     * @param totalCapacity The total capacity
+     */
+    public void setTotalCapacity(long totalCapacity) {
+        this.totalCapacity = totalCapacity;
+    }
+
+    /**
+     * Gets the projected revenue, the course price summed over all scheduled instances.
+     *
+     * @return The projected revenue
+     */
+    public double getProjectedRevenue() {
+        return projectedRevenue;
+    }
+
+    /**
+     * Sets the projected revenue.
+     *
+     * @param projectedRevenue The projected revenue
+     */
+    public void setProjectedRevenue(double projectedRevenue) {
+        this.projectedRevenue = projectedRevenue;
+    }
+
+    /**
+     * Gets the number of courses on each day of the week.
+     *
+     * @return Read-only map from day name to course count, in week order
+     */
+    public Map<String, Integer> getCoursesByDay() {
+        return Collections.unmodifiableMap(coursesByDay);
+    }
+
+    /**
+     * Records the number of courses on a day of the week.
+     *
+     * @param dayOfWeek The day name
+     * @param count The number of courses on that day
+     */
+    public void putCoursesOnDay(String dayOfWeek, int count) {
+        coursesByDay.put(dayOfWeek, count);
+    }
+
+    /**
+     * Gets the number of instances taught by each teacher.
+     *
+     * @return Read-only map from teacher name to instance count, busiest teacher first
+     */
+    public Map<String, Integer> getInstancesByTeacher() {
+        return Collections.unmodifiableMap(instancesByTeacher);
+    }
+
+    /**
+     * Records the number of instances taught by a teacher.
+     * Counts for teachers sharing a name are added together.
+     *
+     * @param teacherName The teacher's name
+     * @param count The number of instances taught
+     */
+    public void addInstancesForTeacher(String teacherName, int count) {
+        instancesByTeacher.merge(teacherName, count, Integer::sum);
+    }
+}
@@ -41,9 +41,19 @@ public class Constants {
     public static final String LEVEL_ALL = "All Levels";
 
     // ==================== DATE/TIME FORMATS ====================
-    /** Standard date format used throughout the application (ISO format) */
+    /** Standard date format used throughout the application (ISO format); instance dates are stored this way so they sort and range-scan correctly */
     public static final String DATE_FORMAT = "yyyy-MM-dd";
 
+    /** Date format shown to the user in date fields and lists */
+    public static final String DISPLAY_DATE_FORMAT = "dd/MM/yyyy";
+
+    // ==================== PAGING ====================
+    /** Number of rows loaded per page by the course and instance lists */
+    public static final int PAGE_SIZE = 50;
+
+    /** Number of pages a list holds in memory; pages further from the visible rows are dropped */
+    public static final int MAX_LOADED_PAGES = 5;
+
     // ==================== INTENT EXTRA KEYS ====================
     /** Intent extra key for passing course ID between activities */
     public static final String EXTRA_COURSE_ID = "course_id";
@@ -0,0 +1,103 @@
+package com.example.yogaadmin.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * CsvReader reads comma-separated records one at a time from a character stream,
+ * following RFC 4180: fields may be quoted, quoted fields may contain commas,
+ * line breaks and doubled quotes, and records end with LF or CRLF.
+ *
+ * Only the record being read is held in memory, so files of any size can be
+ * read in constant memory. The reader should be buffered, since characters are
+ * read one at a time.
+ *
+ * The utility supports:
+ * - Quoted and unquoted fields, including empty fields
+ * - Line breaks inside quoted fields
+ * - LF, CRLF and a missing line break after the last record
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class CsvReader {
+
+    /** Field separator */
+    private static final char SEPARATOR = ',';
+
+    /** Quote character */
+    private static final char QUOTE = '"';
+
+    /** The underlying stream */
+    private final Reader in;
+
+    /** Builder reused for every field */
+    private final StringBuilder field = new StringBuilder();
+
+    /** Number of records read so far */
+    private long recordCount;
+
+    /**
+     * Creates a reader over a character stream.
+     *
+     * @param in The stream to read, preferably buffered
+     */
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return Number of records read so far, including the header
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Reads the next record. Blank lines are skipped.
+     *
+     * @param fields Cleared and filled with the fields of the record
+     * @return false if the end of the stream was reached before another record
+     * @throws IOException If the stream cannot be read or ends inside a quoted field
+     */
+    public boolean readRecord(List<String> fields) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int c = in.read();
+        while (c == '\r' || c == '\n') {
+            c = in.read(); // Blank line, or the LF of a CRLF
+        }
+        if (c == -1) {
+            return false;
+        }
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record " + (recordCount + 1));
+                }
+                if (c == QUOTE) {
+                    c = in.read();
+                    if (c != QUOTE) {
+                        quoted = false; // Closing quote; c is the character after it
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == QUOTE && field.length() == 0) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                recordCount++;
+                return true;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.yogaadmin.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CsvWriter writes comma-separated records to a character stream in the format
+ * read back by {@link CsvReader}. Fields are quoted only when they contain a
+ * comma, quote or line break; null fields are written as empty fields.
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class CsvWriter {
+
+    /** The underlying stream */
+    private final Writer out;
+
+    /**
+     * Creates a writer over a character stream.
+     *
+     * @param out The stream to write to, preferably buffered
+     */
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one record followed by CRLF.
+     *
+     * @param fields The field values; null is written as an empty field
+     * @throws IOException If the stream cannot be written
+     */
+    public void writeRecord(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(fields[i]);
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Writes one field, quoting it if needed.
+     *
+     * @param value The field value, or null
+     * @throws IOException If the stream cannot be written
+     */
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -1,6 +1,15 @@
 package com.example.yogaadmin.utils;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * DateTimeUtils provides utility methods for date and time operations.
@@ -11,12 +20,20 @@ import java.util.Locale;
  * - Converting day names to numeric day of week values
  * - Handling both full and short day name formats
  * - Locale-aware date operations
+ * - Converting between the stored ISO date format and the display format
+ * - Generating weekly schedules over a date range
  * 
  * @author YogaAdmin Team
  * @version 1.0
  */
 public class DateTimeUtils {
 
+    /** Formatter for dates stored in the database (Constants.DATE_FORMAT) */
+    private static final DateTimeFormatter STORAGE_FORMATTER = DateTimeFormatter.ofPattern(Constants.DATE_FORMAT, Locale.US);
+
+    /** Formatter for dates shown to the user (Constants.DISPLAY_DATE_FORMAT) */
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern(Constants.DISPLAY_DATE_FORMAT, Locale.US);
+
     /**
      * Converts a day name string to its corresponding numeric day of week value.
      * This method supports both full day names (e.g., "Monday") and short day names (e.g., "Mon")
@@ -49,4 +66,114 @@ public class DateTimeUtils {
         // Return -1 if no match is found
         return -1;
     }
-}
\ No newline at end of file
+
+    /**
+     * Formats a calendar date in the storage format (yyyy-MM-dd).
+     * Stored dates sort chronologically as plain text, so the date index can
+     * answer ordering and range queries directly.
+     * 
+     * @param calendar The date to format
+     * @return The date in storage format
+     */
+    public static String formatStorageDate(Calendar calendar) {
+        return toLocalDate(calendar).format(STORAGE_FORMATTER);
+    }
+
+    /**
+     * Formats a calendar date in the display format (dd/MM/yyyy).
+     * 
+     * @param calendar The date to format
+     * @return The date in display format
+     */
+    public static String formatDisplayDate(Calendar calendar) {
+        return toLocalDate(calendar).format(DISPLAY_FORMATTER);
+    }
+
+    /**
+     * Converts a stored date (yyyy-MM-dd) to the display format (dd/MM/yyyy).
+     * 
+     * @param storageDate The date as stored in the database
+     * @return The date in display format, or the input unchanged if it cannot be parsed
+     */
+    public static String storageToDisplay(String storageDate) {
+        if (storageDate == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(storageDate, STORAGE_FORMATTER).format(DISPLAY_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return storageDate;
+        }
+    }
+
+    /**
+     * Converts a display date (dd/MM/yyyy) to the storage format (yyyy-MM-dd).
+     * 
+     * @param displayDate The date as shown to the user
+     * @return The date in storage format, or null if it cannot be parsed
+     */
+    public static String displayToStorage(String displayDate) {
+        if (displayDate == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(displayDate, DISPLAY_FORMATTER).format(STORAGE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns today's date in the storage format, for "upcoming" range queries.
+     * 
+     * @return Today's date as yyyy-MM-dd
+     */
+    public static String todayStorageDate() {
+        return LocalDate.now().format(STORAGE_FORMATTER);
+    }
+
+    /**
+     * Returns every date in a range that falls on the given day of the week,
+     * leaving out excluded dates such as holidays.
+     * 
+     * @param fromDate First date of the range, inclusive (yyyy-MM-dd)
+     * @param toDate Last date of the range, inclusive (yyyy-MM-dd)
+     * @param calendarDayOfWeek Day of the week as a Calendar constant (1-7, where 1 is Sunday)
+     * @param excludedDates Dates to leave out (yyyy-MM-dd), may be empty
+     * @return Matching dates in storage format, in order; empty if the range is invalid
+     */
+    public static List<String> weeklyStorageDates(String fromDate, String toDate, int calendarDayOfWeek, Set<String> excludedDates) {
+        List<String> dates = new ArrayList<>();
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(fromDate, STORAGE_FORMATTER);
+            to = LocalDate.parse(toDate, STORAGE_FORMATTER);
+        } catch (DateTimeParseException | NullPointerException e) {
+            return dates;
+        }
+        if (calendarDayOfWeek < Calendar.SUNDAY || calendarDayOfWeek > Calendar.SATURDAY) {
+            return dates;
+        }
+
+        // Calendar counts from Sunday, java.time from Monday
+        DayOfWeek dayOfWeek = DayOfWeek.SUNDAY.plus(calendarDayOfWeek - Calendar.SUNDAY);
+        for (LocalDate date = from.with(TemporalAdjusters.nextOrSame(dayOfWeek)); !date.isAfter(to); date = date.plusWeeks(1)) {
+            String storageDate = date.format(STORAGE_FORMATTER);
+            if (!excludedDates.contains(storageDate)) {
+                dates.add(storageDate);
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Converts the calendar date fields to a LocalDate, ignoring the time of day.
+     * 
+     * @param calendar The calendar to convert
+     * @return The matching LocalDate
+     */
+    private static LocalDate toLocalDate(Calendar calendar) {
+        return LocalDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.yogaadmin.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * ScheduleIndex is a per-teacher interval index used to detect double bookings.
+ * Each slot is a half-open interval [start, start + duration) on a minute axis,
+ * so the same index serves both weekly course slots (day of week + start time)
+ * and dated class instances (date + start time).
+ *
+ * Slots are kept in one sorted map per teacher, keyed by start minute. Because
+ * no slot is longer than the longest one added, every slot that can overlap a
+ * query starts inside the window (start - longest duration, end), so an overlap
+ * check is a single range lookup: O(log n) plus the few slots in that window.
+ * Slots can be removed and replaced by ID, so the index can follow single-row
+ * changes without being rebuilt.
+ *
+ * The axis of a weekly index wraps around: a class late on Sunday that runs
+ * past midnight overlaps classes early on Monday. Such an index is created
+ * with the length of a week as its period, and lookups and audits also check
+ * each class shifted by one period.
+ *
+ * The utility supports:
+ * - Converting weekly and dated class times to minute offsets
+ * - Adding, replacing and removing slots by ID
+ * - Finding the slots a proposed assignment would overlap
+ * - Auditing the whole index for overlapping pairs in one sweep per teacher
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class ScheduleIndex {
+
+    /** Minutes in one day */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Minutes in one week, the period of an index of weekly slots */
+    public static final long MINUTES_PER_WEEK = 7L * MINUTES_PER_DAY;
+
+    /**
+     * A scheduled class taught by one teacher.
+     */
+    public static final class Slot {
+        /** ID of the course or instance this slot stands for */
+        public final int id;
+
+        /** ID of the teacher who teaches it */
+        public final int teacherId;
+
+        /** First minute of the class on the index's minute axis */
+        public final long start;
+
+        /** Length of the class in minutes */
+        public final int duration;
+
+        /** Human-readable description, e.g. course name, day and time */
+        public final String label;
+
+        /**
+         * Creates a slot.
+         *
+         * @param id ID of the course or instance
+         * @param teacherId ID of the teacher
+         * @param start First minute, from {@link #weeklyStart} or {@link #datedStart}
+         * @param duration Length in minutes
+         * @param label Description shown to the user
+         */
+        public Slot(int id, int teacherId, long start, int duration, String label) {
+            this.id = id;
+            this.teacherId = teacherId;
+            this.start = start;
+            this.duration = duration;
+            this.label = label;
+        }
+
+        /**
+         * @return The minute after the class ends
+         */
+        public long end() {
+            return start + duration;
+        }
+
+        /**
+         * @param other Another slot
+         * @return true if both slots share at least one minute
+         */
+        public boolean overlaps(Slot other) {
+            return start < other.end() && other.start < end();
+        }
+    }
+
+    /**
+     * Two slots of the same teacher that overlap.
+     */
+    public static final class Conflict {
+        /** The slot that starts first */
+        public final Slot first;
+
+        /** The slot that starts during the first one */
+        public final Slot second;
+
+        Conflict(Slot first, Slot second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    /** Slots of each teacher, keyed by start minute */
+    private final Map<Integer, TreeMap<Long, List<Slot>>> slotsByTeacher = new HashMap<>();
+
+    /** Every slot, keyed by ID */
+    private final Map<Integer, Slot> slotsById = new HashMap<>();
+
+    /** Length of the axis after which it wraps around, or 0 if it does not */
+    private final long period;
+
+    /** Longest duration added so far; bounds how far back an overlapping slot can start */
+    private int longestDuration;
+
+    /**
+     * Creates an index of dated slots, whose axis does not wrap.
+     */
+    public ScheduleIndex() {
+        this(0);
+    }
+
+    /**
+     * Creates an index whose axis wraps around after the given period.
+     *
+     * @param period Length of the axis in minutes, e.g. {@link #MINUTES_PER_WEEK}, or 0 if it does not wrap
+     */
+    public ScheduleIndex(long period) {
+        this.period = period;
+    }
+
+    /**
+     * Returns the start minute of a weekly class, counted from Monday 00:00.
+     *
+     * @param dayOfWeek Day name as stored for courses (see Constants.DAYS_OF_WEEK)
+     * @param time Start time (HH:mm)
+     * @return The start minute, or -1 if the day or time cannot be read
+     */
+    public static long weeklyStart(String dayOfWeek, String time) {
+        int minute = minuteOfDay(time);
+        for (int day = 0; day < Constants.DAYS_OF_WEEK.length; day++) {
+            if (Constants.DAYS_OF_WEEK[day].equalsIgnoreCase(dayOfWeek)) {
+                return minute < 0 ? -1 : (long) day * MINUTES_PER_DAY + minute;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the start minute of a class on a given date, counted from 1970-01-01 00:00.
+     *
+     * @param date Date in storage format (yyyy-MM-dd)
+     * @param time Start time (HH:mm)
+     * @return The start minute, or -1 if the date or time cannot be read
+     */
+    public static long datedStart(String date, String time) {
+        int minute = minuteOfDay(time);
+        if (date == null || minute < 0) {
+            return -1;
+        }
+        try {
+            return LocalDate.parse(date).toEpochDay() * MINUTES_PER_DAY + minute;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses an HH:mm time into minutes after midnight.
+     *
+     * @param time The time
+     * @return Minutes after midnight, or -1 if the time cannot be read
+     */
+    private static int minuteOfDay(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int colon = time.indexOf(':');
+        if (colon < 1) {
+            return -1;
+        }
+        try {
+            int hours = Integer.parseInt(time.substring(0, colon).trim());
+            int minutes = Integer.parseInt(time.substring(colon + 1).trim());
+            if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+                return -1;
+            }
+            return hours * 60 + minutes;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Adds a slot, replacing any slot with the same ID. Slots with an unreadable
+     * start or no duration are not kept, since they cannot overlap anything.
+     *
+     * @param slot The slot to add
+     */
+    public void add(Slot slot) {
+        remove(slot.id);
+        if (slot.start < 0 || slot.duration <= 0) {
+            return;
+        }
+        TreeMap<Long, List<Slot>> slots = slotsByTeacher.get(slot.teacherId);
+        if (slots == null) {
+            slots = new TreeMap<>();
+            slotsByTeacher.put(slot.teacherId, slots);
+        }
+        List<Slot> sameStart = slots.get(slot.start);
+        if (sameStart == null) {
+            sameStart = new ArrayList<>(1);
+            slots.put(slot.start, sameStart);
+        }
+        sameStart.add(slot);
+        slotsById.put(slot.id, slot);
+        longestDuration = Math.max(longestDuration, slot.duration);
+    }
+
+    /**
+     * Removes the slot with the given ID, if the index holds one. The longest
+     * duration is left as it was, since it only has to bound the slots held.
+     *
+     * @param id ID of the course or instance
+     * @return true if a slot was removed
+     */
+    public boolean remove(int id) {
+        Slot slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        TreeMap<Long, List<Slot>> slots = slotsByTeacher.get(slot.teacherId);
+        List<Slot> sameStart = slots.get(slot.start);
+        sameStart.remove(slot);
+        if (sameStart.isEmpty()) {
+            slots.remove(slot.start);
+            if (slots.isEmpty()) {
+                slotsByTeacher.remove(slot.teacherId);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Number of slots in the index
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Finds the slots of a teacher that overlap a proposed class.
+     *
+     * @param teacherId The teacher to check
+     * @param start First minute of the proposed class
+     * @param duration Length of the proposed class in minutes
+     * @param ignoreId ID of the slot being edited, which cannot conflict with itself, or -1
+     * @return The overlapping slots in start order, empty if the assignment is free
+     */
+    public List<Slot> findOverlaps(int teacherId, long start, int duration, int ignoreId) {
+        TreeMap<Long, List<Slot>> slots = slotsByTeacher.get(teacherId);
+        if (slots == null || start < 0 || duration <= 0) {
+            return Collections.emptyList();
+        }
+        List<Slot> overlaps = new ArrayList<>();
+        collectOverlaps(slots, new Slot(ignoreId, teacherId, start, duration, null), overlaps);
+        if (period > 0) {
+            // The proposed class may run on into the start of the axis, or be reached by a class running past its end
+            collectOverlaps(slots, new Slot(ignoreId, teacherId, start - period, duration, null), overlaps);
+            collectOverlaps(slots, new Slot(ignoreId, teacherId, start + period, duration, null), overlaps);
+            overlaps.sort((a, b) -> Long.compare(a.start, b.start));
+        }
+        return overlaps;
+    }
+
+    /**
+     * Adds the slots of one teacher that overlap a proposed class to a list.
+     *
+     * @param slots The teacher's slots
+     * @param proposed The proposed class; its ID is the slot being edited, which is skipped
+     * @param overlaps Receives the overlapping slots not yet in the list
+     */
+    private void collectOverlaps(TreeMap<Long, List<Slot>> slots, Slot proposed, List<Slot> overlaps) {
+        // Only slots starting in this window can reach into the proposed class
+        NavigableMap<Long, List<Slot>> window = slots.subMap(proposed.start - longestDuration, false, proposed.end(), false);
+        for (List<Slot> sameStart : window.values()) {
+            for (Slot slot : sameStart) {
+                if (slot.id != proposed.id && slot.overlaps(proposed) && !overlaps.contains(slot)) {
+                    overlaps.add(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists every pair of overlapping slots in the index. Each teacher's slots
+     * are swept once in start order while the classes still running are kept
+     * in a queue ordered by end, so the audit costs O(n log n) plus one step
+     * per conflict found. On a wrapping axis, the slots that run past its end
+     * are then checked against the slots at its start.
+     *
+     * @return All conflicts, grouped by teacher and in start order within a teacher
+     */
+    public List<Conflict> findAllConflicts() {
+        List<Conflict> conflicts = new ArrayList<>();
+        PriorityQueue<Slot> running = new PriorityQueue<>((a, b) -> Long.compare(a.end(), b.end()));
+        for (TreeMap<Long, List<Slot>> slots : slotsByTeacher.values()) {
+            running.clear();
+            for (List<Slot> sameStart : slots.values()) {
+                long start = sameStart.get(0).start;
+                // Classes that ended by now cannot overlap this or any later slot
+                while (!running.isEmpty() && running.peek().end() <= start) {
+                    running.poll();
+                }
+                for (Slot slot : sameStart) {
+                    for (Slot other : running) {
+                        conflicts.add(new Conflict(other, slot));
+                    }
+                    running.add(slot);
+                }
+            }
+            if (period > 0) {
+                for (List<Slot> sameStart : slots.tailMap(period - longestDuration, false).values()) {
+                    for (Slot slot : sameStart) {
+                        if (slot.end() <= period) {
+                            continue;
+                        }
+                        // Slots starting before this one's end, one period on, run while it does
+                        for (List<Slot> early : slots.headMap(slot.end() - period, false).values()) {
+                            for (Slot other : early) {
+                                if (other != slot) {
+                                    conflicts.add(new Conflict(slot, other));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+}
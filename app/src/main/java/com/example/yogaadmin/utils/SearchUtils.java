@@ -0,0 +1,92 @@
+package com.example.yogaadmin.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * SearchUtils provides helper methods for the course full-text search.
+ * This class turns free text typed by the user into an FTS4 MATCH expression
+ * and scores matches from the FTS4 matchinfo() blob.
+ *
+ * The utility methods support:
+ * - Tokenising user input into safe prefix terms
+ * - Relevance ranking with per-column weights
+ *
+ * @author YogaAdmin Team
+ * @version 1.0
+ */
+public class SearchUtils {
+
+    /**
+     * Format string to pass to matchinfo(): phrase count, column count,
+     * total document count, then per phrase/column hit statistics.
+     */
+    public static final String MATCHINFO_FORMAT = "pcnx";
+
+    /**
+     * Builds an FTS4 MATCH expression from free text.
+     * Every word becomes a prefix term, so "vin ann" matches "Vinyasa with Anna".
+     * Characters other than letters and digits are treated as separators, which also
+     * strips FTS operators and quotes that would otherwise make the query invalid.
+     *
+     * @param text The text typed by the user
+     * @return The MATCH expression, or null if the text contains no searchable words
+     */
+    public static String toMatchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append(token).append('*');
+                token.setLength(0);
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Computes a relevance score from a matchinfo() blob produced with {@link #MATCHINFO_FORMAT}.
+     * Each phrase hit in a column adds the column weight multiplied by an inverse document
+     * frequency, so rare words and hits in heavily weighted columns rank first.
+     *
+     * @param matchInfo The raw matchinfo() blob (native byte order 32-bit integers)
+     * @param columnWeights Weight per FTS column, in table column order
+     * @return The relevance score (higher is better)
+     */
+    public static double rank(byte[] matchInfo, double[] columnWeights) {
+        if (matchInfo == null || matchInfo.length < 12) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+        int documentCount = buffer.getInt(8);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int offset = 12 + 12 * (phrase * columnCount + column);
+                if (offset + 12 > matchInfo.length) {
+                    return score;
+                }
+                int hitsInRow = buffer.getInt(offset);
+                int documentsWithHits = buffer.getInt(offset + 8);
+                if (hitsInRow > 0 && documentsWithHits > 0) {
+                    double weight = column < columnWeights.length ? columnWeights[column] : 1.0;
+                    double idf = Math.log(1.0 + (double) documentCount / documentsWithHits);
+                    score += weight * hitsInRow * idf;
+                }
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.FirebaseSyncManager;
+import com.example.yogaadmin.database.SyncLogDAO;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that a sync is sent as bounded multi-path updates and that no more
+ * than the configured number of batches are in flight at once.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BatchedSyncTest {
+
+    private FakeSyncRemote remote;
+    private FirebaseSyncManager syncManager;
+    private SyncLogDAO syncLogDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        SQLiteDatabase db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        remote = new FakeSyncRemote();
+        syncManager = new FirebaseSyncManager(context, remote, Runnable::run);
+        syncManager.setBatchSize(4);
+        syncManager.setMaxOutstandingBatches(2);
+        syncLogDAO = new SyncLogDAO(context);
+        // 10 teachers: three batches of 4, 4 and 2 rows
+        for (int i = 0; i < 10; i++) {
+            db.execSQL("INSERT INTO teachers (name, sync_id) VALUES ('Teacher " + i + "', 'teacher-" + i + "')");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void sync_groupsChangesIntoBatches() {
+        syncManager.syncAllData();
+
+        assertEquals(Arrays.asList(4, 4, 2), remote.batches);
+        assertEquals(10, remote.data.size());
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void sync_waitsForAcknowledgementsBeforeSubmittingMore() {
+        remote.deferCompletions = true;
+        syncManager.syncAllData();
+
+        assertEquals(2, remote.batches.size());
+
+        remote.completeNext();
+        assertEquals(3, remote.batches.size());
+        assertTrue(syncLogDAO.getPendingCount() > 0);
+
+        remote.completeNext();
+        remote.completeNext();
+        assertEquals(10, remote.data.size());
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void failedBatch_stopsSubmissionAndKeepsChangesPending() {
+        remote.deferCompletions = true;
+        remote.failWrites = true;
+        syncManager.syncAllData();
+
+        remote.completeNext();
+        remote.completeNext();
+
+        assertEquals(2, remote.batches.size());
+        assertTrue(remote.pending.isEmpty());
+        assertEquals(10, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void interruptedSync_resumesAfterLastAcknowledgedBatch() {
+        remote.deferCompletions = true;
+        syncManager.syncAllData();
+
+        remote.completeNext();
+        remote.failWrites = true;
+        remote.completeNext();
+        remote.completeNext();
+        assertEquals(6, syncLogDAO.getPendingCount());
+
+        remote.deferCompletions = false;
+        remote.failWrites = false;
+        remote.batches.clear();
+        syncManager.syncAllData();
+
+        assertEquals(Arrays.asList(4, 2), remote.batches);
+        assertEquals(10, remote.data.size());
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void pendingChanges_areReadInChunksOrderedByLatestChange() {
+        SQLiteDatabase db = DatabaseHelper.getInstance(ApplicationProvider.getApplicationContext()).getWritableDatabase();
+        db.execSQL("UPDATE teachers SET name = 'Renamed' WHERE _id = 1");
+
+        List<SyncLogDAO.Change> first = syncLogDAO.getPendingChanges(0, 4);
+        List<SyncLogDAO.Change> rest = syncLogDAO.getPendingChanges(first.get(3).seq, 100);
+
+        assertEquals(2, first.get(0).rowId);
+        assertEquals(6, rest.size());
+        assertEquals(1, rest.get(5).rowId);
+        assertEquals("Renamed", rest.get(5).values.get("name"));
+        assertEquals(10, syncLogDAO.getPendingRowCount());
+    }
+}
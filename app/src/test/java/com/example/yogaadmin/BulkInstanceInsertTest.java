@@ -0,0 +1,71 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.database.SyncLogDAO;
+import com.example.yogaadmin.utils.DateTimeUtils;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that a generated weekly schedule is inserted in one pass, skips
+ * dates that are already scheduled, and is queued for sync like any other write.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BulkInstanceInsertTest {
+
+    private SQLiteDatabase db;
+    private InstanceDAO instanceDAO;
+    private SyncLogDAO syncLogDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        instanceDAO = new InstanceDAO(context);
+        syncLogDAO = new SyncLogDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Tuesday', '09:00', 60, 20, 10.0)");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void weeklySchedule_insertsEveryDateWithItsOwnSyncId() {
+        List<String> dates = DateTimeUtils.weeklyStorageDates("2025-01-01", "2034-12-31", Calendar.TUESDAY, Collections.emptySet());
+        long syncLogBefore = syncLogDAO.getPendingCount();
+
+        assertEquals(dates.size(), instanceDAO.insertInstances(1, 1, dates));
+
+        assertEquals(dates.size(), DatabaseUtils.queryNumEntries(db, "class_instances", "course_id = 1"));
+        assertEquals(dates.size(), DatabaseUtils.longForQuery(db, "SELECT COUNT(DISTINCT sync_id) FROM class_instances", null));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, "class_instances", "updated_at = 0"));
+        assertEquals(syncLogBefore + dates.size(), syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void alreadyScheduledDates_areSkipped() {
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-09-09')");
+        List<String> dates = DateTimeUtils.weeklyStorageDates("2025-09-01", "2025-09-30", Calendar.TUESDAY, Collections.emptySet());
+
+        assertEquals(dates.size() - 1, instanceDAO.insertInstances(1, 1, dates));
+        assertEquals(0, instanceDAO.insertInstances(1, 1, dates));
+        assertEquals(dates.size(), DatabaseUtils.queryNumEntries(db, "class_instances", "course_id = 1"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteConstraintException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that deleting a course removes its class instances through the
+ * ON DELETE CASCADE foreign key in one atomic, indexed statement, that foreign
+ * keys are enforced, and that the version 12 upgrade rebuilds class_instances
+ * with the cascade.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CascadeDeleteTest {
+
+    private static final int INSTANCE_COUNT = 100_000;
+
+    private SQLiteDatabase db;
+    private CourseDAO courseDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        courseDAO = new CourseDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Yin', 1, 'Tuesday', '18:00', 60, 15, 12.5)");
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (2, 1, '2025-01-07')");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void foreignKeys_areEnforced() {
+        assertEquals(1, DatabaseUtils.longForQuery(db, "PRAGMA foreign_keys", null));
+        try {
+            db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (99, 1, '2025-01-07')");
+            fail("Instance of a missing course was inserted");
+        } catch (SQLiteConstraintException expected) {
+            assertEquals(1, DatabaseUtils.queryNumEntries(db, "class_instances"));
+        }
+    }
+
+    @Test
+    public void deleteCourse_removesManyInstancesQuickly() {
+        insertInstances(1, INSTANCE_COUNT);
+
+        long start = System.nanoTime();
+        courseDAO.deleteCourse(1);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, "courses", "_id = 1"));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, "class_instances", "course_id = 1"));
+        assertEquals(1, DatabaseUtils.queryNumEntries(db, "class_instances", "course_id = 2"));
+        assertEquals(1, DatabaseUtils.longForQuery(db, "SELECT instance_count FROM stats_totals", null));
+        assertTrue("Deleting " + INSTANCE_COUNT + " instances took " + elapsedMs + " ms", elapsedMs < 5_000);
+    }
+
+    @Test
+    public void failedDelete_leavesCourseAndEveryInstance() {
+        insertInstances(1, INSTANCE_COUNT);
+        // Abort halfway through the cascade, after half the instances are gone
+        db.execSQL("CREATE TEMP TRIGGER abort_cascade BEFORE DELETE ON class_instances"
+                + " WHEN OLD._id = " + (INSTANCE_COUNT / 2) + " BEGIN SELECT RAISE(ABORT, 'aborted'); END");
+
+        try {
+            courseDAO.deleteCourse(1);
+            fail("Delete was not aborted");
+        } catch (SQLiteException expected) {
+            assertEquals(1, DatabaseUtils.queryNumEntries(db, "courses", "_id = 1"));
+            assertEquals(INSTANCE_COUNT, DatabaseUtils.queryNumEntries(db, "class_instances", "course_id = 1"));
+            assertEquals(INSTANCE_COUNT + 1, DatabaseUtils.longForQuery(db, "SELECT instance_count FROM stats_totals", null));
+        }
+    }
+
+    @Test
+    public void upgrade_rebuildsInstancesWithCascade() {
+        // A version 11 database has no cascade; its connections did not enforce foreign keys, so orphans exist
+        Context context = ApplicationProvider.getApplicationContext();
+        SQLiteDatabase legacy = LegacyDatabase.create(context, 11);
+        legacy.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        legacy.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        legacy.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Yin', 1, 'Tuesday', '18:00', 60, 15, 12.5)");
+        legacy.execSQL("INSERT INTO class_instances (_id, course_id, teacher_id, date, sync_id) VALUES (5, 1, 1, '2025-01-06', 'a')");
+        legacy.execSQL("INSERT INTO class_instances (_id, course_id, teacher_id, date, sync_id) VALUES (6, 2, 1, '2025-01-07', 'b')");
+        legacy.execSQL("INSERT INTO class_instances (_id, course_id, teacher_id, date, sync_id) VALUES (7, 99, 1, '2025-01-08', 'c')");
+        legacy.close();
+
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        courseDAO = new CourseDAO(context);
+
+        assertTrue(DatabaseUtils.stringForQuery(db, "SELECT sql FROM sqlite_master WHERE name = 'class_instances'", null)
+                .contains("ON DELETE CASCADE"));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, "class_instances", "_id = 7"));
+        assertEquals("a", DatabaseUtils.stringForQuery(db, "SELECT sync_id FROM class_instances WHERE _id = 5", null));
+        assertEquals(2, DatabaseUtils.longForQuery(db, "SELECT instance_count FROM stats_totals", null));
+
+        // IDs keep growing past the deleted orphan, and new rows get sync ids again
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-13')");
+        assertEquals(8, DatabaseUtils.longForQuery(db, "SELECT MAX(_id) FROM class_instances", null));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, "class_instances", "sync_id IS NULL"));
+
+        courseDAO.deleteCourse(1);
+        assertEquals(1, DatabaseUtils.queryNumEntries(db, "class_instances"));
+        assertEquals(1, DatabaseUtils.longForQuery(db, "SELECT instance_count FROM stats_totals", null));
+    }
+
+    private void insertInstances(int courseId, int count) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (?, 1, ?)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < count; i++) {
+                insert.bindLong(1, courseId);
+                insert.bindString(2, "2025-01-" + (i % 28 + 10));
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+}
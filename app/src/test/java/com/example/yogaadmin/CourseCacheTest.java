@@ -0,0 +1,100 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseCache;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.RemoteChangeApplier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that repeated course reads are served from the course cache and
+ * that writes to courses and teacher names invalidate it.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CourseCacheTest {
+
+    private Context context;
+    private SQLiteDatabase db;
+    private CourseCache cache;
+    private CourseDAO courseDAO;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        CourseCache.releaseInstance(); // Start empty even if an earlier test filled it
+        cache = CourseCache.getInstance();
+        courseDAO = new CourseDAO(context);
+        db.execSQL("INSERT INTO teachers (name, updated_at, sync_id) VALUES ('Anna', 100, 'anna')");
+        for (int i = 1; i <= 3; i++) {
+            db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                    + " VALUES ('Course " + i + "', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        CourseCache.releaseInstance();
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void repeatedReads_areCountedAsHits() {
+        assertEquals("Course 1", courseDAO.getCourseById(1).getName());
+        assertSame(courseDAO.getCourseById(1), courseDAO.getCourseById(1));
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void deleteCourse_invalidatesItsEntry() {
+        courseDAO.getCourseById(2);
+
+        courseDAO.deleteCourse(2);
+
+        assertNull(courseDAO.getCourseById(2));
+    }
+
+    @Test
+    public void pulledTeacherRename_invalidatesCachedCourses() {
+        assertEquals("Anna", courseDAO.getCourseById(1).getTeacherName());
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "Anna Smith");
+        values.put("updated_at", 200L);
+
+        new RemoteChangeApplier(context).applyChanges(
+                Collections.singletonList(new RemoteChangeApplier.RemoteChange("teachers", "anna", values)), new ArrayList<>());
+
+        assertEquals("Anna Smith", courseDAO.getCourseById(1).getTeacherName());
+    }
+
+    @Test
+    public void leastRecentlyUsedCourse_isEvictedWhenFull() {
+        int courseCount = CourseCache.DEFAULT_MAX_SIZE + 1;
+        for (int i = 4; i <= courseCount; i++) {
+            db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                    + " VALUES ('Course " + i + "', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        }
+        for (int i = 1; i <= courseCount; i++) {
+            courseDAO.getCourseById(i);
+        }
+
+        assertNull(cache.get(1));
+        assertNotNull(cache.get(2));
+        assertNotNull(cache.get(courseCount));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.yogaadmin;
+
+import android.os.Looper;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.yogaadmin.adapters.CourseSearchAdapter;
+import com.example.yogaadmin.models.YogaCourse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Verifies that a new list of search results is diffed against the one shown,
+ * so only the rows whose course or visible fields changed are updated.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CourseSearchAdapterTest {
+
+    private static final long DIFF_TIMEOUT_MS = 5000;
+
+    private CourseSearchAdapter adapter;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        adapter = new CourseSearchAdapter(course -> { });
+        submitAndWait(Arrays.asList(course(1, "Morning Flow"), course(2, "Yin"), course(3, "Power")));
+        adapter.registerAdapterDataObserver(new RecordingObserver(events));
+    }
+
+    @Test
+    public void renamedCourse_updatesOnlyItsRow() {
+        submitAndWait(Arrays.asList(course(1, "Morning Flow"), course(2, "Yin Deep Stretch"), course(3, "Power")));
+
+        assertEquals(Collections.singletonList("changed 1+1"), events);
+        assertEquals("Yin Deep Stretch", adapter.getCurrentList().get(1).getName());
+    }
+
+    @Test
+    public void unchangedResults_dispatchNoUpdates() {
+        // Fresh objects with the same contents, as every search query returns
+        submitAndWait(Arrays.asList(course(1, "Morning Flow"), course(2, "Yin"), course(3, "Power")));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void narrowedResults_removeOnlyTheMissingRows() {
+        submitAndWait(Arrays.asList(course(1, "Morning Flow"), course(3, "Power")));
+
+        assertEquals(Collections.singletonList("removed 1+1"), events);
+        assertEquals(2, adapter.getItemCount());
+    }
+
+    /**
+     * Submits a list and runs the main looper until the background diff has been applied
+     */
+    private void submitAndWait(List<YogaCourse> courses) {
+        AtomicBoolean committed = new AtomicBoolean();
+        adapter.submitList(courses, () -> committed.set(true));
+        long deadline = System.currentTimeMillis() + DIFF_TIMEOUT_MS;
+        while (!committed.get()) {
+            assertTrue("Diff was not applied in time", System.currentTimeMillis() < deadline);
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.yield();
+        }
+    }
+
+    private static YogaCourse course(int id, String name) {
+        YogaCourse course = new YogaCourse(name, "", "Beginner", "Monday", "09:00", "Flow", 1, 60, 20, 10.0);
+        course.setId(id);
+        course.setTeacherName("Anna");
+        return course;
+    }
+
+    /**
+     * Records the adapter's update events as "kind position+count"
+     */
+    static class RecordingObserver extends RecyclerView.AdapterDataObserver {
+
+        private final List<String> events;
+
+        RecordingObserver(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            events.add("changed " + positionStart + "+" + itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            events.add("inserted " + positionStart + "+" + itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            events.add("removed " + positionStart + "+" + itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            events.add("moved " + fromPosition + ">" + toPosition + "+" + itemCount);
+        }
+
+        @Override
+        public void onChanged() {
+            events.add("reset");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.DatabaseHelper;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Shows that getAllCourses() cost depends on the number of courses, not on
+ * how many class instances have accumulated: the same course list is timed
+ * with no instance history and again with 500k instances.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CourseSearchScalingBenchmarkTest {
+
+    private static final int COURSE_COUNT = 500;
+    private static final int INSTANCE_COUNT = 500_000;
+    private static final int ITERATIONS = 20;
+
+    private SQLiteDatabase db;
+    private CourseDAO courseDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        courseDAO = new CourseDAO(context);
+        seedCourses();
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void getAllCourses_staysFlatAsInstanceHistoryGrows() {
+        long emptyNanos = timeGetAllCourses();
+        seedInstances();
+        long fullNanos = timeGetAllCourses();
+
+        // Allow for timer noise; a per-instance join would be orders of magnitude slower
+        assertTrue("getAllCourses() on " + COURSE_COUNT + " courses: "
+                + emptyNanos / ITERATIONS / 1_000 + " us with no instances, "
+                + fullNanos / ITERATIONS / 1_000 + " us with " + INSTANCE_COUNT + " instances",
+                fullNanos < emptyNanos * 3 + 50_000_000L);
+    }
+
+    @Test
+    public void searchByDate_returnsEachCourseOnce() {
+        seedInstances();
+        // Every course has instances on many dates; each must still appear once
+        assertEquals(COURSE_COUNT, courseDAO.searchCourses(null, null, "2025-01-01").size());
+    }
+
+    private long timeGetAllCourses() {
+        // Warm up so class loading and the page cache do not skew the first sample
+        assertEquals(COURSE_COUNT, courseDAO.getAllCourses().size());
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            courseDAO.getAllCourses();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void seedCourses() {
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO " + DatabaseContract.TeacherEntry.TABLE_NAME + " ("
+                    + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + ") VALUES ('Benchmark Teacher')");
+            SQLiteStatement insert = db.compileStatement("INSERT INTO " + DatabaseContract.CourseEntry.TABLE_NAME + " ("
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_NAME + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_TIME + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_DURATION + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE + ") VALUES (?, 1, 'Monday', '09:00', 60, 20, 10.0)");
+            for (int i = 0; i < COURSE_COUNT; i++) {
+                insert.bindString(1, "Course " + i);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void seedInstances() {
+        db.beginTransaction();
+        try {
+            SQLiteStatement insert = db.compileStatement("INSERT INTO " + DatabaseContract.InstanceEntry.TABLE_NAME + " ("
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_COURSE_ID + ", "
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_TEACHER_ID + ", "
+                    + DatabaseContract.InstanceEntry.COLUMN_NAME_DATE + ") VALUES (?, 1, ?)");
+            int perCourse = INSTANCE_COUNT / COURSE_COUNT;
+            for (int course = 1; course <= COURSE_COUNT; course++) {
+                for (int i = 0; i < perCourse; i++) {
+                    insert.bindLong(1, course);
+                    insert.bindString(2, String.format(Locale.US, "%04d-%02d-%02d", 2025 + i / 365, 1 + (i % 365) / 31, 1 + (i % 365) % 28));
+                    insert.executeInsert();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
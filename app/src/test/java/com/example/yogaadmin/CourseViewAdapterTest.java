@@ -0,0 +1,143 @@
+package com.example.yogaadmin;
+
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.adapters.CourseViewAdapter;
+import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.Constants;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Verifies that the course list keeps a bounded window of pages while
+ * scrolling, and that courses reported as changed are updated in place
+ * without touching the other rows.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CourseViewAdapterTest {
+
+    private static final long DIFF_TIMEOUT_MS = 5000;
+    private static final int PAGE_SIZE = Constants.PAGE_SIZE;
+    private static final int MAX_PAGES = Constants.MAX_LOADED_PAGES;
+
+    private CourseViewAdapter adapter;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        adapter = new CourseViewAdapter(ApplicationProvider.getApplicationContext(), null);
+    }
+
+    @Test
+    public void scrollingDown_dropsTheTopPageOnceTheWindowIsFull() {
+        assertEquals(0, adapter.getFirstCourseId());
+        assertEquals(0, adapter.getLastCourseId());
+
+        adapter.setCourses(page(1, PAGE_SIZE));
+        awaitDiff();
+        for (int page = 1; page <= MAX_PAGES; page++) {
+            adapter.addCourses(page(adapter.getLastCourseId() + 1, PAGE_SIZE));
+            awaitDiff();
+        }
+
+        assertEquals(MAX_PAGES * PAGE_SIZE, adapter.getItemCount());
+        assertEquals(PAGE_SIZE + 1, adapter.getFirstCourseId());
+        assertEquals((MAX_PAGES + 1) * PAGE_SIZE, adapter.getLastCourseId());
+        assertEquals(PAGE_SIZE + 1, adapter.getCurrentList().get(0).getId());
+    }
+
+    @Test
+    public void scrollingBackUp_restoresTheTopPageAndDropsTheBottom() {
+        adapter.setCourses(page(1, PAGE_SIZE));
+        awaitDiff();
+        for (int page = 1; page <= MAX_PAGES; page++) {
+            adapter.addCourses(page(adapter.getLastCourseId() + 1, PAGE_SIZE));
+            awaitDiff();
+        }
+
+        adapter.addPreviousCourses(page(adapter.getFirstCourseId() - PAGE_SIZE, PAGE_SIZE));
+        awaitDiff();
+
+        assertEquals(MAX_PAGES * PAGE_SIZE, adapter.getItemCount());
+        assertEquals(1, adapter.getFirstCourseId());
+        assertEquals(MAX_PAGES * PAGE_SIZE, adapter.getLastCourseId());
+        assertEquals(1, adapter.getCurrentList().get(0).getId());
+    }
+
+    @Test
+    public void changedCourse_updatesOnlyItsRow() {
+        adapter.setCourses(page(1, 10));
+        awaitDiff();
+        adapter.registerAdapterDataObserver(new CourseSearchAdapterTest.RecordingObserver(events));
+
+        YogaCourse renamed = course(3);
+        renamed.setName("Renamed");
+        adapter.updateCourses(new int[]{3}, Collections.singletonList(renamed));
+        awaitDiff();
+
+        assertEquals(Collections.singletonList("changed 2+1"), events);
+        assertEquals("Renamed", adapter.getCurrentList().get(2).getName());
+    }
+
+    @Test
+    public void unchangedCourse_dispatchesNoUpdate() {
+        adapter.setCourses(page(1, 10));
+        awaitDiff();
+        adapter.registerAdapterDataObserver(new CourseSearchAdapterTest.RecordingObserver(events));
+
+        // A fresh copy with the same contents, as a reload after an unrelated write returns
+        adapter.updateCourses(new int[]{3}, Collections.singletonList(course(3)));
+        awaitDiff();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void deletedCourse_removesOnlyItsRow() {
+        adapter.setCourses(page(1, 10));
+        awaitDiff();
+        adapter.registerAdapterDataObserver(new CourseSearchAdapterTest.RecordingObserver(events));
+
+        adapter.updateCourses(new int[]{4}, new ArrayList<>());
+        awaitDiff();
+
+        assertEquals(Collections.singletonList("removed 3+1"), events);
+        assertEquals(9, adapter.getItemCount());
+        assertEquals(10, adapter.getLastCourseId());
+    }
+
+    /**
+     * Runs the main looper until the background diff has caught up with the page window
+     */
+    private void awaitDiff() {
+        long deadline = System.currentTimeMillis() + DIFF_TIMEOUT_MS;
+        while (!adapter.getCurrentList().equals(adapter.getPageWindow().getItems())) {
+            assertTrue("Diff was not applied in time", System.currentTimeMillis() < deadline);
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.yield();
+        }
+    }
+
+    private static List<YogaCourse> page(int firstId, int size) {
+        List<YogaCourse> courses = new ArrayList<>();
+        for (int id = firstId; id < firstId + size; id++) {
+            courses.add(course(id));
+        }
+        return courses;
+    }
+
+    private static YogaCourse course(int id) {
+        YogaCourse course = new YogaCourse("Course " + id, "", "Beginner", "Monday", "09:00", "Flow", 1, 60, 20, 10.0);
+        course.setId(id);
+        course.setTeacherName("Anna");
+        return course;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.yogaadmin;
+
+import com.example.yogaadmin.utils.CsvReader;
+import com.example.yogaadmin.utils.CsvWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CsvTest {
+
+    @Test
+    public void plainAndEmptyFields_areRead() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\n1,,3\n"));
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("a", "b", "c"), fields);
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("1", "", "3"), fields);
+        assertFalse(reader.readRecord(fields));
+        assertEquals(2, reader.getRecordCount());
+    }
+
+    @Test
+    public void quotedFields_mayHoldSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"two\r\nlines\",\"\"\r\nlast"));
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("a,b", "say \"hi\"", "two\r\nlines", ""), fields);
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("last"), fields);
+        assertFalse(reader.readRecord(fields));
+    }
+
+    @Test
+    public void blankLines_areSkipped() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\r\n\na\r\n\r\n\r\nb\r\n\n"));
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.readRecord(fields));
+        assertEquals("a", fields.get(0));
+        assertTrue(reader.readRecord(fields));
+        assertEquals("b", fields.get(0));
+        assertFalse(reader.readRecord(fields));
+    }
+
+    @Test(expected = IOException.class)
+    public void unterminatedQuote_isAnError() throws IOException {
+        new CsvReader(new StringReader("a,\"b\n")).readRecord(new ArrayList<>());
+    }
+
+    @Test
+    public void writtenRecords_readBackUnchanged() throws IOException {
+        String[][] records = {
+                {"sync_id", "name", "description"},
+                {"c1", "Flow, gently", "Bring a \"mat\"\nand water"},
+                {"c2", null, ""},
+        };
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        for (String[] record : records) {
+            writer.writeRecord(record);
+        }
+        assertTrue(out.toString().startsWith("sync_id,name,description\r\nc1,\"Flow, gently\","));
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+        List<String> fields = new ArrayList<>();
+        for (String[] record : records) {
+            assertTrue(reader.readRecord(fields));
+            for (int i = 0; i < record.length; i++) {
+                assertEquals(record[i] == null ? "" : record[i], fields.get(i));
+            }
+        }
+        assertFalse(reader.readRecord(fields));
+    }
+}
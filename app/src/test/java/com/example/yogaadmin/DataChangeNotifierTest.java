@@ -0,0 +1,121 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.database.TeacherDAO;
+import com.example.yogaadmin.models.ClassInstance;
+import com.example.yogaadmin.models.Teacher;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Verifies that DAO writes move the version of exactly the tables they touch
+ * and that listeners are told about each change on the main thread.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DataChangeNotifierTest {
+
+    private DataChangeNotifier notifier;
+    private InstanceDAO instanceDAO;
+    private CourseDAO courseDAO;
+    private TeacherDAO teacherDAO;
+    private final List<String> events = new ArrayList<>();
+    private final DataChangeNotifier.Listener listener = (tableName, rowId) -> events.add(tableName + ":" + rowId);
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        SQLiteDatabase db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        DataChangeNotifier.releaseInstance();
+        notifier = DataChangeNotifier.getInstance();
+        instanceDAO = new InstanceDAO(context);
+        courseDAO = new CourseDAO(context);
+        teacherDAO = new TeacherDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Tuesday', '09:00', 60, 20, 10.0)");
+    }
+
+    @After
+    public void tearDown() {
+        DataChangeNotifier.releaseInstance();
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void write_movesOnlyTheVersionOfTheWrittenTable() {
+        long courses = notifier.getVersion("courses");
+        long teachers = notifier.getVersion("teachers");
+
+        instanceDAO.insertInstance(new ClassInstance(1, 1, "2025-01-07"));
+
+        assertNotEquals(0, notifier.getVersion("class_instances"));
+        assertEquals(courses, notifier.getVersion("courses"));
+        assertEquals(teachers, notifier.getVersion("teachers"));
+    }
+
+    @Test
+    public void listener_receivesRowEventsOnTheMainThread() {
+        notifier.addListener(listener);
+
+        long id = teacherDAO.insertTeacher(new Teacher(0, "Ben", "", ""));
+        assertTrue(events.isEmpty()); // Not delivered until the main looper runs
+
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1, events.size());
+        assertEquals("teachers:" + id, events.get(0));
+    }
+
+    @Test
+    public void deletingACourse_alsoReportsItsInstances() {
+        instanceDAO.insertInstance(new ClassInstance(1, 1, "2025-01-07"));
+        long instances = notifier.getVersion("class_instances");
+        notifier.addListener(listener);
+
+        courseDAO.deleteCourse(1);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertNotEquals(instances, notifier.getVersion("class_instances"));
+        assertTrue(events.contains("courses:1"));
+        assertTrue(events.contains("class_instances:" + DataChangeNotifier.ALL_ROWS));
+    }
+
+    @Test
+    public void synchronousListener_isCalledBeforeTheWriteReturns() {
+        notifier.addSynchronousListener(listener);
+
+        long id = teacherDAO.insertTeacher(new Teacher(0, "Ben", "", ""));
+        assertEquals(1, events.size());
+        assertEquals("teachers:" + id, events.get(0));
+
+        notifier.removeSynchronousListener(listener);
+        notifier.notifyTablesChanged("courses");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void removedListener_isNotCalled() {
+        notifier.addListener(listener);
+        notifier.removeListener(listener);
+
+        notifier.notifyTablesChanged("courses", "teachers");
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertTrue(events.isEmpty());
+        assertEquals(2, notifier.getVersion("courses", "teachers"));
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DataTransfer;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.TeacherCache;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that teachers, courses and class instances survive a CSV or JSON
+ * export and import unchanged, that invalid rows are skipped, and that a large
+ * timetable is imported in chunks within seconds.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DataTransferTest {
+
+    private static final int TIMETABLE_SIZE = 200_000;
+
+    private Context context;
+    private SQLiteDatabase db;
+    private DataTransfer dataTransfer;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        dataTransfer = new DataTransfer(context);
+        db.execSQL("INSERT INTO teachers (name, email, sync_id) VALUES ('Anna', 'anna@example.com', 'anna')");
+        db.execSQL("INSERT INTO teachers (name, sync_id) VALUES ('Ben', 'ben')");
+        db.execSQL("INSERT INTO courses (name, description, teacher_id, day_of_week, time, duration, max_capacity, price, sync_id)"
+                + " VALUES ('Flow', 'Bring a \"mat\", water\nand a towel', 1, 'Monday', '09:00', 60, 20, 10.5, 'flow')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price, sync_id)"
+                + " VALUES ('Yin', 2, 'Tuesday', '18:00', 75, 15, 12.0, 'yin')");
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date, sync_id) VALUES (1, 2, '2025-01-06', 'i1')");
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date, sync_id) VALUES (2, 2, '2025-01-07', 'i2')");
+    }
+
+    @After
+    public void tearDown() {
+        TeacherCache.releaseInstance();
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void csvExport_importsBackUnchanged() throws IOException {
+        roundTrip(DataTransfer.Format.CSV);
+    }
+
+    @Test
+    public void jsonExport_importsBackUnchanged() throws IOException {
+        roundTrip(DataTransfer.Format.JSON);
+    }
+
+    @Test
+    public void invalidRows_areSkipped() throws IOException {
+        String csv = "sync_id,course_id,teacher_id,date,unknown_column\n"
+                + "i3,flow,anna,2025-01-13,ignored\n"   // Inserted
+                + "i1,flow,anna,2025-01-20,\n"          // Sync id already exists
+                + "i4,nowhere,anna,2025-01-27,\n"       // Course does not exist
+                + "i5,yin,anna,,\n";                    // Date is required
+
+        DataTransfer.Result result = importText("class_instances", DataTransfer.Format.CSV, csv);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(1, result.rows);
+        assertEquals(3, result.skipped);
+        assertEquals(3, DatabaseUtils.queryNumEntries(db, "class_instances"));
+        assertEquals("2025-01-13", DatabaseUtils.stringForQuery(db, "SELECT date FROM class_instances WHERE sync_id = 'i3'", null));
+        assertTrue(DatabaseUtils.longForQuery(db, "SELECT updated_at FROM class_instances WHERE sync_id = 'i3'", null) > 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void malformedJson_isAnError() throws IOException {
+        importText("teachers", DataTransfer.Format.JSON, "{\"name\": \"Cara\"}");
+    }
+
+    @Test
+    public void teacherImport_invalidatesCacheAndNotifies() throws IOException {
+        TeacherCache cache = TeacherCache.getInstance(context);
+        cache.get();
+        long version = DataChangeNotifier.getInstance().getVersion("teachers");
+
+        importText("teachers", DataTransfer.Format.JSON, "[{\"name\": \"Cara\", \"phone\": 123, \"extra\": [1, 2]}]");
+
+        assertNotNull(cache.get().getByName("Cara"));
+        assertEquals("123", cache.get().getByName("Cara").getPhone());
+        assertNotEquals(version, DataChangeNotifier.getInstance().getVersion("teachers"));
+    }
+
+    @Test
+    public void largeTimetable_importsInChunksWithinSeconds() throws IOException {
+        StringBuilder csv = new StringBuilder("course_id,teacher_id,date\n");
+        LocalDate firstDate = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < TIMETABLE_SIZE; i++) {
+            // Every row is distinct, since identical rows without a sync id are the same row
+            csv.append(i % 2 == 0 ? "flow" : "yin").append(",ben,")
+                    .append(firstDate.plusDays(i)).append('\n');
+        }
+        byte[] file = csv.toString().getBytes(StandardCharsets.UTF_8);
+        AtomicInteger progressCalls = new AtomicInteger();
+
+        long start = System.nanoTime();
+        DataTransfer.Result result = dataTransfer.importTable("class_instances", DataTransfer.Format.CSV,
+                new ByteArrayInputStream(file), (rows, totalRows) -> progressCalls.incrementAndGet(), null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(TIMETABLE_SIZE, result.rows);
+        assertEquals(0, result.skipped);
+        assertTrue(progressCalls.get() > TIMETABLE_SIZE / 2000);
+        assertEquals(TIMETABLE_SIZE + 2, DatabaseUtils.longForQuery(db, "SELECT instance_count FROM stats_totals", null));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, "class_instances", "sync_id IS NULL"));
+        assertTrue("Importing " + TIMETABLE_SIZE + " instances took " + elapsedMs + " ms", elapsedMs < 15_000);
+    }
+
+    @Test
+    public void rowsWithoutSyncId_areNotDuplicatedByASecondImport() throws IOException {
+        String csv = "course_id,teacher_id,date\n"
+                + "flow,anna,2025-01-13\n"
+                + "yin,ben,2025-01-14\n";
+
+        DataTransfer.Result first = importText("class_instances", DataTransfer.Format.CSV, csv);
+        DataTransfer.Result second = importText("class_instances", DataTransfer.Format.CSV, csv);
+
+        assertEquals(2, first.rows);
+        assertEquals(0, second.rows);
+        assertEquals(2, second.skipped);
+        assertEquals(4, DatabaseUtils.queryNumEntries(db, "class_instances"));
+    }
+
+    @Test
+    public void malformedRow_keepsAndReportsTheCommittedChunks() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        int validRows = DataTransfer.IMPORT_CHUNK_SIZE + 500;
+        for (int i = 0; i < validRows; i++) {
+            json.append("{\"name\": \"Teacher ").append(i).append("\"}, ");
+        }
+        json.append("5]");
+
+        DataTransfer.Result result = importText("teachers", DataTransfer.Format.JSON, json.toString());
+
+        assertFalse(result.isSuccessful());
+        assertTrue(result.isPartial());
+        assertEquals(DataTransfer.IMPORT_CHUNK_SIZE, result.rows);
+        assertEquals(DataTransfer.IMPORT_CHUNK_SIZE + 2, DatabaseUtils.queryNumEntries(db, "teachers"));
+    }
+
+    private void roundTrip(DataTransfer.Format format) throws IOException {
+        String[] tables = {"teachers", "courses", "class_instances"};
+        byte[][] files = new byte[tables.length][];
+        for (int i = 0; i < tables.length; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(2, dataTransfer.exportTable(tables[i], format, out, null, null).rows);
+            files[i] = out.toByteArray();
+        }
+
+        DatabaseHelper.getInstance(context).resetDatabase();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        for (int i = 0; i < tables.length; i++) {
+            DataTransfer.Result result = dataTransfer.importTable(tables[i], format,
+                    new ByteArrayInputStream(files[i]), null, null);
+            assertEquals(2, result.rows);
+            assertEquals(0, result.skipped);
+        }
+
+        assertEquals("anna@example.com", DatabaseUtils.stringForQuery(db, "SELECT email FROM teachers WHERE sync_id = 'anna'", null));
+        assertEquals("Bring a \"mat\", water\nand a towel",
+                DatabaseUtils.stringForQuery(db, "SELECT description FROM courses WHERE sync_id = 'flow'", null));
+        assertEquals("10.5", DatabaseUtils.stringForQuery(db, "SELECT price FROM courses WHERE sync_id = 'flow'", null));
+        assertEquals("ben", DatabaseUtils.stringForQuery(db, "SELECT t.sync_id FROM courses c"
+                + " JOIN teachers t ON t._id = c.teacher_id WHERE c.sync_id = 'yin'", null));
+        assertEquals("flow/ben/2025-01-06", DatabaseUtils.stringForQuery(db, "SELECT c.sync_id || '/' || t.sync_id || '/' || i.date"
+                + " FROM class_instances i JOIN courses c ON c._id = i.course_id JOIN teachers t ON t._id = i.teacher_id"
+                + " WHERE i.sync_id = 'i1'", null));
+        assertEquals(1, DatabaseUtils.queryNumEntries(db, "courses", "typeof(duration) = 'integer' AND typeof(price) = 'real' AND sync_id = 'yin'"));
+    }
+
+    private DataTransfer.Result importText(String tableName, DataTransfer.Format format, String text) throws IOException {
+        return dataTransfer.importTable(tableName, format,
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), null, null);
+    }
+}
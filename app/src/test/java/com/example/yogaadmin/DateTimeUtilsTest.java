@@ -0,0 +1,62 @@
+package com.example.yogaadmin;
+
+import com.example.yogaadmin.utils.DateTimeUtils;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DateTimeUtilsTest {
+
+    @Test
+    public void calendar_formatsForStorageAndDisplay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2025, Calendar.MARCH, 7);
+        assertEquals("2025-03-07", DateTimeUtils.formatStorageDate(calendar));
+        assertEquals("07/03/2025", DateTimeUtils.formatDisplayDate(calendar));
+    }
+
+    @Test
+    public void storageAndDisplay_roundTrip() {
+        assertEquals("07/03/2025", DateTimeUtils.storageToDisplay("2025-03-07"));
+        assertEquals("2025-03-07", DateTimeUtils.displayToStorage("07/03/2025"));
+    }
+
+    @Test
+    public void invalidDates_areHandled() {
+        assertEquals("soon", DateTimeUtils.storageToDisplay("soon"));
+        assertNull(DateTimeUtils.displayToStorage(""));
+        assertNull(DateTimeUtils.displayToStorage(null));
+    }
+
+    @Test
+    public void storageDates_sortChronologicallyAsText() {
+        assertTrue("2024-12-31".compareTo("2025-01-01") < 0);
+        assertTrue(DateTimeUtils.displayToStorage("31/12/2024").compareTo(DateTimeUtils.displayToStorage("01/01/2025")) < 0);
+    }
+
+    @Test
+    public void weeklyDates_coverEveryMatchingDayInRange() {
+        // 2025-09-02 is a Tuesday
+        assertEquals(Arrays.asList("2025-09-02", "2025-09-09", "2025-09-16", "2025-09-23", "2025-09-30"),
+                DateTimeUtils.weeklyStorageDates("2025-09-01", "2025-09-30", Calendar.TUESDAY, Collections.emptySet()));
+        assertEquals(Arrays.asList("2025-09-07", "2025-09-14"),
+                DateTimeUtils.weeklyStorageDates("2025-09-07", "2025-09-14", Calendar.SUNDAY, Collections.emptySet()));
+    }
+
+    @Test
+    public void weeklyDates_leaveOutExcludedDates() {
+        assertEquals(Arrays.asList("2025-09-02", "2025-09-16"),
+                DateTimeUtils.weeklyStorageDates("2025-09-01", "2025-09-20", Calendar.TUESDAY,
+                        new HashSet<>(Collections.singletonList("2025-09-09"))));
+    }
+
+    @Test
+    public void weeklyDates_invalidRange_isEmpty() {
+        assertTrue(DateTimeUtils.weeklyStorageDates("2025-09-30", "2025-09-01", Calendar.TUESDAY, Collections.emptySet()).isEmpty());
+        assertTrue(DateTimeUtils.weeklyStorageDates("soon", "2025-09-01", Calendar.TUESDAY, Collections.emptySet()).isEmpty());
+        assertTrue(DateTimeUtils.weeklyStorageDates("2025-09-01", "2025-09-30", -1, Collections.emptySet()).isEmpty());
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.FirebaseSyncManager;
+import com.example.yogaadmin.database.SyncLogDAO;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that a sync pushes only the rows changed since the previous
+ * successful sync, including removals for deleted rows.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DeltaSyncTest {
+
+    private SQLiteDatabase db;
+    private FakeSyncRemote remote;
+    private FirebaseSyncManager syncManager;
+    private SyncLogDAO syncLogDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        remote = new FakeSyncRemote();
+        syncManager = new FirebaseSyncManager(context, remote, Runnable::run);
+        syncLogDAO = new SyncLogDAO(context);
+        db.execSQL("INSERT INTO teachers (name, sync_id) VALUES ('Anna', 't1')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price, sync_id)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0, 'c1')");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void firstSync_pushesEveryRowOnce() {
+        syncManager.syncAllData();
+
+        assertEquals(2, remote.writes.size());
+        assertEquals("Anna", ((Map<?, ?>) remote.data.get("teachers/t1")).get("name"));
+        assertEquals("Flow", ((Map<?, ?>) remote.data.get("courses/c1")).get("name"));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void unchangedDatabase_pushesNothing() {
+        syncManager.syncAllData();
+        remote.writes.clear();
+
+        syncManager.syncAllData();
+
+        assertTrue(remote.writes.isEmpty());
+    }
+
+    @Test
+    public void update_pushesOnlyTheChangedRow() {
+        syncManager.syncAllData();
+        remote.writes.clear();
+
+        db.execSQL("UPDATE courses SET price = 12.5 WHERE _id = 1");
+        db.execSQL("UPDATE courses SET price = 15.0 WHERE _id = 1");
+        syncManager.syncAllData();
+
+        assertEquals(1, remote.writes.size());
+        assertEquals(15.0, ((Map<?, ?>) remote.data.get("courses/c1")).get("price"));
+    }
+
+    @Test
+    public void delete_removesTheRemoteRow() {
+        syncManager.syncAllData();
+
+        db.execSQL("DELETE FROM courses WHERE _id = 1");
+        syncManager.syncAllData();
+
+        assertFalse(remote.data.containsKey("courses/c1"));
+        assertTrue(remote.data.containsKey("teachers/t1"));
+    }
+
+    @Test
+    public void failedSync_isRetriedNextTime() {
+        remote.failWrites = true;
+        syncManager.syncAllData();
+        assertTrue(remote.data.isEmpty());
+        assertTrue(syncLogDAO.getPendingCount() > 0);
+
+        remote.failWrites = false;
+        syncManager.syncAllData();
+
+        assertEquals(2, remote.data.size());
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void foreignKeys_arePushedAsSyncIds() {
+        syncManager.syncAllData();
+
+        Map<?, ?> course = (Map<?, ?>) remote.data.get("courses/c1");
+        assertEquals("t1", course.get("teacher_id"));
+        assertFalse(course.containsKey("_id"));
+        assertFalse(course.containsKey("sync_id"));
+    }
+
+    @Test
+    public void rowsInsertedWithoutSyncId_getAUniqueOne() {
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Ben')");
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Cara')");
+
+        try (Cursor cursor = db.rawQuery("SELECT DISTINCT sync_id FROM teachers WHERE sync_id IS NOT NULL", null)) {
+            assertEquals(3, cursor.getCount());
+        }
+        syncManager.syncAllData();
+        assertEquals(4, remote.data.size());
+    }
+
+    @Test
+    public void reset_keepsTheChangeLogSequence() {
+        long oldSeq = DatabaseUtils.longForQuery(db, "SELECT MAX(seq) FROM sync_log", null);
+
+        DatabaseHelper.getInstance(ApplicationProvider.getApplicationContext()).resetDatabase();
+        db.execSQL("INSERT INTO teachers (name, sync_id) VALUES ('Ben', 'ben')");
+
+        // A sync run that read the old log commits its cursor after the reset
+        syncLogDAO.markPushed(oldSeq);
+        assertEquals(1, syncLogDAO.getPendingCount());
+        syncManager.syncAllData();
+        assertEquals("Ben", ((Map<?, ?>) remote.data.get("teachers/ben")).get("name"));
+    }
+
+    @Test
+    public void upgradedDatabase_movesLegacyKeysToSyncIds() {
+        // A version 6 device pushed its rows under their _id at some point before the upgrade
+        Context context = ApplicationProvider.getApplicationContext();
+        SQLiteDatabase legacy = LegacyDatabase.create(context, 6);
+        legacy.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        legacy.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        legacy.close();
+        remote.data.put("teachers/1", "legacy");
+        remote.data.put("courses/1", "legacy");
+
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        syncManager = new FirebaseSyncManager(context, remote, Runnable::run);
+        syncManager.syncAllData();
+
+        String teacherKey = DatabaseUtils.stringForQuery(db, "SELECT sync_id FROM teachers", null);
+        String courseKey = DatabaseUtils.stringForQuery(db, "SELECT sync_id FROM courses", null);
+        assertEquals(32, teacherKey.length());
+        assertEquals(2, remote.data.size());
+        assertEquals(teacherKey, ((Map<?, ?>) remote.data.get("courses/" + courseKey)).get("teacher_id"));
+        assertTrue(remote.data.containsKey("teachers/" + teacherKey));
+        assertEquals(0, new SyncLogDAO(context).getPendingCount());
+    }
+}
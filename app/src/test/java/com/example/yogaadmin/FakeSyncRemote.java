@@ -0,0 +1,125 @@
+package com.example.yogaadmin;
+
+import com.example.yogaadmin.database.SyncRemote;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * In-memory SyncRemote used by the sync tests. Updates complete immediately
+ * unless {@link #deferCompletions} is set, in which case they are held until
+ * {@link #completeNext()} is called. Setting {@link #failWrites} makes every
+ * update report an error instead.
+ *
+ * Like Firebase, every stored change is reported to the child listeners,
+ * including changes written by the device itself. {@link #putFromOtherDevice}
+ * and {@link #removeFromOtherDevice} simulate edits made elsewhere.
+ */
+public class FakeSyncRemote implements SyncRemote {
+
+    /** Stored values by path */
+    final Map<String, Object> data = new HashMap<>();
+
+    /** Every path written, in order, including removals */
+    final List<String> writes = new ArrayList<>();
+
+    /** Number of paths in each multi-path update, in order */
+    final List<Integer> batches = new ArrayList<>();
+
+    /** When true, updates are rejected and nothing is stored */
+    boolean failWrites;
+
+    /** When true, updates wait in {@link #pending} until completed by the test */
+    boolean deferCompletions;
+
+    /** Updates submitted but not yet completed */
+    final Queue<Runnable> pending = new ArrayDeque<>();
+
+    /** Child listeners by watched path */
+    final Map<String, ChildListener> listeners = new HashMap<>();
+
+    @Override
+    public void updateChildren(Map<String, Object> updates, CompletionListener listener) {
+        batches.add(updates.size());
+        writes.addAll(updates.keySet());
+        Runnable completion = () -> {
+            if (failWrites) {
+                listener.onComplete(new RuntimeException("Simulated failure"));
+                return;
+            }
+            for (Map.Entry<String, Object> entry : updates.entrySet()) {
+                store(entry.getKey(), entry.getValue());
+            }
+            listener.onComplete(null);
+        };
+        if (deferCompletions) {
+            pending.add(completion);
+        } else {
+            completion.run();
+        }
+    }
+
+    /**
+     * Completes the oldest deferred update.
+     */
+    void completeNext() {
+        pending.remove().run();
+    }
+
+    /**
+     * Stores a row as if it had been written by another device.
+     */
+    void putFromOtherDevice(String path, Map<String, Object> value) {
+        store(path, value);
+    }
+
+    /**
+     * Removes a row as if it had been deleted on another device.
+     */
+    void removeFromOtherDevice(String path) {
+        store(path, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void store(String path, Object value) {
+        if (value == null) {
+            data.remove(path);
+        } else {
+            data.put(path, value);
+        }
+        String[] parts = path.split("/", 2);
+        ChildListener listener = listeners.get(parts[0]);
+        if (listener != null) {
+            if (value == null) {
+                listener.onChildRemoved(parts[1]);
+            } else {
+                listener.onChildChanged(parts[1], (Map<String, Object>) value);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addChildListener(String path, ChildListener listener) {
+        listeners.put(path, listener);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            if (entry.getKey().startsWith(path + "/")) {
+                listener.onChildChanged(entry.getKey().substring(path.length() + 1), (Map<String, Object>) entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void removeChildListeners() {
+        listeners.clear();
+    }
+
+    @Override
+    public void removeAll(CompletionListener listener) {
+        data.clear();
+        listener.onComplete(null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.models.ClassInstance;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the version 6 upgrade that rewrites dd/MM/yyyy instance dates to
+ * yyyy-MM-dd, and the date range queries that depend on it.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class InstanceDateMigrationTest {
+
+    private SQLiteDatabase db;
+    private InstanceDAO instanceDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        instanceDAO = new InstanceDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void upgrade_rewritesLegacyDatesAndKeepsIsoDates() {
+        Context context = ApplicationProvider.getApplicationContext();
+        SQLiteDatabase legacy = LegacyDatabase.create(context, 5);
+        legacy.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        legacy.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        legacy.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '31/12/2024')");
+        legacy.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '06/01/2025')");
+        legacy.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-13')");
+        legacy.close();
+
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+
+        try (Cursor cursor = db.rawQuery("SELECT date FROM class_instances ORDER BY date", null)) {
+            assertTrue(cursor.moveToNext());
+            assertEquals("2024-12-31", cursor.getString(0));
+            assertTrue(cursor.moveToNext());
+            assertEquals("2025-01-06", cursor.getString(0));
+            assertTrue(cursor.moveToNext());
+            assertEquals("2025-01-13", cursor.getString(0));
+        }
+    }
+
+    @Test
+    public void rangeQueries_useChronologicalOrder() {
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-02-03')");
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2024-12-30')");
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-06')");
+
+        List<ClassInstance> january = instanceDAO.getInstancesBetween("2025-01-01", "2025-01-31", null);
+        assertEquals(1, january.size());
+        assertEquals("2025-01-06", january.get(0).getDate());
+
+        List<ClassInstance> upcoming = instanceDAO.getUpcomingInstances("2025-01-01", 10, null);
+        assertEquals(2, upcoming.size());
+        assertEquals("2025-01-06", upcoming.get(0).getDate());
+        assertEquals("2025-02-03", upcoming.get(1).getDate());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.models.ClassInstance;
+import com.example.yogaadmin.models.YogaCourse;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Walks the paged DAO queries end to end, forwards and backwards, and checks
+ * that every row is returned exactly once, in order, including instances that
+ * share a date.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class KeysetPagingTest {
+
+    private static final int PAGE_SIZE = 7;
+
+    private SQLiteDatabase db;
+    private CourseDAO courseDAO;
+    private InstanceDAO instanceDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        courseDAO = new CourseDAO(context);
+        instanceDAO = new InstanceDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void coursePages_coverEveryCourseOnceInIdOrder() {
+        for (int i = 0; i < 30; i++) {
+            db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                    + " VALUES ('Course " + i + "', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        }
+
+        int afterId = 0;
+        int seen = 0;
+        List<YogaCourse> page;
+        do {
+            page = courseDAO.getCoursesPage(afterId, PAGE_SIZE, null);
+            for (YogaCourse course : page) {
+                assertTrue(course.getId() > afterId);
+                assertEquals("Anna", course.getTeacherName());
+                afterId = course.getId();
+                seen++;
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        assertEquals(30, seen);
+    }
+
+    @Test
+    public void refreshedCourses_reflectRenamesAndDeletes() {
+        for (int i = 0; i < 10; i++) {
+            db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                    + " VALUES ('Course " + i + "', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        }
+        db.execSQL("UPDATE teachers SET name = 'Bea' WHERE _id = 1");
+        db.execSQL("DELETE FROM courses WHERE _id = 4");
+
+        List<YogaCourse> byId = courseDAO.getCoursesByIds(new int[]{3, 4, 5}, null);
+        assertEquals(2, byId.size());
+        assertEquals(3, byId.get(0).getId());
+        assertEquals(5, byId.get(1).getId());
+        assertEquals("Bea", byId.get(0).getTeacherName());
+
+        List<YogaCourse> range = courseDAO.getCoursesInRange(2, Integer.MAX_VALUE, 5, null);
+        assertEquals(5, range.size());
+        assertEquals(2, range.get(0).getId());
+        assertEquals(7, range.get(4).getId()); // Course 4 was deleted
+    }
+
+    @Test
+    public void coursePagesBefore_walkBackToTheFirstCourse() {
+        for (int i = 0; i < 30; i++) {
+            db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                    + " VALUES ('Course " + i + "', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        }
+
+        int beforeId = 31;
+        int seen = 0;
+        List<YogaCourse> page;
+        do {
+            page = courseDAO.getCoursesPageBefore(beforeId, PAGE_SIZE, null);
+            // Each page is in ID order and ends just before the previous page started
+            for (int i = 0; i < page.size(); i++) {
+                assertEquals(beforeId - page.size() + i, page.get(i).getId());
+            }
+            if (!page.isEmpty()) {
+                beforeId = page.get(0).getId();
+            }
+            seen += page.size();
+        } while (page.size() == PAGE_SIZE);
+
+        assertEquals(30, seen);
+        assertEquals(1, beforeId);
+    }
+
+    @Test
+    public void instancePages_coverEveryInstanceOnceNewestFirst() {
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        // Three instances per date, so page boundaries fall inside a date
+        for (int day = 1; day <= 10; day++) {
+            for (int copy = 0; copy < 3; copy++) {
+                db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-"
+                        + (day < 10 ? "0" + day : day) + "')");
+            }
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        ClassInstance last = null;
+        List<ClassInstance> page;
+        do {
+            page = instanceDAO.getInstancesForCoursePage(1, last, PAGE_SIZE, null);
+            for (ClassInstance instance : page) {
+                if (last != null) {
+                    int byDate = instance.getDate().compareTo(last.getDate());
+                    assertTrue(byDate < 0 || (byDate == 0 && instance.getId() < last.getId()));
+                }
+                assertTrue(ids.add(instance.getId()));
+                last = instance;
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        assertEquals(30, ids.size());
+    }
+
+    @Test
+    public void instancePagesBefore_matchThePagesAfter() {
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        for (int day = 1; day <= 10; day++) {
+            for (int copy = 0; copy < 3; copy++) {
+                db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-"
+                        + (day < 10 ? "0" + day : day) + "')");
+            }
+        }
+        List<ClassInstance> first = instanceDAO.getInstancesForCoursePage(1, null, PAGE_SIZE, null);
+        List<ClassInstance> second = instanceDAO.getInstancesForCoursePage(1, first.get(PAGE_SIZE - 1), PAGE_SIZE, null);
+
+        // Walking back from the second page returns the first page again, in the same order
+        List<ClassInstance> before = instanceDAO.getInstancesForCoursePageBefore(1, second.get(0), PAGE_SIZE, null);
+
+        assertEquals(PAGE_SIZE, before.size());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            assertEquals(first.get(i).getId(), before.get(i).getId());
+        }
+        assertTrue(instanceDAO.getInstancesForCoursePageBefore(1, first.get(0), PAGE_SIZE, null).isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.DatabaseMigrations;
+import java.io.File;
+
+/**
+ * Builds the database file an older release of the app left behind, for the
+ * upgrade tests. The file starts from the version 1 schema and is brought to
+ * the requested version by the released upgrade steps, so it has exactly the
+ * tables, indexes and triggers a device on that version has.
+ *
+ * The returned connection has no foreign key enforcement, like the helper
+ * before version 12. Tests insert their rows through it, close it and then
+ * open {@link DatabaseHelper}, which runs the real upgrade.
+ */
+public final class LegacyDatabase {
+
+    private LegacyDatabase() {
+    }
+
+    /**
+     * Replaces the app database with an empty one at the given version.
+     *
+     * @param context Context used to locate the database file
+     * @param version Database version to build
+     * @return An open connection to the new file
+     */
+    public static SQLiteDatabase create(Context context, int version) {
+        DatabaseHelper.releaseInstance();
+        context.deleteDatabase(DatabaseHelper.DATABASE_NAME);
+        File file = context.getDatabasePath(DatabaseHelper.DATABASE_NAME);
+        file.getParentFile().mkdirs();
+
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(file, null);
+        db.execSQL("CREATE TABLE teachers(_id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, email TEXT, phone TEXT)");
+        db.execSQL("CREATE TABLE courses(_id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, description TEXT,"
+                + " teacher_id INTEGER NOT NULL, day_of_week TEXT NOT NULL, time TEXT NOT NULL, duration INTEGER NOT NULL,"
+                + " max_capacity INTEGER NOT NULL, FOREIGN KEY(teacher_id) REFERENCES teachers(_id))");
+        db.execSQL("CREATE TABLE class_instances(_id INTEGER PRIMARY KEY AUTOINCREMENT, course_id INTEGER NOT NULL,"
+                + " teacher_id INTEGER NOT NULL, date TEXT NOT NULL, FOREIGN KEY(course_id) REFERENCES courses(_id),"
+                + " FOREIGN KEY(teacher_id) REFERENCES teachers(_id))");
+        DatabaseMigrations.migrate(db, 1, version);
+        db.setVersion(version);
+        return db;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.database.MonthSchedule;
+import com.example.yogaadmin.models.ClassInstance;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that a month loaded with one range query is indexed by day, with
+ * course and teacher names, and that days without classes are empty.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MonthScheduleTest {
+
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    private SQLiteDatabase db;
+    private InstanceDAO instanceDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        instanceDAO = new InstanceDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Thursday', '09:00', 60, 20, 10.0)");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Yin', 1, 'Thursday', '18:00', 60, 20, 10.0)");
+        for (String date : new String[]{"2024-01-31", "2024-02-01", "2024-02-15", "2024-02-29", "2024-03-01"}) {
+            db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '" + date + "')");
+        }
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (2, 1, '2024-02-15')");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void monthRange_coversEveryDayOfTheMonth() {
+        assertArrayEquals(new String[]{"2024-02-01", "2024-02-29"}, MonthSchedule.dateRange(FEBRUARY));
+    }
+
+    @Test
+    public void schedule_indexesTheMonthsInstancesByDay() {
+        MonthSchedule schedule = load(FEBRUARY);
+
+        assertEquals(4, schedule.size());
+        assertEquals(1, schedule.getInstancesOn(1).size());
+        assertEquals(1, schedule.getInstancesOn(29).size());
+        assertTrue(schedule.getInstancesOn(2).isEmpty());
+        assertTrue(schedule.getInstancesOn(30).isEmpty());
+
+        List<ClassInstance> fifteenth = schedule.getInstancesOn(LocalDate.of(2024, 2, 15));
+        assertEquals(2, fifteenth.size());
+        assertEquals("Flow", fifteenth.get(0).getCourseName());
+        assertEquals("Yin", fifteenth.get(1).getCourseName());
+        assertEquals("18:00", fifteenth.get(1).getCourseTime());
+        assertEquals("Anna", fifteenth.get(1).getTeacherName());
+    }
+
+    @Test
+    public void dateInAnotherMonth_isEmpty() {
+        MonthSchedule schedule = load(FEBRUARY);
+        assertTrue(schedule.getInstancesOn(LocalDate.of(2024, 3, 1)).isEmpty());
+    }
+
+    @Test
+    public void dayLists_areReadOnly() {
+        MonthSchedule schedule = load(FEBRUARY);
+        try {
+            schedule.getInstancesOn(1).clear();
+            fail("Day lists must not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+            assertEquals(1, schedule.getInstancesOn(1).size());
+        }
+    }
+
+    private MonthSchedule load(YearMonth month) {
+        String[] range = MonthSchedule.dateRange(month);
+        return new MonthSchedule(month, instanceDAO.getInstancesBetween(range[0], range[1], null), 0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.FirebaseSyncManager;
+import com.example.yogaadmin.database.SyncLogDAO;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Verifies that the sync queue keeps one entry per changed row and that a
+ * failed push is retried automatically with exponential backoff.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class OfflineQueueTest {
+
+    private SQLiteDatabase db;
+    private FakeSyncRemote remote;
+    private FirebaseSyncManager syncManager;
+    private SyncLogDAO syncLogDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        remote = new FakeSyncRemote();
+        syncManager = new FirebaseSyncManager(context, remote, Runnable::run);
+        syncLogDAO = new SyncLogDAO(context);
+        db.execSQL("INSERT INTO teachers (name, updated_at, sync_id) VALUES ('Anna', 100, 'anna')");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void repeatedEdits_coalesceToOneQueuedEntry() {
+        syncManager.syncAllData();
+        assertEquals(0, syncLogDAO.getPendingCount());
+
+        for (int i = 0; i < 5; i++) {
+            db.execSQL("UPDATE teachers SET name = 'Anna " + i + "' WHERE _id = 1");
+        }
+
+        assertEquals(1, syncLogDAO.getPendingCount());
+        syncManager.syncAllData();
+        assertEquals("Anna 4", ((Map<?, ?>) remote.data.get("teachers/anna")).get("name"));
+    }
+
+    @Test
+    public void insertThenDelete_queuesOnlyTheDelete() {
+        db.execSQL("INSERT INTO teachers (name, sync_id) VALUES ('Ben', 'ben')");
+        db.execSQL("UPDATE teachers SET name = 'Benjamin' WHERE sync_id = 'ben'");
+        db.execSQL("DELETE FROM teachers WHERE sync_id = 'ben'");
+
+        assertEquals(2, syncLogDAO.getPendingCount()); // anna and ben
+        syncManager.syncAllData();
+        assertFalse(remote.data.containsKey("teachers/ben"));
+        assertTrue(remote.data.containsKey("teachers/anna"));
+    }
+
+    @Test
+    public void failedSync_isRetriedAutomaticallyAfterBackoff() {
+        remote.failWrites = true;
+        syncManager.requestSync();
+        assertTrue(remote.data.isEmpty());
+
+        remote.failWrites = false;
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(FirebaseSyncManager.RETRY_BASE_DELAY_MS));
+
+        assertTrue(remote.data.containsKey("teachers/anna"));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void unreadableChangeLog_failsTheRunAndIsRetried() {
+        // Hide the log so every read from it throws
+        db.execSQL("ALTER TABLE sync_log RENAME TO sync_log_hidden");
+        syncManager.requestSync();
+
+        assertFalse(syncManager.isSyncing());
+        assertTrue(remote.data.isEmpty());
+
+        db.execSQL("ALTER TABLE sync_log_hidden RENAME TO sync_log");
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(FirebaseSyncManager.RETRY_BASE_DELAY_MS));
+
+        assertTrue(remote.data.containsKey("teachers/anna"));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void retryDelay_doublesUpToTheMaximum() {
+        assertEquals(FirebaseSyncManager.RETRY_BASE_DELAY_MS, FirebaseSyncManager.getRetryDelayMs(1));
+        assertEquals(2 * FirebaseSyncManager.RETRY_BASE_DELAY_MS, FirebaseSyncManager.getRetryDelayMs(2));
+        assertEquals(4 * FirebaseSyncManager.RETRY_BASE_DELAY_MS, FirebaseSyncManager.getRetryDelayMs(3));
+        assertEquals(FirebaseSyncManager.RETRY_MAX_DELAY_MS, FirebaseSyncManager.getRetryDelayMs(50));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.yogaadmin;
+
+import com.example.yogaadmin.adapters.PageWindow;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PageWindowTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 3;
+
+    @Test
+    public void scrollingDown_keepsOnlyTheLastPages() {
+        PageWindow<Integer> window = new PageWindow<>(PAGE_SIZE, MAX_PAGES);
+        window.setFirstPage(rows(0, PAGE_SIZE));
+        for (int page = 1; page < 100; page++) {
+            window.append(rows(page * PAGE_SIZE, PAGE_SIZE));
+        }
+
+        List<Integer> items = window.getItems();
+        assertEquals(MAX_PAGES * PAGE_SIZE, items.size());
+        assertEquals(970, (int) window.getFirst());
+        assertEquals(999, (int) window.getLast());
+        assertTrue(window.hasPrevious());
+        assertTrue(window.hasNext());
+    }
+
+    @Test
+    public void scrollingBackUp_reloadsDroppedPagesAndDropsTheBottom() {
+        PageWindow<Integer> window = new PageWindow<>(PAGE_SIZE, MAX_PAGES);
+        window.setFirstPage(rows(0, PAGE_SIZE));
+        for (int page = 1; page < 5; page++) {
+            window.append(rows(page * PAGE_SIZE, PAGE_SIZE));
+        }
+        window.append(rows(50, 4)); // Last, short page
+
+        assertFalse(window.hasNext());
+        window.prepend(rows(window.getFirst() - PAGE_SIZE, PAGE_SIZE));
+
+        assertEquals(20, (int) window.getFirst());
+        assertEquals(49, (int) window.getLast());
+        assertTrue(window.hasNext()); // The short page was dropped again
+        assertTrue(window.hasPrevious());
+    }
+
+    @Test
+    public void shortOrEmptyPages_markTheEnds() {
+        PageWindow<Integer> window = new PageWindow<>(PAGE_SIZE, MAX_PAGES);
+        window.setFirstPage(rows(0, 3));
+        assertFalse(window.hasPrevious());
+        assertFalse(window.hasNext());
+
+        window.setFirstPage(rows(0, PAGE_SIZE));
+        window.append(new ArrayList<>());
+        assertFalse(window.hasNext());
+        assertEquals(PAGE_SIZE, window.getItems().size());
+    }
+
+    @Test
+    public void emptyWindow_hasNoKeys() {
+        PageWindow<Integer> window = new PageWindow<>(PAGE_SIZE, MAX_PAGES);
+        window.setFirstPage(new ArrayList<>());
+        assertNull(window.getFirst());
+        assertNull(window.getLast());
+        assertTrue(window.getItems().isEmpty());
+    }
+
+    @Test
+    public void put_replacesOrInsertsRowsInsideTheWindowOnly() {
+        PageWindow<Integer> window = new PageWindow<>(PAGE_SIZE, MAX_PAGES);
+        window.setFirstPage(rows(0, PAGE_SIZE));
+        window.append(rows(20, PAGE_SIZE)); // Rows 10 to 19 are missing
+
+        assertTrue(window.put(15, Comparator.naturalOrder()));
+        assertTrue(window.put(20, Comparator.naturalOrder()));
+        assertFalse(window.put(40, Comparator.naturalOrder())); // More rows follow the window
+
+        List<Integer> items = window.getItems();
+        assertEquals(2 * PAGE_SIZE + 1, items.size());
+        assertEquals(15, (int) items.get(PAGE_SIZE));
+        assertEquals(20, (int) items.get(PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void removeIfAndReload_keepThePagingFlags() {
+        PageWindow<Integer> window = new PageWindow<>(PAGE_SIZE, MAX_PAGES);
+        window.setFirstPage(rows(0, PAGE_SIZE));
+        window.append(rows(10, PAGE_SIZE));
+
+        assertTrue(window.removeIf(row -> row < PAGE_SIZE));
+        assertEquals(10, (int) window.getFirst());
+        assertEquals(1, window.find(row -> row == 12).size());
+
+        window.reload(rows(10, 5));
+        assertEquals(14, (int) window.getLast());
+        assertTrue(window.hasNext());
+
+        window.setFirstPage(rows(0, 3));
+        assertFalse(window.hasNext());
+        window.reload(rows(0, window.getCapacity())); // A full window may have rows below it
+        assertEquals(window.getCapacity(), window.getItems().size());
+        assertTrue(window.hasNext());
+    }
+
+    private static List<Integer> rows(int from, int count) {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(from + i);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.yogaadmin;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Guards the secondary indexes: each hot DAO query, built by the DAO itself,
+ * must keep resolving through an index rather than a full table scan, and
+ * every foreign key column must lead an index.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class QueryPlanTest {
+
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        db = DatabaseHelper.getInstance(ApplicationProvider.getApplicationContext()).getReadableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void instancesForCourse_usesCourseDateIndex() {
+        String plan = explain(InstanceDAO.buildCourseInstancesQuery(InstanceDAO.PAGE_FIRST, 0), "1");
+        assertTrue(plan, plan.contains(DatabaseContract.InstanceEntry.INDEX_COURSE_ID_DATE));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void instancesForCoursePage_continuesThroughCourseDateIndex() {
+        String plan = explain(InstanceDAO.buildCourseInstancesQuery(InstanceDAO.PAGE_AFTER, 20), "1", "2025-01-06", "2025-01-06", "10");
+        assertTrue(plan, plan.contains(DatabaseContract.InstanceEntry.INDEX_COURSE_ID_DATE));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void instancesForCoursePageBefore_walksCourseDateIndexBackwards() {
+        String plan = explain(InstanceDAO.buildCourseInstancesQuery(InstanceDAO.PAGE_BEFORE, 20), "1", "2025-01-06", "2025-01-06", "10");
+        assertTrue(plan, plan.contains(DatabaseContract.InstanceEntry.INDEX_COURSE_ID_DATE));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void instancesBetweenDates_rangeScansDateIndex() {
+        String plan = explain(InstanceDAO.buildInstancesBetweenQuery(), "2025-01-01", "2025-01-31");
+        assertTrue(plan, plan.contains(DatabaseContract.InstanceEntry.INDEX_DATE));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void upcomingInstances_rangeScansDateIndex() {
+        String plan = explain(InstanceDAO.buildUpcomingInstancesQuery(10), "2025-01-01");
+        assertTrue(plan, plan.contains(DatabaseContract.InstanceEntry.INDEX_DATE));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void coursesPage_rangeScansPrimaryKey() {
+        String plan = explain(CourseDAO.buildPageQuery(false, 20), "0");
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void coursesPageBefore_rangeScansPrimaryKeyBackwards() {
+        String plan = explain(CourseDAO.buildPageQuery(true, 20), "100");
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void searchByDay_usesDayIndex() {
+        String plan = explain(CourseDAO.buildSearchQuery(false, true, false), "Monday");
+        assertTrue(plan, plan.contains(DatabaseContract.CourseEntry.INDEX_DAY_OF_WEEK));
+    }
+
+    @Test
+    public void searchByDate_probesCourseDateIndexWithoutGrouping() {
+        String plan = explain(CourseDAO.buildSearchQuery(false, false, true), "2025-01-06");
+        assertTrue(plan, plan.contains(DatabaseContract.InstanceEntry.INDEX_COURSE_ID_DATE));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void searchByText_matchesFullTextIndex() {
+        String plan = explain(CourseDAO.buildSearchQuery(true, false, false), "flow*");
+        assertTrue(plan, plan.contains("VIRTUAL TABLE"));
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+    }
+
+    @Test
+    public void everyForeignKey_isIndexed() {
+        // Foreign key checks and the ON DELETE CASCADE look up child rows by these columns
+        String[] tables = {DatabaseContract.TeacherEntry.TABLE_NAME, DatabaseContract.CourseEntry.TABLE_NAME,
+                DatabaseContract.InstanceEntry.TABLE_NAME};
+        for (String table : tables) {
+            try (Cursor keys = db.rawQuery("PRAGMA foreign_key_list(" + table + ")", null)) {
+                int from = keys.getColumnIndexOrThrow("from");
+                while (keys.moveToNext()) {
+                    String column = keys.getString(from);
+                    assertTrue(table + "." + column + " has no index", isLeadingIndexColumn(table, column));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether some index on the table starts with the column.
+     */
+    private boolean isLeadingIndexColumn(String table, String column) {
+        try (Cursor indexes = db.rawQuery("PRAGMA index_list(" + table + ")", null)) {
+            int name = indexes.getColumnIndexOrThrow("name");
+            while (indexes.moveToNext()) {
+                try (Cursor info = db.rawQuery("PRAGMA index_info(" + indexes.getString(name) + ")", null)) {
+                    if (info.moveToFirst() && column.equals(info.getString(info.getColumnIndexOrThrow("name")))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs EXPLAIN QUERY PLAN and joins the detail column of every step.
+     */
+    private String explain(String sql, String... args) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.yogaadmin;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.models.YogaCourse;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares mapping 100k course rows with a getColumnIndexOrThrow() lookup per
+ * column per row (the old cursorToCourse()) against CourseDAO.COURSE_MAPPER,
+ * which resolves the indexes once per cursor. A MatrixCursor is used so the
+ * timing measures mapping only, not SQLite.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RowMapperBenchmarkTest {
+
+    private static final int ROW_COUNT = 100_000;
+    private static final int ITERATIONS = 5;
+
+    /** How many times faster the mapper must be than per-row lookups */
+    private static final double MIN_SPEEDUP = 1.25;
+
+    private static final String[] COLUMNS = {
+            DatabaseContract.CourseEntry._ID,
+            DatabaseContract.CourseEntry.COLUMN_NAME_NAME,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION,
+            DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK,
+            DatabaseContract.CourseEntry.COLUMN_NAME_TIME,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DURATION,
+            DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY,
+            DatabaseContract.CourseEntry.COLUMN_NAME_PRICE,
+            DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY,
+            DatabaseContract.CourseEntry.COLUMN_NAME_TYPE,
+            "teacher_name"
+    };
+
+    private MatrixCursor cursor;
+
+    @Before
+    public void setUp() {
+        cursor = new MatrixCursor(COLUMNS, ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            cursor.addRow(new Object[]{i, "Course " + i, "Description", 1, "Monday", "09:00",
+                    60, 20, 10.0, "Beginner", "Hatha", "Anna"});
+        }
+    }
+
+    @Test
+    public void courseMapper_matchesPerRowLookups() {
+        List<YogaCourse> expected = mapWithLookups(cursor);
+        cursor.moveToPosition(-1);
+        List<YogaCourse> actual = CourseDAO.COURSE_MAPPER.mapAll(cursor);
+
+        assertEquals(ROW_COUNT, actual.size());
+        for (int i = 0; i < ROW_COUNT; i += 9_999) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getTeacherName(), actual.get(i).getTeacherName());
+            assertEquals(expected.get(i).getPrice(), actual.get(i).getPrice(), 0.0);
+        }
+    }
+
+    @Test
+    public void courseMapper_isFasterThanPerRowLookups() {
+        // Warm up both paths so JIT compilation does not skew the first sample
+        timeLookups();
+        timeMapper();
+
+        long lookupNanos = timeLookups();
+        long mapperNanos = timeMapper();
+
+        // The mapper skips 12 name lookups per row; the fastest runs are compared to keep timer noise out
+        assertTrue("Mapping " + ROW_COUNT + " course rows: "
+                + lookupNanos / 1_000_000 + " ms with per-row getColumnIndexOrThrow(), "
+                + mapperNanos / 1_000_000 + " ms with RowMapper",
+                mapperNanos * MIN_SPEEDUP < lookupNanos);
+    }
+
+    /**
+     * @return The fastest of several runs mapping every row with per-row lookups
+     */
+    private long timeLookups() {
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            cursor.moveToPosition(-1);
+            long start = System.nanoTime();
+            List<YogaCourse> courses = mapWithLookups(cursor);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+            assertEquals(ROW_COUNT, courses.size());
+        }
+        return fastest;
+    }
+
+    /**
+     * @return The fastest of several runs mapping every row with CourseDAO.COURSE_MAPPER
+     */
+    private long timeMapper() {
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            cursor.moveToPosition(-1);
+            long start = System.nanoTime();
+            List<YogaCourse> courses = CourseDAO.COURSE_MAPPER.mapAll(cursor);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+            assertEquals(ROW_COUNT, courses.size());
+        }
+        return fastest;
+    }
+
+    /**
+     * The mapping CourseDAO used before RowMapper: one name lookup per column per row.
+     */
+    private static List<YogaCourse> mapWithLookups(Cursor cursor) {
+        List<YogaCourse> courses = new ArrayList<>();
+        while (cursor.moveToNext()) {
+            YogaCourse course = new YogaCourse();
+            course.setId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry._ID)));
+            course.setName(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_NAME)));
+            course.setDescription(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DESCRIPTION)));
+            course.setTeacherId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID)));
+            course.setTeacherName(cursor.getString(cursor.getColumnIndexOrThrow("teacher_name")));
+            course.setDayOfWeek(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK)));
+            course.setTime(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_TIME)));
+            course.setDuration(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DURATION)));
+            course.setMaxCapacity(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY)));
+            course.setPrice(cursor.getDouble(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_PRICE)));
+            course.setDifficulty(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_DIFFICULTY)));
+            course.setType(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseContract.CourseEntry.COLUMN_NAME_TYPE)));
+            courses.add(course);
+        }
+        return courses;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DataChangeNotifier;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.InstanceDAO;
+import com.example.yogaadmin.database.ScheduleConflictDetector;
+import com.example.yogaadmin.models.ClassInstance;
+import com.example.yogaadmin.models.YogaCourse;
+import com.example.yogaadmin.utils.ScheduleIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that the conflict detector follows single-row writes without
+ * rebuilding its indexes, checks a weekly schedule date by date, and treats
+ * the week as wrapping from Sunday night into Monday morning.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScheduleConflictDetectorTest {
+
+    private SQLiteDatabase db;
+    private DataChangeNotifier notifier;
+    private CourseDAO courseDAO;
+    private InstanceDAO instanceDAO;
+    private ScheduleConflictDetector detector;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        DataChangeNotifier.releaseInstance();
+        notifier = DataChangeNotifier.getInstance();
+        courseDAO = new CourseDAO(context);
+        instanceDAO = new InstanceDAO(context);
+        detector = new ScheduleConflictDetector(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Tuesday', '09:00', 60, 20, 10.0)");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Yin', 1, 'Tuesday', '09:30', 60, 20, 10.0)");
+    }
+
+    @After
+    public void tearDown() {
+        DataChangeNotifier.releaseInstance();
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void singleRowWrites_updateTheIndexesInPlace() {
+        YogaCourse yin = courseDAO.getCourseById(2);
+        assertEquals(1, detector.findCourseConflicts(yin).size());
+        assertTrue(detector.findInstanceConflicts(new ClassInstance(2, 1, "2025-01-07"), yin).isEmpty());
+
+        long flowId = instanceDAO.insertInstance(new ClassInstance(1, 1, "2025-01-07"));
+        List<ScheduleIndex.Slot> conflicts = detector.findInstanceConflicts(new ClassInstance(2, 1, "2025-01-07"), yin);
+        assertEquals(1, conflicts.size());
+        assertEquals(flowId, conflicts.get(0).id);
+
+        // A row written without a change event stays invisible, so the indexes were not rebuilt
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-14')");
+        instanceDAO.insertInstance(new ClassInstance(2, 1, "2025-01-21"));
+        assertTrue(detector.findInstanceConflicts(new ClassInstance(2, 1, "2025-01-14"), yin).isEmpty());
+
+        // The instances of a changed course move with it
+        db.execSQL("UPDATE courses SET time = '12:00' WHERE _id = 1");
+        notifier.notifyChanged("courses", 1);
+        assertTrue(detector.findCourseConflicts(yin).isEmpty());
+        assertTrue(detector.findInstanceConflicts(new ClassInstance(2, 1, "2025-01-07"), yin).isEmpty());
+
+        YogaCourse flow = new YogaCourse("Flow", "", "Beginner", "Tuesday", "12:00", "Flow Yoga", 1, 60, 20, 10.0);
+        assertEquals(1, detector.findInstanceConflicts(new ClassInstance(1, 1, "2025-01-07"), flow).size());
+        instanceDAO.deleteInstance((int) flowId);
+        assertTrue(detector.findInstanceConflicts(new ClassInstance(1, 1, "2025-01-07"), flow).isEmpty());
+    }
+
+    @Test
+    public void weeklySchedule_reportsOnlyTheDoubleBookedDates() {
+        instanceDAO.insertInstances(1, 1, Arrays.asList("2025-01-07", "2025-01-21"));
+        List<String> dates = Arrays.asList("2025-01-07", "2025-01-14", "2025-01-21");
+
+        Map<String, List<ScheduleIndex.Slot>> conflicts = detector.findInstanceConflicts(courseDAO.getCourseById(2), 1, dates);
+        assertEquals(Arrays.asList("2025-01-07", "2025-01-21"), new ArrayList<>(conflicts.keySet()));
+        assertTrue(detector.findInstanceConflicts(courseDAO.getCourseById(2), 2, dates).isEmpty());
+
+        // Dates the course itself is already scheduled on are skipped by the insert, not double-booked
+        assertTrue(detector.findInstanceConflicts(courseDAO.getCourseById(1), 1, dates).isEmpty());
+        assertTrue(detector.findInstanceConflicts(null, 1, Collections.singletonList("2025-01-07")).isEmpty());
+    }
+
+    @Test
+    public void sundayNightCourse_overlapsMondayMorning() {
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Late Flow', 1, 'Sunday', '23:30', 60, 20, 10.0)");
+        notifier.notifyChanged("courses", 3);
+
+        YogaCourse early = new YogaCourse("Sunrise", "", "Beginner", "Monday", "00:15", "Flow Yoga", 1, 45, 20, 10.0);
+        List<ScheduleIndex.Slot> conflicts = detector.findCourseConflicts(early);
+        assertEquals(1, conflicts.size());
+        assertEquals(3, conflicts.get(0).id);
+    }
+}
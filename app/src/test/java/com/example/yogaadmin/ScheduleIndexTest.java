@@ -0,0 +1,190 @@
+package com.example.yogaadmin;
+
+import com.example.yogaadmin.utils.ScheduleIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ScheduleIndexTest {
+
+    @Test
+    public void weeklyStart_countsFromMondayMidnight() {
+        assertEquals(9 * 60, ScheduleIndex.weeklyStart("Monday", "09:00"));
+        assertEquals(2 * 24 * 60 + 18 * 60 + 30, ScheduleIndex.weeklyStart("wednesday", "18:30"));
+        assertEquals(-1, ScheduleIndex.weeklyStart("Someday", "09:00"));
+        assertEquals(-1, ScheduleIndex.weeklyStart("Monday", "9am"));
+    }
+
+    @Test
+    public void datedStart_countsFromEpoch() {
+        assertEquals(24 * 60 + 60, ScheduleIndex.datedStart("1970-01-02", "01:00"));
+        assertEquals(-1, ScheduleIndex.datedStart("02/01/1970", "01:00"));
+        assertEquals(-1, ScheduleIndex.datedStart("1970-01-02", "25:00"));
+    }
+
+    @Test
+    public void overlaps_areFoundOnlyForTheSameTeacher() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(slot(1, 1, "Monday", "09:00", 60));
+        index.add(slot(2, 2, "Monday", "09:30", 60));
+
+        List<ScheduleIndex.Slot> overlaps = index.findOverlaps(1, ScheduleIndex.weeklyStart("Monday", "09:45"), 30, -1);
+        assertEquals(1, overlaps.size());
+        assertEquals(1, overlaps.get(0).id);
+        assertTrue(index.findOverlaps(3, ScheduleIndex.weeklyStart("Monday", "09:45"), 30, -1).isEmpty());
+    }
+
+    @Test
+    public void backToBackClasses_doNotOverlap() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(slot(1, 1, "Monday", "09:00", 60));
+
+        assertTrue(index.findOverlaps(1, ScheduleIndex.weeklyStart("Monday", "10:00"), 60, -1).isEmpty());
+        assertTrue(index.findOverlaps(1, ScheduleIndex.weeklyStart("Monday", "08:00"), 60, -1).isEmpty());
+        assertEquals(1, index.findOverlaps(1, ScheduleIndex.weeklyStart("Monday", "08:00"), 61, -1).size());
+    }
+
+    @Test
+    public void longClassStartingEarlier_isFound() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(slot(1, 1, "Saturday", "08:00", 240));
+        index.add(slot(2, 1, "Saturday", "10:00", 30));
+
+        List<ScheduleIndex.Slot> overlaps = index.findOverlaps(1, ScheduleIndex.weeklyStart("Saturday", "11:00"), 30, -1);
+        assertEquals(1, overlaps.size());
+        assertEquals(1, overlaps.get(0).id);
+    }
+
+    @Test
+    public void editedSlot_doesNotConflictWithItself() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(slot(7, 1, "Friday", "18:00", 60));
+
+        assertTrue(index.findOverlaps(1, ScheduleIndex.weeklyStart("Friday", "18:15"), 60, 7).isEmpty());
+        assertEquals(1, index.findOverlaps(1, ScheduleIndex.weeklyStart("Friday", "18:15"), 60, -1).size());
+    }
+
+    @Test
+    public void unreadableSlots_areIgnored() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(slot(1, 1, "Someday", "09:00", 60));
+        index.add(slot(2, 1, "Monday", "09:00", 0));
+
+        assertEquals(0, index.size());
+        assertTrue(index.findAllConflicts().isEmpty());
+    }
+
+    @Test
+    public void sundayNightClass_wrapsIntoMondayMorning() {
+        ScheduleIndex index = new ScheduleIndex(ScheduleIndex.MINUTES_PER_WEEK);
+        index.add(slot(1, 1, "Sunday", "23:30", 60));
+        index.add(slot(2, 1, "Monday", "00:15", 15));
+        index.add(slot(3, 1, "Monday", "00:30", 30)); // Starts as 1 ends
+
+        List<ScheduleIndex.Slot> overlaps = index.findOverlaps(1, ScheduleIndex.weeklyStart("Monday", "00:00"), 15, -1);
+        assertEquals(1, overlaps.size());
+        assertEquals(1, overlaps.get(0).id);
+        overlaps = index.findOverlaps(1, ScheduleIndex.weeklyStart("Sunday", "23:00"), 90, -1);
+        assertEquals(Arrays.asList(2, 1), Arrays.asList(overlaps.get(0).id, overlaps.get(1).id));
+        assertEquals(new HashSet<>(Arrays.asList("1-2")), pairs(index.findAllConflicts()));
+
+        ScheduleIndex dated = new ScheduleIndex();
+        dated.add(slot(1, 1, "Sunday", "23:30", 60));
+        assertTrue(dated.findOverlaps(1, ScheduleIndex.weeklyStart("Monday", "00:00"), 20, -1).isEmpty());
+    }
+
+    @Test
+    public void removedAndReplacedSlots_noLongerConflict() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(slot(1, 1, "Tuesday", "09:00", 60));
+        index.add(slot(2, 1, "Tuesday", "09:30", 60));
+        assertEquals(1, index.findAllConflicts().size());
+
+        index.add(slot(2, 1, "Tuesday", "10:00", 60)); // Moved back to back
+        assertEquals(2, index.size());
+        assertTrue(index.findAllConflicts().isEmpty());
+
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertEquals(1, index.size());
+        assertTrue(index.findOverlaps(1, ScheduleIndex.weeklyStart("Tuesday", "09:00"), 60, -1).isEmpty());
+    }
+
+    @Test
+    public void audit_listsEveryOverlappingPair() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(dated(1, 1, "2024-02-05", "09:00", 90));
+        index.add(dated(2, 1, "2024-02-05", "10:00", 60));
+        index.add(dated(3, 1, "2024-02-05", "10:15", 15));
+        index.add(dated(4, 1, "2024-02-05", "11:00", 60)); // Starts as 2 ends
+        index.add(dated(5, 2, "2024-02-05", "09:00", 90));
+        index.add(dated(6, 1, "2024-02-06", "09:00", 90));
+
+        Set<String> pairs = pairs(index.findAllConflicts());
+        assertEquals(new HashSet<>(Arrays.asList("1-2", "1-3", "2-3")), pairs);
+    }
+
+    @Test
+    public void lookupsAndAudit_matchBruteForce() {
+        Random random = new Random(7);
+        ScheduleIndex index = new ScheduleIndex();
+        List<ScheduleIndex.Slot> all = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            ScheduleIndex.Slot slot = new ScheduleIndex.Slot(id, 1 + random.nextInt(5),
+                    random.nextInt(14 * 24 * 60), 15 + random.nextInt(180), "slot " + id);
+            index.add(slot);
+            all.add(slot);
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            for (int j = i + 1; j < all.size(); j++) {
+                ScheduleIndex.Slot a = all.get(i);
+                ScheduleIndex.Slot b = all.get(j);
+                if (a.teacherId == b.teacherId && a.overlaps(b)) {
+                    expected.add(a.id + "-" + b.id);
+                }
+            }
+        }
+        assertEquals(expected, pairs(index.findAllConflicts()));
+
+        for (int query = 0; query < 500; query++) {
+            ScheduleIndex.Slot proposed = new ScheduleIndex.Slot(-1, 1 + random.nextInt(5),
+                    random.nextInt(14 * 24 * 60), 15 + random.nextInt(180), null);
+            Set<Integer> expectedIds = new HashSet<>();
+            for (ScheduleIndex.Slot slot : all) {
+                if (slot.teacherId == proposed.teacherId && slot.overlaps(proposed)) {
+                    expectedIds.add(slot.id);
+                }
+            }
+            Set<Integer> foundIds = new HashSet<>();
+            for (ScheduleIndex.Slot slot : index.findOverlaps(proposed.teacherId, proposed.start, proposed.duration, -1)) {
+                foundIds.add(slot.id);
+            }
+            assertEquals(expectedIds, foundIds);
+        }
+    }
+
+    private static ScheduleIndex.Slot slot(int id, int teacherId, String day, String time, int duration) {
+        return new ScheduleIndex.Slot(id, teacherId, ScheduleIndex.weeklyStart(day, time), duration, day + " " + time);
+    }
+
+    private static ScheduleIndex.Slot dated(int id, int teacherId, String date, String time, int duration) {
+        return new ScheduleIndex.Slot(id, teacherId, ScheduleIndex.datedStart(date, time), duration, date + " " + time);
+    }
+
+    private static Set<String> pairs(List<ScheduleIndex.Conflict> conflicts) {
+        Set<String> pairs = new HashSet<>();
+        for (ScheduleIndex.Conflict conflict : conflicts) {
+            int low = Math.min(conflict.first.id, conflict.second.id);
+            int high = Math.max(conflict.first.id, conflict.second.id);
+            assertTrue("Duplicate pair " + low + "-" + high, pairs.add(low + "-" + high));
+        }
+        return pairs;
+    }
+}
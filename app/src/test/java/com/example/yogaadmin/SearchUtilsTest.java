@@ -0,0 +1,63 @@
+package com.example.yogaadmin;
+
+import com.example.yogaadmin.utils.SearchUtils;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SearchUtilsTest {
+
+    private static final double[] WEIGHTS = {4.0, 1.0, 2.0, 3.0};
+
+    @Test
+    public void matchQuery_prefixesEveryWord() {
+        assertEquals("vin* ann*", SearchUtils.toMatchQuery("  Vin ANN "));
+    }
+
+    @Test
+    public void matchQuery_stripsOperatorsAndQuotes() {
+        assertEquals("flow* or* yin*", SearchUtils.toMatchQuery("\"flow\" OR -yin*"));
+    }
+
+    @Test
+    public void matchQuery_isNullWithoutWords() {
+        assertNull(SearchUtils.toMatchQuery(null));
+        assertNull(SearchUtils.toMatchQuery(""));
+        assertNull(SearchUtils.toMatchQuery(" *-\" "));
+    }
+
+    @Test
+    public void rank_weightsNameAboveDescription() {
+        // One phrase, hit once in the name column vs once in the description column
+        double nameHit = SearchUtils.rank(matchInfo(10, 2, new int[]{1, 0, 0, 0}), WEIGHTS);
+        double descriptionHit = SearchUtils.rank(matchInfo(10, 2, new int[]{0, 1, 0, 0}), WEIGHTS);
+        assertTrue(nameHit > descriptionHit);
+        assertTrue(descriptionHit > 0);
+    }
+
+    @Test
+    public void rank_prefersRareTerms() {
+        double rare = SearchUtils.rank(matchInfo(100, 1, new int[]{1, 0, 0, 0}), WEIGHTS);
+        double common = SearchUtils.rank(matchInfo(100, 90, new int[]{1, 0, 0, 0}), WEIGHTS);
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void rank_handlesMissingBlob() {
+        assertEquals(0.0, SearchUtils.rank(null, WEIGHTS), 0.0);
+        assertEquals(0.0, SearchUtils.rank(new byte[4], WEIGHTS), 0.0);
+    }
+
+    /**
+     * Builds a single-phrase 'pcnx' matchinfo blob over four columns.
+     */
+    private static byte[] matchInfo(int documentCount, int documentsWithHits, int[] hitsPerColumn) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (3 + 3 * hitsPerColumn.length)).order(ByteOrder.nativeOrder());
+        buffer.putInt(1).putInt(hitsPerColumn.length).putInt(documentCount);
+        for (int hits : hitsPerColumn) {
+            buffer.putInt(hits).putInt(hits).putInt(hits > 0 ? documentsWithHits : 0);
+        }
+        return buffer.array();
+    }
+}
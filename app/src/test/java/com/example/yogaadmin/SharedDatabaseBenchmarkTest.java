@@ -0,0 +1,109 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.CourseDAO;
+import com.example.yogaadmin.database.DatabaseContract;
+import com.example.yogaadmin.database.DatabaseHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that DAO calls share one long-lived connection, and reports
+ * getAllCourses() latency when the database is reopened for every call (the old
+ * per-DAO open/close behaviour) against the shared connection. The timings are
+ * logged rather than asserted, since they vary with the machine's load.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SharedDatabaseBenchmarkTest {
+
+    private static final String TAG = "SharedDatabaseBenchmark";
+    private static final int COURSE_COUNT = 10_000;
+    private static final int ITERATIONS = 10;
+
+    private DatabaseHelper dbHelper;
+    private CourseDAO courseDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        dbHelper = DatabaseHelper.getInstance(context);
+        courseDAO = new CourseDAO(context);
+        seedCourses(dbHelper.getWritableDatabase());
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void daoCalls_keepTheSharedConnectionOpen() {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+
+        assertEquals(COURSE_COUNT, courseDAO.getAllCourses().size());
+        assertNotNull(courseDAO.getCourseById(1));
+
+        assertTrue(db.isOpen());
+        assertSame(db, dbHelper.getReadableDatabase());
+        assertSame(db, dbHelper.getWritableDatabase());
+    }
+
+    @Test
+    public void getAllCourses_reportsSharedAgainstReopenedLatency() {
+        // Warm up both paths once so class loading does not skew the first sample
+        assertEquals(COURSE_COUNT, courseDAO.getAllCourses().size());
+
+        long reopenNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            assertEquals(COURSE_COUNT, courseDAO.getAllCourses().size());
+            // Closing the helper forces the next call to reopen YogaAdmin.db, as before
+            dbHelper.close();
+            reopenNanos += System.nanoTime() - start;
+        }
+
+        long sharedNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            assertEquals(COURSE_COUNT, courseDAO.getAllCourses().size());
+            sharedNanos += System.nanoTime() - start;
+        }
+
+        long reopenMs = reopenNanos / ITERATIONS / 1_000_000;
+        long sharedMs = sharedNanos / ITERATIONS / 1_000_000;
+        Log.i(TAG, "getAllCourses() on " + COURSE_COUNT + " courses: reopen per call "
+                + reopenMs + " ms, shared connection " + sharedMs + " ms");
+    }
+
+    private void seedCourses(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO " + DatabaseContract.TeacherEntry.TABLE_NAME + " ("
+                    + DatabaseContract.TeacherEntry.COLUMN_NAME_NAME + ") VALUES ('Benchmark Teacher')");
+            SQLiteStatement insert = db.compileStatement("INSERT INTO " + DatabaseContract.CourseEntry.TABLE_NAME + " ("
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_NAME + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_TEACHER_ID + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_DAY_OF_WEEK + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_TIME + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_DURATION + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_MAX_CAPACITY + ", "
+                    + DatabaseContract.CourseEntry.COLUMN_NAME_PRICE + ") VALUES (?, 1, 'Monday', '09:00', 60, 20, 10.0)");
+            for (int i = 0; i < COURSE_COUNT; i++) {
+                insert.bindString(1, "Course " + i);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.StatsDAO;
+import com.example.yogaadmin.models.StudioStatistics;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that the statistics tables maintained by triggers always match a
+ * full recomputation from courses and class_instances, through inserts,
+ * updates and deletes, including a course delete that cascades to its instances.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatisticsTriggerTest {
+
+    private SQLiteDatabase db;
+    private StatsDAO statsDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        statsDAO = new StatsDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Ben')");
+        insertCourse("Flow", "Monday", 20, 10.0);
+        insertCourse("Yin", "Wednesday", 15, 12.5);
+        insertInstance(1, 1, "2024-02-05");
+        insertInstance(1, 2, "2024-02-12");
+        insertInstance(2, 2, "2024-02-07");
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void inserts_areCounted() {
+        StudioStatistics statistics = statsDAO.getStatistics();
+
+        assertEquals(2, statistics.getTotalCourses());
+        assertEquals(3, statistics.getTotalInstances());
+        assertEquals(55, statistics.getTotalCapacity());
+        assertEquals(32.5, statistics.getProjectedRevenue(), 1e-9);
+        assertEquals(Integer.valueOf(1), statistics.getCoursesByDay().get("Monday"));
+        assertEquals(Integer.valueOf(0), statistics.getCoursesByDay().get("Tuesday"));
+        assertEquals(Arrays.asList("Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"),
+                Arrays.asList(statistics.getCoursesByDay().keySet().toArray()));
+        Map<String, Integer> byTeacher = statistics.getInstancesByTeacher();
+        assertEquals(Arrays.asList("Ben", "Anna"), Arrays.asList(byTeacher.keySet().toArray()));
+        assertEquals(Integer.valueOf(2), byTeacher.get("Ben"));
+        assertMatchesRecomputation();
+    }
+
+    @Test
+    public void courseUpdates_repriceExistingInstances() {
+        db.execSQL("UPDATE courses SET day_of_week = 'Friday', max_capacity = 10, price = 8.0 WHERE _id = 1");
+
+        StudioStatistics statistics = statsDAO.getStatistics();
+        assertEquals(35, statistics.getTotalCapacity());
+        assertEquals(28.5, statistics.getProjectedRevenue(), 1e-9);
+        assertEquals(Integer.valueOf(0), statistics.getCoursesByDay().get("Monday"));
+        assertEquals(Integer.valueOf(1), statistics.getCoursesByDay().get("Friday"));
+        assertMatchesRecomputation();
+    }
+
+    @Test
+    public void instanceUpdatesAndDeletes_moveCounts() {
+        db.execSQL("UPDATE class_instances SET course_id = 2, teacher_id = 1 WHERE _id = 2");
+        assertMatchesRecomputation();
+
+        db.execSQL("DELETE FROM class_instances WHERE _id = 1");
+        assertMatchesRecomputation();
+        assertEquals(2, statsDAO.getStatistics().getTotalInstances());
+    }
+
+    @Test
+    public void courseDelete_cascadesToItsInstances() {
+        db.execSQL("DELETE FROM courses WHERE _id = 1");
+        StudioStatistics statistics = statsDAO.getStatistics();
+        assertEquals(1, statistics.getTotalCourses());
+        assertEquals(1, statistics.getTotalInstances());
+        assertEquals(15, statistics.getTotalCapacity());
+        assertMatchesRecomputation();
+        assertEquals(0, count("SELECT COUNT(*) FROM stats_by_course WHERE course_id = 1"));
+    }
+
+    @Test
+    public void manyRandomWrites_matchRecomputation() {
+        Random random = new Random(42);
+        String[] days = {"Monday", "Tuesday", "Saturday"};
+        for (int step = 0; step < 500; step++) {
+            int action = random.nextInt(6);
+            int courseId = 1 + random.nextInt(count("SELECT MAX(_id) FROM courses") + 1);
+            if (action == 0) {
+                insertCourse("C" + step, days[random.nextInt(days.length)], 1 + random.nextInt(30), random.nextInt(20));
+            } else if (action == 1) {
+                db.execSQL("UPDATE courses SET day_of_week = ?, max_capacity = ?, price = ? WHERE _id = ?",
+                        new Object[]{days[random.nextInt(days.length)], 1 + random.nextInt(30), random.nextInt(20), courseId});
+            } else if (action == 2) {
+                db.execSQL("DELETE FROM courses WHERE _id = " + courseId);
+            } else if (action == 3 || action == 4) {
+                if (count("SELECT COUNT(*) FROM courses WHERE _id = " + courseId) > 0) {
+                    insertInstance(courseId, 1 + random.nextInt(2), "2024-03-01");
+                }
+            } else {
+                db.execSQL("DELETE FROM class_instances WHERE _id = (SELECT MIN(_id) FROM class_instances)");
+            }
+        }
+        assertMatchesRecomputation();
+    }
+
+    @Test
+    public void reset_startsFromZero() {
+        DatabaseHelper.getInstance(ApplicationProvider.getApplicationContext()).resetDatabase();
+        db = DatabaseHelper.getInstance(ApplicationProvider.getApplicationContext()).getWritableDatabase();
+
+        StudioStatistics statistics = statsDAO.getStatistics();
+        assertEquals(0, statistics.getTotalCourses());
+        assertEquals(0, statistics.getTotalInstances());
+        assertTrue(statistics.getInstancesByTeacher().isEmpty());
+    }
+
+    private void assertMatchesRecomputation() {
+        StudioStatistics statistics = statsDAO.getStatistics();
+        assertEquals(count("SELECT COUNT(*) FROM courses"), statistics.getTotalCourses());
+        assertEquals(count("SELECT COUNT(*) FROM class_instances"), statistics.getTotalInstances());
+        assertEquals(count("SELECT IFNULL(SUM(c.max_capacity), 0) FROM class_instances i JOIN courses c ON c._id = i.course_id"),
+                statistics.getTotalCapacity());
+        assertEquals(sum("SELECT IFNULL(SUM(c.price), 0) FROM class_instances i JOIN courses c ON c._id = i.course_id"),
+                statistics.getProjectedRevenue(), 1e-6);
+        for (Map.Entry<String, Integer> day : statistics.getCoursesByDay().entrySet()) {
+            assertEquals(day.getKey(), count("SELECT COUNT(*) FROM courses WHERE day_of_week = '" + day.getKey() + "'"),
+                    day.getValue().intValue());
+        }
+        for (Map.Entry<String, Integer> teacher : statistics.getInstancesByTeacher().entrySet()) {
+            assertEquals(teacher.getKey(), count("SELECT COUNT(*) FROM class_instances i JOIN teachers t"
+                    + " ON t._id = i.teacher_id WHERE t.name = '" + teacher.getKey() + "'"), teacher.getValue().intValue());
+        }
+    }
+
+    private void insertCourse(String name, String day, int capacity, double price) {
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES (?, 1, ?, '09:00', 60, ?, ?)", new Object[]{name, day, capacity, price});
+    }
+
+    private void insertInstance(int courseId, int teacherId, String date) {
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (?, ?, ?)",
+                new Object[]{courseId, teacherId, date});
+    }
+
+    private int count(String sql) {
+        return (int) sum(sql);
+    }
+
+    private double sum(String sql) {
+        try (Cursor cursor = db.rawQuery(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getDouble(0);
+        }
+    }
+}
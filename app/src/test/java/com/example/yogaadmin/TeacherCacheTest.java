@@ -0,0 +1,95 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.RemoteChangeApplier;
+import com.example.yogaadmin.database.TeacherCache;
+import com.example.yogaadmin.database.TeacherDAO;
+import com.example.yogaadmin.models.Teacher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that the teacher cache serves lookups from memory and is
+ * invalidated by local inserts and by teachers pulled from Firebase.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TeacherCacheTest {
+
+    private Context context;
+    private SQLiteDatabase db;
+    private TeacherCache cache;
+    private TeacherDAO teacherDAO;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        cache = TeacherCache.getInstance(context);
+        teacherDAO = new TeacherDAO(context);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Ben')");
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+    }
+
+    @After
+    public void tearDown() {
+        TeacherCache.releaseInstance();
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void snapshot_looksUpByIdAndNameInNameOrder() {
+        TeacherCache.Snapshot teachers = cache.get();
+
+        assertEquals("Anna", teachers.getTeachers().get(0).getName());
+        assertEquals("Ben", teachers.getById(1).getName());
+        assertEquals(2, teachers.getByName("Anna").getId());
+        assertEquals(1, teachers.indexOf(1));
+        assertNull(teachers.getByName("Nobody"));
+        assertEquals(-1, teachers.indexOf(42));
+    }
+
+    @Test
+    public void repeatedReads_doNotReloadUntilInvalidated() {
+        TeacherCache.Snapshot first = cache.get();
+        // Not made through TeacherDAO, so the cache does not know about it
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Cara')");
+
+        assertSame(first, cache.get());
+        cache.invalidate();
+        assertNotNull(cache.get().getByName("Cara"));
+    }
+
+    @Test
+    public void teacherDAOInsert_invalidatesCache() {
+        cache.get();
+
+        teacherDAO.insertTeacher(new Teacher(0, "Cara", "cara@example.com", "123"));
+
+        assertNotNull(cache.get().getByName("Cara"));
+    }
+
+    @Test
+    public void pulledTeacher_invalidatesCache() {
+        cache.get();
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "Dana");
+        values.put("updated_at", 100L);
+
+        new RemoteChangeApplier(context).applyChanges(
+                Collections.singletonList(new RemoteChangeApplier.RemoteChange("teachers", "dana", values)), new ArrayList<>());
+
+        assertNotNull(cache.get().getByName("Dana"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.FirebaseSyncManager;
+import com.example.yogaadmin.database.RemoteChangeApplier;
+import com.example.yogaadmin.database.SyncLogDAO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that changes made on other devices are pulled into SQLite with
+ * last-writer-wins conflict resolution and are not pushed back again.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TwoWaySyncTest {
+
+    private SQLiteDatabase db;
+    private FakeSyncRemote remote;
+    private FirebaseSyncManager syncManager;
+    private SyncLogDAO syncLogDAO;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        remote = new FakeSyncRemote();
+        syncManager = new FirebaseSyncManager(context, remote, Runnable::run);
+        syncLogDAO = new SyncLogDAO(context);
+        db.execSQL("INSERT INTO teachers (name, updated_at, sync_id) VALUES ('Anna', 100, 'anna')");
+        syncManager.syncAllData();
+        syncManager.startListening();
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void remoteInsert_isAppliedLocallyWithoutBeingPushedBack() {
+        remote.putFromOtherDevice("teachers/ben", teacher("Ben", 300));
+
+        assertEquals("Ben", localTeacherName(2));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void newerRemoteUpdate_winsOverLocalRow() {
+        remote.putFromOtherDevice("teachers/anna", teacher("Anna Smith", 200));
+
+        assertEquals("Anna Smith", localTeacherName(1));
+    }
+
+    @Test
+    public void olderRemoteUpdate_isIgnored() {
+        db.execSQL("UPDATE teachers SET name = 'Anna Local', updated_at = 500 WHERE _id = 1");
+
+        remote.putFromOtherDevice("teachers/anna", teacher("Anna Remote", 400));
+
+        assertEquals("Anna Local", localTeacherName(1));
+        // The newer local row is still pending and will overwrite the remote copy
+        syncManager.syncAllData();
+        assertEquals("Anna Local", ((Map<?, ?>) remote.data.get("teachers/anna")).get("name"));
+    }
+
+    @Test
+    public void remoteRemoval_deletesLocalRow() {
+        remote.removeFromOtherDevice("teachers/anna");
+
+        assertNull(localTeacherName(1));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void remoteRemovalOfTeacherWithCourses_isSkippedAndTheTeacherRestored() {
+        remote.putFromOtherDevice("courses/flow", course("Flow", "anna"));
+
+        remote.removeFromOtherDevice("teachers/anna");
+
+        assertEquals("Anna", localTeacherName(1));
+        try (Cursor cursor = db.rawQuery("SELECT 1 FROM courses WHERE sync_id = 'flow'", null)) {
+            assertEquals(1, cursor.getCount());
+        }
+        // The course still uses the teacher, so the remote copy is pushed again
+        assertEquals("Anna", ((Map<?, ?>) remote.data.get("teachers/anna")).get("name"));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void remoteCourseRemoval_removesTheCascadedInstancesRemotely() {
+        remote.putFromOtherDevice("courses/flow", course("Flow", "anna"));
+        remote.putFromOtherDevice("class_instances/monday", instance("flow", "anna", "2025-01-06"));
+        try (Cursor cursor = db.rawQuery("SELECT 1 FROM class_instances WHERE sync_id = 'monday'", null)) {
+            assertEquals(1, cursor.getCount());
+        }
+
+        // Only the course removal arrives; the instance node would otherwise be left behind
+        remote.removeFromOtherDevice("courses/flow");
+
+        try (Cursor cursor = db.rawQuery("SELECT 1 FROM class_instances", null)) {
+            assertEquals(0, cursor.getCount());
+        }
+        assertFalse(remote.data.containsKey("class_instances/monday"));
+        assertFalse(remote.data.containsKey("courses/flow"));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void ownPush_echoIsIgnored() {
+        db.execSQL("UPDATE teachers SET name = 'Anna B', updated_at = 150 WHERE _id = 1");
+        syncManager.syncAllData();
+
+        assertEquals("Anna B", localTeacherName(1));
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    @Test
+    public void remoteForeignKeys_areMappedToLocalIds() {
+        remote.putFromOtherDevice("courses/flow", course("Flow", "anna"));
+
+        try (Cursor cursor = db.rawQuery("SELECT _id, teacher_id FROM courses WHERE sync_id = 'flow'", null)) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(1, cursor.getLong(1));
+        }
+    }
+
+    @Test
+    public void rowArrivingBeforeItsParent_isAppliedOnceTheParentArrives() {
+        remote.putFromOtherDevice("courses/flow", course("Flow", "ben"));
+        try (Cursor cursor = db.rawQuery("SELECT 1 FROM courses", null)) {
+            assertEquals(0, cursor.getCount());
+        }
+
+        remote.putFromOtherDevice("teachers/ben", teacher("Ben", 300));
+
+        try (Cursor cursor = db.rawQuery("SELECT teacher_id FROM courses WHERE sync_id = 'flow'", null)) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(2, cursor.getLong(0));
+        }
+    }
+
+    @Test
+    public void nodesUnderLegacyIdKeys_areIgnored() {
+        // Pushed by a device before sync ids existed; the upgrade logs its removal
+        remote.putFromOtherDevice("teachers/1", teacher("Anna", 300));
+        remote.putFromOtherDevice("courses/1", course("Flow", "1"));
+
+        assertNull(localTeacherName(2));
+        try (Cursor cursor = db.rawQuery("SELECT 1 FROM courses", null)) {
+            assertEquals(0, cursor.getCount());
+        }
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    private static Map<String, Object> teacher(String name, long updatedAt) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", name);
+        values.put("updated_at", updatedAt);
+        return values;
+    }
+
+    private String localTeacherName(long id) {
+        Cursor cursor = db.rawQuery("SELECT name FROM teachers WHERE _id = ?", new String[]{String.valueOf(id)});
+        String name = cursor.moveToFirst() ? cursor.getString(0) : null;
+        cursor.close();
+        return name;
+    }
+
+    @Test
+    public void malformedRemoteRow_isSkippedWithoutLosingTheBatch() {
+        // A newer version without the required name cannot be written
+        List<RemoteChangeApplier.RemoteChange> changes = Arrays.asList(
+                new RemoteChangeApplier.RemoteChange("teachers", "anna", teacher(null, 500)),
+                new RemoteChangeApplier.RemoteChange("teachers", "ben", teacher("Ben", 300)));
+        List<RemoteChangeApplier.RemoteChange> unresolved = new ArrayList<>();
+
+        int applied = new RemoteChangeApplier(ApplicationProvider.getApplicationContext()).applyChanges(changes, unresolved);
+
+        assertEquals(1, applied);
+        assertEquals("Anna", localTeacherName(1));
+        assertEquals("Ben", localTeacherName(2));
+        assertTrue(unresolved.isEmpty());
+        assertEquals(0, syncLogDAO.getPendingCount());
+    }
+
+    private static Map<String, Object> instance(String courseSyncId, String teacherSyncId, String date) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("course_id", courseSyncId);
+        values.put("teacher_id", teacherSyncId);
+        values.put("date", date);
+        values.put("updated_at", 300L);
+        return values;
+    }
+
+    private static Map<String, Object> course(String name, String teacherSyncId) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", name);
+        values.put("teacher_id", teacherSyncId);
+        values.put("day_of_week", "Monday");
+        values.put("time", "09:00");
+        values.put("duration", 60L);
+        values.put("max_capacity", 20L);
+        values.put("price", 10.0);
+        values.put("updated_at", 300L);
+        return values;
+    }
+}
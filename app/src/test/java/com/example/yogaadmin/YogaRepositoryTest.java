@@ -0,0 +1,161 @@
+package com.example.yogaadmin;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.net.Uri;
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+import com.example.yogaadmin.database.DataTransfer;
+import com.example.yogaadmin.database.DatabaseHelper;
+import com.example.yogaadmin.database.YogaRepository;
+import com.example.yogaadmin.models.ClassInstance;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Verifies that cancelling a write only drops its callback, that a cancelled
+ * read does not run, that a failed call reaches the error callback, and that
+ * a transfer reports to a screen attached after it ended.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class YogaRepositoryTest {
+
+    private Context context;
+    private SQLiteDatabase db;
+    private ExecutorService executor;
+    private YogaRepository repository;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        db = DatabaseHelper.getInstance(context).getWritableDatabase();
+        executor = Executors.newSingleThreadExecutor();
+        repository = new YogaRepository(context, executor);
+        db.execSQL("INSERT INTO teachers (name) VALUES ('Anna')");
+        db.execSQL("INSERT INTO courses (name, teacher_id, day_of_week, time, duration, max_capacity, price)"
+                + " VALUES ('Flow', 1, 'Monday', '09:00', 60, 20, 10.0)");
+        db.execSQL("INSERT INTO class_instances (course_id, teacher_id, date) VALUES (1, 1, '2025-01-06')");
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        DatabaseHelper.releaseInstance();
+    }
+
+    @Test
+    public void cancelledWrite_isStillCommitted() throws Exception {
+        CountDownLatch blocked = blockWorker();
+        AtomicReference<Long> result = new AtomicReference<>();
+
+        YogaRepository.Request request = repository.insertInstance(new ClassInstance(1, 1, "2025-01-13"), result::set);
+        request.cancel();
+        blocked.countDown();
+        drain();
+
+        assertEquals(1, DatabaseUtils.queryNumEntries(db, "class_instances", "date = '2025-01-13'"));
+        assertNull(result.get());
+    }
+
+    @Test
+    public void cancelledRead_doesNotRun() throws Exception {
+        CountDownLatch blocked = blockWorker();
+        AtomicReference<Object> result = new AtomicReference<>();
+
+        YogaRepository.Request request = repository.loadCourse(1, result::set);
+        request.cancel();
+        blocked.countDown();
+        drain();
+
+        assertNull(result.get());
+    }
+
+    @Test
+    public void failedWrite_reachesErrorCallback() throws Exception {
+        AtomicReference<Integer> result = new AtomicReference<>();
+        AtomicReference<RuntimeException> error = new AtomicReference<>();
+
+        // Teacher 99 does not exist, so the foreign key rejects the update
+        repository.updateInstance(new ClassInstance(1, 1, 99, "2025-01-06"), result::set).onError(error::set);
+        drain();
+
+        assertNull(result.get());
+        assertNotNull(error.get());
+    }
+
+    @Test
+    public void cancelledRequest_dropsErrorCallback() throws Exception {
+        AtomicReference<RuntimeException> error = new AtomicReference<>();
+
+        repository.updateInstance(new ClassInstance(1, 1, 99, "2025-01-06"), result -> { })
+                .onError(error::set)
+                .cancel();
+        drain();
+
+        assertNull(error.get());
+    }
+
+    @Test
+    public void transferEndingWithoutObserver_isReportedToTheNextOne() throws Exception {
+        File file = File.createTempFile("teachers", ".csv", context.getCacheDir());
+        Files.write(file.toPath(), "name\nCara\n".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<DataTransfer.Result> reported = new AtomicReference<>();
+        YogaRepository.TransferObserver observer = new YogaRepository.TransferObserver() {
+            @Override
+            public void onTransferProgress(int rows, int totalRows) {
+            }
+
+            @Override
+            public void onTransferFinished(boolean export, DataTransfer.Result result) {
+                reported.set(result);
+            }
+        };
+
+        // The screen that started the import is gone before it ends
+        assertTrue(repository.importTable("teachers", DataTransfer.Format.CSV, Uri.fromFile(file)));
+        drain();
+        assertFalse(repository.isTransferRunning());
+        repository.setTransferObserver(observer);
+
+        assertNotNull(reported.get());
+        assertTrue(reported.get().isSuccessful());
+        assertEquals(1, reported.get().rows);
+        assertEquals(1, DatabaseUtils.queryNumEntries(db, "teachers", "name = 'Cara'"));
+    }
+
+    /**
+     * Occupies the single worker until the returned latch is counted down,
+     * so requests made meanwhile can be cancelled before they start.
+     */
+    private CountDownLatch blockWorker() {
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.submit(() -> {
+            latch.await();
+            return null;
+        });
+        return latch;
+    }
+
+    /**
+     * Waits for the worker to finish everything submitted so far, then runs the posted callbacks.
+     */
+    private void drain() throws Exception {
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+}